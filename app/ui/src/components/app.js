@@ -24,7 +24,8 @@ export class App extends Component {
         mapConversion: true,
         enableCompact: true,
         discardEmptyChunks: false,
-        preventYBiomeBlending: false
+        preventYBiomeBlending: false,
+        generateLighting: false
     };
     state = {
         previewProgress: this.previewProgress.state,
@@ -62,6 +62,12 @@ export class ConverterSettingsTab extends Component {
                 "name": "preventYBiomeBlending",
                 "description": "Whether an empty chunk should be required at the top of each column to prevent vertical biome blending (Java only).",
                 "type": "Boolean"
+            },
+            {
+                "display": "Generate Lighting",
+                "name": "generateLighting",
+                "description": "Whether light should be calculated for chunks which are missing it, this is slower but fixes dark areas when the input doesn't store light.",
+                "type": "Boolean"
             }
         ];
 
@@ -56,9 +56,10 @@ export class Map extends Component {
         });
 
         let worlds = this.app.state.settings.dimensions.map((a, k) => {
-            return L.tileLayer("session://{session}/preview/{world}.{x}.{y}.png", {
+            return L.tileLayer("session://{session}/preview/{world}{zoom}.{x}.{y}.png", {
                 maxNativeZoom: 0,
-                minNativeZoom: 0,
+                minNativeZoom: -4, // Zoomed out tiles are written as {world}.zoom{level}.{x}.{y}.png
+                zoom: (data) => data.z < 0 ? ".zoom" + (-data.z) : "",
                 minZoom: -5,
                 maxZoom: 5,
                 world: a,
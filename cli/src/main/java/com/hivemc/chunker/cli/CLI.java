@@ -10,11 +10,15 @@ import com.hivemc.chunker.conversion.WorldConverter;
 import com.hivemc.chunker.conversion.encoding.EncodingType;
 import com.hivemc.chunker.conversion.encoding.base.reader.LevelReader;
 import com.hivemc.chunker.conversion.encoding.base.writer.LevelWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBProfile;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.util.RegionCompression;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.MappingsFile;
 import com.hivemc.chunker.mapping.resolver.MappingsFileResolvers;
 import com.hivemc.chunker.pruning.PruningConfig;
+import com.hivemc.chunker.resolver.CachedResolver;
 import com.hivemc.chunker.scheduling.task.TrackedTask;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorType;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import picocli.CommandLine;
 
@@ -110,6 +114,49 @@ public class CLI implements Runnable {
     )
     private boolean keepOriginalNBT;
 
+    @CommandLine.Option(
+            names = {"--workerThreads", "-t"},
+            description = "The number of worker threads to use for conversion (defaults to the number of available processors)."
+    )
+    private int workerThreads;
+
+    @CommandLine.Option(
+            names = {"--executorType", "-e"},
+            description = "The type of threads to use for conversion, VIRTUAL is better suited for I/O heavy conversions (${COMPLETION-CANDIDATES}).",
+            defaultValue = "PLATFORM"
+    )
+    private TaskExecutorType executorType;
+
+    @CommandLine.Option(
+            names = {"--maxRegionsInFlight", "-r"},
+            description = "The maximum number of regions to convert at once, lower values use less memory (defaults to twice the worker threads). This is a count of regions, use --heapPressureThreshold to limit by memory."
+    )
+    private int maxRegionsInFlight;
+
+    @CommandLine.Option(
+            names = {"--heapPressureThreshold"},
+            description = "The fraction of the heap (e.g. 0.85) which when still in use after garbage collection slows down conversion, disabled by default."
+    )
+    private double heapPressureThreshold;
+
+    @CommandLine.Option(
+            names = {"--regionCompression"},
+            description = "The compression to use for Java region files: zlib, zlib:<1-9>, lz4 (1.20.5+) or none (defaults to zlib:1)."
+    )
+    private String regionCompression;
+
+    @CommandLine.Option(
+            names = {"--leveldbProfile"},
+            description = "The LevelDB options to use for Bedrock output as comma separated name=value pairs: writeBuffer, maxOpenFiles, cache, compression (none, zlib, zlib_raw), blockSize and bulkLoad (sorts keys in memory before writing, e.g. bulkLoad=1g)."
+    )
+    private String levelDBProfile;
+
+    @CommandLine.Option(
+            names = {"--verbose", "-v"},
+            description = "Whether extra statistics about the conversion (e.g. resolver cache hit rates) should be printed once it's complete."
+    )
+    private boolean verbose;
+
     /**
      * Main entry point for the CLI
      *
@@ -255,6 +302,7 @@ public class CLI implements Runnable {
                     boolean enableCompact = !parsedConverterSettings.has("enableCompact") || parsedConverterSettings.get("enableCompact").getAsBoolean();
                     boolean discardEmptyChunks = parsedConverterSettings.has("discardEmptyChunks") && parsedConverterSettings.get("discardEmptyChunks").getAsBoolean();
                     boolean preventYBiomeBlending = parsedConverterSettings.has("preventYBiomeBlending") && parsedConverterSettings.get("preventYBiomeBlending").getAsBoolean();
+                    boolean generateLighting = parsedConverterSettings.has("generateLighting") && parsedConverterSettings.get("generateLighting").getAsBoolean();
 
                     // Apply the settings
                     worldConverter.setProcessMaps(!skipMaps);
@@ -264,6 +312,7 @@ public class CLI implements Runnable {
                     worldConverter.setLevelDBCompaction(enableCompact);
                     worldConverter.setDiscardEmptyChunks(discardEmptyChunks);
                     worldConverter.setPreventYBiomeBlending(preventYBiomeBlending);
+                    worldConverter.setGenerateLighting(generateLighting);
                 } catch (Exception e) {
                     System.err.println("Failed to parse converter settings.");
                     throw new RuntimeException(e);
@@ -273,6 +322,35 @@ public class CLI implements Runnable {
             // Check for the original NBT option
             worldConverter.setAllowNBTCopying(keepOriginalNBT);
 
+            // Apply the thread settings
+            if (!executorType.isAvailable()) {
+                System.err.println("The " + executorType + " executor is not supported by this Java runtime, platform threads will be used instead.");
+            }
+            worldConverter.setExecutorType(executorType);
+            worldConverter.setWorkerThreads(workerThreads);
+            worldConverter.setMaxRegionsInFlight(maxRegionsInFlight);
+            worldConverter.setHeapPressureThreshold(heapPressureThreshold);
+
+            // Apply the region compression if it was specified
+            if (regionCompression != null) {
+                try {
+                    worldConverter.setRegionCompression(RegionCompression.parse(regionCompression));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Failed to parse region compression.");
+                    throw new RuntimeException(e);
+                }
+            }
+
+            // Apply the LevelDB profile if it was specified
+            if (levelDBProfile != null) {
+                try {
+                    worldConverter.setLevelDBProfile(LevelDBProfile.parse(levelDBProfile));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Failed to parse LevelDB profile.");
+                    throw new RuntimeException(e);
+                }
+            }
+
             // Create the reader / writer (note: converter settings cannot be set after this point)
             Optional<? extends LevelReader> reader = EncodingType.findReader(inputDirectory, worldConverter);
             Optional<? extends LevelWriter> writer = Messenger.findWriter(format, worldConverter, outputDirectory);
@@ -348,6 +426,13 @@ public class CLI implements Runnable {
                         duration.toSecondsPart(),
                         duration.toMillisPart()
                 ));
+
+                // Print the resolver cache statistics if requested
+                if (verbose) {
+                    for (Map.Entry<String, CachedResolver.Statistics> entry : worldConverter.getCachedResolverStatistics().entrySet()) {
+                        System.out.println(entry.getKey() + " cache: " + entry.getValue());
+                    }
+                }
                 System.exit(0);
             }
         } catch (OutOfMemoryError e) {
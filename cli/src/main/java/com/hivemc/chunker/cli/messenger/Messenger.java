@@ -15,6 +15,8 @@ import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.base.Version;
 import com.hivemc.chunker.conversion.encoding.base.reader.LevelReader;
 import com.hivemc.chunker.conversion.encoding.base.writer.LevelWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBProfile;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.util.RegionCompression;
 import com.hivemc.chunker.conversion.encoding.preview.PreviewLevelWriter;
 import com.hivemc.chunker.conversion.encoding.settings.SettingsLevelWriter;
 import com.hivemc.chunker.conversion.intermediate.level.map.ChunkerMap;
@@ -22,6 +24,7 @@ import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.MappingsFile;
 import com.hivemc.chunker.mapping.resolver.MappingsFileResolvers;
 import com.hivemc.chunker.pruning.PruningConfig;
+import com.hivemc.chunker.resolver.CachedResolver;
 import com.hivemc.chunker.scheduling.LoggedException;
 import com.hivemc.chunker.scheduling.TaskMonitorThread;
 import com.hivemc.chunker.scheduling.task.TrackedTask;
@@ -236,7 +239,47 @@ public class Messenger {
                         worldConverter.setLevelDBCompaction(convertRequest.isEnableCompact());
                         worldConverter.setDiscardEmptyChunks(convertRequest.isDiscardEmptyChunks());
                         worldConverter.setPreventYBiomeBlending(convertRequest.isPreventYBiomeBlending());
+                        worldConverter.setGenerateLighting(convertRequest.isGenerateLighting());
                         worldConverter.setCustomIdentifiers(convertRequest.isCustomIdentifiers());
+                        worldConverter.setWorkerThreads(convertRequest.getWorkerThreads());
+                        if (convertRequest.getExecutorType() != null) {
+                            worldConverter.setExecutorType(convertRequest.getExecutorType());
+                        }
+                        worldConverter.setHeapPressureThreshold(convertRequest.getHeapPressureThreshold());
+                        worldConverter.setAllowExplicitGC(!convertRequest.isDisableExplicitGC());
+                        if (convertRequest.getRegionCompression() != null) {
+                            try {
+                                worldConverter.setRegionCompression(RegionCompression.parse(convertRequest.getRegionCompression()));
+                            } catch (IllegalArgumentException e) {
+                                removeWorldConverter(convertRequest.getAnonymousId(), convertRequest.getRequestId());
+                                write(new ErrorResponse(
+                                        convertRequest.getRequestId(),
+                                        false,
+                                        "Failed to parse region compression.",
+                                        null,
+                                        e.getMessage(),
+                                        printStackTrace(e)
+                                ));
+                                return;
+                            }
+                        }
+
+                        if (convertRequest.getLevelDBProfile() != null) {
+                            try {
+                                worldConverter.setLevelDBProfile(LevelDBProfile.parse(convertRequest.getLevelDBProfile()));
+                            } catch (IllegalArgumentException e) {
+                                removeWorldConverter(convertRequest.getAnonymousId(), convertRequest.getRequestId());
+                                write(new ErrorResponse(
+                                        convertRequest.getRequestId(),
+                                        false,
+                                        "Failed to parse LevelDB profile.",
+                                        null,
+                                        e.getMessage(),
+                                        printStackTrace(e)
+                                ));
+                                return;
+                            }
+                        }
 
                         // Add the handler for the compaction signal to let the UI know
                         worldConverter.setCompactionSignal((started) -> {
@@ -498,6 +541,20 @@ public class Messenger {
                         }
                         output.add("missingIdentifiers", missingIdentifiers);
 
+                        // Generate the statistics of the resolver caches
+                        JsonObject resolverCaches = new JsonObject();
+                        for (Map.Entry<String, CachedResolver.Statistics> entry : worldConverter.getCachedResolverStatistics().entrySet()) {
+                            JsonObject statistics = new JsonObject();
+                            statistics.addProperty("lookups", entry.getValue().lookups());
+                            statistics.addProperty("threadCacheHits", entry.getValue().threadCacheHits());
+                            statistics.addProperty("hits", entry.getValue().hits());
+                            statistics.addProperty("misses", entry.getValue().misses());
+                            statistics.addProperty("evictions", entry.getValue().evictions());
+                            statistics.addProperty("size", entry.getValue().size());
+                            resolverCaches.add(entry.getKey(), statistics);
+                        }
+                        output.add("resolverCaches", resolverCaches);
+
                         // Write the response
                         write(new OutputResponse(
                                 taskID,
@@ -505,8 +562,10 @@ public class Messenger {
                         ));
                     }
 
-                    // Request GC
-                    System.gc();
+                    // Request GC (unless the deployment has turned it off)
+                    if (worldConverter.shouldAllowExplicitGC()) {
+                        System.gc();
+                    }
                 }
         );
 
@@ -6,6 +6,7 @@ import com.hivemc.chunker.cli.messenger.messaging.BasicMessage;
 import com.hivemc.chunker.cli.messenger.messaging.DimensionPruningList;
 import com.hivemc.chunker.cli.messenger.messaging.InvokesWorldConverterRequest;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorType;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
@@ -37,7 +38,17 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
     private final boolean enableCompact;
     private final boolean discardEmptyChunks;
     private final boolean preventYBiomeBlending;
+    private final boolean generateLighting;
     private final boolean customIdentifiers;
+    private final int workerThreads;
+    @Nullable
+    private final TaskExecutorType executorType;
+    private final double heapPressureThreshold;
+    private final boolean disableExplicitGC;
+    @Nullable
+    private final String regionCompression;
+    @Nullable
+    private final String levelDBProfile;
 
     /**
      * Create a new conversion request.
@@ -61,8 +72,15 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
      * @param enableCompact          whether the world should be compacted after conversion (Bedrock).
      * @param discardEmptyChunks     whether empty chunks should not be written.
      * @param preventYBiomeBlending  whether biomes should be prevented from blending (Java).
+     * @param generateLighting       whether light should be calculated for columns which are missing it.
+     * @param workerThreads          the number of worker threads to use, 0 to use the default.
+     * @param executorType           the type of threads to use, null to use platform threads.
+     * @param heapPressureThreshold  the fraction of the heap which slows down conversion when exceeded, 0 to disable.
+     * @param disableExplicitGC      whether garbage collection should not be requested after conversion.
+     * @param regionCompression      the compression for Java region files (e.g. "zlib:9", "lz4", "none"), null for the default.
+     * @param levelDBProfile         the LevelDB options for Bedrock output (e.g. "writeBuffer=256m,bulkLoad"), null for the default.
      */
-    public ConvertRequest(UUID anonymousId, String inputPath, String outputPath, String outputType, @Nullable Map<Dimension, Dimension> inputToOutputDimension, @Nullable JsonObject mappings, @Nullable JsonObject nbtSettings, @Nullable JsonArray maps, boolean copyNbt, @Nullable DimensionPruningList pruningList, boolean skipMaps, boolean skipLootTables, boolean skipItemConversion, boolean customIdentifiers, boolean skipBlockConnections, boolean enableCompact, boolean discardEmptyChunks, boolean preventYBiomeBlending) {
+    public ConvertRequest(UUID anonymousId, String inputPath, String outputPath, String outputType, @Nullable Map<Dimension, Dimension> inputToOutputDimension, @Nullable JsonObject mappings, @Nullable JsonObject nbtSettings, @Nullable JsonArray maps, boolean copyNbt, @Nullable DimensionPruningList pruningList, boolean skipMaps, boolean skipLootTables, boolean skipItemConversion, boolean customIdentifiers, boolean skipBlockConnections, boolean enableCompact, boolean discardEmptyChunks, boolean preventYBiomeBlending, boolean generateLighting, int workerThreads, @Nullable TaskExecutorType executorType, double heapPressureThreshold, boolean disableExplicitGC, @Nullable String regionCompression, @Nullable String levelDBProfile) {
         this.anonymousId = anonymousId;
         this.inputPath = inputPath;
         this.outputPath = outputPath;
@@ -81,6 +99,13 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
         this.enableCompact = enableCompact;
         this.discardEmptyChunks = discardEmptyChunks;
         this.preventYBiomeBlending = preventYBiomeBlending;
+        this.generateLighting = generateLighting;
+        this.workerThreads = workerThreads;
+        this.executorType = executorType;
+        this.heapPressureThreshold = heapPressureThreshold;
+        this.disableExplicitGC = disableExplicitGC;
+        this.regionCompression = regionCompression;
+        this.levelDBProfile = levelDBProfile;
     }
 
     /**
@@ -106,8 +131,15 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
      * @param enableCompact          whether the world should be compacted after conversion (Bedrock).
      * @param discardEmptyChunks     whether empty chunks should not be written.
      * @param preventYBiomeBlending  whether biomes should be prevented from blending (Java).
+     * @param generateLighting       whether light should be calculated for columns which are missing it.
+     * @param workerThreads          the number of worker threads to use, 0 to use the default.
+     * @param executorType           the type of threads to use, null to use platform threads.
+     * @param heapPressureThreshold  the fraction of the heap which slows down conversion when exceeded, 0 to disable.
+     * @param disableExplicitGC      whether garbage collection should not be requested after conversion.
+     * @param regionCompression      the compression for Java region files (e.g. "zlib:9", "lz4", "none"), null for the default.
+     * @param levelDBProfile         the LevelDB options for Bedrock output (e.g. "writeBuffer=256m,bulkLoad"), null for the default.
      */
-    public ConvertRequest(UUID requestId, UUID anonymousId, String inputPath, String outputPath, String outputType, @Nullable Map<Dimension, Dimension> inputToOutputDimension, @Nullable JsonObject mappings, @Nullable JsonObject nbtSettings, @Nullable JsonArray maps, boolean copyNbt, @Nullable DimensionPruningList pruningList, boolean skipMaps, boolean skipLootTables, boolean skipItemConversion, boolean customIdentifiers, boolean skipBlockConnections, boolean enableCompact, boolean discardEmptyChunks, boolean preventYBiomeBlending) {
+    public ConvertRequest(UUID requestId, UUID anonymousId, String inputPath, String outputPath, String outputType, @Nullable Map<Dimension, Dimension> inputToOutputDimension, @Nullable JsonObject mappings, @Nullable JsonObject nbtSettings, @Nullable JsonArray maps, boolean copyNbt, @Nullable DimensionPruningList pruningList, boolean skipMaps, boolean skipLootTables, boolean skipItemConversion, boolean customIdentifiers, boolean skipBlockConnections, boolean enableCompact, boolean discardEmptyChunks, boolean preventYBiomeBlending, boolean generateLighting, int workerThreads, @Nullable TaskExecutorType executorType, double heapPressureThreshold, boolean disableExplicitGC, @Nullable String regionCompression, @Nullable String levelDBProfile) {
         super(requestId);
         this.anonymousId = anonymousId;
         this.inputPath = inputPath;
@@ -127,6 +159,13 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
         this.enableCompact = enableCompact;
         this.discardEmptyChunks = discardEmptyChunks;
         this.preventYBiomeBlending = preventYBiomeBlending;
+        this.generateLighting = generateLighting;
+        this.workerThreads = workerThreads;
+        this.executorType = executorType;
+        this.heapPressureThreshold = heapPressureThreshold;
+        this.disableExplicitGC = disableExplicitGC;
+        this.regionCompression = regionCompression;
+        this.levelDBProfile = levelDBProfile;
     }
 
     /**
@@ -298,4 +337,70 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
     public boolean isPreventYBiomeBlending() {
         return preventYBiomeBlending;
     }
+
+    /**
+     * Whether light should be calculated for columns which are missing it.
+     *
+     * @return true if light should be generated.
+     */
+    public boolean isGenerateLighting() {
+        return generateLighting;
+    }
+
+    /**
+     * The number of worker threads to use for conversion.
+     *
+     * @return the number of threads, 0 or lower if the default should be used.
+     */
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * The type of threads to use for conversion.
+     *
+     * @return the executor type, null if platform threads should be used.
+     */
+    @Nullable
+    public TaskExecutorType getExecutorType() {
+        return executorType;
+    }
+
+    /**
+     * The fraction of the heap which when still in use after a garbage collection slows down conversion.
+     *
+     * @return the fraction, 0 or lower if the heap shouldn't be monitored.
+     */
+    public double getHeapPressureThreshold() {
+        return heapPressureThreshold;
+    }
+
+    /**
+     * Whether garbage collection should not be requested after the conversion has finished.
+     *
+     * @return true if explicit garbage collection is disabled.
+     */
+    public boolean isDisableExplicitGC() {
+        return disableExplicitGC;
+    }
+
+    /**
+     * The compression to use for columns in Java region files.
+     *
+     * @return the compression (e.g. "zlib:9", "lz4", "none"), null if the default should be used.
+     */
+    @Nullable
+    public String getRegionCompression() {
+        return regionCompression;
+    }
+
+    /**
+     * The LevelDB options to use when writing Bedrock worlds.
+     *
+     * @return the profile (e.g. "writeBuffer=256m,bulkLoad"), null if the default should be used.
+     */
+    @Nullable
+    public String getLevelDBProfile() {
+        return levelDBProfile;
+    }
 }
@@ -4,12 +4,17 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.Multimaps;
 import com.google.gson.JsonObject;
+import com.hivemc.chunker.conversion.encoding.EncodingType;
 import com.hivemc.chunker.conversion.encoding.base.Converter;
+import com.hivemc.chunker.conversion.encoding.base.reader.HeapPressureMonitor;
 import com.hivemc.chunker.conversion.encoding.base.reader.LevelReader;
 import com.hivemc.chunker.conversion.encoding.base.writer.LevelWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBProfile;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.util.RegionCompression;
 import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
 import com.hivemc.chunker.conversion.handlers.LevelConversionHandler;
 import com.hivemc.chunker.conversion.handlers.WorldConversionHandler;
+import com.hivemc.chunker.conversion.handlers.lighting.ColumnLightingConversionHandler;
 import com.hivemc.chunker.conversion.handlers.pipeline.Pipeline;
 import com.hivemc.chunker.conversion.handlers.pretransform.ColumnPreTransformConversionHandler;
 import com.hivemc.chunker.conversion.handlers.pretransform.ColumnPreTransformWriterConversionHandler;
@@ -24,18 +29,26 @@ import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.resolver.MappingsFileResolvers;
 import com.hivemc.chunker.pruning.PruningConfig;
 import com.hivemc.chunker.pruning.PruningRegion;
+import com.hivemc.chunker.resolver.CachedResolver;
 import com.hivemc.chunker.scheduling.task.Environment;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 import com.hivemc.chunker.scheduling.task.TrackedTask;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 /**
@@ -59,6 +72,9 @@ public class WorldConverter implements Converter {
     protected LevelWriter writer = null;
     @Nullable
     protected Environment environment = null;
+    @Nullable
+    protected HeapPressureMonitor heapPressureMonitor = null;
+    protected final List<Map.Entry<String, CachedResolver<?, ?>>> cachedResolvers = new CopyOnWriteArrayList<>();
     protected Multimap<Converter.MissingMappingType, String> missingIdentifiers = Multimaps.synchronizedSetMultimap(
             MultimapBuilder.enumKeys(Converter.MissingMappingType.class)
                     .hashSetValues()
@@ -75,6 +91,15 @@ public class WorldConverter implements Converter {
     private List<ChunkerMap> maps;
     @Nullable
     private MappingsFileResolvers blockMappings;
+    @Nullable
+    private RegionCompression regionCompression;
+    @Nullable
+    private LevelDBProfile levelDBProfile;
+    private TaskExecutorType executorType = TaskExecutorType.PLATFORM;
+    private int workerThreads = 0;
+    private int maxRegionsInFlight = 0;
+    private double heapPressureThreshold = 0;
+    private boolean allowExplicitGC = true;
     private boolean levelDBCompaction = true;
     private boolean processMaps = true;
     private boolean processItems = true;
@@ -88,6 +113,7 @@ public class WorldConverter implements Converter {
     private boolean allowNBTCopying = false;
     private boolean discardEmptyChunks = false;
     private boolean preventYBiomeBlending = false;
+    private boolean generateLighting = false;
     private boolean customIdentifiers = true;
     private boolean exceptions = false;
     private boolean cancelled = false;
@@ -129,6 +155,130 @@ public class WorldConverter implements Converter {
         this.dimensionMapping = dimensionMapping;
     }
 
+    /**
+     * Set the number of worker threads used for conversion.
+     *
+     * @param workerThreads the number of threads, 0 or lower to use the default for the executor type.
+     */
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Get the number of worker threads used for conversion.
+     *
+     * @return the configured number of threads, otherwise the default for the executor type.
+     */
+    public int getWorkerThreads() {
+        return workerThreads > 0 ? workerThreads : executorType.getDefaultWorkers();
+    }
+
+    /**
+     * Set the maximum number of regions which are read and converted at the same time.
+     *
+     * @param maxRegionsInFlight the number of regions, 0 or lower to use twice the number of worker threads.
+     */
+    public void setMaxRegionsInFlight(int maxRegionsInFlight) {
+        this.maxRegionsInFlight = maxRegionsInFlight;
+    }
+
+    @Override
+    public int getMaxRegionsInFlight() {
+        return maxRegionsInFlight > 0 ? maxRegionsInFlight : getWorkerThreads() * 2;
+    }
+
+    /**
+     * Set the fraction of the heap which when still in use after a garbage collection causes region admission to be
+     * slowed down.
+     *
+     * @param heapPressureThreshold the fraction (between 0 and 1), 0 or lower to disable heap pressure monitoring.
+     */
+    public void setHeapPressureThreshold(double heapPressureThreshold) {
+        this.heapPressureThreshold = heapPressureThreshold;
+    }
+
+    /**
+     * Get the fraction of the heap which when still in use after a garbage collection slows region admission.
+     *
+     * @return the fraction, 0 or lower if heap pressure is not monitored.
+     */
+    public double getHeapPressureThreshold() {
+        return heapPressureThreshold;
+    }
+
+    @Override
+    @Nullable
+    public HeapPressureMonitor getHeapPressureMonitor() {
+        return heapPressureMonitor;
+    }
+
+    /**
+     * Set whether a garbage collection can be requested after a conversion has finished, this can be turned off for
+     * deployments which have a fixed heap size.
+     *
+     * @param allowExplicitGC true if System.gc() may be called.
+     */
+    public void setAllowExplicitGC(boolean allowExplicitGC) {
+        this.allowExplicitGC = allowExplicitGC;
+    }
+
+    /**
+     * Whether a garbage collection can be requested after a conversion has finished.
+     *
+     * @return true if System.gc() may be called.
+     */
+    public boolean shouldAllowExplicitGC() {
+        return allowExplicitGC;
+    }
+
+    /**
+     * Set the compression used for columns written to region files.
+     *
+     * @param regionCompression the compression (Java only, LZ4 requires 1.20.5+), null to use the default.
+     */
+    public void setRegionCompression(@Nullable RegionCompression regionCompression) {
+        this.regionCompression = regionCompression;
+    }
+
+    @Override
+    @Nullable
+    public RegionCompression getRegionCompression() {
+        return regionCompression;
+    }
+
+    /**
+     * Set the LevelDB options used when writing a database.
+     *
+     * @param levelDBProfile the profile (Bedrock only), null to use the default.
+     */
+    public void setLevelDBProfile(@Nullable LevelDBProfile levelDBProfile) {
+        this.levelDBProfile = levelDBProfile;
+    }
+
+    @Override
+    @Nullable
+    public LevelDBProfile getLevelDBProfile() {
+        return levelDBProfile;
+    }
+
+    /**
+     * Set the type of threads used for conversion.
+     *
+     * @param executorType the type, virtual threads being better suited for I/O heavy conversions.
+     */
+    public void setExecutorType(TaskExecutorType executorType) {
+        this.executorType = executorType;
+    }
+
+    /**
+     * Get the type of threads used for conversion.
+     *
+     * @return the executor type.
+     */
+    public TaskExecutorType getExecutorType() {
+        return executorType;
+    }
+
     /**
      * Set whether LevelDB should compact after writing.
      *
@@ -156,6 +306,15 @@ public class WorldConverter implements Converter {
         this.preventYBiomeBlending = preventYBiomeBlending;
     }
 
+    /**
+     * Set whether light should be calculated for columns which are missing it, this only applies when writing Java.
+     *
+     * @param generateLighting true if it should be generated.
+     */
+    public void setGenerateLighting(boolean generateLighting) {
+        this.generateLighting = generateLighting;
+    }
+
     /**
      * Set whether items should be converted otherwise air will be used.
      *
@@ -310,6 +469,12 @@ public class WorldConverter implements Converter {
         return preventYBiomeBlending;
     }
 
+    @Override
+    public boolean shouldGenerateLighting() {
+        // Only Java stores the light of a column, other formats calculate it when loaded
+        return generateLighting && processLighting && writer != null && writer.getEncodingType() == EncodingType.JAVA;
+    }
+
     @Override
     public boolean shouldProcessDimension(Dimension dimension) {
         return dimensionMapping == null || dimensionMapping.containsKey(dimension);
@@ -342,6 +507,26 @@ public class WorldConverter implements Converter {
         return missingIdentifiers;
     }
 
+    /**
+     * Get the statistics of the cached resolvers which were used during conversion.
+     * Caches with the same name are combined and unused caches are excluded.
+     *
+     * @return a map of the cache name and direction (read / write) to the statistics.
+     */
+    public Map<String, CachedResolver.Statistics> getCachedResolverStatistics() {
+        Map<String, CachedResolver.Statistics> statistics = new LinkedHashMap<>();
+        for (Map.Entry<String, CachedResolver<?, ?>> entry : cachedResolvers) {
+            addCachedResolverStatistics(statistics, entry.getKey() + " (read)", entry.getValue().getToStatistics());
+            addCachedResolverStatistics(statistics, entry.getKey() + " (write)", entry.getValue().getFromStatistics());
+        }
+        return statistics;
+    }
+
+    private static void addCachedResolverStatistics(Map<String, CachedResolver.Statistics> statistics, String name, CachedResolver.Statistics value) {
+        if (value.lookups() == 0) return;
+        statistics.merge(name, value, CachedResolver.Statistics::combine);
+    }
+
     @Override
     public boolean shouldProcessRegion(Dimension dimension, RegionCoordPair regionPair) {
         if (pruningConfigs == null || pruningConfigs.isEmpty()) return true;
@@ -475,6 +660,12 @@ public class WorldConverter implements Converter {
         }
     }
 
+    @Override
+    public <T, U> CachedResolver<T, U> registerCachedResolver(String name, CachedResolver<T, U> resolver) {
+        cachedResolvers.add(Map.entry(name, resolver));
+        return resolver;
+    }
+
     @Override
     public Optional<ChunkerLevel> level() {
         return Optional.ofNullable(level);
@@ -522,7 +713,11 @@ public class WorldConverter implements Converter {
         cancelled = false;
         exceptions = false;
         missingIdentifiers.clear();
-        environment = Task.environment("World Conversion", 8, this::logFatalException, this::handleSignal);
+        environment = Task.environment("World Conversion", getWorkerThreads(), executorType, this::logFatalException, this::handleSignal);
+
+        // Monitor the heap if a threshold is set, this is used to slow down reading regions
+        HeapPressureMonitor monitor = heapPressureThreshold > 0 ? new HeapPressureMonitor(Math.min(heapPressureThreshold, 0.99)) : null;
+        heapPressureMonitor = monitor;
 
         try {
             // Create the handler that calls the writer
@@ -542,27 +737,32 @@ public class WorldConverter implements Converter {
             // If it's enabled, we need to hold the chunks using the handler
             // The Reader is responsible for solving which edges are needed
             // But we need to call the writer PreTransformManager ourselves as it's before writing.
+            List<BiFunction<ColumnConversionHandler, ChunkerWorld, ColumnConversionHandler>> columnHandlers = new ArrayList<>(3);
             if (shouldProcessColumnPreTransform()) {
                 // Add the pre-transform writer conversion handler, this ensures columns know which edges are needed
                 // Add pre-transform to the pipeline (this is required to handle processes that need adjacent chunks)
-                pipeline.columnHandlers(
-                        (delegate, world) -> new ColumnPreTransformWriterConversionHandler(
-                                writer::getPreTransformManager,
-                                delegate,
-                                true
-                        ),
-                        ColumnPreTransformConversionHandler::new
-                );
+                columnHandlers.add((delegate, world) -> new ColumnPreTransformWriterConversionHandler(
+                        writer::getPreTransformManager,
+                        delegate,
+                        true
+                ));
+                columnHandlers.add(ColumnPreTransformConversionHandler::new);
             } else {
                 // Add the writer handler, this ensures that the writer is still called just without connected chunks
-                pipeline.columnHandlers(
-                        (delegate, world) -> new ColumnPreTransformWriterConversionHandler(
-                                writer::getPreTransformManager,
-                                delegate,
-                                false
-                        )
-                );
+                columnHandlers.add((delegate, world) -> new ColumnPreTransformWriterConversionHandler(
+                        writer::getPreTransformManager,
+                        delegate,
+                        false
+                ));
+            }
+
+            // Lighting is the outermost handler so columns are lit before being pre-transformed / written
+            if (shouldGenerateLighting()) {
+                columnHandlers.add(ColumnLightingConversionHandler::new);
             }
+            @SuppressWarnings("unchecked")
+            BiFunction<ColumnConversionHandler, ChunkerWorld, ColumnConversionHandler>[] handlers = columnHandlers.toArray(BiFunction[]::new);
+            pipeline.columnHandlers(handlers);
 
             // Get the composed handler to use for conversion
             LevelConversionHandler handler = pipeline.build();
@@ -577,6 +777,11 @@ public class WorldConverter implements Converter {
 
             // Ensure free is called for the reader & writer (always)
             environment.setFreeCallback(() -> {
+                // Stop monitoring the heap
+                if (monitor != null) {
+                    monitor.close();
+                }
+
                 // Free reader
                 try {
                     reader.free();
@@ -637,6 +842,17 @@ public class WorldConverter implements Converter {
 
         @Override
         public Task<ColumnConversionHandler> convertWorld(ChunkerWorld world) {
+            // Only keep the regions which will be read, so nothing waits for a pruned region to be flushed
+            Set<RegionCoordPair> regions = new HashSet<>(world.getRegions().size());
+            for (RegionCoordPair region : world.getRegions()) {
+                if (worldConverter.shouldProcessRegion(world.getDimension(), region)) {
+                    regions.add(region);
+                }
+            }
+            if (regions.size() != world.getRegions().size()) {
+                world.setRegions(regions);
+            }
+
             // Apply dimension remapping
             Optional<Dimension> newDimension = worldConverter.getNewDimension(world.getDimension());
             if (newDimension.isPresent()) {
@@ -1,11 +1,15 @@
 package com.hivemc.chunker.conversion.encoding.base;
 
 import com.google.common.base.CaseFormat;
+import com.hivemc.chunker.conversion.encoding.base.reader.HeapPressureMonitor;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBProfile;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.util.RegionCompression;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
 import com.hivemc.chunker.conversion.intermediate.level.ChunkerLevel;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.resolver.MappingsFileResolvers;
+import com.hivemc.chunker.resolver.CachedResolver;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
@@ -111,6 +115,38 @@ public interface Converter {
      */
     boolean shouldProcessColumn(Dimension dimension, ChunkCoordPair columnPair);
 
+    /**
+     * The maximum number of regions which can be read and converted at the same time, limiting the columns held in
+     * memory.
+     *
+     * @return the number of regions, at least 1.
+     */
+    int getMaxRegionsInFlight();
+
+    /**
+     * The monitor used to reduce the number of regions in flight when the heap is under pressure.
+     *
+     * @return the monitor, or null if heap pressure shouldn't be monitored.
+     */
+    @Nullable
+    HeapPressureMonitor getHeapPressureMonitor();
+
+    /**
+     * The compression to use for columns written to region files. Java only.
+     *
+     * @return the compression, or null to use the default for the output version.
+     */
+    @Nullable
+    RegionCompression getRegionCompression();
+
+    /**
+     * The LevelDB options to use when writing a database. Bedrock only.
+     *
+     * @return the profile, or null to use the default.
+     */
+    @Nullable
+    LevelDBProfile getLevelDBProfile();
+
     /**
      * Whether NBT is allowed to be copied from the input to output (must be same format and version).
      *
@@ -142,6 +178,15 @@ public interface Converter {
         throwable.printStackTrace();
     }
 
+    /**
+     * Log a warning about the conversion, e.g. an option which was replaced as it isn't supported.
+     *
+     * @param message the warning message.
+     */
+    default void logWarning(String message) {
+        System.err.println("Warning: " + message);
+    }
+
     /**
      * Log a missing mapping.
      *
@@ -152,6 +197,19 @@ public interface Converter {
         System.err.println("Missing " + type.getName().replace('_', ' ') + " mapping for " + identifier);
     }
 
+    /**
+     * Register a cached resolver which is used by this conversion, allowing the cache statistics to be reported.
+     *
+     * @param name     the name of the cache.
+     * @param resolver the cached resolver.
+     * @param <T>      the input/output format.
+     * @param <U>      the intermediate format.
+     * @return the resolver which was registered.
+     */
+    default <T, U> CachedResolver<T, U> registerCachedResolver(String name, CachedResolver<T, U> resolver) {
+        return resolver;
+    }
+
     /**
      * Whether empty chunks should be discarded instead of written.
      *
@@ -166,6 +224,14 @@ public interface Converter {
      */
     boolean shouldPreventYBiomeBlending();
 
+    /**
+     * Whether light should be calculated for columns which are missing it, so that it doesn't need to be calculated
+     * when the world is first loaded.
+     *
+     * @return true if light should be generated.
+     */
+    boolean shouldGenerateLighting();
+
     /**
      * Get the dimension mapping given an input.
      *
@@ -0,0 +1,86 @@
+package com.hivemc.chunker.conversion.encoding.base.reader;
+
+import com.google.common.base.Preconditions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monitors the heap using the usage of the heap memory pools after their last garbage collection. When the memory
+ * still in use after a collection exceeds the threshold the heap is considered under pressure, which is used to slow
+ * down how many regions are admitted rather than forcing collections. The pressure is cleared once a later collection
+ * brings the usage back under the threshold.
+ * <p>
+ * The threshold is kept by the monitor rather than set on the memory pools, so multiple conversions in the same JVM
+ * can each use their own threshold.
+ */
+public class HeapPressureMonitor implements AutoCloseable {
+    private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+    private final double threshold;
+
+    /**
+     * Create a new monitor for the heap pools of the JVM.
+     *
+     * @param threshold the fraction of the maximum size of each heap pool (0 to 1 exclusive) which when exceeded
+     *                  after a collection is considered pressure.
+     */
+    public HeapPressureMonitor(double threshold) {
+        this(threshold, ManagementFactory.getMemoryPoolMXBeans());
+    }
+
+    /**
+     * Create a new monitor for specific memory pools.
+     *
+     * @param threshold the fraction of the maximum size of each heap pool (0 to 1 exclusive) which when exceeded
+     *                  after a collection is considered pressure.
+     * @param pools     the memory pools to pick the heap pools from.
+     */
+    public HeapPressureMonitor(double threshold, List<MemoryPoolMXBean> pools) {
+        Preconditions.checkArgument(threshold > 0 && threshold < 1, "Heap pressure threshold must be between 0 and 1.");
+        this.threshold = threshold;
+
+        // Only pools which have a known maximum and track collection usage can be used (e.g. the old generation)
+        for (MemoryPoolMXBean pool : pools) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported()) continue;
+            if (pool.getUsage().getMax() <= 0) continue;
+            this.pools.add(pool);
+        }
+    }
+
+    /**
+     * Get the threshold used by this monitor.
+     *
+     * @return the fraction of each heap pool which is considered pressure.
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Whether the heap is currently under pressure.
+     *
+     * @return true if the last collection of any monitored pool left it above the threshold.
+     */
+    public boolean isUnderPressure() {
+        for (MemoryPoolMXBean pool : pools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage == null) continue; // Not collected yet
+
+            long max = usage.getMax() > 0 ? usage.getMax() : pool.getUsage().getMax();
+            if (usage.getUsed() > (long) (max * threshold)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Stop monitoring the heap.
+     */
+    @Override
+    public void close() {
+        pools.clear();
+    }
+}
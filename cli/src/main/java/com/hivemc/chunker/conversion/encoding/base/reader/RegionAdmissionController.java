@@ -0,0 +1,103 @@
+package com.hivemc.chunker.conversion.encoding.base.reader;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.scheduling.task.FutureTask;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Limits the number of regions which are being read / converted at the same time. A region is admitted when it is
+ * scheduled and released once it has been flushed, waiting regions are admitted in the order they were scheduled.
+ * This keeps the amount of column data held in memory bounded regardless of the size of the world.
+ * <p>
+ * If a {@link HeapPressureMonitor} is present, only a single region is admitted at a time while the heap is under
+ * pressure.
+ */
+public class RegionAdmissionController {
+    /**
+     * The order regions should be read in, this keeps neighbouring regions close together so that pre-transform
+     * columns waiting on a neighbour are released sooner.
+     */
+    public static final Comparator<RegionCoordPair> REGION_ORDER = Comparator.comparingInt(RegionCoordPair::regionX)
+            .thenComparingInt(RegionCoordPair::regionZ);
+
+    private final int maxInFlight;
+    private final TaskExecutor executor;
+    @Nullable
+    private final HeapPressureMonitor heapPressureMonitor;
+    private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int inFlight;
+
+    /**
+     * Create a new admission controller, this should be created inside a task as it uses the current executor.
+     *
+     * @param maxInFlight         the maximum number of regions which can be in flight at once.
+     * @param heapPressureMonitor the monitor used to reduce the regions in flight, null if it shouldn't be reduced.
+     */
+    public RegionAdmissionController(int maxInFlight, @Nullable HeapPressureMonitor heapPressureMonitor) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.heapPressureMonitor = heapPressureMonitor;
+        executor = TaskExecutor.currentExecutor();
+    }
+
+    /**
+     * Get the number of regions which can currently be in flight.
+     *
+     * @return the maximum, or 1 if the heap is under pressure.
+     */
+    private int getAdmissionLimit() {
+        return heapPressureMonitor != null && heapPressureMonitor.isUnderPressure() ? 1 : maxInFlight;
+    }
+
+    /**
+     * Request admission for a region.
+     *
+     * @return a task which completes when the region is admitted, {@link #release()} must be called after the region
+     * has been flushed (including if it failed).
+     */
+    public Task<Void> admit() {
+        synchronized (this) {
+            // Admit straight away if there is room (this is done through the executor so regions are read in parallel)
+            if (inFlight < getAdmissionLimit()) {
+                inFlight++;
+                return new FutureTask<>(executor.execute(() -> null, 0));
+            }
+
+            // Otherwise wait for a release
+            CompletableFuture<Void> admission = new CompletableFuture<>();
+            waiting.add(admission);
+            return new FutureTask<>(admission);
+        }
+    }
+
+    /**
+     * Release a region which was previously admitted, admitting the next waiting regions if there is room.
+     */
+    public void release() {
+        List<CompletableFuture<Void>> admitted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+
+            // Admit as many as the limit allows, this may be none while the heap is under pressure
+            int limit = getAdmissionLimit();
+            CompletableFuture<Void> next;
+            while (inFlight < limit && (next = waiting.poll()) != null) {
+                inFlight++;
+                admitted.add(next);
+            }
+        }
+
+        // Start the admitted regions, this is done as a separate task so regions aren't read recursively
+        for (CompletableFuture<Void> admission : admitted) {
+            executor.execute(() -> admission.complete(null), 0);
+        }
+    }
+}
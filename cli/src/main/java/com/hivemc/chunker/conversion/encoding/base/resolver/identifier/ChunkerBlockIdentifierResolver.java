@@ -429,7 +429,8 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
 
     @Override
     public Optional<ChunkerBlockIdentifier> to(Identifier input) {
-        return handleConverterMapping(input, resolveTo(input));
+        // Intern the output so palettes across the world share the same instances
+        return handleConverterMapping(input, resolveTo(input)).map(ChunkerBlockIdentifier::intern);
     }
 
     /**
@@ -30,8 +30,9 @@ public interface ColumnWriter {
      * Called when a region (32 x 32 columns) has completed writing.
      *
      * @param regionCoordPair the co-ordinates of the region.
+     * @throws Exception if something went wrong.
      */
-    default void flushRegion(RegionCoordPair regionCoordPair) {
+    default void flushRegion(RegionCoordPair regionCoordPair) throws Exception {
         // It isn't required to handle this method, it can be useful for freeing / flushing regions
     }
 
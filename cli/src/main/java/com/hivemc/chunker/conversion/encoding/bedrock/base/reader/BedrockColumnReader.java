@@ -25,14 +25,16 @@ import com.hivemc.chunker.nbt.tags.TagWithName;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
+import it.unimi.dsi.fastutil.bytes.Byte2ObjectMap;
+import it.unimi.dsi.fastutil.bytes.Byte2ObjectOpenHashMap;
 import org.iq80.leveldb.DB;
+import org.iq80.leveldb.DBIterator;
 
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -44,6 +46,8 @@ public class BedrockColumnReader implements ColumnReader {
     protected final Dimension dimension;
     protected final DB database;
     protected final ChunkCoordPair columnCoords;
+    protected final Byte2ObjectMap<byte[]> records = new Byte2ObjectOpenHashMap<>();
+    protected final Byte2ObjectMap<byte[]> subChunks = new Byte2ObjectOpenHashMap<>();
 
     /**
      * Create a new bedrock column reader.
@@ -67,6 +71,65 @@ public class BedrockColumnReader implements ColumnReader {
         // Create the column and start parsing
         ChunkerColumn column = new ChunkerColumn(columnCoords);
 
+        // Fetch all the records for the column in one pass before reading the parts, this is a short sequential read
+        // so it's done in the current task rather than scheduling another
+        readRecords(column);
+        readParts(column, columnConversionHandler);
+    }
+
+    /**
+     * Read all the records which belong to the column using a single iterator.
+     * <p>
+     * The keys for a column all start with its x/z (and dimension if not the overworld), so they're stored next to
+     * each other in the database. Seeking to the prefix and reading until it no longer matches avoids doing a separate
+     * lookup for every possible sub-chunk and record type.
+     *
+     * @param column the column being read.
+     */
+    protected void readRecords(ChunkerColumn column) {
+        byte[] prefix = LevelDBKey.key(dimension, column.getPosition());
+        try (DBIterator iterator = database.iterator()) {
+            iterator.seek(prefix);
+            while (iterator.hasNext()) {
+                Map.Entry<byte[], byte[]> entry = iterator.next();
+                byte[] key = entry.getKey();
+
+                // Stop once we've passed the keys for this column
+                if (!LevelDBKey.startsWith(key, prefix)) break;
+
+                if (key.length == prefix.length + 1) {
+                    // Column record (type)
+                    records.put(key[prefix.length], entry.getValue());
+                } else if (key.length == prefix.length + 2 && key[prefix.length] == LevelDBChunkType.SUB_CHUNK_PREFIX.getId()) {
+                    // Sub-chunk record (type + y)
+                    subChunks.put(key[prefix.length + 1], entry.getValue());
+                } else if (dimension == Dimension.OVERWORLD && (key.length == 13 || key.length == 14)) {
+                    // Other dimensions share the x/z prefix and are sorted first, skip past them
+                    byte[] next = LevelDBKey.prefixSuccessor(key, 12);
+                    if (next == null) break;
+                    iterator.seek(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get a record for the column which was found by {@link #readRecords(ChunkerColumn)}.
+     *
+     * @param type the type of the record.
+     * @return the value or null if it's not present.
+     */
+    protected byte[] getRecord(LevelDBChunkType type) {
+        return records.get(type.getId());
+    }
+
+    /**
+     * Read the different parts of the column and submit it once they're done.
+     *
+     * @param column                  the column being read.
+     * @param columnConversionHandler the output handler to submit the column to.
+     */
+    protected void readParts(ChunkerColumn column, ColumnConversionHandler columnConversionHandler) {
         // Load other parts of the column
         ArrayList<Task<Void>> processing = new ArrayList<>(4);
         if (converter.shouldProcessHeightMap() || converter.shouldProcessBiomes()) {
@@ -94,7 +157,7 @@ public class BedrockColumnReader implements ColumnReader {
     protected void readBiomeHeightMap(ChunkerColumn column) {
         try {
             // Read Data2D
-            byte[] value = database.get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_2D));
+            byte[] value = getRecord(LevelDBChunkType.DATA_2D);
             if (value != null) {
                 ByteBuffer buffer = ByteBuffer.wrap(value).order(ByteOrder.LITTLE_ENDIAN);
                 if (converter.shouldProcessHeightMap()) {
@@ -184,23 +247,21 @@ public class BedrockColumnReader implements ColumnReader {
      * @throws Exception if it failed to read the entity data.
      */
     protected void readEntities(ChunkerColumn column) throws Exception {
-        byte[] value = database.get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.ENTITY));
+        byte[] value = getRecord(LevelDBChunkType.ENTITY);
         if (value == null) return;
 
         // While there is bytes loop and read the entities
-        try (ByteArrayInputStream fileInputStream = new ByteArrayInputStream(value);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            Reader reader = Reader.toBedrockReader(readerStream);
-            while (fileInputStream.available() > 0) {
-                TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
-                if (pair == null) break;
-
-                try {
-                    // Process the tag
-                    readEntity(column, pair.tag());
-                } catch (Exception e) {
-                    converter.logNonFatalException(new Exception("Failed to process Entity " + pair.tag(), e));
-                }
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        Reader reader = Reader.toBedrockReader(buffer);
+        while (buffer.hasRemaining()) {
+            TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
+            if (pair == null) break;
+
+            try {
+                // Process the tag
+                readEntity(column, pair.tag());
+            } catch (Exception e) {
+                converter.logNonFatalException(new Exception("Failed to process Entity " + pair.tag(), e));
             }
         }
     }
@@ -228,23 +289,21 @@ public class BedrockColumnReader implements ColumnReader {
      * @throws Exception if it failed to read the block entity data.
      */
     protected void readBlockEntities(ChunkerColumn column) throws Exception {
-        byte[] value = database.get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.BLOCK_ENTITY));
+        byte[] value = getRecord(LevelDBChunkType.BLOCK_ENTITY);
         if (value == null) return;
 
         // While there is bytes loop and read the block entities
-        try (ByteArrayInputStream fileInputStream = new ByteArrayInputStream(value);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            Reader reader = Reader.toBedrockReader(readerStream);
-            while (fileInputStream.available() > 0) {
-                TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
-                if (pair == null) break;
-
-                try {
-                    // Process the tag
-                    readBlockEntity(column, pair.tag());
-                } catch (Exception e) {
-                    converter.logNonFatalException(new Exception("Failed to process BlockEntity " + pair.tag(), e));
-                }
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        Reader reader = Reader.toBedrockReader(buffer);
+        while (buffer.hasRemaining()) {
+            TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
+            if (pair == null) break;
+
+            try {
+                // Process the tag
+                readBlockEntity(column, pair.tag());
+            } catch (Exception e) {
+                converter.logNonFatalException(new Exception("Failed to process BlockEntity " + pair.tag(), e));
             }
         }
     }
@@ -274,13 +333,9 @@ public class BedrockColumnReader implements ColumnReader {
         // Create a list of the tasks
         List<Task<ChunkerChunk>> tasks = new ArrayList<>();
 
-        // Create a reusable key that can be used for each sub-chunk lookup
-        byte[] key = LevelDBKey.key(dimension, column.getPosition(), (byte) 0, LevelDBChunkType.SUB_CHUNK_PREFIX);
         for (byte y = -64; y < 64; y++) {
-            key[key.length - 1] = y; // The last byte is the Y
-
             // Lookup the chunk
-            byte[] value = database.get(key);
+            byte[] value = subChunks.get(y);
             if (value == null) continue; // Skip if the chunk doesn't exist
 
             // Create the chunk and add it to the column
@@ -109,84 +109,102 @@ public class BedrockLevelReader implements LevelReader, BedrockReaderWriter {
         }
     }
 
-    @Override
-    public void readLevel(LevelConversionHandler levelConversionHandler) throws IOException {
-        // Open database
-        openDatabase();
-
-        // Collect level data
-        FutureTask<WorldConversionHandler> levelDataCollection = Task.asyncUnwrap("Collecting Level Data", TaskWeight.MEDIUM, this::collectLevelData, levelConversionHandler);
+    /**
+     * Scan the database for the columns which are present in each dimension.
+     * <p>
+     * Keys are sorted by their bytes, so every key for a column shares the same x/z (and dimension) prefix. Rather
+     * than visiting every sub-chunk / entity entry, the iterator is moved past the rest of a column once it has been
+     * found. Dimension keys sort before overworld keys (the dimension ID bytes are lower than any chunk type), so an
+     * overworld column can be skipped entirely while a dimension column only skips its own dimension.
+     *
+     * @return a lookup of dimension to region to the columns present.
+     * @throws IOException if the database iterator fails to close.
+     */
+    protected EnumMap<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>> collectUsedRegions() throws IOException {
+        // Create a lookup for each dimension and region present
+        EnumMap<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>> dimensionLookup = new EnumMap<>(Dimension.class);
+
+        // Scan the database for valid chunks, don't cache blocks as this is a one-off pass over the whole database
+        try (DBIterator iterator = database.iterator(new ReadOptions().fillCache(false))) {
+            while (iterator.hasNext()) {
+                byte[] key = iterator.next().getKey();
+                int keyLength = key.length;
+
+                // The keys we're looking for are (9, 10, 13, 14) depending on if they have sub chunk / dimension
+                boolean containsSubChunk = keyLength == 14 || keyLength == 10;
+                boolean containsDimension = keyLength == 14 || keyLength == 13;
+
+                // If not 9 (both false) or any of the others then skip this entry
+                if (keyLength != 9 && !containsSubChunk && !containsDimension) continue;
+
+                // Skip local player
+                if (Arrays.equals(key, LevelDBKey.LOCAL_PLAYER)) {
+                    continue;
+                }
 
-        Task<EnumMap<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>>> usedRegions = Task.async("Collecting Used Regions", TaskWeight.MEDIUM, () -> {
-            // Create a lookup for each dimension and region present
-            EnumMap<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>> dimensionLookup = new EnumMap<>(Dimension.class);
-            // Scan the database for valid chunks
-            try (DBIterator iterator = database.iterator()) {
-                while (iterator.hasNext()) {
-                    Map.Entry<byte[], byte[]> entry = iterator.next();
-                    byte[] key = entry.getKey();
-                    int keyLength = key.length;
+                // Use a buffer to parse the key
+                ByteBuffer buffer = ByteBuffer.wrap(key).order(ByteOrder.LITTLE_ENDIAN);
 
-                    // The keys we're looking for are (9, 10, 13, 14) depending on if they have sub chunk / dimension
-                    boolean containsSubChunk = keyLength == 14 || keyLength == 10;
-                    boolean containsDimension = keyLength == 14 || keyLength == 13;
+                // Read co-ordinates
+                int x = buffer.getInt();
+                int z = buffer.getInt();
 
-                    // If not 9 (both false) or any of the others then skip this entry
-                    if (keyLength != 9 && !containsSubChunk && !containsDimension) continue;
+                // Read dimension
+                Dimension dimension = Dimension.OVERWORLD;
+                if (containsDimension) {
+                    int dimensionID = buffer.getInt();
+                    dimension = Dimension.fromBedrock((byte) dimensionID, null);
 
-                    // Skip local player
-                    if (Arrays.equals(key, LevelDBKey.LOCAL_PLAYER)) {
+                    // If unknown report an issue
+                    if (dimension == null) {
+                        converter.logNonFatalException(new Exception("Unknown dimension key " + dimensionID));
                         continue;
                     }
+                }
 
-                    // Use a buffer to parse the key
-                    ByteBuffer buffer = ByteBuffer.wrap(key).order(ByteOrder.LITTLE_ENDIAN);
+                // Read subChunk Y
+                if (containsSubChunk) {
+                    buffer.get();
+                }
 
-                    // Read co-ordinates
-                    int x = buffer.getInt();
-                    int z = buffer.getInt();
+                // Read type
+                byte type = buffer.get();
 
-                    // Read dimension
-                    Dimension dimension = Dimension.OVERWORLD;
-                    if (containsDimension) {
-                        int dimensionID = buffer.getInt();
-                        dimension = Dimension.fromBedrock((byte) dimensionID, null);
+                // Ensure the chunk either has: biome/height data, chunk data, block entity/entity data
+                if (type != LevelDBChunkType.DATA_2D.getId() && type != LevelDBChunkType.DATA_3D.getId()
+                        && type != LevelDBChunkType.SUB_CHUNK_PREFIX.getId()
+                        && type != LevelDBChunkType.ENTITY.getId() && type != LevelDBChunkType.BLOCK_ENTITY.getId()) {
+                    continue;
+                }
 
-                        // If unknown report an issue
-                        if (dimension == null) {
-                            converter.logNonFatalException(new Exception("Unknown dimension key " + dimensionID));
-                            continue;
-                        }
-                    }
+                // Create the pairs used for adding to the lookup
+                ChunkCoordPair chunkCoordPair = new ChunkCoordPair(x, z);
+                RegionCoordPair regionCoordPair = chunkCoordPair.getRegion();
 
-                    // Read subChunk Y
-                    if (containsSubChunk) {
-                        buffer.get();
-                    }
+                // Add to lookup
+                Map<RegionCoordPair, Set<ChunkCoordPair>> regionLookup = dimensionLookup.computeIfAbsent(dimension, (ignored) -> new Object2ObjectOpenHashMap<>());
+                Set<ChunkCoordPair> columns = regionLookup.computeIfAbsent(regionCoordPair, (ignored) -> new ObjectOpenHashSet<>());
+                columns.add(chunkCoordPair);
 
-                    // Read type
-                    byte type = buffer.get();
+                // Skip the remaining entries for this column (x, z and dimension if present)
+                byte[] next = LevelDBKey.prefixSuccessor(key, containsDimension ? 12 : 8);
+                if (next == null) break; // Nothing can sort after this column
+                iterator.seek(next);
+            }
+        }
 
-                    // Ensure the chunk either has: biome/height data, chunk data, block entity/entity data
-                    if (type != LevelDBChunkType.DATA_2D.getId() && type != LevelDBChunkType.DATA_3D.getId()
-                            && type != LevelDBChunkType.SUB_CHUNK_PREFIX.getId()
-                            && type != LevelDBChunkType.ENTITY.getId() && type != LevelDBChunkType.BLOCK_ENTITY.getId()) {
-                        continue;
-                    }
+        return dimensionLookup;
+    }
 
-                    // Create the pairs used for adding to the lookup
-                    ChunkCoordPair chunkCoordPair = new ChunkCoordPair(x, z);
-                    RegionCoordPair regionCoordPair = chunkCoordPair.getRegion();
+    @Override
+    public void readLevel(LevelConversionHandler levelConversionHandler) throws IOException {
+        // Open database
+        openDatabase();
 
-                    // Add to lookup
-                    Map<RegionCoordPair, Set<ChunkCoordPair>> regionLookup = dimensionLookup.computeIfAbsent(dimension, (ignored) -> new Object2ObjectOpenHashMap<>());
-                    Set<ChunkCoordPair> columns = regionLookup.computeIfAbsent(regionCoordPair, (ignored) -> new ObjectOpenHashSet<>());
-                    columns.add(chunkCoordPair);
-                }
-            }
+        // Collect level data
+        FutureTask<WorldConversionHandler> levelDataCollection = Task.asyncUnwrap("Collecting Level Data", TaskWeight.MEDIUM, this::collectLevelData, levelConversionHandler);
 
-            return dimensionLookup;
-        });
+        Task<EnumMap<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>>> usedRegions = Task.async("Collecting Used Regions", TaskWeight.MEDIUM, this::collectUsedRegions);
 
         // When we've collected the level data and present chunks, go through each world and call the reading process
         ProgressiveTask<Void> worldReading = levelDataCollection.thenConsume("Reading Worlds", TaskWeight.HIGHEST, (worldConversionHandler) -> {
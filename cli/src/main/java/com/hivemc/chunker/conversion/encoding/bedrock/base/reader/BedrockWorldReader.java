@@ -1,6 +1,7 @@
 package com.hivemc.chunker.conversion.encoding.bedrock.base.reader;
 
 import com.hivemc.chunker.conversion.encoding.base.Converter;
+import com.hivemc.chunker.conversion.encoding.base.reader.RegionAdmissionController;
 import com.hivemc.chunker.conversion.encoding.base.reader.WorldReader;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
 import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
@@ -9,12 +10,15 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
 import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.scheduling.task.FutureTask;
 import com.hivemc.chunker.scheduling.task.ProgressiveTask;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import org.iq80.leveldb.DB;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -78,13 +82,22 @@ public class BedrockWorldReader implements WorldReader {
      * @param columnConversionHandler the handler to submit the read columns to.
      */
     public void readRegions(Map<RegionCoordPair, Set<ChunkCoordPair>> regions, ColumnConversionHandler columnConversionHandler) {
-        for (Map.Entry<RegionCoordPair, Set<ChunkCoordPair>> region : regions.entrySet()) {
+        // Only allow a limited number of regions to be read at once, the next is admitted when one is flushed
+        RegionAdmissionController admissionController = new RegionAdmissionController(converter.getMaxRegionsInFlight(), converter.getHeapPressureMonitor());
+        List<Map.Entry<RegionCoordPair, Set<ChunkCoordPair>>> orderedRegions = new ArrayList<>(regions.entrySet());
+        orderedRegions.sort(Map.Entry.comparingByKey(RegionAdmissionController.REGION_ORDER));
+
+        for (Map.Entry<RegionCoordPair, Set<ChunkCoordPair>> region : orderedRegions) {
             if (converter.shouldProcessRegion(dimension, region.getKey())) {
-                // Read the region then perform GC, this ensures in systems where the Java process is not bound
-                // we do not consume too much memory and keep it fair to other processes
-                Task.async("Reading region", TaskWeight.NORMAL, () -> readRegion(region, columnConversionHandler))
+                // Read the region once admitted
+                ProgressiveTask<Void> reading = admissionController.admit()
+                        .then("Reading region", TaskWeight.NORMAL, () -> readRegion(region, columnConversionHandler));
+
+                // The region is flushed even if reading failed so neighbouring columns aren't left waiting for it, the slot
+                // is released after flushing
+                new FutureTask<>(reading.future().exceptionally((ignored) -> null))
                         .then("Region - Flushing", TaskWeight.MEDIUM, () -> columnConversionHandler.flushRegion(region.getKey()))
-                        .then("Region - System::GC", TaskWeight.NONE, System::gc);
+                        .future().whenComplete((ignored, throwable) -> admissionController.release());
             }
         }
     }
@@ -20,8 +20,10 @@ import com.hivemc.chunker.conversion.intermediate.column.entity.PaintingEntity;
 import com.hivemc.chunker.conversion.intermediate.column.entity.type.ChunkerEntityType;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
+import com.hivemc.chunker.nbt.EncodedTagCache;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 import com.hivemc.chunker.resolver.Resolver;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
@@ -95,6 +97,24 @@ public interface BedrockResolvers {
      */
     BedrockBlockCompoundTag writeBlock(ChunkerBlockIdentifier chunkerBlockIdentifier);
 
+    /**
+     * Write a block to a compound tag for a chunk palette. When caching is enabled the same tag is returned for each
+     * block so it must not be modified.
+     *
+     * @param chunkerBlockIdentifier the block identifier.
+     * @return the block as NBT with the waterlogged state.
+     */
+    BedrockBlockCompoundTag writePaletteBlock(ChunkerBlockIdentifier chunkerBlockIdentifier);
+
+    /**
+     * Get the cache used to encode palette entries from {@link #writePaletteBlock(ChunkerBlockIdentifier)}, this is
+     * scoped to the conversion.
+     *
+     * @return the cache or null if caching is disabled.
+     */
+    @Nullable
+    EncodedTagCache paletteEntryCache();
+
     /**
      * Write a block as an identifier (not for items).
      *
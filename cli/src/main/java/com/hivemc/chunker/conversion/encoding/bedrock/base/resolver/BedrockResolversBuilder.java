@@ -21,8 +21,11 @@ import com.hivemc.chunker.conversion.intermediate.column.entity.PaintingEntity;
 import com.hivemc.chunker.conversion.intermediate.column.entity.type.ChunkerEntityType;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
+import com.hivemc.chunker.nbt.EncodedTagCache;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.resolver.CachedResolver;
 import com.hivemc.chunker.resolver.Resolver;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 import java.util.function.Function;
@@ -42,6 +45,7 @@ public class BedrockResolversBuilder {
     private Resolver<BedrockBlockCompoundTag, Identifier> nbtBlockIdentifierResolver;
     private Resolver<Identifier, ChunkerItemStack> itemIdentifierResolver;
     private Resolver<Identifier, ChunkerBlockIdentifier> blockIdentifierResolver;
+    private Resolver<Identifier, ChunkerBlockIdentifier> uncachedBlockIdentifierResolver;
     private Resolver<Identifier, ChunkerBlockIdentifier> itemBlockIdentifierResolver;
     private Resolver<String, ChunkerEntityType> entityTypeResolver;
     private Resolver<Integer, ChunkerBiome> biomeIDResolver;
@@ -78,7 +82,23 @@ public class BedrockResolversBuilder {
      * @return the new instance.
      */
     public BedrockResolvers build() {
-        Resolver<BedrockBlockCompoundTag, ChunkerBlockIdentifier> nbtChunkerBlockIdentifierResolver = nbtBlockIdentifierResolver.then(blockIdentifierResolver);
+        // Palette entries repeat heavily between chunks, so reading them is cached as a whole rather than only the
+        // identifier step. Written tags can be modified by the writer so they're created each time.
+        Resolver<BedrockBlockCompoundTag, ChunkerBlockIdentifier> nbtChunkerBlockIdentifierResolver = enableCaching ? converter.registerCachedResolver(
+                "Bedrock block NBT",
+                new CachedResolver<>(
+                        nbtBlockIdentifierResolver.then(uncachedBlockIdentifierResolver),
+                        nbtBlockIdentifierResolver.then(blockIdentifierResolver),
+                        CachedResolver.DEFAULT_MAXIMUM_SIZE
+                )
+        ) : nbtBlockIdentifierResolver.then(blockIdentifierResolver);
+
+        // Palette entries are only encoded, so the written tags can be shared between chunks along with their encoding
+        Resolver<BedrockBlockCompoundTag, ChunkerBlockIdentifier> paletteBlockResolver = enableCaching ? converter.registerCachedResolver(
+                "Bedrock palette block",
+                nbtBlockIdentifierResolver.then(uncachedBlockIdentifierResolver).cached()
+        ) : nbtChunkerBlockIdentifierResolver;
+        EncodedTagCache paletteEntryCache = enableCaching ? new EncodedTagCache() : null;
         BedrockDataVersion dataVersion = BedrockDataVersion.getNearestVersion(version);
 
         return new BedrockResolvers() {
@@ -178,6 +198,22 @@ public class BedrockResolversBuilder {
                 });
             }
 
+            @Override
+            public BedrockBlockCompoundTag writePaletteBlock(ChunkerBlockIdentifier chunkerBlockIdentifier) {
+                return paletteBlockResolver.from(chunkerBlockIdentifier).orElseGet(() -> {
+                    // Report the error
+                    converter.logMissingMapping(Converter.MissingMappingType.BLOCK, String.valueOf(chunkerBlockIdentifier));
+
+                    // Return air
+                    return paletteBlockResolver.from(ChunkerBlockIdentifier.AIR).orElseThrow();
+                });
+            }
+
+            @Override
+            public @Nullable EncodedTagCache paletteEntryCache() {
+                return paletteEntryCache;
+            }
+
             @Override
             public Optional<Identifier> writeBlockIdentifier(ChunkerBlockIdentifier identifier, boolean reportMissing) {
                 Optional<Identifier> result = blockIdentifierResolver.from(identifier);
@@ -399,12 +435,13 @@ public class BedrockResolversBuilder {
     }
 
     public BedrockResolversBuilder blockIdentifierResolver(Resolver<Identifier, ChunkerBlockIdentifier> resolver) {
-        blockIdentifierResolver = enableCaching ? resolver.cached() : resolver;
+        uncachedBlockIdentifierResolver = resolver;
+        blockIdentifierResolver = enableCaching ? converter.registerCachedResolver("Bedrock block identifier", resolver.cached()) : resolver;
         return this;
     }
 
     public BedrockResolversBuilder itemBlockIdentifierResolver(Resolver<Identifier, ChunkerBlockIdentifier> resolver) {
-        itemBlockIdentifierResolver = enableCaching ? resolver.cached() : resolver;
+        itemBlockIdentifierResolver = enableCaching ? converter.registerCachedResolver("Bedrock item block identifier", resolver.cached()) : resolver;
         return this;
     }
 
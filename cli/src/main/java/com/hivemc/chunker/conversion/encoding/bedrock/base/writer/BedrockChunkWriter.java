@@ -5,6 +5,7 @@ import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResol
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockBlockCompoundTag;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBWriteBatch;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.PaletteUtil;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
@@ -16,6 +17,7 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.b
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.ShortBasedPalette;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.nbt.EncodedTagCache;
 import com.hivemc.chunker.nbt.io.Writer;
 import com.hivemc.chunker.nbt.tags.Tag;
 import com.hivemc.chunker.scheduling.function.ThrowableConsumer;
@@ -39,6 +41,7 @@ public class BedrockChunkWriter {
     protected final Converter converter;
     protected final Dimension dimension;
     protected final ChunkerColumn chunkerColumn;
+    protected final LevelDBWriteBatch writeBatch;
 
     /**
      * Create a new Bedrock Chunk Writer.
@@ -48,13 +51,15 @@ public class BedrockChunkWriter {
      * @param database      the LevelDB database.
      * @param dimension     the dimension of the chunk.
      * @param chunkerColumn the column being written.
+     * @param writeBatch    the batch to write the chunks to.
      */
-    public BedrockChunkWriter(Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension, ChunkerColumn chunkerColumn) {
+    public BedrockChunkWriter(Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension, ChunkerColumn chunkerColumn, LevelDBWriteBatch writeBatch) {
         this.resolvers = resolvers;
         this.database = database;
         this.converter = converter;
         this.dimension = dimension;
         this.chunkerColumn = chunkerColumn;
+        this.writeBatch = writeBatch;
     }
 
     /**
@@ -107,7 +112,7 @@ public class BedrockChunkWriter {
 
             writer.writeByte((byte) 8); // Version 8 chunks, palette
 
-            Palette<BedrockBlockCompoundTag> blockPalette = chunk.getPalette().map(resolvers::writeBlock);
+            Palette<BedrockBlockCompoundTag> blockPalette = chunk.getPalette().map(resolvers::writePaletteBlock);
 
             // Calculate waterlogged states
             boolean containsWaterlogged = blockPalette.containsValue(BedrockBlockCompoundTag::waterlogged);
@@ -131,11 +136,12 @@ public class BedrockChunkWriter {
      *
      * @param chunk the chunk input.
      * @param bytes the bytes for the block palette.
+     * @throws Exception if it failed to write the bytes.
      */
-    protected void writeChunkBytes(ChunkerChunk chunk, byte[] bytes) {
+    protected void writeChunkBytes(ChunkerChunk chunk, byte[] bytes) throws Exception {
         // Write the entry
         byte subChunkY = chunk.getY();
-        database.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
+        writeBatch.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
     }
 
     /**
@@ -147,7 +153,11 @@ public class BedrockChunkWriter {
      * @throws Exception if it failed to write the palette.
      */
     protected void writeLayers(Writer writer, int layers, Palette<BedrockBlockCompoundTag> blockPalette) throws Exception {
-        ThrowableConsumer<BedrockBlockCompoundTag> writeKey = (entry) -> Tag.encodeNamed(writer, "", entry.compoundTag());
+        // The same block states are written for most chunks, so the conversion caches their encoding if enabled
+        EncodedTagCache paletteEntryCache = resolvers.paletteEntryCache();
+        ThrowableConsumer<BedrockBlockCompoundTag> writeKey = paletteEntryCache == null
+                ? (entry) -> Tag.encodeNamed(writer, "", entry.compoundTag())
+                : (entry) -> paletteEntryCache.writeNamed(writer, "", entry.compoundTag());
         // Loop through each layer
         for (int layer = 0; layer < layers; layer++) {
             if (layer == 0) {
@@ -167,18 +177,33 @@ public class BedrockChunkWriter {
      * @return a generated liquid palette.
      */
     protected Palette<BedrockBlockCompoundTag> generateLiquidPalette(Palette<BedrockBlockCompoundTag> blockPalette) {
-        short[][][] values = new short[16][16][16];
-        for (int x = 0; x < 16; x++) {
-            for (int y = 0; y < 16; y++) {
-                for (int z = 0; z < 16; z++) {
-                    BedrockBlockCompoundTag block = blockPalette.get(x, y, z);
-                    values[x][y][z] = (short) (block == null || !block.waterlogged() ? 0 : 1);
+        short[] values = new short[4096];
+        if (blockPalette instanceof ShortBasedPalette<BedrockBlockCompoundTag> shortBasedPalette) {
+            // Check whether each key is waterlogged once, then map the values (which use the same order)
+            int keyCount = blockPalette.getKeyCount();
+            short[] keyValues = new short[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                BedrockBlockCompoundTag block = blockPalette.getKey(i);
+                keyValues[i] = (short) (block == null || !block.waterlogged() ? 0 : 1);
+            }
+            short[] blockValues = shortBasedPalette.getValues();
+            for (int i = 0; i < blockValues.length; i++) {
+                short keyIndex = blockValues[i];
+                values[i] = keyIndex >= 0 && keyIndex < keyCount ? keyValues[keyIndex] : 0;
+            }
+        } else {
+            for (int x = 0; x < 16; x++) {
+                for (int y = 0; y < 16; y++) {
+                    for (int z = 0; z < 16; z++) {
+                        BedrockBlockCompoundTag block = blockPalette.get(x, y, z);
+                        values[x << 8 | z << 4 | y] = (short) (block == null || !block.waterlogged() ? 0 : 1);
+                    }
                 }
             }
         }
         List<BedrockBlockCompoundTag> keys = List.of(
-                resolvers.writeBlock(ChunkerBlockIdentifier.AIR),
-                resolvers.writeBlock(new ChunkerBlockIdentifier(ChunkerVanillaBlockType.WATER, Map.of(
+                resolvers.writePaletteBlock(ChunkerBlockIdentifier.AIR),
+                resolvers.writePaletteBlock(new ChunkerBlockIdentifier(ChunkerVanillaBlockType.WATER, Map.of(
                         VanillaBlockStates.LIQUID_LEVEL, LiquidLevel._0,
                         VanillaBlockStates.FLOWING, Bool.FALSE
                 )))
@@ -3,35 +3,39 @@ package com.hivemc.chunker.conversion.encoding.bedrock.base.writer;
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.base.writer.ColumnWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
-import com.hivemc.chunker.conversion.encoding.bedrock.util.ColumnUtil;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBWriteBatch;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.PreTransformManager;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.biome.ChunkerBiome;
 import com.hivemc.chunker.conversion.intermediate.column.blockentity.BlockEntity;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
 import com.hivemc.chunker.conversion.intermediate.column.entity.Entity;
 import com.hivemc.chunker.conversion.intermediate.column.heightmap.BedrockHeightMap;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.SurfaceType;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
 import com.hivemc.chunker.nbt.io.Writer;
 import com.hivemc.chunker.nbt.tags.Tag;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.scheduling.task.FutureTask;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 import org.iq80.leveldb.DB;
-import org.iq80.leveldb.WriteBatch;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A writer for Bedrock columns.
@@ -42,6 +46,7 @@ public class BedrockColumnWriter implements ColumnWriter {
     protected final BedrockResolvers resolvers;
     protected final DB database;
     protected final Dimension dimension;
+    protected final Map<ChunkCoordPair, LevelDBWriteBatch> writeBatches = new ConcurrentHashMap<>();
 
     /**
      * Create a new column writer.
@@ -62,24 +67,81 @@ public class BedrockColumnWriter implements ColumnWriter {
 
     @Override
     public void writeColumn(ChunkerColumn chunkerColumn) throws Exception {
-        // Run any preprocessing
-        preProcessColumn(chunkerColumn);
-
-        // Compact any chunk palettes to ensure unused values are removed from pre-processing
-        chunkerColumn.getChunks().values().forEach(chunk -> {
-            chunk.setPalette(chunk.getPalette().compact(ChunkerBlockIdentifier.AIR));
-        });
-
-        // Write the chunk to NBT
-        ArrayList<Task<Void>> processing = new ArrayList<>(5);
-        processing.add(Task.asyncConsume("Writing Metadata", TaskWeight.LOW, this::writeMetadata, chunkerColumn));
-        processing.add(Task.asyncConsume("Writing HeightMap/Biomes", TaskWeight.NORMAL, this::writeHeightMapBiomes, chunkerColumn));
-        processing.add(Task.asyncConsume("Writing Entities", TaskWeight.HIGH, this::writeEntities, chunkerColumn));
-        processing.add(Task.asyncConsume("Writing Block Entities", TaskWeight.HIGH, this::writeBlockEntities, chunkerColumn));
-        processing.add(Task.asyncConsume("Writing Chunks", TaskWeight.HIGHER, this::writeChunks, chunkerColumn));
-
-        // When they're done apply post-processing
-        Task.join(processing).then("Post-processing column", TaskWeight.HIGH, () -> postProcessColumn(chunkerColumn));
+        // Collect every key written for the column into a single batch
+        LevelDBWriteBatch writeBatch = parent.createWriteBatch();
+        writeBatches.put(chunkerColumn.getPosition(), writeBatch);
+
+        try {
+            // Run any preprocessing
+            preProcessColumn(chunkerColumn);
+
+            // Compact any chunk palettes to ensure unused values are removed from pre-processing
+            chunkerColumn.getChunks().values().forEach(chunk -> {
+                chunk.setPalette(chunk.getPalette().compact(ChunkerBlockIdentifier.AIR));
+            });
+
+            // Pre-processing may have changed blocks, so any calculated surfaces are no longer valid
+            chunkerColumn.invalidateSurfaces();
+
+            // Write the chunk to NBT
+            ArrayList<Task<Void>> processing = new ArrayList<>(5);
+            processing.add(Task.asyncConsume("Writing Metadata", TaskWeight.LOW, this::writeMetadata, chunkerColumn));
+            processing.add(Task.asyncConsume("Writing HeightMap/Biomes", TaskWeight.NORMAL, this::writeHeightMapBiomes, chunkerColumn));
+            processing.add(Task.asyncConsume("Writing Entities", TaskWeight.HIGH, this::writeEntities, chunkerColumn));
+            processing.add(Task.asyncConsume("Writing Block Entities", TaskWeight.HIGH, this::writeBlockEntities, chunkerColumn));
+            processing.add(Task.asyncConsume("Writing Chunks", TaskWeight.HIGHER, this::writeChunks, chunkerColumn));
+
+            // Wait for every part, even if one failed (failures are reported by their own task), so the batch is
+            // always released
+            List<Task<Void>> settled = new ArrayList<>(processing.size());
+            for (Task<Void> task : processing) {
+                settled.add(new FutureTask<>(task.future().exceptionally((ignored) -> null)));
+            }
+
+            // When they're done apply post-processing and write all the keys for the column
+            Task.join(settled).then("Post-processing column", TaskWeight.HIGH, () -> {
+                try {
+                    if (processing.stream().noneMatch(task -> task.future().isCompletedExceptionally())) {
+                        postProcessColumn(chunkerColumn);
+                        writeBatch.write();
+                    }
+                } finally {
+                    releaseWriteBatch(chunkerColumn, writeBatch);
+                }
+            });
+        } catch (Throwable throwable) {
+            releaseWriteBatch(chunkerColumn, writeBatch);
+            throw throwable;
+        }
+    }
+
+    /**
+     * Remove the batch of a column which has finished being written and release any resources it holds.
+     *
+     * @param column     the column which was being written.
+     * @param writeBatch the batch used for the column.
+     */
+    protected void releaseWriteBatch(ChunkerColumn column, LevelDBWriteBatch writeBatch) {
+        writeBatches.remove(column.getPosition(), writeBatch);
+        try {
+            writeBatch.close();
+        } catch (IOException e) {
+            converter.logNonFatalException(e);
+        }
+    }
+
+    /**
+     * Get the write batch used for a column which is currently being written.
+     *
+     * @param column the column being written.
+     * @return the batch which is written after the column has been post-processed.
+     */
+    protected LevelDBWriteBatch getWriteBatch(ChunkerColumn column) {
+        LevelDBWriteBatch writeBatch = writeBatches.get(column.getPosition());
+        if (writeBatch == null) {
+            throw new IllegalStateException("Column " + column.getPosition() + " is not being written");
+        }
+        return writeBatch;
     }
 
     @Override
@@ -94,13 +156,8 @@ public class BedrockColumnWriter implements ColumnWriter {
      * @throws Exception if it failed to write the metadata.
      */
     protected void writeMetadata(ChunkerColumn chunkerColumn) throws Exception {
-        try (WriteBatch writeBatch = database.createWriteBatch()) {
-            // Save Version (0x76)
-            writeBatch.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.LEGACY_VERSION), new byte[]{7});
-
-            // Write the batch
-            database.write(writeBatch);
-        }
+        // Save Version (0x76)
+        getWriteBatch(chunkerColumn).put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.LEGACY_VERSION), new byte[]{7});
     }
 
     /**
@@ -201,15 +258,7 @@ public class BedrockColumnWriter implements ColumnWriter {
      * @return the generated height map.
      */
     protected BedrockHeightMap generateHeightMap(ChunkerColumn column) {
-        short[][] heightMap = new short[16][16];
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                OptionalInt highest = ColumnUtil.getHighestLitOrSlabBlock(column, x, z);
-                short value = (short) (highest.orElse(-1) + 1);
-                heightMap[x][z] = value;
-            }
-        }
-        return new BedrockHeightMap(heightMap);
+        return new BedrockHeightMap(column.getSurface(SurfaceType.LIT_OR_SLAB).createHeightMap());
     }
 
     /**
@@ -259,7 +308,7 @@ public class BedrockColumnWriter implements ColumnWriter {
         }
 
         // Save Data2D (0x2D) - Heightmap / Biome
-        database.put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_2D), bytes);
+        getWriteBatch(column).put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_2D), bytes);
     }
 
     /**
@@ -289,7 +338,7 @@ public class BedrockColumnWriter implements ColumnWriter {
             }
 
             // Write the byte array to the key
-            database.put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.ENTITY), byteArrayOutputStream.toByteArray());
+            getWriteBatch(column).put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.ENTITY), byteArrayOutputStream.toByteArray());
         }
     }
 
@@ -339,7 +388,7 @@ public class BedrockColumnWriter implements ColumnWriter {
             }
 
             // Write the byte array to the key
-            database.put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.BLOCK_ENTITY), byteArrayOutputStream.toByteArray());
+            getWriteBatch(column).put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.BLOCK_ENTITY), byteArrayOutputStream.toByteArray());
         }
     }
 
@@ -369,7 +418,7 @@ public class BedrockColumnWriter implements ColumnWriter {
      */
     protected void writeChunks(ChunkerColumn column) {
         // Create the writer for the chunks
-        BedrockChunkWriter chunkWriter = createChunkWriter(column);
+        BedrockChunkWriter chunkWriter = createChunkWriter(column, getWriteBatch(column));
 
         // Schedule each chunk to be written
         Task.asyncConsumeForEach("Writing Chunk", TaskWeight.NORMAL, chunkWriter::writeChunk, column.getChunks().values());
@@ -378,10 +427,11 @@ public class BedrockColumnWriter implements ColumnWriter {
     /**
      * Create a chunk writer for a column.
      *
-     * @param column the column being written.
+     * @param column     the column being written.
+     * @param writeBatch the batch which the chunks should be written to.
      * @return the newly created chunk writer.
      */
-    public BedrockChunkWriter createChunkWriter(ChunkerColumn column) {
-        return new BedrockChunkWriter(converter, resolvers, database, dimension, column);
+    public BedrockChunkWriter createChunkWriter(ChunkerColumn column, LevelDBWriteBatch writeBatch) {
+        return new BedrockChunkWriter(converter, resolvers, database, dimension, column, writeBatch);
     }
 }
@@ -8,7 +8,9 @@ import com.hivemc.chunker.conversion.encoding.base.writer.WorldWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.BedrockReaderWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.reader.BedrockLevelReader;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBBulkLoader;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBProfile;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.PreTransformManager;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
@@ -61,6 +63,8 @@ public class BedrockLevelWriter implements LevelWriter, BedrockReaderWriter {
     protected final Converter converter;
     protected final BedrockResolvers resolvers;
     protected DB database;
+    @Nullable
+    protected LevelDBBulkLoader bulkLoader;
 
     /**
      * Create a new level writer.
@@ -89,17 +93,20 @@ public class BedrockLevelWriter implements LevelWriter, BedrockReaderWriter {
         new File(databaseDirectory, "LOCK").delete();
 
         // LevelDB Options
-        Options options = new Options();
-        options.compressionType(CompressionType.ZLIB_RAW);
-        options.blockSize(160 * 1024); // 160KB
+        LevelDBProfile profile = getLevelDBProfile();
+        Options options = profile.apply(new Options());
         options.filterPolicy(new BloomFilterPolicy(10));
-        options.writeBufferSize(400 * 1024 * 1024); // 400MB write buffer
         options.createIfMissing(true);
 
         // Create the factory and open the database
         DBFactory factory = new Iq80DBFactory();
         database = factory.open(databaseDirectory, options);
 
+        // Sort keys in memory before they're written if bulk loading
+        if (profile.isBulkLoad()) {
+            bulkLoader = new LevelDBBulkLoader(database, profile.bulkLoadSize());
+        }
+
         if (converter.shouldAllowNBTCopying()) {
             remapExistingDB();
         }
@@ -203,8 +210,23 @@ public class BedrockLevelWriter implements LevelWriter, BedrockReaderWriter {
         }
     }
 
+    /**
+     * Get the LevelDB profile to use for the database.
+     *
+     * @return the profile from the converter or the default profile.
+     */
+    public LevelDBProfile getLevelDBProfile() {
+        LevelDBProfile profile = converter.getLevelDBProfile();
+        return profile == null ? LevelDBProfile.DEFAULT : profile;
+    }
+
     @Override
-    public void flushLevel() {
+    public void flushLevel() throws IOException {
+        // Write any keys which are still being sorted
+        if (bulkLoader != null) {
+            bulkLoader.flush();
+        }
+
         // Compact database
         if (converter.shouldLevelDBCompaction()) {
             // Signal the converter to indicate compaction has started
@@ -643,6 +665,6 @@ public class BedrockLevelWriter implements LevelWriter, BedrockReaderWriter {
      * @return a new world writer.
      */
     public BedrockWorldWriter createWorldWriter() {
-        return new BedrockWorldWriter(outputFolder, converter, resolvers, database);
+        return new BedrockWorldWriter(outputFolder, converter, resolvers, database, bulkLoader);
     }
 }
@@ -4,9 +4,12 @@ import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.base.writer.ColumnWriter;
 import com.hivemc.chunker.conversion.encoding.base.writer.WorldWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBBulkLoader;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBWriteBatch;
 import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import org.iq80.leveldb.DB;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -19,6 +22,8 @@ public class BedrockWorldWriter implements WorldWriter {
     protected final Converter converter;
     protected final BedrockResolvers resolvers;
     protected final DB database;
+    @Nullable
+    protected final LevelDBBulkLoader bulkLoader;
     protected final AtomicInteger entityID = new AtomicInteger(0);
 
     /**
@@ -28,12 +33,14 @@ public class BedrockWorldWriter implements WorldWriter {
      * @param converter    the converter instance.
      * @param resolvers    the resolvers to use.
      * @param database     the LevelDB database.
+     * @param bulkLoader   the bulk loader to write columns through, null if bulk loading is disabled.
      */
-    public BedrockWorldWriter(File outputFolder, Converter converter, BedrockResolvers resolvers, DB database) {
+    public BedrockWorldWriter(File outputFolder, Converter converter, BedrockResolvers resolvers, DB database, @Nullable LevelDBBulkLoader bulkLoader) {
         this.outputFolder = outputFolder;
         this.converter = converter;
         this.resolvers = resolvers;
         this.database = database;
+        this.bulkLoader = bulkLoader;
     }
 
     @Override
@@ -52,6 +59,15 @@ public class BedrockWorldWriter implements WorldWriter {
         return new BedrockColumnWriter(this, converter, resolvers, database, dimension);
     }
 
+    /**
+     * Create a new batch to collect the keys for a column.
+     *
+     * @return the new batch.
+     */
+    public LevelDBWriteBatch createWriteBatch() {
+        return new LevelDBWriteBatch(database, bulkLoader, LevelDBWriteBatch.DEFAULT_MAX_SIZE);
+    }
+
     /**
      * Generate a unique entity ID to use for an entity.
      *
@@ -0,0 +1,158 @@
+package com.hivemc.chunker.conversion.encoding.bedrock.util;
+
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.WriteBatch;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sorts keys in memory before writing them to LevelDB in key order. Keys written in order fill each memtable with a
+ * distinct key range, so the level 0 files created don't overlap and compacting them afterwards is cheap. Once the
+ * buffered keys reach the maximum size they're written, so only keys within the same buffer are guaranteed to be
+ * ordered.
+ */
+public class LevelDBBulkLoader {
+    /**
+     * The size in bytes of each batch written to the database.
+     */
+    private static final int BATCH_SIZE = 4 * 1024 * 1024;
+
+    private final DB database;
+    private final long maxSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object writeLock = new Object();
+    private final AtomicLong size = new AtomicLong();
+    private ConcurrentSkipListMap<byte[], byte[]> entries = new ConcurrentSkipListMap<>(Arrays::compareUnsigned);
+    private long nextTicket; // Guarded by lock
+    private long writingTicket; // Guarded by writeLock
+
+    /**
+     * Create a new bulk loader.
+     *
+     * @param database the database to write to.
+     * @param maxSize  the size in bytes (of keys and values) to buffer before writing.
+     */
+    public LevelDBBulkLoader(DB database, long maxSize) {
+        this.database = database;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Add a key to be written, this may write the buffered keys if the maximum size has been reached.
+     *
+     * @param key   the key to write.
+     * @param value the value to write.
+     * @throws IOException if the buffered keys had to be written and failed.
+     */
+    public void put(byte[] key, byte[] value) throws IOException {
+        long newSize;
+        lock.readLock().lock();
+        try {
+            byte[] previous = entries.put(key, value);
+            newSize = size.addAndGet(previous == null ? key.length + value.length : value.length - previous.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Write if the buffer is full
+        if (newSize >= maxSize) {
+            flush(false);
+        }
+    }
+
+    /**
+     * Write all the buffered keys to the database in key order.
+     *
+     * @throws IOException if it failed to write the keys.
+     */
+    public void flush() throws IOException {
+        flush(true);
+    }
+
+    /**
+     * Write the buffered keys to the database in key order.
+     *
+     * @param force whether the keys should be written even if the buffer isn't full.
+     * @throws IOException if it failed to write the keys.
+     */
+    private void flush(boolean force) throws IOException {
+        ConcurrentSkipListMap<byte[], byte[]> written;
+        long ticket;
+        lock.writeLock().lock();
+        try {
+            // Another writer may have already written the buffer
+            if (entries.isEmpty() || !force && size.get() < maxSize) return;
+
+            // Swap the buffer so writers can continue while these are written
+            written = entries;
+            entries = new ConcurrentSkipListMap<>(Arrays::compareUnsigned);
+            size.set(0);
+
+            // Take a ticket so buffers are written in the order they were swapped
+            ticket = nextTicket++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Write the keys in order using batches
+        synchronized (writeLock) {
+            awaitTicket(ticket);
+            WriteBatch writeBatch = null;
+            try {
+                writeBatch = database.createWriteBatch();
+                long batchSize = 0;
+                for (Map.Entry<byte[], byte[]> entry : written.entrySet()) {
+                    writeBatch.put(entry.getKey(), entry.getValue());
+                    batchSize += entry.getKey().length + entry.getValue().length;
+
+                    // Write the batch when it's full
+                    if (batchSize >= BATCH_SIZE) {
+                        database.write(writeBatch);
+                        writeBatch.close();
+                        writeBatch = database.createWriteBatch();
+                        batchSize = 0;
+                    }
+                }
+
+                // Write the remaining keys
+                if (batchSize > 0) {
+                    database.write(writeBatch);
+                }
+            } finally {
+                if (writeBatch != null) {
+                    writeBatch.close();
+                }
+
+                // Always let the next buffer be written, even if this one failed
+                writingTicket++;
+                writeLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait until it is the turn of the buffer with the ticket to be written, the caller must hold the write lock.
+     *
+     * @param ticket the ticket taken when the buffer was swapped.
+     */
+    private void awaitTicket(long ticket) {
+        boolean interrupted = false;
+        while (writingTicket != ticket) {
+            try {
+                writeLock.wait();
+            } catch (InterruptedException e) {
+                // Keep waiting as the later buffers can't be written until this one is
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
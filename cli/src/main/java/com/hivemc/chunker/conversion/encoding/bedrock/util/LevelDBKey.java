@@ -7,6 +7,7 @@ import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Utility class to create keys for the LevelDB database.
@@ -37,6 +38,27 @@ public class LevelDBKey {
         return true;
     }
 
+    /**
+     * Get the smallest key which sorts after every key starting with a prefix.
+     *
+     * @param input  the input bytes.
+     * @param length the number of bytes from the input to use as the prefix.
+     * @return the key after the prefix or null if no key can sort after it (all bytes are 0xFF).
+     */
+    public static byte[] prefixSuccessor(byte[] input, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            // Increment the last byte which isn't 0xFF and drop everything after it
+            if (input[i] != (byte) 0xFF) {
+                byte[] successor = Arrays.copyOf(input, i + 1);
+                successor[i]++;
+                return successor;
+            }
+        }
+
+        // No successor
+        return null;
+    }
+
     /**
      * Extract a String suffix from an input given a prefix.
      *
@@ -48,6 +70,17 @@ public class LevelDBKey {
         return new String(input, prefix.length, input.length - prefix.length, StandardCharsets.UTF_8);
     }
 
+    /**
+     * Create the prefix which is shared by every chunk based key for a column.
+     *
+     * @param dimension      the dimension for key.
+     * @param chunkCoordPair the co-ordinates of the column.
+     * @return the composed prefix.
+     */
+    public static byte[] key(Dimension dimension, ChunkCoordPair chunkCoordPair) {
+        return key(new byte[0], dimension, chunkCoordPair);
+    }
+
     /**
      * Create a sub-chunk based key with a type.
      *
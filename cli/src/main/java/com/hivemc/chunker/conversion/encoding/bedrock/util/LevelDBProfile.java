@@ -0,0 +1,166 @@
+package com.hivemc.chunker.conversion.encoding.bedrock.util;
+
+import org.iq80.leveldb.CompressionType;
+import org.iq80.leveldb.Options;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * The LevelDB options used when writing a Bedrock world.
+ *
+ * @param writeBufferSize the size in bytes of the memtable before it's written to a level 0 file.
+ * @param maxOpenFiles    the maximum number of table files kept open, null to use the LevelDB default.
+ * @param cacheSize       the size in bytes of the block cache, null to use the LevelDB default.
+ * @param compressionType the compression used for blocks (Bedrock supports none, zlib and raw zlib).
+ * @param blockSize       the size in bytes of each uncompressed block.
+ * @param bulkLoadSize    the size in bytes of keys to sort in memory before writing them in key order, 0 to write
+ *                        keys as soon as a column is done.
+ */
+public record LevelDBProfile(int writeBufferSize, @Nullable Integer maxOpenFiles, @Nullable Long cacheSize,
+                             CompressionType compressionType, int blockSize, long bulkLoadSize) {
+    /**
+     * The default profile, matching the options used before profiles were added. The open files and cache are left
+     * to LevelDB and bulk loading is disabled.
+     */
+    public static final LevelDBProfile DEFAULT = new LevelDBProfile(
+            400 * 1024 * 1024, // 400MB write buffer
+            null,
+            null,
+            CompressionType.ZLIB_RAW,
+            160 * 1024, // 160KB
+            0
+    );
+
+    /**
+     * The size used for bulk loading when it's enabled without a size.
+     */
+    public static final long DEFAULT_BULK_LOAD_SIZE = 512 * 1024 * 1024;
+
+    /**
+     * Create a new LevelDB profile.
+     *
+     * @param writeBufferSize the size in bytes of the memtable before it's written to a level 0 file.
+     * @param maxOpenFiles    the maximum number of table files kept open, null to use the LevelDB default.
+     * @param cacheSize       the size in bytes of the block cache, null to use the LevelDB default.
+     * @param compressionType the compression used for blocks (Bedrock supports none, zlib and raw zlib).
+     * @param blockSize       the size in bytes of each uncompressed block.
+     * @param bulkLoadSize    the size in bytes of keys to sort in memory before writing them in key order, 0 to write
+     *                        keys as soon as a column is done.
+     * @throws IllegalArgumentException if any of the values are invalid.
+     */
+    public LevelDBProfile {
+        if (writeBufferSize <= 0) throw new IllegalArgumentException("Write buffer size must be positive.");
+        if (maxOpenFiles != null && maxOpenFiles <= 0) {
+            throw new IllegalArgumentException("Max open files must be positive.");
+        }
+        if (cacheSize != null && cacheSize < 0) throw new IllegalArgumentException("Cache size must not be negative.");
+        if (blockSize <= 0) throw new IllegalArgumentException("Block size must be positive.");
+        if (bulkLoadSize < 0) throw new IllegalArgumentException("Bulk load size must not be negative.");
+        if (compressionType == CompressionType.SNAPPY) {
+            throw new IllegalArgumentException("Snappy compression is not supported by Bedrock.");
+        }
+    }
+
+    /**
+     * Parse a profile from a comma separated list of options, any which are missing use the default. Sizes can use
+     * a k, m or g suffix.
+     * e.g. "writeBuffer=256m,maxOpenFiles=2000,cache=64m,compression=zlib_raw,blockSize=160k,bulkLoad=1g"
+     *
+     * @param input the input to parse.
+     * @return the parsed profile.
+     * @throws IllegalArgumentException if the input is not a valid profile.
+     */
+    public static LevelDBProfile parse(String input) {
+        int writeBufferSize = DEFAULT.writeBufferSize;
+        Integer maxOpenFiles = DEFAULT.maxOpenFiles;
+        Long cacheSize = DEFAULT.cacheSize;
+        CompressionType compressionType = DEFAULT.compressionType;
+        int blockSize = DEFAULT.blockSize;
+        long bulkLoadSize = DEFAULT.bulkLoadSize;
+
+        for (String option : input.split(",")) {
+            option = option.trim();
+            if (option.isEmpty()) continue;
+
+            // Split the name and value (bulkLoad can be used without a value)
+            String[] parts = option.split("=", 2);
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            String value = parts.length == 2 ? parts[1].trim() : null;
+            if (value == null && !name.equals("bulkload")) {
+                throw new IllegalArgumentException("Missing value for LevelDB option " + parts[0]);
+            }
+            try {
+                switch (name) {
+                    case "writebuffer" -> writeBufferSize = Math.toIntExact(parseSize(value));
+                    case "maxopenfiles" -> maxOpenFiles = Integer.parseInt(value);
+                    case "cache" -> cacheSize = parseSize(value);
+                    case "compression" -> {
+                        try {
+                            compressionType = CompressionType.valueOf(value.toUpperCase(Locale.ROOT));
+                        } catch (IllegalArgumentException e) {
+                            throw new IllegalArgumentException("Unknown LevelDB compression " + value, e);
+                        }
+                    }
+                    case "blocksize" -> blockSize = Math.toIntExact(parseSize(value));
+                    case "bulkload" -> bulkLoadSize = value == null ? DEFAULT_BULK_LOAD_SIZE : parseSize(value);
+                    default -> throw new IllegalArgumentException("Unknown LevelDB option " + parts[0]);
+                }
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Value too large for LevelDB option " + parts[0], e);
+            }
+        }
+        return new LevelDBProfile(writeBufferSize, maxOpenFiles, cacheSize, compressionType, blockSize, bulkLoadSize);
+    }
+
+    /**
+     * Parse a size in bytes with an optional k, m or g suffix.
+     *
+     * @param input the input to parse.
+     * @return the size in bytes.
+     * @throws NumberFormatException if the input is not a valid size.
+     */
+    private static long parseSize(String input) {
+        String value = input.toLowerCase(Locale.ROOT);
+        long multiplier = switch (value.isEmpty() ? ' ' : value.charAt(value.length() - 1)) {
+            case 'k' -> 1024L;
+            case 'm' -> 1024L * 1024;
+            case 'g' -> 1024L * 1024 * 1024;
+            default -> 1;
+        };
+        if (multiplier != 1) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return Math.multiplyExact(Long.parseLong(value), multiplier);
+    }
+
+    /**
+     * Check whether keys should be sorted in memory before being written.
+     *
+     * @return true if bulk loading is enabled.
+     */
+    public boolean isBulkLoad() {
+        return bulkLoadSize > 0;
+    }
+
+    /**
+     * Apply this profile to LevelDB options.
+     *
+     * @param options the options to modify.
+     * @return the options.
+     */
+    public Options apply(Options options) {
+        options.writeBufferSize(writeBufferSize)
+                .compressionType(compressionType)
+                .blockSize(blockSize);
+
+        // Only override the LevelDB defaults if they were specified
+        if (maxOpenFiles != null) {
+            options.maxOpenFiles(maxOpenFiles);
+        }
+        if (cacheSize != null) {
+            options.cacheSize(cacheSize);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,91 @@
+package com.hivemc.chunker.conversion.encoding.bedrock.util;
+
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.WriteBatch;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * A thread-safe batch of LevelDB writes, used to collect every key produced while writing a column so the database
+ * write lock / log is only taken once. If the batch grows past the maximum size it is written early. When a bulk
+ * loader is used the keys are passed straight to it instead.
+ */
+public class LevelDBWriteBatch implements AutoCloseable {
+    /**
+     * The default size in bytes at which a batch is written early.
+     */
+    public static final int DEFAULT_MAX_SIZE = 8 * 1024 * 1024;
+
+    private final DB database;
+    @Nullable
+    private final LevelDBBulkLoader bulkLoader;
+    private final int maxSize;
+    @Nullable
+    private WriteBatch writeBatch;
+    private long size;
+
+    /**
+     * Create a new write batch.
+     *
+     * @param database   the database to write to.
+     * @param bulkLoader the bulk loader to pass keys to, null to write them to the database.
+     * @param maxSize    the size in bytes (of keys and values) at which the batch is written early.
+     */
+    public LevelDBWriteBatch(DB database, @Nullable LevelDBBulkLoader bulkLoader, int maxSize) {
+        this.database = database;
+        this.bulkLoader = bulkLoader;
+        this.maxSize = maxSize;
+
+        // Keys are only collected into a LevelDB batch when they're written directly
+        writeBatch = bulkLoader == null ? database.createWriteBatch() : null;
+    }
+
+    /**
+     * Add a key to the batch.
+     *
+     * @param key   the key to write.
+     * @param value the value to write.
+     * @throws IOException if the batch had to be written early and failed.
+     */
+    public synchronized void put(byte[] key, byte[] value) throws IOException {
+        if (bulkLoader != null) {
+            bulkLoader.put(key, value);
+            return;
+        }
+
+        writeBatch.put(key, value);
+        size += key.length + value.length;
+
+        // Write early if the batch is too large
+        if (size >= maxSize) {
+            write();
+        }
+    }
+
+    /**
+     * Write any pending keys to the database, the batch can continue to be used afterwards.
+     *
+     * @throws IOException if it failed to close the written batch.
+     */
+    public synchronized void write() throws IOException {
+        if (size == 0 || writeBatch == null) return; // Nothing to write
+
+        // Write and replace the batch
+        try {
+            database.write(writeBatch);
+        } finally {
+            writeBatch.close();
+            writeBatch = database.createWriteBatch();
+            size = 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writeBatch != null) {
+            writeBatch.close();
+            writeBatch = null;
+        }
+    }
+}
@@ -74,20 +74,16 @@ public class PaletteUtil {
         buffer.position(beforeWords);
 
         // Read values
-        short[][][] values = new short[16][16][16];
+        // Values are stored in XZY order, the same as the palette so they can be copied directly
+        short[] values = new short[4096];
+        int maxValue = (1 << bitsPerEntry) - 1;
         int i = 0;
         for (int word = 0; word < wordSize; word++) {
             int wordValue = buffer.getInt();
 
             // Skip if over 4096 (extra padding on bitsPerEntry 3,5,6)
             for (int block = 0; block < valuesPerWord && i < 4096; block++) {
-                int x = (i >> 8) & 0xF;
-                int y = i & 0xF;
-                int z = (i >> 4) & 0xF;
-
-                // Set the value
-                values[x][y][z] = (short) ((wordValue >>> (i % valuesPerWord * bitsPerEntry)) & ((1 << bitsPerEntry) - 1));
-                i++;
+                values[i++] = (short) ((wordValue >>> (block * bitsPerEntry)) & maxValue);
             }
         }
 
@@ -134,21 +130,14 @@ public class PaletteUtil {
 
         // Only write the palette if it's not empty and the key count is more than 1
         if (!emptyPalette && palette.getKeyCount() > 1 && palette instanceof ShortBasedPalette<T> shortBasedPalette) {
-            short[][][] values = shortBasedPalette.getValues();
+            // Values are stored in XZY order, the same as the palette so they can be packed directly
+            short[] values = shortBasedPalette.getValues();
             for (int wordIndex = 0; wordIndex < buffer.length; wordIndex++) {
-                for (int blockIndex = 0; blockIndex < blocksPerWord; blockIndex++) {
-                    if (i >= 4096) {
-                        break;
-                    }
-
-                    int y = i & 0xF;
-                    int z = (i >> 4) & 0xF;
-                    int x = (i >> 8) & 0xF;
-                    int startBitIndex = bitsPerBlock * blockIndex;
-                    short value = values[x][y][z];
-                    buffer[wordIndex] = (buffer[wordIndex] & ~(maxValue << startBitIndex)) | ((value & maxValue) << startBitIndex);
-                    i++;
+                int word = 0;
+                for (int blockIndex = 0; blockIndex < blocksPerWord && i < 4096; blockIndex++) {
+                    word |= (values[i++] & maxValue) << (bitsPerBlock * blockIndex);
                 }
+                buffer[wordIndex] = word;
             }
         }
 
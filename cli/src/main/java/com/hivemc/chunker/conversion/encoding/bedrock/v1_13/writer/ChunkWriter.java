@@ -3,12 +3,13 @@ package com.hivemc.chunker.conversion.encoding.bedrock.v1_13.writer;
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.writer.BedrockChunkWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBWriteBatch;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import org.iq80.leveldb.DB;
 
 public class ChunkWriter extends BedrockChunkWriter {
-    public ChunkWriter(Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension, ChunkerColumn chunkerColumn) {
-        super(converter, resolvers, database, dimension, chunkerColumn);
+    public ChunkWriter(Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension, ChunkerColumn chunkerColumn, LevelDBWriteBatch writeBatch) {
+        super(converter, resolvers, database, dimension, chunkerColumn, writeBatch);
     }
 }
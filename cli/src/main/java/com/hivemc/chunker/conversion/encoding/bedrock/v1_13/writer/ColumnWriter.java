@@ -5,6 +5,7 @@ import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResol
 import com.hivemc.chunker.conversion.encoding.bedrock.base.writer.BedrockChunkWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.writer.BedrockColumnWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.writer.BedrockWorldWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBWriteBatch;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import org.iq80.leveldb.DB;
@@ -15,7 +16,7 @@ public class ColumnWriter extends BedrockColumnWriter {
     }
 
     @Override
-    public BedrockChunkWriter createChunkWriter(ChunkerColumn column) {
-        return new ChunkWriter(converter, resolvers, database, dimension, column);
+    public BedrockChunkWriter createChunkWriter(ChunkerColumn column, LevelDBWriteBatch writeBatch) {
+        return new ChunkWriter(converter, resolvers, database, dimension, column, writeBatch);
     }
 }
@@ -19,7 +19,7 @@ public class LevelWriter extends BedrockLevelWriter {
 
     @Override
     public BedrockWorldWriter createWorldWriter() {
-        return new WorldWriter(outputFolder, converter, resolvers, database);
+        return new WorldWriter(outputFolder, converter, resolvers, database, bulkLoader);
     }
 
     @Override
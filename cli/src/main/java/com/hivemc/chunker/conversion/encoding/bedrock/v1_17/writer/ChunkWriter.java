@@ -4,6 +4,7 @@ import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBWriteBatch;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.level.ChunkerGeneratorType;
@@ -11,8 +12,8 @@ import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import org.iq80.leveldb.DB;
 
 public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.v1_16.writer.ChunkWriter {
-    public ChunkWriter(Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension, ChunkerColumn chunkerColumn) {
-        super(converter, resolvers, database, dimension, chunkerColumn);
+    public ChunkWriter(Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension, ChunkerColumn chunkerColumn, LevelDBWriteBatch writeBatch) {
+        super(converter, resolvers, database, dimension, chunkerColumn, writeBatch);
     }
 
     @Override
@@ -21,7 +22,7 @@ public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.
     }
 
     @Override
-    protected void writeChunkBytes(ChunkerChunk chunk, byte[] bytes) {
+    protected void writeChunkBytes(ChunkerChunk chunk, byte[] bytes) throws Exception {
         // Write the entry
         byte subChunkY = chunk.getY();
 
@@ -31,6 +32,6 @@ public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.
                 && converter.level().map(level -> level.getSettings().GeneratorType).orElse(ChunkerGeneratorType.CUSTOM) == ChunkerGeneratorType.NORMAL) {
             subChunkY += 4; // Move up 4 for Caves & Cliffs in older versions
         }
-        database.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
+        writeBatch.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
     }
 }
@@ -5,6 +5,7 @@ import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResol
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockBlockCompoundTag;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBWriteBatch;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
@@ -16,8 +17,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 
 public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.v1_17.writer.ChunkWriter {
-    public ChunkWriter(Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension, ChunkerColumn chunkerColumn) {
-        super(converter, resolvers, database, dimension, chunkerColumn);
+    public ChunkWriter(Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension, ChunkerColumn chunkerColumn, LevelDBWriteBatch writeBatch) {
+        super(converter, resolvers, database, dimension, chunkerColumn, writeBatch);
     }
 
     @Override
@@ -29,7 +30,7 @@ public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.
 
             writer.writeByte((byte) 9); // Version 9 palette with extra index
 
-            Palette<BedrockBlockCompoundTag> blockPalette = chunk.getPalette().map(resolvers::writeBlock);
+            Palette<BedrockBlockCompoundTag> blockPalette = chunk.getPalette().map(resolvers::writePaletteBlock);
 
             // Calculate waterlogged states
             boolean containsWaterlogged = blockPalette.containsValue(BedrockBlockCompoundTag::waterlogged);
@@ -53,8 +54,8 @@ public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.
     }
 
     @Override
-    protected void writeChunkBytes(ChunkerChunk chunk, byte[] bytes) {
+    protected void writeChunkBytes(ChunkerChunk chunk, byte[] bytes) throws Exception {
         byte subChunkY = chunk.getY();
-        database.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
+        writeBatch.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
     }
 }
@@ -6,6 +6,7 @@ import com.hivemc.chunker.conversion.encoding.bedrock.base.writer.BedrockChunkWr
 import com.hivemc.chunker.conversion.encoding.bedrock.base.writer.BedrockWorldWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBWriteBatch;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.PaletteUtil;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.biome.ChunkerBiome;
@@ -106,12 +107,12 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.bedrock
         }
 
         // Save Data3D (0x2B) - Heightmap / Biome
-        database.put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_3D), bytes);
+        getWriteBatch(column).put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_3D), bytes);
     }
 
     @Override
-    public BedrockChunkWriter createChunkWriter(ChunkerColumn column) {
-        return new ChunkWriter(converter, resolvers, database, dimension, column);
+    public BedrockChunkWriter createChunkWriter(ChunkerColumn column, LevelDBWriteBatch writeBatch) {
+        return new ChunkWriter(converter, resolvers, database, dimension, column, writeBatch);
     }
 
     /**
@@ -14,8 +14,7 @@ import com.hivemc.chunker.nbt.tags.TagWithName;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 import org.iq80.leveldb.DB;
 
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 public class ColumnReader extends com.hivemc.chunker.conversion.encoding.bedrock.v1_18.reader.ColumnReader {
@@ -34,21 +33,19 @@ public class ColumnReader extends com.hivemc.chunker.conversion.encoding.bedrock
         }
 
         // While there is bytes loop and read the entities
-        try (ByteArrayInputStream fileInputStream = new ByteArrayInputStream(value);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            Reader reader = Reader.toBedrockReader(readerStream);
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        Reader reader = Reader.toBedrockReader(buffer);
 
-            byte[] entityKey = new byte[8];
-            while (fileInputStream.available() > 0) {
-                try {
-                    // Read the key into our array
-                    reader.readBytes(entityKey);
+        byte[] entityKey = new byte[8];
+        while (buffer.remaining() >= entityKey.length) {
+            try {
+                // Read the key into our array
+                reader.readBytes(entityKey);
 
-                    // Lookup the entity and read it
-                    readEntity(column, entityKey);
-                } catch (Exception e) {
-                    converter.logNonFatalException(new Exception("Failed to process Entity ID " + Arrays.toString(entityKey), e));
-                }
+                // Lookup the entity and read it
+                readEntity(column, entityKey);
+            } catch (Exception e) {
+                converter.logNonFatalException(new Exception("Failed to process Entity ID " + Arrays.toString(entityKey), e));
             }
         }
     }
@@ -58,18 +55,16 @@ public class ColumnReader extends com.hivemc.chunker.conversion.encoding.bedrock
         byte[] entityValue = database.get(LevelDBKey.key(LevelDBKey.ACTOR_PREFIX, entityKey));
         if (entityValue == null) return; // Skip if the key wasn't found
 
-        try (ByteArrayInputStream fileInputStream = new ByteArrayInputStream(entityValue);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            Reader reader = Reader.toBedrockReader(readerStream);
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
-            if (pair == null) return;
+        ByteBuffer buffer = ByteBuffer.wrap(entityValue);
+        Reader reader = Reader.toBedrockReader(buffer);
+        TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
+        if (pair == null) return;
 
-            try {
-                // Process the tag
-                readEntity(column, pair.tag());
-            } catch (Exception e) {
-                converter.logNonFatalException(new Exception("Failed to process Entity " + pair.tag(), e));
-            }
+        try {
+            // Process the tag
+            readEntity(column, pair.tag());
+        } catch (Exception e) {
+            converter.logNonFatalException(new Exception("Failed to process Entity " + pair.tag(), e));
         }
     }
 
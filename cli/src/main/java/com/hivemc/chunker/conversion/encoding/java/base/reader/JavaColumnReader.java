@@ -100,9 +100,11 @@ public class JavaColumnReader implements ColumnReader {
         // Create the column and start parsing
         ChunkerColumn column = new ChunkerColumn(columnCoords);
 
-        // Load light populated
+        // Load light populated (1.14+ uses isLightOn)
         if (columnNBT.contains("LightPopulated")) {
             column.setLightPopulated(columnNBT.getByte("LightPopulated") != (byte) 0);
+        } else if (columnNBT.contains("isLightOn")) {
+            column.setLightPopulated(columnNBT.getByte("isLightOn") != (byte) 0);
         }
 
         // Load other parts of the column
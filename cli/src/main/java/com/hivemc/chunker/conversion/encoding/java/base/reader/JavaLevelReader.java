@@ -167,7 +167,7 @@ public class JavaLevelReader implements LevelReader, JavaReaderWriter {
         List<ChunkerPortal> portals = new ArrayList<>();
 
         // Extract positions of all the portals
-        List<List<BlockPosition>> portalPositions = new ArrayList<>();
+        List<BlockPosition> portalBlocks = new ArrayList<>();
         for (CompoundTag poi : collectedPOIs) {
             String type = poi.getString("type", null);
             if (!"minecraft:nether_portal".equals(type)) continue; // Not a portal
@@ -175,20 +175,13 @@ public class JavaLevelReader implements LevelReader, JavaReaderWriter {
             int[] pos = poi.getIntArray("pos", null);
             if (pos == null || pos.length != 3) continue; // Not valid
 
-            // Find any adjacent blocks and put it in that list
-            BlockPosition entry = new BlockPosition(pos[0], pos[1], pos[2]);
-            List<BlockPosition> list = findAdjacentPortalBlock(portalPositions, entry);
-
-            // Create the list if one wasn't found
-            if (list == null) {
-                list = new ArrayList<>(1);
-                portalPositions.add(list);
-            }
-
             // Add the entry
-            list.add(entry);
+            portalBlocks.add(new BlockPosition(pos[0], pos[1], pos[2]));
         }
 
+        // Group any adjacent blocks into portals
+        List<List<BlockPosition>> portalPositions = ChunkerPortalIndex.groupAdjacentBlocks(portalBlocks);
+
         // Now use the portal groups to count portals
         for (List<BlockPosition> positions : portalPositions) {
             try {
@@ -223,28 +216,6 @@ public class JavaLevelReader implements LevelReader, JavaReaderWriter {
         return portals;
     }
 
-    /**
-     * Find the adjacent portal blocks from a POI list.
-     *
-     * @param portalPositions the list of all the currently known portals.
-     * @param matcher         the block to find an adjacent portal block for.
-     * @return null if there are no adjacent portals, otherwise the list of portals that has adjacent blocks.
-     */
-    @Nullable
-    protected List<BlockPosition> findAdjacentPortalBlock(List<List<BlockPosition>> portalPositions, BlockPosition matcher) {
-        // Technical note: This will allow diagonals on two axis, but given portals need surrounding with obsidian, this is considered fine
-        for (List<BlockPosition> positions : portalPositions) {
-            for (BlockPosition entry : positions) {
-                int difference = Math.abs(entry.x() - matcher.x()) + Math.abs(entry.y() - matcher.y()) + Math.abs(entry.z() - matcher.z());
-                if (difference <= 2) {
-                    return positions; // This list is close enough
-                }
-            }
-        }
-
-        return null; // Can't find any adjacent
-    }
-
     /**
      * Collect all the POIs from inside a region file.
      *
@@ -270,7 +241,7 @@ public class JavaLevelReader implements LevelReader, JavaReaderWriter {
         }
 
         // Read the MCA file
-        try (MCAReader mcaReader = new MCAReader(converter, file)) {
+        try (MCAReader mcaReader = MCAReader.open(converter, file)) {
             int[] offsets = mcaReader.readOffsetTable();
 
             // Read each chunk at each offset
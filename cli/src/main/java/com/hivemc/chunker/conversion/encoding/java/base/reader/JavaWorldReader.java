@@ -1,6 +1,7 @@
 package com.hivemc.chunker.conversion.encoding.java.base.reader;
 
 import com.hivemc.chunker.conversion.encoding.base.Converter;
+import com.hivemc.chunker.conversion.encoding.base.reader.RegionAdmissionController;
 import com.hivemc.chunker.conversion.encoding.base.reader.WorldReader;
 import com.hivemc.chunker.conversion.encoding.java.base.reader.util.MCAReader;
 import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
@@ -11,6 +12,7 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
 import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.scheduling.task.FutureTask;
 import com.hivemc.chunker.scheduling.task.ProgressiveTask;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
@@ -116,17 +118,26 @@ public class JavaWorldReader implements WorldReader {
      * @param columnConversionHandler the handler to submit the columns to.
      */
     protected void readRegionFiles(Set<RegionCoordPair> regions, Set<String> knownRegionFiles, ColumnConversionHandler columnConversionHandler) {
+        // Only allow a limited number of regions to be read at once, the next is admitted when one is flushed
+        RegionAdmissionController admissionController = new RegionAdmissionController(converter.getMaxRegionsInFlight(), converter.getHeapPressureMonitor());
+        List<RegionCoordPair> orderedRegions = new ArrayList<>(regions);
+        orderedRegions.sort(RegionAdmissionController.REGION_ORDER);
+
         // Process regions
-        for (RegionCoordPair region : regions) {
+        for (RegionCoordPair region : orderedRegions) {
             if (converter.shouldProcessRegion(dimension, region)) {
                 // Multiple region files can be handled by later versions, so it's abstracted here
                 File[] regionFiles = getRegionFiles(region, knownRegionFiles);
 
-                // Read the region file then perform GC, this ensures in systems where the Java process is not bound
-                // we do not consume too much memory and keep it fair to other processes
-                Task.async("Reading region file", TaskWeight.NORMAL, () -> readRegion(regionFiles, region, columnConversionHandler))
+                // Read the region file once admitted
+                ProgressiveTask<Void> reading = admissionController.admit()
+                        .then("Reading region file", TaskWeight.NORMAL, () -> readRegion(regionFiles, region, columnConversionHandler));
+
+                // The region is flushed even if reading failed so neighbouring columns aren't left waiting for it, the slot
+                // is released after flushing
+                new FutureTask<>(reading.future().exceptionally((ignored) -> null))
                         .then("Region - Flushing", TaskWeight.MEDIUM, () -> columnConversionHandler.flushRegion(region))
-                        .then("Region - System::GC", TaskWeight.NONE, System::gc);
+                        .future().whenComplete((ignored, throwable) -> admissionController.release());
             }
         }
     }
@@ -189,9 +200,9 @@ public class JavaWorldReader implements WorldReader {
                 // Skip if the file doesn't exist / is invalid
                 if (file == null) continue;
 
-                // Otherwise open a random access file
+                // Otherwise open the region file
                 try {
-                    mcaReaders[i] = new MCAReader(converter, file);
+                    mcaReaders[i] = MCAReader.open(converter, file);
                     foundValidFile = true;
                 } catch (FileNotFoundException e) {
                     // Ignored, it'll be null if this happens
@@ -2,7 +2,6 @@ package com.hivemc.chunker.conversion.encoding.java.base.reader.util;
 
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
-import com.hivemc.chunker.nbt.io.Reader;
 import com.hivemc.chunker.nbt.tags.Tag;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 import com.hivemc.chunker.scheduling.task.Task;
@@ -11,30 +10,45 @@ import com.hivemc.chunker.scheduling.task.TaskWeight;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 
 /**
  * Utility for reading Java .mca files.
  */
-public class MCAReader implements AutoCloseable {
-    private final Converter converter;
-    private final File folder;
-    private final RandomAccessFile randomAccessFile;
-    private final Reader reader;
+public abstract class MCAReader implements AutoCloseable {
+    protected final Converter converter;
+    protected final File folder;
 
     /**
-     * Create a new MCAReader (must be closed after).
+     * Create a new MCAReader.
      *
      * @param converter the converter instance.
-     * @param file      the mca file to read.
-     * @throws FileNotFoundException if the file wasn't present.
+     * @param file      the mca file being read.
      */
-    public MCAReader(Converter converter, File file) throws FileNotFoundException {
+    protected MCAReader(Converter converter, File file) {
         this.converter = converter;
         folder = file.getParentFile();
-        randomAccessFile = new RandomAccessFile(file, "r");
-        reader = Reader.toJavaReader(randomAccessFile);
+    }
+
+    /**
+     * Open an MCAReader for a file (must be closed after). The file is memory mapped, falling back to random access
+     * reading if it can't be mapped.
+     *
+     * @param converter the converter instance.
+     * @param file      the mca file to read.
+     * @return the reader for the file.
+     * @throws FileNotFoundException if the file wasn't present.
+     */
+    public static MCAReader open(Converter converter, File file) throws FileNotFoundException {
+        try {
+            return new MappedMCAReader(converter, file);
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            // Mapping isn't possible for this file, so use a random access file instead
+            return new RandomAccessMCAReader(converter, file);
+        }
     }
 
     /**
@@ -43,20 +57,31 @@ public class MCAReader implements AutoCloseable {
      * @return the table of indexes for the columns (1024 columns in an MCA file).
      * @throws IOException if it failed to read the offset table.
      */
-    public int[] readOffsetTable() throws IOException {
-        int[] offsets = new int[1024];
+    public abstract int[] readOffsetTable() throws IOException;
+
+    /**
+     * Read a column at an offset.
+     *
+     * @param columnCoordPair the global position being read at the offset (used for oversized chunks).
+     * @param offset          the offset to read at.
+     * @return the task which is reading and decompressing the chunk.
+     * @throws IOException if it failed to read the .mca file.
+     */
+    public abstract Task<CompoundTag> readColumn(ChunkCoordPair columnCoordPair, int offset) throws IOException;
 
-        // Read into temporary buffer
-        byte[] temp = new byte[4096];
-        reader.readBytes(temp);
+    /**
+     * Parse the offset table from the 4096 byte header of an .mca file.
+     *
+     * @param header the header, read from the current position.
+     * @return the table of indexes for the columns (1024 columns in an MCA file).
+     */
+    protected static int[] parseOffsetTable(ByteBuffer header) {
+        int[] offsets = new int[1024];
 
         // Read the header which contains the chunk offsets
         for (int i = 0; i < 1024; i++) {
-            int tempIndex = i << 2;
-            int offset = ((temp[tempIndex] & 0xFF) << 16) |
-                    ((temp[tempIndex + 1] & 0xFF) << 8) |
-                    (temp[tempIndex + 2] & 0xFF);
-            // Skip sector count byte (unused, we can validate without it)
+            // The top 3 bytes are the offset, the last is the sector count (unused, we can validate without it)
+            int offset = header.getInt() >>> 8;
 
             // Only record the offset if it's more than 0, the first 4096 is the header, so it's invalid to be there
             if (offset > 0) {
@@ -68,35 +93,26 @@ public class MCAReader implements AutoCloseable {
     }
 
     /**
-     * Read a column at an offset.
+     * Read the compressed data of an oversized column, these are stored in external .mcc files.
      *
-     * @param columnCoordPair the global position being read at the offset (used for oversized chunks).
-     * @param offset          the offset to read at.
-     * @return the task which is reading and decompressing the chunk.
-     * @throws IOException if it failed to read the .mca file.
+     * @param columnCoordPair the global position of the column.
+     * @return the compressed data.
+     * @throws IOException if it failed to read the external file.
      */
-    public Task<CompoundTag> readColumn(ChunkCoordPair columnCoordPair, int offset) throws IOException {
-        // Seek to the location of the column (4096 sized chunks)
-        randomAccessFile.seek(offset * 4096L);
-
-        int chunkLength = reader.readInt() - 1; // Minus 1 as it includes compression type
-
-        // Check compression type
-        byte rawType = reader.readByte();
-        byte compressionType = (byte) (rawType & ~0x80);
-
-        byte[] compressedColumn;
-        // Check for oversized chunks (external files)
-        if ((rawType & 0x80) != 0) {
-            // Read the external file
-            File file = new File(folder, "c." + columnCoordPair.chunkX() + "." + columnCoordPair.chunkZ() + ".mcc");
-            compressedColumn = Files.readAllBytes(file.toPath());
-        } else {
-            // Read bytes for later processing
-            compressedColumn = new byte[chunkLength];
-            reader.readBytes(compressedColumn);
-        }
+    protected ByteBuffer readExternalColumn(ChunkCoordPair columnCoordPair) throws IOException {
+        File file = new File(folder, "c." + columnCoordPair.chunkX() + "." + columnCoordPair.chunkZ() + ".mcc");
+        return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    }
 
+    /**
+     * Create a task to decompress a column.
+     *
+     * @param columnCoordPair  the co-ordinates of the column being decompressed.
+     * @param compressionType  the compression type.
+     * @param compressedColumn the compressed column data, this must not be modified after.
+     * @return the task which is decompressing the chunk.
+     */
+    protected Task<CompoundTag> decompressColumnAsync(ChunkCoordPair columnCoordPair, byte compressionType, ByteBuffer compressedColumn) {
         // Make a task to do the decompression, this is allowed async as we don't need to do any more sync operations
         return Task.async(
                 "Decompressing column data",
@@ -114,7 +130,7 @@ public class MCAReader implements AutoCloseable {
      * @return the decompressed compound tag.
      * @throws IOException if it failed to decompress / read.
      */
-    protected CompoundTag decompressColumn(ChunkCoordPair chunkCoordPair, byte compressionType, byte[] compressedColumn) throws IOException {
+    protected CompoundTag decompressColumn(ChunkCoordPair chunkCoordPair, byte compressionType, ByteBuffer compressedColumn) throws IOException {
         try {
             // LZ4 was added in 1.20.5, but there is no harm supporting it here
             return switch (compressionType) {
@@ -134,7 +150,5 @@ public class MCAReader implements AutoCloseable {
     }
 
     @Override
-    public void close() throws IOException {
-        randomAccessFile.close();
-    }
+    public abstract void close() throws IOException;
 }
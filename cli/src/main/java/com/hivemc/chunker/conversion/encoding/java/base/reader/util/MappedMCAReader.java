@@ -0,0 +1,93 @@
+package com.hivemc.chunker.conversion.encoding.java.base.reader.util;
+
+import com.hivemc.chunker.conversion.encoding.base.Converter;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.scheduling.task.Task;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MCAReader which maps the whole file into memory once, columns are handed to the decompression tasks as slices of the
+ * mapping so no copies are made. The mapping stays valid after the reader is closed until the slices are no longer
+ * referenced.
+ */
+public class MappedMCAReader extends MCAReader {
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Create a new MappedMCAReader (must be closed after).
+     *
+     * @param converter the converter instance.
+     * @param file      the mca file to read.
+     * @throws FileNotFoundException if the file wasn't present.
+     * @throws IOException           if the file couldn't be mapped (including files too large for a single mapping).
+     */
+    public MappedMCAReader(Converter converter, File file) throws IOException {
+        super(converter, file);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // A single mapping is limited to 2GB, larger files are read with random access instead
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Region file %s is too large to map (%d bytes)".formatted(file, size));
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(file.getPath());
+        }
+    }
+
+    @Override
+    public int[] readOffsetTable() throws IOException {
+        if (buffer.capacity() < 4096) {
+            throw new IOException("Region file is too small to contain an offset table");
+        }
+
+        return parseOffsetTable(buffer.duplicate());
+    }
+
+    @Override
+    public Task<CompoundTag> readColumn(ChunkCoordPair columnCoordPair, int offset) throws IOException {
+        // Find the location of the column (4096 sized chunks)
+        long position = offset * 4096L;
+        if (position + 5 > buffer.capacity()) {
+            throw new IOException("Column %s offset is outside of the region file".formatted(columnCoordPair));
+        }
+        int index = (int) position;
+
+        int chunkLength = buffer.getInt(index) - 1; // Minus 1 as it includes compression type
+
+        // Check compression type
+        byte rawType = buffer.get(index + 4);
+        byte compressionType = (byte) (rawType & ~0x80);
+
+        ByteBuffer compressedColumn;
+        // Check for oversized chunks (external files)
+        if ((rawType & 0x80) != 0) {
+            // Read the external file
+            compressedColumn = readExternalColumn(columnCoordPair);
+        } else {
+            // Validate the length before slicing
+            if (chunkLength < 0 || chunkLength > buffer.capacity() - index - 5) {
+                throw new IOException("Column %s length is outside of the region file".formatted(columnCoordPair));
+            }
+
+            // Slice the mapping, so the column can be decompressed without copying
+            compressedColumn = buffer.slice(index + 5, chunkLength);
+        }
+
+        return decompressColumnAsync(columnCoordPair, compressionType, compressedColumn);
+    }
+
+    @Override
+    public void close() {
+        // Nothing to close, the channel is closed once mapped
+    }
+}
@@ -0,0 +1,74 @@
+package com.hivemc.chunker.conversion.encoding.java.base.reader.util;
+
+import com.hivemc.chunker.conversion.encoding.base.Converter;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.nbt.io.Reader;
+import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.scheduling.task.Task;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * MCAReader which reads the file using a RandomAccessFile, copying each column into a new array.
+ */
+public class RandomAccessMCAReader extends MCAReader {
+    private final RandomAccessFile randomAccessFile;
+    private final Reader reader;
+
+    /**
+     * Create a new RandomAccessMCAReader (must be closed after).
+     *
+     * @param converter the converter instance.
+     * @param file      the mca file to read.
+     * @throws FileNotFoundException if the file wasn't present.
+     */
+    public RandomAccessMCAReader(Converter converter, File file) throws FileNotFoundException {
+        super(converter, file);
+        randomAccessFile = new RandomAccessFile(file, "r");
+        reader = Reader.toJavaReader(randomAccessFile);
+    }
+
+    @Override
+    public int[] readOffsetTable() throws IOException {
+        // Read into temporary buffer
+        byte[] temp = new byte[4096];
+        reader.readBytes(temp);
+
+        return parseOffsetTable(ByteBuffer.wrap(temp));
+    }
+
+    @Override
+    public Task<CompoundTag> readColumn(ChunkCoordPair columnCoordPair, int offset) throws IOException {
+        // Seek to the location of the column (4096 sized chunks)
+        randomAccessFile.seek(offset * 4096L);
+
+        int chunkLength = reader.readInt() - 1; // Minus 1 as it includes compression type
+
+        // Check compression type
+        byte rawType = reader.readByte();
+        byte compressionType = (byte) (rawType & ~0x80);
+
+        ByteBuffer compressedColumn;
+        // Check for oversized chunks (external files)
+        if ((rawType & 0x80) != 0) {
+            // Read the external file
+            compressedColumn = readExternalColumn(columnCoordPair);
+        } else {
+            // Read bytes for later processing
+            byte[] bytes = new byte[chunkLength];
+            reader.readBytes(bytes);
+            compressedColumn = ByteBuffer.wrap(bytes);
+        }
+
+        return decompressColumnAsync(columnCoordPair, compressionType, compressedColumn);
+    }
+
+    @Override
+    public void close() throws IOException {
+        randomAccessFile.close();
+    }
+}
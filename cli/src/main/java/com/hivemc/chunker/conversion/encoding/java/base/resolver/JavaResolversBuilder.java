@@ -21,6 +21,7 @@ import com.hivemc.chunker.conversion.intermediate.column.entity.type.ChunkerEnti
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.resolver.CachedResolver;
 import com.hivemc.chunker.resolver.Resolver;
 import com.hivemc.chunker.util.LegacyIdentifier;
 
@@ -42,6 +43,7 @@ public class JavaResolversBuilder {
     private Resolver<Integer, String> blockIDResolver;
     private Resolver<Identifier, ChunkerItemStack> itemIdentifierResolver;
     private Resolver<Identifier, ChunkerBlockIdentifier> blockIdentifierResolver;
+    private Resolver<Identifier, ChunkerBlockIdentifier> uncachedBlockIdentifierResolver;
     private Resolver<String, ChunkerEntityType> entityTypeResolver;
     private Resolver<String, ChunkerBiome> biomeNameResolver;
     private Resolver<Integer, ChunkerBiome> biomeIDResolver;
@@ -81,7 +83,20 @@ public class JavaResolversBuilder {
      * @return the new instance.
      */
     public JavaResolvers build() {
-        Resolver<CompoundTag, ChunkerBlockIdentifier> nbtChunkerBlockIdentifierResolver = nbtBlockIdentifierResolver.then(blockIdentifierResolver);
+        // Palette entries repeat heavily between chunks, so reading them is cached as a whole rather than only the
+        // identifier step. Written tags can be modified by the writer so they're created each time.
+        Resolver<CompoundTag, ChunkerBlockIdentifier> nbtChunkerBlockIdentifierResolver = enableCaching ? converter.registerCachedResolver(
+                "Java block NBT",
+                new CachedResolver<>(
+                        nbtBlockIdentifierResolver.then(uncachedBlockIdentifierResolver),
+                        nbtBlockIdentifierResolver.then(blockIdentifierResolver),
+                        CachedResolver.DEFAULT_MAXIMUM_SIZE
+                )
+        ) : nbtBlockIdentifierResolver.then(blockIdentifierResolver);
+        Resolver<LegacyIdentifier, ChunkerBlockIdentifier> legacyChunkerBlockIdentifierResolver = enableCaching ? converter.registerCachedResolver(
+                "Java legacy block",
+                createLegacyBlockIdentifierResolver(uncachedBlockIdentifierResolver).cached()
+        ) : createLegacyBlockIdentifierResolver(blockIdentifierResolver);
         JavaDataVersion dataVersion = JavaDataVersion.getNearestVersion(version);
 
         return new JavaResolvers() {
@@ -102,13 +117,7 @@ public class JavaResolversBuilder {
 
             @Override
             public ChunkerBlockIdentifier readBlock(LegacyIdentifier input) {
-                // Turn the LegacyIdentifier into an Identifier then resolve it
-                Optional<ChunkerBlockIdentifier> output = blockIDResolver.to(input.id())
-                        .map(identifier -> Identifier.fromData(identifier, OptionalInt.of(input.data())))
-                        .flatMap(blockIdentifierResolver::to);
-
-                // Return the output or report an error
-                return output.orElseGet(() -> {
+                return legacyChunkerBlockIdentifierResolver.to(input).orElseGet(() -> {
                     // Report the error
                     converter.logMissingMapping(Converter.MissingMappingType.BLOCK, String.valueOf(input));
 
@@ -255,16 +264,13 @@ public class JavaResolversBuilder {
 
             @Override
             public LegacyIdentifier writeLegacyBlockIdentifier(ChunkerBlockIdentifier chunkerBlockIdentifier) {
-                return blockIdentifierResolver.from(chunkerBlockIdentifier)
-                        .flatMap(identifier -> blockIDResolver.from(identifier.getIdentifier())
-                                .map(id -> new LegacyIdentifier(id, (byte) identifier.getDataValue().orElse(0))))
-                        .orElseGet(() -> {
-                            // Report the error
-                            converter.logMissingMapping(Converter.MissingMappingType.BLOCK, String.valueOf(chunkerBlockIdentifier));
+                return legacyChunkerBlockIdentifierResolver.from(chunkerBlockIdentifier).orElseGet(() -> {
+                    // Report the error
+                    converter.logMissingMapping(Converter.MissingMappingType.BLOCK, String.valueOf(chunkerBlockIdentifier));
 
-                            // Return air
-                            return new LegacyIdentifier(0, (byte) 0);
-                        });
+                    // Return air
+                    return new LegacyIdentifier(0, (byte) 0);
+                });
             }
 
             @Override
@@ -463,6 +469,31 @@ public class JavaResolversBuilder {
         };
     }
 
+    /**
+     * Create a resolver which turns legacy IDs and data values into block identifiers.
+     *
+     * @param blockIdentifierResolver the resolver to use for the identifier created from the legacy ID.
+     * @return the new resolver.
+     */
+    private Resolver<LegacyIdentifier, ChunkerBlockIdentifier> createLegacyBlockIdentifierResolver(Resolver<Identifier, ChunkerBlockIdentifier> blockIdentifierResolver) {
+        return new Resolver<>() {
+            @Override
+            public Optional<ChunkerBlockIdentifier> to(LegacyIdentifier input) {
+                // Turn the LegacyIdentifier into an Identifier then resolve it
+                return blockIDResolver.to(input.id())
+                        .map(identifier -> Identifier.fromData(identifier, OptionalInt.of(input.data())))
+                        .flatMap(blockIdentifierResolver::to);
+            }
+
+            @Override
+            public Optional<LegacyIdentifier> from(ChunkerBlockIdentifier input) {
+                return blockIdentifierResolver.from(input)
+                        .flatMap(identifier -> blockIDResolver.from(identifier.getIdentifier())
+                                .map(id -> new LegacyIdentifier(id, (byte) identifier.getDataValue().orElse(0))));
+            }
+        };
+    }
+
     public JavaResolversBuilder nbtBlockIdentifierResolver(Resolver<CompoundTag, Identifier> resolver) {
         nbtBlockIdentifierResolver = resolver;
         return this;
@@ -474,7 +505,8 @@ public class JavaResolversBuilder {
     }
 
     public JavaResolversBuilder blockIdentifierResolver(Resolver<Identifier, ChunkerBlockIdentifier> resolver) {
-        blockIdentifierResolver = enableCaching ? resolver.cached() : resolver;
+        uncachedBlockIdentifierResolver = resolver;
+        blockIdentifierResolver = enableCaching ? converter.registerCachedResolver("Java block identifier", resolver.cached()) : resolver;
         return this;
     }
 
@@ -157,7 +157,7 @@ public class JavaChunkWriter {
      */
     protected void writeLightData(ChunkerChunk chunk, List<TagWithName<?>> output) {
         if (chunk.getBlockLight() != null) {
-            byte[] blockLightArray = ByteUtil.convertToNibbleArray(chunk.getBlockLight());
+            byte[] blockLightArray = chunk.getBlockLight().toNibbleArray();
             output.add(new TagWithName<>("BlockLight", new ByteArrayTag(blockLightArray)));
         } else {
             output.add(new TagWithName<>("BlockLight", new ByteArrayTag(EMPTY_LIGHT_ARRAY)));
@@ -166,7 +166,7 @@ public class JavaChunkWriter {
         // SkyLight is not in the nether
         if (dimension != Dimension.NETHER) {
             if (chunk.getSkyLight() != null) {
-                byte[] skyLightArray = ByteUtil.convertToNibbleArray(chunk.getSkyLight());
+                byte[] skyLightArray = chunk.getSkyLight().toNibbleArray();
                 output.add(new TagWithName<>("SkyLight", new ByteArrayTag(skyLightArray)));
             } else {
                 output.add(new TagWithName<>("SkyLight", new ByteArrayTag(EMPTY_LIGHT_ARRAY)));
@@ -2,19 +2,21 @@ package com.hivemc.chunker.conversion.encoding.java.base.writer;
 
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.base.writer.ColumnWriter;
-import com.hivemc.chunker.conversion.encoding.bedrock.util.ColumnUtil;
 import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.PreTransformManager;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.biome.ChunkerBiome;
 import com.hivemc.chunker.conversion.intermediate.column.blockentity.BlockEntity;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
 import com.hivemc.chunker.conversion.intermediate.column.entity.Entity;
 import com.hivemc.chunker.conversion.intermediate.column.heightmap.JavaLegacyHeightMap;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.SurfaceType;
 import com.hivemc.chunker.conversion.intermediate.level.ChunkerLevel;
 import com.hivemc.chunker.conversion.intermediate.level.ChunkerPortal;
+import com.hivemc.chunker.conversion.intermediate.level.ChunkerPortalIndex;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
 import com.hivemc.chunker.nbt.TagType;
@@ -42,6 +44,8 @@ public class JavaColumnWriter implements ColumnWriter {
     protected final Converter converter;
     protected final JavaResolvers resolvers;
     protected final Dimension dimension;
+    @Nullable
+    private volatile ChunkerPortalIndex portalIndex;
 
     /**
      * Create a new column writer.
@@ -58,6 +62,12 @@ public class JavaColumnWriter implements ColumnWriter {
         this.dimension = dimension;
     }
 
+    @Override
+    public void flushRegion(RegionCoordPair regionCoordPair) throws Exception {
+        // Write the buffered MCA files for the region
+        parent.flushRegion(dimension, regionCoordPair);
+    }
+
     @Override
     public void writeColumn(ChunkerColumn chunkerColumn) throws Exception {
         CompoundTag root = new CompoundTag(10);
@@ -78,6 +88,9 @@ public class JavaColumnWriter implements ColumnWriter {
             chunk.setPalette(chunk.getPalette().compact(ChunkerBlockIdentifier.AIR));
         });
 
+        // Pre-processing may have changed blocks, so any calculated surfaces are no longer valid
+        chunkerColumn.invalidateSurfaces();
+
         // Write the chunk to NBT
         ArrayList<Task<TagWithName<?>>> processing = new ArrayList<>(5);
         processing.add(Task.async("Writing HeightMap", TaskWeight.NORMAL, this::writeHeightMap, chunkerColumn));
@@ -146,15 +159,7 @@ public class JavaColumnWriter implements ColumnWriter {
      * @return the generated height map.
      */
     protected JavaLegacyHeightMap generateHeightMap(ChunkerColumn column) {
-        short[][] heightMap = new short[16][16];
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                OptionalInt highest = ColumnUtil.getHighestLitOrSlabBlock(column, x, z);
-                short value = (short) (highest.orElse(-1) + 1);
-                heightMap[x][z] = value;
-            }
-        }
-        return new JavaLegacyHeightMap(heightMap);
+        return new JavaLegacyHeightMap(column.getSurface(SurfaceType.LIT_OR_SLAB).createHeightMap());
     }
 
     /**
@@ -434,6 +439,26 @@ public class JavaColumnWriter implements ColumnWriter {
         parent.writeMCAData(dimension, column.getPosition(), root);
     }
 
+    /**
+     * Get the index of the portals in this dimension, creating it the first time it is used.
+     *
+     * @param level the level which the portals are from.
+     * @return the portal index.
+     */
+    protected ChunkerPortalIndex getPortalIndex(ChunkerLevel level) {
+        ChunkerPortalIndex portalIndex = this.portalIndex;
+        if (portalIndex == null) {
+            synchronized (this) {
+                portalIndex = this.portalIndex;
+                if (portalIndex == null) {
+                    portalIndex = new ChunkerPortalIndex(level.getPortals(), dimension);
+                    this.portalIndex = portalIndex;
+                }
+            }
+        }
+        return portalIndex;
+    }
+
     /**
      * Write the points of interest data for the column.
      *
@@ -445,15 +470,13 @@ public class JavaColumnWriter implements ColumnWriter {
         Optional<ChunkerLevel> optionalChunkerLevel = converter.level();
         if (optionalChunkerLevel.isEmpty()) return; // No POI if there's no level
 
-        // Grab the portals
-        List<ChunkerPortal> portals = optionalChunkerLevel.get().getPortals();
+        // Grab the portals inside this column
+        List<ChunkerPortal> portals = getPortalIndex(optionalChunkerLevel.get()).getPortals(chunkerColumn.getPosition());
         if (portals.isEmpty()) return; // No POI if no portals
 
         // Create a list of portal blocks
         Map<Byte, List<BlockPosition>> portalBlocks = new Byte2ObjectOpenHashMap<>();
         for (ChunkerPortal portal : portals) {
-            if (portal.getDimension() != dimension) continue;
-
             // Grab the horizontal blocks, we don't have vertical data, so we have to work that out
             List<BlockPosition> horizontalBlocks = portal.getHorizontalBlocks(chunkerColumn.getPosition());
             for (BlockPosition horizontalBlock : horizontalBlocks) {
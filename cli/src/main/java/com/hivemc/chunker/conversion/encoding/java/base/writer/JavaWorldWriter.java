@@ -5,18 +5,16 @@ import com.hivemc.chunker.conversion.encoding.base.writer.ColumnWriter;
 import com.hivemc.chunker.conversion.encoding.base.writer.WorldWriter;
 import com.hivemc.chunker.conversion.encoding.java.base.reader.JavaLevelReader;
 import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.util.MCAWriter;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.util.RegionCompression;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
 import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
-import com.hivemc.chunker.nbt.io.Writer;
-import com.hivemc.chunker.nbt.tags.Tag;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.nio.file.Files;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -24,11 +22,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * A writer for Java worlds.
  */
 public class JavaWorldWriter implements WorldWriter {
-    public static final int OVERSIZED_THRESHOLD = 4096 * 256;
+    public static final int OVERSIZED_THRESHOLD = MCAWriter.OVERSIZED_THRESHOLD;
     protected final File outputFolder;
     protected final Converter converter;
     protected final JavaResolvers resolvers;
-    protected final Map<File, RandomAccessFile> mcaFiles = new ConcurrentHashMap<>();
+    protected final Map<File, MCAWriter> mcaFiles = new ConcurrentHashMap<>();
+    private volatile RegionCompression regionCompression;
 
     /**
      * Create a new java writer.
@@ -60,14 +59,28 @@ public class JavaWorldWriter implements WorldWriter {
 
     @Override
     public void flushWorlds() throws IOException {
-        for (RandomAccessFile randomAccessFile : mcaFiles.values()) {
+        // Regions are normally flushed after their columns are written, any writers left over (e.g. columns written
+        // after their region was flushed) are written now so the columns aren't lost
+        IOException exception = null;
+        for (MCAWriter writer : mcaFiles.values()) {
+            if (!mcaFiles.remove(writer.getFile(), writer)) continue;
+
+            converter.logNonFatalException(new IllegalStateException("Region file was written late " + writer.getFile()));
             try {
-                randomAccessFile.close();
-            } catch (Exception e) {
-                // Log it but not much we can do
-                converter.logNonFatalException(e);
+                writer.flush();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
             }
         }
+
+        // Throw any exception after all the files have been written
+        if (exception != null) {
+            throw exception;
+        }
     }
 
     /**
@@ -105,7 +118,7 @@ public class JavaWorldWriter implements WorldWriter {
     }
 
     /**
-     * Write MCA data to the disk.
+     * Write MCA data to the disk, the data is buffered until the region is flushed.
      *
      * @param file           file to write data to.
      * @param chunkCoordPair the chunk being written.
@@ -113,65 +126,88 @@ public class JavaWorldWriter implements WorldWriter {
      * @throws Exception if it failed to write the data.
      */
     protected void writeMCAData(File file, ChunkCoordPair chunkCoordPair, CompoundTag chunkData) throws Exception {
-        // TODO: Close MCA files on crash to prevent holding resources
+        // Compress the chunk using the configured compression
+        RegionCompression compression = getRegionCompression();
+        byte[] bytes = compression.compress(chunkData);
 
-        // Convert the chunk to zlib bytes
-        byte[] bytes = Tag.writeZLibJavaNBT(chunkData);
-        long columnLookupOffset = ((chunkCoordPair.chunkX() & 31) + ((chunkCoordPair.chunkZ() & 31) << 5)) << 2;
+        // Add it to the writer for the file, if the region was already flushed then a new writer is used to append it
+        while (true) {
+            MCAWriter writer = mcaFiles.computeIfAbsent(file, (target) -> new MCAWriter(target, chunkCoordPair.getRegion()));
+            if (writer.writeColumn(chunkCoordPair, compression.type().getId(), bytes)) return;
 
-        // Check whether an oversized file should be used
-        boolean oversized = bytes.length >= OVERSIZED_THRESHOLD;
-
-        // Write the oversized file data
-        if (oversized) {
-            File oversizedFile = new File(file.getParent(), "c." + chunkCoordPair.chunkX() + "." + chunkCoordPair.chunkZ() + ".mcc");
-            Files.write(oversizedFile.toPath(), bytes);
+            // Remove the flushed writer so the next attempt creates a new one
+            mcaFiles.remove(file, writer);
         }
+    }
 
-        // Sectors are 4KB blocks
-        // sectorCount = bytes.length + length header + compression type
-        int sectorCount = oversized ? 1 : (int) Math.ceil((bytes.length + 5) / 4096D);
-
-        // Compute the file
-        RandomAccessFile randomAccessFile = mcaFiles.computeIfAbsent(file, (target) -> {
+    /**
+     * Flush the MCA files (region, poi, entities) for a region to the disk.
+     *
+     * @param dimension the dimension the region is inside.
+     * @param region    the region to flush.
+     * @throws IOException if it failed to write the files.
+     */
+    public void flushRegion(Dimension dimension, RegionCoordPair region) throws IOException {
+        File directory = JavaLevelReader.getDimensionBaseDirectory(outputFolder, dimension);
+        IOException exception = null;
+        for (MCAWriter writer : mcaFiles.values()) {
+            if (!writer.getRegion().equals(region)) continue;
+            if (!directory.equals(writer.getFile().getParentFile().getParentFile())) continue;
+
+            // Remove the writer and write it to disk (continuing if another file fails)
+            if (!mcaFiles.remove(writer.getFile(), writer)) continue;
             try {
-                return new RandomAccessFile(target, "rw");
-            } catch (FileNotFoundException e) {
-                throw new RuntimeException(e);
-            }
-        });
-
-        // We'll need to use locks to ensure we're not writing two columns at once
-        synchronized (randomAccessFile) {
-            Writer writer = Writer.toJavaWriter(randomAccessFile);
-
-            // Start by writing the data at the end (ensure we don't write in the header space)
-            randomAccessFile.seek(Math.max(8192, randomAccessFile.length()));
-
-            // Get the current position, so it can be used to know the sector
-            long position = randomAccessFile.getFilePointer();
-            int sectorPosition = (int) (position >> 12);
-
-            // Write the data with length/type
-            if (oversized) {
-                writer.writeInt(1); // 1 for compression type
-                writer.writeByte(0x80 | 2); // External file byte + ZLib compression = 2
-            } else {
-                writer.writeInt(bytes.length + 1); // size + 1 for compression type
-                writer.writeByte(2); // ZLib compression = 2
-                writer.writeBytes(bytes);
+                writer.flush();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
             }
+        }
 
-            // Write any needed padding so file can be looked up in 4kb sectors
-            randomAccessFile.setLength((long) (sectorPosition + sectorCount) << 12);
+        // Throw any exception after all the files have been written
+        if (exception != null) {
+            throw exception;
+        }
+    }
 
-            // Write the location of our data + sector count to the right place
-            randomAccessFile.seek(columnLookupOffset);
-            writer.writeUnsignedInt24(sectorPosition);
-            writer.writeByte(sectorCount);
+    /**
+     * Get the compression to use for columns written to region files.
+     *
+     * @return the configured compression, or zlib if none was configured or it isn't supported by this version.
+     */
+    public RegionCompression getRegionCompression() {
+        RegionCompression compression = regionCompression;
+        if (compression != null) return compression;
+
+        // Resolve the compression once, so the warning is only logged a single time
+        synchronized (this) {
+            if (regionCompression == null) {
+                compression = converter.getRegionCompression();
+                if (compression == null) {
+                    compression = RegionCompression.DEFAULT;
+                } else if (!isRegionCompressionSupported(compression.type())) {
+                    converter.logWarning("Region compression " + compression + " is not supported by the output version, using " + RegionCompression.DEFAULT + " instead.");
+                    compression = RegionCompression.DEFAULT;
+                }
+                regionCompression = compression;
+            }
+            return regionCompression;
         }
     }
 
+    /**
+     * Check whether a compression type can be read by this version.
+     *
+     * @param type the type of compression.
+     * @return true if it is supported, uncompressed columns are supported from 1.15 and LZ4 from 1.20.5.
+     */
+    protected boolean isRegionCompressionSupported(RegionCompression.Type type) {
+        return type == RegionCompression.Type.ZLIB;
+    }
+
     /**
      * Create a new column writer.
      *
@@ -0,0 +1,183 @@
+package com.hivemc.chunker.conversion.encoding.java.base.writer.util;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility for writing Java .mca files. Columns are buffered in memory as sector aligned payloads and the file is
+ * written in a single gathered write when flushed. If the file was already flushed during this conversion, the new
+ * columns are appended to the end of it and the header is updated.
+ */
+public class MCAWriter {
+    public static final int SECTOR_SIZE = 4096;
+    public static final int HEADER_SIZE = SECTOR_SIZE * 2;
+    public static final int OVERSIZED_THRESHOLD = SECTOR_SIZE * 256;
+    private final File file;
+    private final RegionCoordPair region;
+    private final ByteBuffer[] payloads = new ByteBuffer[1024];
+    private final int[] timestamps = new int[1024];
+    private boolean flushed;
+
+    /**
+     * Create a new MCAWriter, nothing is written until it is flushed.
+     *
+     * @param file   the mca file to write to.
+     * @param region the region which the file is for.
+     */
+    public MCAWriter(File file, RegionCoordPair region) {
+        this.file = file;
+        this.region = region;
+    }
+
+    /**
+     * Get the file which this writer writes to.
+     *
+     * @return the mca file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Get the region which this writer is for.
+     *
+     * @return the region co-ordinates.
+     */
+    public RegionCoordPair getRegion() {
+        return region;
+    }
+
+    /**
+     * Add a column to the region, oversized columns are written to their external file straight away.
+     *
+     * @param chunkCoordPair  the column being written.
+     * @param compressionType the compression type of the data.
+     * @param bytes           the compressed column data.
+     * @return true if the column was added, false if this writer was already flushed and a new one should be used.
+     * @throws IOException if it failed to write an oversized column.
+     */
+    public boolean writeColumn(ChunkCoordPair chunkCoordPair, byte compressionType, byte[] bytes) throws IOException {
+        // Check whether an oversized file should be used
+        boolean oversized = bytes.length >= OVERSIZED_THRESHOLD;
+
+        // Sectors are 4KB blocks
+        // sectorCount = bytes.length + length header + compression type
+        int sectorCount = oversized ? 1 : (bytes.length + 5 + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        ByteBuffer payload = ByteBuffer.allocate(sectorCount * SECTOR_SIZE);
+
+        // Write the data with length/type (the rest of the buffer is padding)
+        if (oversized) {
+            payload.putInt(1); // 1 for compression type
+            payload.put((byte) (0x80 | compressionType)); // External file byte + compression
+        } else {
+            payload.putInt(bytes.length + 1); // size + 1 for compression type
+            payload.put(compressionType);
+            payload.put(bytes);
+        }
+        payload.clear();
+
+        // Write the oversized file data
+        if (oversized) {
+            File oversizedFile = new File(file.getParent(), "c." + chunkCoordPair.chunkX() + "." + chunkCoordPair.chunkZ() + ".mcc");
+            Files.write(oversizedFile.toPath(), bytes);
+        }
+
+        // Add the payload to the buffer
+        int index = (chunkCoordPair.chunkX() & 31) + ((chunkCoordPair.chunkZ() & 31) << 5);
+        synchronized (this) {
+            if (flushed) return false;
+
+            payloads[index] = payload;
+            timestamps[index] = (int) (System.currentTimeMillis() / 1000L);
+            return true;
+        }
+    }
+
+    /**
+     * Write the buffered columns to the file, after this the writer no longer accepts columns.
+     *
+     * @throws IOException if it failed to write the file.
+     */
+    public void flush() throws IOException {
+        synchronized (this) {
+            if (flushed) return;
+            flushed = true;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Read the header if the file was already written to (columns arriving after the region was flushed)
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            long size = channel.size();
+            if (size >= HEADER_SIZE) {
+                while (header.hasRemaining() && channel.read(header, header.position()) >= 0) ;
+                header.clear();
+            }
+
+            // Columns are appended after the header / existing data
+            int sectorPosition = (int) ((Math.max(HEADER_SIZE, size) + SECTOR_SIZE - 1) / SECTOR_SIZE);
+            long dataStart = (long) sectorPosition * SECTOR_SIZE;
+
+            // Assign sectors to each payload and update the header
+            List<ByteBuffer> buffers = new ArrayList<>(payloads.length + 1);
+            for (int i = 0; i < payloads.length; i++) {
+                ByteBuffer payload = payloads[i];
+                if (payload == null) continue;
+
+                int sectorCount = payload.remaining() / SECTOR_SIZE;
+                header.putInt(i << 2, (sectorPosition << 8) | sectorCount);
+                header.putInt(SECTOR_SIZE + (i << 2), timestamps[i]);
+                sectorPosition += sectorCount;
+                buffers.add(payload);
+            }
+
+            // Write the header and the payloads
+            if (size == 0) {
+                // New files are written in a single gathered write
+                buffers.add(0, header);
+                write(channel, 0, buffers);
+            } else {
+                // Otherwise append then update the header
+                write(channel, dataStart, buffers);
+                write(channel, 0, List.of(header));
+            }
+        } finally {
+            // Free the memory used by the payloads
+            synchronized (this) {
+                for (int i = 0; i < payloads.length; i++) {
+                    payloads[i] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Write buffers to a channel at a position using gathered writes.
+     *
+     * @param channel  the channel to write to.
+     * @param position the position to start writing at.
+     * @param buffers  the buffers to write in order.
+     * @throws IOException if it failed to write.
+     */
+    private static void write(FileChannel channel, long position, List<ByteBuffer> buffers) throws IOException {
+        ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+        channel.position(position);
+
+        // Gathering writes may be partial, so keep writing until all the buffers are empty
+        int offset = 0;
+        while (offset < array.length) {
+            channel.write(array, offset, array.length - offset);
+            while (offset < array.length && !array[offset].hasRemaining()) {
+                offset++;
+            }
+        }
+    }
+}
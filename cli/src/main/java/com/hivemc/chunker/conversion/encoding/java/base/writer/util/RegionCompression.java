@@ -0,0 +1,104 @@
+package com.hivemc.chunker.conversion.encoding.java.base.writer.util;
+
+import com.hivemc.chunker.nbt.tags.Tag;
+import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * The compression used for columns inside Java .mca files.
+ *
+ * @param type  the type of compression.
+ * @param level the zlib level (1-9), only used by {@link Type#ZLIB}.
+ */
+public record RegionCompression(Type type, int level) {
+    /**
+     * The default compression, zlib favouring speed.
+     */
+    public static final RegionCompression DEFAULT = new RegionCompression(Type.ZLIB, Deflater.BEST_SPEED);
+
+    /**
+     * Create a new region compression.
+     *
+     * @param type  the type of compression.
+     * @param level the zlib level (1-9), only used by {@link Type#ZLIB}.
+     * @throws IllegalArgumentException if the level is out of range.
+     */
+    public RegionCompression {
+        if (type == Type.ZLIB && (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("ZLib compression level must be between 1 and 9.");
+        }
+    }
+
+    /**
+     * Parse a region compression from a string, e.g. "zlib", "zlib:9", "lz4" or "none".
+     *
+     * @param input the input to parse.
+     * @return the parsed compression.
+     * @throws IllegalArgumentException if the input is not a valid compression.
+     */
+    public static RegionCompression parse(String input) {
+        String[] parts = input.trim().toLowerCase(Locale.ROOT).split(":", 2);
+        return switch (parts[0]) {
+            case "zlib" -> {
+                try {
+                    yield new RegionCompression(Type.ZLIB, parts.length == 2 ? Integer.parseInt(parts[1]) : Deflater.BEST_SPEED);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid zlib compression level " + parts[1], e);
+                }
+            }
+            case "lz4" -> new RegionCompression(Type.LZ4, 0);
+            case "none", "uncompressed" -> new RegionCompression(Type.UNCOMPRESSED, 0);
+            default -> throw new IllegalArgumentException("Unknown region compression " + input);
+        };
+    }
+
+    /**
+     * Compress a column using this compression.
+     *
+     * @param root the root tag of the column.
+     * @return the compressed bytes.
+     * @throws IOException if it failed to encode the column.
+     */
+    public byte[] compress(CompoundTag root) throws IOException {
+        return switch (type) {
+            case ZLIB -> Tag.writeZLibJavaNBT(root, level);
+            case UNCOMPRESSED -> Tag.writeUncompressedJavaNBT(root);
+            case LZ4 -> Tag.writeLZ4JavaNBT(root);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.ZLIB ? "zlib:" + level : type.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The types of compression which can be used in .mca files.
+     */
+    public enum Type {
+        ZLIB(2),
+        UNCOMPRESSED(3),
+        /**
+         * LZ4 is only supported by 1.20.5 and above.
+         */
+        LZ4(4);
+
+        private final byte id;
+
+        Type(int id) {
+            this.id = (byte) id;
+        }
+
+        /**
+         * Get the ID written before the column data in the .mca file.
+         *
+         * @return the compression type ID.
+         */
+        public byte getId() {
+            return id;
+        }
+    }
+}
@@ -44,12 +44,12 @@ public class PaletteUtil {
      * Write values to a 1.13 formatted palette.
      *
      * @param minimumBitsPerEntry the minimum number of bits allowed per entry.
-     * @param dimensionSize       the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize       the dimension size of the palette, e.g. 16 for a normal chunk.
      * @param keyCount            the number of possible keys.
-     * @param values              the lookup to encode, if null it uses empty values.
+     * @param values              the lookup to encode in XZY order (see ShortBasedPalette), if null it uses empty values.
      * @return the encoded palette values.
      */
-    public static long[] writePaletteValues1_13(int minimumBitsPerEntry, int dimensionSize, int keyCount, short @Nullable [][][] values) {
+    public static long[] writePaletteValues1_13(int minimumBitsPerEntry, int dimensionSize, int keyCount, short @Nullable [] values) {
         // Calculate bitsPerEntry
         int bitsPerEntry = minimumBitsPerEntry;
         while (keyCount > 1 << bitsPerEntry) bitsPerEntry++;
@@ -69,7 +69,7 @@ public class PaletteUtil {
                 int z = (i >> zDimensionBitShift) & dimensionBitMask;
                 int y = (i >> yDimensionBitShift) & dimensionBitMask;
 
-                short value = values[x][y][z];
+                short value = values[(x * dimensionSize + z) * dimensionSize + y];
                 int bitIndex = i * bitsPerEntry;
                 int startIndex = bitIndex / 64;
                 int endIndex = ((i + 1) * bitsPerEntry - 1) / 64;
@@ -89,12 +89,12 @@ public class PaletteUtil {
      * Write values to a 1.16 formatted palette.
      *
      * @param minimumBitsPerEntry the minimum number of bits allowed per entry.
-     * @param dimensionSize       the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize       the dimension size of the palette, e.g. 16 for a normal chunk.
      * @param keyCount            the number of possible keys.
-     * @param values              the lookup to encode, if null it uses empty values.
+     * @param values              the lookup to encode in XZY order (see ShortBasedPalette), if null it uses empty values.
      * @return the encoded palette values.
      */
-    public static long[] writePaletteValues1_16(int minimumBitsPerEntry, int dimensionSize, int keyCount, short @Nullable [][][] values) {
+    public static long[] writePaletteValues1_16(int minimumBitsPerEntry, int dimensionSize, int keyCount, short @Nullable [] values) {
         // Calculate bitsPerEntry
         int bitsPerEntry = minimumBitsPerEntry;
         while (keyCount > 1 << bitsPerEntry) bitsPerEntry++;
@@ -121,7 +121,7 @@ public class PaletteUtil {
                 int y = (i >> yDimensionBitShift) & dimensionBitMask;
 
                 // Grab value + indexes
-                short value = values[x][y][z];
+                short value = values[(x * dimensionSize + z) * dimensionSize + y];
                 int cellIndex = (int) ((i * divideMul + divideAdd >> 32) >> divideShift);
                 int bitIndex = (i - cellIndex * valuesPerLong) * bitsPerEntry;
                 encodedValues[cellIndex] = (encodedValues[cellIndex] & ~(maxEntryValue << bitIndex)) | ((value & maxEntryValue) << bitIndex);
@@ -135,11 +135,11 @@ public class PaletteUtil {
      * Read values from a palette and use the length to detect the version.
      *
      * @param minimumBitsPerEntry the minimum number of bits per an entry.
-     * @param dimensionSize       the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize       the dimension size of the palette, e.g. 16 for a normal chunk.
      * @param encodedValues       the encoded values.
-     * @return the decoded palette values.
+     * @return the decoded palette values in XZY order (see ShortBasedPalette).
      */
-    public static short[][][] readPaletteValues(int minimumBitsPerEntry, int dimensionSize, int keyCount, long[] encodedValues) {
+    public static short[] readPaletteValues(int minimumBitsPerEntry, int dimensionSize, int keyCount, long[] encodedValues) {
         // Calculate bitsPerEntry
         int bitsPerEntry = minimumBitsPerEntry;
         while (keyCount > 1 << bitsPerEntry) bitsPerEntry++;
@@ -162,12 +162,12 @@ public class PaletteUtil {
      * Read values from a 1.13 formatted palette.
      *
      * @param bitsPerEntry  the number of bits used per palette key index.
-     * @param dimensionSize the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize the dimension size of the palette, e.g. 16 for a normal chunk.
      * @param encodedValues the encoded values.
-     * @return the decoded palette values.
+     * @return the decoded palette values in XZY order (see ShortBasedPalette).
      */
-    public static short[][][] readPaletteValues1_13(int bitsPerEntry, int dimensionSize, long[] encodedValues) {
-        short[][][] output = new short[dimensionSize][dimensionSize][dimensionSize];
+    public static short[] readPaletteValues1_13(int bitsPerEntry, int dimensionSize, long[] encodedValues) {
+        short[] output = new short[dimensionSize * dimensionSize * dimensionSize];
         int valuesPerPalette = dimensionSize * dimensionSize * dimensionSize;
         int dimensionBitMask = dimensionSize - 1;
         int zDimensionBitShift = dimensionSize >> 2;
@@ -192,7 +192,7 @@ public class PaletteUtil {
             int x = i & dimensionBitMask;
             int z = (i >> zDimensionBitShift) & dimensionBitMask;
             int y = (i >> yDimensionBitShift) & dimensionBitMask;
-            output[x][y][z] = value;
+            output[(x * dimensionSize + z) * dimensionSize + y] = value;
         }
 
         return output;
@@ -202,12 +202,12 @@ public class PaletteUtil {
      * Read values from a 1.16 formatted palette.
      *
      * @param bitsPerEntry  the number of bits used per palette key index.
-     * @param dimensionSize the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize the dimension size of the palette, e.g. 16 for a normal chunk.
      * @param encodedValues the encoded values.
-     * @return the decoded palette values.
+     * @return the decoded palette values in XZY order (see ShortBasedPalette).
      */
-    public static short[][][] readPaletteValues1_16(int bitsPerEntry, int dimensionSize, long[] encodedValues) {
-        short[][][] output = new short[dimensionSize][dimensionSize][dimensionSize];
+    public static short[] readPaletteValues1_16(int bitsPerEntry, int dimensionSize, long[] encodedValues) {
+        short[] output = new short[dimensionSize * dimensionSize * dimensionSize];
         int valuesPerPalette = dimensionSize * dimensionSize * dimensionSize;
         int dimensionBitMask = dimensionSize - 1;
         int zDimensionBitShift = dimensionSize >> 2;
@@ -232,7 +232,7 @@ public class PaletteUtil {
             int x = i & dimensionBitMask;
             int z = (i >> zDimensionBitShift) & dimensionBitMask;
             int y = (i >> yDimensionBitShift) & dimensionBitMask;
-            output[x][y][z] = value;
+            output[(x * dimensionSize + z) * dimensionSize + y] = value;
         }
 
         return output;
@@ -18,6 +18,17 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.java.v1
         return new ChunkWriter(converter, resolvers, dimension, column);
     }
 
+    @Override
+    protected void preProcessColumn(ChunkerColumn column, CompoundTag columnNBT) {
+        // Call parent
+        super.preProcessColumn(column, columnNBT);
+
+        // Mark the light as calculated, otherwise the game discards it and lights the column again
+        if (column.isLightPopulated()) {
+            columnNBT.put("isLightOn", (byte) 1);
+        }
+    }
+
     @Override
     protected void writeColumnStatus(ChunkerColumn column, CompoundTag columnNBT) {
         columnNBT.put("Status", "full");
@@ -3,6 +3,7 @@ package com.hivemc.chunker.conversion.encoding.java.v1_20_5.writer;
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
 import com.hivemc.chunker.conversion.encoding.java.base.writer.JavaColumnWriter;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.util.RegionCompression;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 
 import java.io.File;
@@ -12,6 +13,12 @@ public class WorldWriter extends com.hivemc.chunker.conversion.encoding.java.v1_
         super(outputFolder, converter, resolvers);
     }
 
+    @Override
+    protected boolean isRegionCompressionSupported(RegionCompression.Type type) {
+        // LZ4 is supported from this version
+        return type == RegionCompression.Type.LZ4 || super.isRegionCompressionSupported(type);
+    }
+
     @Override
     public JavaColumnWriter createColumnWriter(Dimension dimension) {
         return new ColumnWriter(this, converter, resolvers, dimension);
@@ -0,0 +1,160 @@
+package com.hivemc.chunker.conversion.encoding.preview;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A minimal PNG encoder for ARGB pixels. It writes a single 8-bit RGBA image using the sub filter, with the deflater
+ * and scratch buffers reused from a small pool rather than going through ImageIO for every tile.
+ */
+public final class PNGEncoder {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final byte FILTER_SUB = 1;
+    private static final BlockingQueue<Context> CONTEXTS = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    private PNGEncoder() {
+    }
+
+    /**
+     * Encode ARGB pixels as a PNG and write it to a file.
+     *
+     * @param file   the file to write to.
+     * @param pixels the pixels in ARGB, row by row.
+     * @param width  the width of the image.
+     * @param height the height of the image.
+     * @throws IOException if it failed to write.
+     */
+    public static void write(File file, int[] pixels, int width, int height) throws IOException {
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file), CHUNK_SIZE)) {
+            write(outputStream, pixels, width, height);
+        }
+    }
+
+    /**
+     * Encode ARGB pixels as a PNG and write it to a stream.
+     *
+     * @param outputStream the stream to write to, this is not closed.
+     * @param pixels       the pixels in ARGB, row by row.
+     * @param width        the width of the image.
+     * @param height       the height of the image.
+     * @throws IOException if it failed to write.
+     */
+    public static void write(OutputStream outputStream, int[] pixels, int width, int height) throws IOException {
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException("Expected " + (width * height) + " pixels but got " + pixels.length);
+        }
+
+        // Borrow a context, any which don't fit back in the pool release their native deflater
+        Context context = CONTEXTS.poll();
+        if (context == null) {
+            context = new Context();
+        }
+        try {
+            write(outputStream, context, pixels, width, height);
+        } finally {
+            if (!CONTEXTS.offer(context)) {
+                context.end();
+            }
+        }
+    }
+
+    private static void write(OutputStream outputStream, Context context, int[] pixels, int width, int height) throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.write(SIGNATURE);
+
+        // Header: size, 8-bit depth, RGBA, default compression / filter / no interlace
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerOutput = new DataOutputStream(header);
+        headerOutput.writeInt(width);
+        headerOutput.writeInt(height);
+        headerOutput.write(new byte[]{8, 6, 0, 0, 0});
+        writeChunk(output, context.crc, IHDR, header.toByteArray(), header.size());
+
+        // Filter the pixels and compress them into data chunks
+        Deflater deflater = context.deflater;
+        try {
+            deflater.setInput(context.filter(pixels, width, height));
+            deflater.finish();
+            while (!deflater.finished()) {
+                int length = deflater.deflate(context.compressed);
+                if (length > 0) {
+                    writeChunk(output, context.crc, IDAT, context.compressed, length);
+                }
+            }
+        } finally {
+            deflater.reset();
+        }
+
+        writeChunk(output, context.crc, IEND, new byte[0], 0);
+        output.flush();
+    }
+
+    private static void writeChunk(DataOutputStream output, CRC32 crc, byte[] type, byte[] data, int length) throws IOException {
+        output.writeInt(length);
+        output.write(type);
+        output.write(data, 0, length);
+
+        // The CRC covers the type and the data
+        crc.reset();
+        crc.update(type);
+        crc.update(data, 0, length);
+        output.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * The reusable state for writing an image, only used by one thread at a time.
+     */
+    private static class Context {
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final CRC32 crc = new CRC32();
+        private final byte[] compressed = new byte[CHUNK_SIZE];
+        private byte[] filtered = new byte[0];
+
+        /**
+         * Convert the pixels to filtered RGBA scanlines, each byte stores the difference to the same channel of the
+         * previous pixel.
+         *
+         * @param pixels the ARGB pixels.
+         * @param width  the width of the image.
+         * @param height the height of the image.
+         * @return the scratch buffer holding the scanlines.
+         */
+        public byte[] filter(int[] pixels, int width, int height) {
+            int stride = 1 + width * 4;
+            if (filtered.length != stride * height) {
+                filtered = new byte[stride * height];
+            }
+
+            for (int y = 0; y < height; y++) {
+                int offset = y * stride;
+                filtered[offset++] = FILTER_SUB;
+
+                int previous = 0;
+                for (int x = 0; x < width; x++) {
+                    int argb = pixels[y * width + x];
+                    filtered[offset++] = (byte) ((argb >> 16) - (previous >> 16));
+                    filtered[offset++] = (byte) ((argb >> 8) - (previous >> 8));
+                    filtered[offset++] = (byte) (argb - previous);
+                    filtered[offset++] = (byte) ((argb >>> 24) - (previous >>> 24));
+                    previous = argb;
+                }
+            }
+            return filtered;
+        }
+
+        /**
+         * Release the native resources of the deflater, the context can't be used after this.
+         */
+        public void end() {
+            deflater.end();
+        }
+    }
+}
@@ -1,39 +1,47 @@
 package com.hivemc.chunker.conversion.encoding.preview;
 
-import com.google.common.collect.Sets;
 import com.hivemc.chunker.conversion.encoding.base.writer.ColumnWriter;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
-import it.unimi.dsi.fastutil.Pair;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.ColumnSurface;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.SurfaceType;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
- * Write all the regions as images based on the block colors.
+ * Write all the regions as images based on the block colors. Each region image is written as soon as the region is
+ * flushed, which also updates the zoomed out tiles, so only the regions currently being written are kept in memory.
+ * Regions are only flushed once their columns are written, so an image is never written twice.
  */
 public class PreviewColumnWriter implements ColumnWriter {
     private final File outputFolder;
-    private final ConcurrentMap<RegionCoordPair, ConcurrentMap<ChunkCoordPair, int[]>> chunkRGBA = new ConcurrentHashMap<>();
+    private final ConcurrentMap<RegionCoordPair, RegionImage> regionImages = new ConcurrentHashMap<>();
+    private final Set<RegionCoordPair> writtenRegions = ConcurrentHashMap.newKeySet();
     private final PreviewWorldWriter.WorldData worldData;
+    private final PreviewTilePyramid tilePyramid;
 
     /**
      * Create a new preview column writer.
      *
      * @param outputFolder the folder where the images should be written.
      * @param worldData    the world data to add present chunks to.
+     * @param tilePyramid  the zoomed out tiles to update when a region is written.
      */
-    public PreviewColumnWriter(File outputFolder, PreviewWorldWriter.WorldData worldData) {
+    public PreviewColumnWriter(File outputFolder, PreviewWorldWriter.WorldData worldData, PreviewTilePyramid tilePyramid) {
         this.outputFolder = outputFolder;
         this.worldData = worldData;
+        this.tilePyramid = tilePyramid;
+
+        // Ensure output is a directory
+        outputFolder.mkdirs();
     }
 
     @Override
@@ -41,17 +49,19 @@ public class PreviewColumnWriter implements ColumnWriter {
         int[] argb = new int[256];
         boolean present = false;
 
+        // Find the highest blocks that have RGB color
+        ColumnSurface surface = chunkerColumn.getSurface(SurfaceType.RGB_COLOR);
+
         // Loop through each column to calculate color
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                // Find the highest block that has RGB color
-                Pair<Integer, ChunkerBlockIdentifier> block = chunkerColumn.getHighestBlock(x, z, ChunkerBlockIdentifier::hasRGBColor);
+                ChunkerBlockIdentifier block = surface.getBlock(x, z);
                 if (block != null) {
                     // Mark the chunk as present
                     present = true;
 
                     // Grab the color
-                    int rgb = block.value().getRGBColor();
+                    int rgb = block.getRGBColor();
 
                     // Convert to ARGB
                     argb[(z << 4) | x] = rgb == 0 ? 0 : 0xFF000000 | rgb;
@@ -59,72 +69,109 @@ public class PreviewColumnWriter implements ColumnWriter {
             }
         }
 
+        // Add it to the image for the region, columns are always written before their region is flushed
         RegionCoordPair regionCoordPair = chunkerColumn.getPosition().getRegion();
-        ConcurrentMap<ChunkCoordPair, int[]> regionRGBA = chunkRGBA.computeIfAbsent(regionCoordPair, (ignored) -> new ConcurrentHashMap<>());
-        if (present) {
-            // Add the RGB
-            regionRGBA.put(chunkerColumn.getPosition(), argb);
-
-            // Record the chunk being present in this region
-            Set<ChunkCoordPair> chunks = worldData.regionToPresentChunks.computeIfAbsent(regionCoordPair, (ignored) -> Sets.newConcurrentHashSet());
-            chunks.add(chunkerColumn.getPosition());
+        RegionImage image = writtenRegions.contains(regionCoordPair) ? null : regionImages.computeIfAbsent(
+                regionCoordPair,
+                (ignored) -> new RegionImage()
+        );
+        if (image == null || !image.add(chunkerColumn.getPosition(), argb, present)) {
+            throw new IllegalStateException("Column " + chunkerColumn.getPosition() + " was written after its region was flushed");
         }
     }
 
     @Override
-    public void flushColumns() {
-        // Calculate min & max for the world
-        for (Set<ChunkCoordPair> regionChunks : worldData.regionToPresentChunks.values()) {
-            for (ChunkCoordPair chunk : regionChunks) {
-                if (chunk.chunkX() < worldData.minX) {
-                    worldData.minX = chunk.chunkX();
-                }
+    public void flushRegion(RegionCoordPair regionCoordPair) throws IOException {
+        RegionImage image = regionImages.remove(regionCoordPair);
+        if (image == null) {
+            // No columns, so the zoomed out tiles shouldn't wait for it
+            if (writtenRegions.add(regionCoordPair)) {
+                tilePyramid.onRegionEmpty(regionCoordPair);
+            }
+            return;
+        }
 
-                if (chunk.chunkX() > worldData.maxX) {
-                    worldData.maxX = chunk.chunkX();
-                }
+        writeRegion(regionCoordPair, image);
+    }
 
-                if (chunk.chunkZ() < worldData.minZ) {
-                    worldData.minZ = chunk.chunkZ();
-                }
+    @Override
+    public void flushColumns() throws IOException {
+        // Write any regions which weren't flushed
+        for (Map.Entry<RegionCoordPair, RegionImage> entry : regionImages.entrySet()) {
+            if (!regionImages.remove(entry.getKey(), entry.getValue())) continue;
+            writeRegion(entry.getKey(), entry.getValue());
+        }
 
-                if (chunk.chunkZ() > worldData.maxZ) {
-                    worldData.maxZ = chunk.chunkZ();
-                }
-            }
+        // Write the zoomed out tiles which had regions missing
+        tilePyramid.flush();
+    }
+
+    /**
+     * Write the image of a region and update the zoomed out tiles.
+     *
+     * @param regionCoordPair the co-ordinates of the region.
+     * @param image           the image, this is closed so no more columns are added.
+     * @throws IOException if it failed to write the image.
+     */
+    protected void writeRegion(RegionCoordPair regionCoordPair, RegionImage image) throws IOException {
+        image.close();
+        if (!writtenRegions.add(regionCoordPair)) {
+            throw new IllegalStateException("Region " + regionCoordPair + " was already written");
         }
+        File outputFile = PreviewTilePyramid.getTileFile(outputFolder, worldData.dimension, 0, regionCoordPair.regionX(), regionCoordPair.regionZ());
+        PNGEncoder.write(outputFile, image.pixels, PreviewTilePyramid.TILE_SIZE, PreviewTilePyramid.TILE_SIZE);
 
-        // Ensure output is a directory
-        outputFolder.mkdirs();
+        // Record the present chunks and update the zoomed out tiles
+        worldData.addPresentChunks(regionCoordPair, image.presentChunks, image.minX, image.minZ, image.maxX, image.maxZ);
+        tilePyramid.onRegionWritten(regionCoordPair, image.pixels);
+    }
 
-        // Create the images for each region and write them
-        for (Map.Entry<RegionCoordPair, ConcurrentMap<ChunkCoordPair, int[]>> entry : chunkRGBA.entrySet()) {
-            RegionCoordPair region = entry.getKey();
-
-            BufferedImage image = new BufferedImage(512, 512, BufferedImage.TYPE_INT_ARGB);
-            for (Map.Entry<ChunkCoordPair, int[]> chunk : entry.getValue().entrySet()) {
-                // If the chunk isn't present, we don't need to write any data (as it should be transparent)
-                if (chunk.getValue().length == 0) continue;
-
-                // Copy pixels
-                image.setRGB(
-                        ((chunk.getKey().chunkX() & 31) << 4), // Place our chunk inside the region (512x512)
-                        ((chunk.getKey().chunkZ() & 31) << 4),
-                        16, // Each chunk is 16x16
-                        16,
-                        chunk.getValue(), // ARGB array
-                        0, // Starts from the initial value
-                        16 // Size of each Y
-                );
+    /**
+     * The pixels of a region which is being written.
+     */
+    protected static class RegionImage {
+        private final int[] pixels = new int[PreviewTilePyramid.TILE_SIZE * PreviewTilePyramid.TILE_SIZE];
+        private final BitSet presentChunks = new BitSet(1024);
+        private int minX = Integer.MAX_VALUE;
+        private int minZ = Integer.MAX_VALUE;
+        private int maxX = Integer.MIN_VALUE;
+        private int maxZ = Integer.MIN_VALUE;
+        private boolean closed;
+
+        /**
+         * Add the pixels of a column to the image.
+         *
+         * @param position the position of the column.
+         * @param argb     the 16 x 16 ARGB pixels of the column.
+         * @param present  whether the column had any blocks with color.
+         * @return false if the image was already closed.
+         */
+        public synchronized boolean add(ChunkCoordPair position, int[] argb, boolean present) {
+            if (closed) return false;
+
+            // Place our chunk inside the region (512x512)
+            int localX = position.chunkX() & 31;
+            int localZ = position.chunkZ() & 31;
+            for (int z = 0; z < 16; z++) {
+                System.arraycopy(argb, z << 4, pixels, ((localZ << 4) + z) * PreviewTilePyramid.TILE_SIZE + (localX << 4), 16);
             }
 
-            // Write the region PNG
-            File outputFile = new File(outputFolder, worldData.dimension.name() + "." + region.regionX() + "." + region.regionZ() + ".png");
-            try {
-                ImageIO.write(image, "png", outputFile);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            // Record the chunk being present in this region
+            if (present) {
+                presentChunks.set(position.to10BitIndex());
+                minX = Math.min(minX, position.chunkX());
+                minZ = Math.min(minZ, position.chunkZ());
+                maxX = Math.max(maxX, position.chunkX());
+                maxZ = Math.max(maxZ, position.chunkZ());
             }
+            return true;
+        }
+
+        /**
+         * Close the image so no more columns can be added.
+         */
+        public synchronized void close() {
+            closed = true;
         }
     }
 }
@@ -0,0 +1,230 @@
+package com.hivemc.chunker.conversion.encoding.preview;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Zoomed out preview tiles, each level halves the resolution so a tile covers twice as many regions in each axis.
+ * Tiles are written as soon as every region inside them has been rendered, so the pyramid is built while the world is
+ * being read rather than at the end. Tiles are never read back, regions outside those given when the pyramid was
+ * created are only added to tiles which haven't been written yet.
+ */
+public class PreviewTilePyramid {
+    /**
+     * The size of each tile in pixels.
+     */
+    public static final int TILE_SIZE = 512;
+    /**
+     * The highest level generated, at this level each tile covers 16 x 16 regions.
+     */
+    public static final int MAX_LEVEL = 4;
+    private static final int HALF_SIZE = TILE_SIZE / 2;
+
+    private final File outputFolder;
+    private final Dimension dimension;
+    private final Set<TileKey> expectedTiles = new ObjectOpenHashSet<>();
+    private final Object2IntOpenHashMap<TileKey> expectedChildren = new Object2IntOpenHashMap<>();
+    private final ConcurrentMap<TileKey, Tile> tiles = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new tile pyramid.
+     *
+     * @param outputFolder the folder where the tiles should be written.
+     * @param dimension    the dimension the tiles are for.
+     * @param regions      the regions present in the world, used to know when a tile is complete.
+     */
+    public PreviewTilePyramid(File outputFolder, Dimension dimension, Set<RegionCoordPair> regions) {
+        this.outputFolder = outputFolder;
+        this.dimension = dimension;
+
+        // Count the children of each tile which will be rendered
+        Set<TileKey> children = new ObjectOpenHashSet<>(regions.size());
+        for (RegionCoordPair region : regions) {
+            children.add(new TileKey(0, region.regionX(), region.regionZ()));
+        }
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            expectedTiles.addAll(children);
+            Set<TileKey> parents = new ObjectOpenHashSet<>();
+            for (TileKey child : children) {
+                TileKey parent = child.getParent();
+                expectedChildren.addTo(parent, 1);
+                parents.add(parent);
+            }
+            children = parents;
+        }
+    }
+
+    /**
+     * Get the file used for a tile, level 0 tiles are the region images.
+     *
+     * @param outputFolder the folder the tiles are written to.
+     * @param dimension    the dimension of the tile.
+     * @param level        the level of the tile.
+     * @param x            the x co-ordinate of the tile.
+     * @param z            the z co-ordinate of the tile.
+     * @return the file for the tile.
+     */
+    public static File getTileFile(File outputFolder, Dimension dimension, int level, int x, int z) {
+        String prefix = level == 0 ? dimension.name() : dimension.name() + ".zoom" + level;
+        return new File(outputFolder, prefix + "." + x + "." + z + ".png");
+    }
+
+    /**
+     * Called when a region image has been written.
+     *
+     * @param region the region which was written.
+     * @param pixels the ARGB pixels of the region.
+     * @throws IOException if it failed to write a tile.
+     */
+    public void onRegionWritten(RegionCoordPair region, int[] pixels) throws IOException {
+        onChildWritten(new TileKey(0, region.regionX(), region.regionZ()), pixels);
+    }
+
+    /**
+     * Called when a region was flushed without any columns, so the tiles containing it don't wait for it.
+     *
+     * @param region the region which was empty.
+     * @throws IOException if it failed to write a tile.
+     */
+    public void onRegionEmpty(RegionCoordPair region) throws IOException {
+        onChildWritten(new TileKey(0, region.regionX(), region.regionZ()), null);
+    }
+
+    /**
+     * Write all the tiles which haven't been written yet, this is used for tiles where some regions were never
+     * rendered.
+     *
+     * @throws IOException if it failed to write a tile.
+     */
+    public void flush() throws IOException {
+        // Write from the lowest level up so each tile is complete before the parent
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            for (Tile tile : new ArrayList<>(tiles.values())) {
+                if (tile.key.level() != level) continue;
+
+                int[] pixels;
+                synchronized (tile) {
+                    if (tile.written) continue;
+                    pixels = writeTile(tile);
+                }
+                onChildWritten(tile.key, pixels);
+            }
+        }
+    }
+
+    private void onChildWritten(TileKey child, @Nullable int[] pixels) throws IOException {
+        if (child.level() >= MAX_LEVEL) return; // No more levels
+
+        TileKey key = child.getParent();
+        int offsetX = (child.x() & 1) * HALF_SIZE;
+        int offsetZ = (child.z() & 1) * HALF_SIZE;
+        Tile tile = tiles.computeIfAbsent(key, (ignored) -> new Tile(key, expectedChildren.getInt(key)));
+        int[] written = null;
+        synchronized (tile) {
+            // Only unexpected children can arrive after the tile was written, these are left out
+            if (tile.written) return;
+
+            // Add the child to the tile and write it once every expected child is present
+            if (pixels != null) {
+                if (tile.pixels == null) {
+                    tile.pixels = new int[TILE_SIZE * TILE_SIZE];
+                }
+                downsample(pixels, tile.pixels, offsetX, offsetZ);
+            }
+            if (expectedTiles.contains(child) && --tile.remaining <= 0) {
+                written = writeTile(tile);
+            }
+        }
+
+        // Update the parent outside the lock
+        if (written != null) {
+            onChildWritten(key, written);
+        }
+    }
+
+    private int[] writeTile(Tile tile) throws IOException {
+        int[] pixels = tile.pixels == null ? new int[TILE_SIZE * TILE_SIZE] : tile.pixels;
+        PNGEncoder.write(getTileFile(outputFolder, dimension, tile.key.level(), tile.key.x(), tile.key.z()), pixels, TILE_SIZE, TILE_SIZE);
+
+        // Release the pixels, the tile is complete
+        tile.pixels = null;
+        tile.written = true;
+        return pixels;
+    }
+
+    /**
+     * Halve the resolution of a tile into a quarter of the parent. Each pixel uses the average of the opaque pixels
+     * it covers, or is transparent if none are opaque.
+     *
+     * @param source      the pixels of the child tile.
+     * @param destination the pixels of the parent tile.
+     * @param offsetX     the pixel x offset in the parent.
+     * @param offsetZ     the pixel z offset in the parent.
+     */
+    public static void downsample(int[] source, int[] destination, int offsetX, int offsetZ) {
+        for (int z = 0; z < HALF_SIZE; z++) {
+            for (int x = 0; x < HALF_SIZE; x++) {
+                int index = (z * 2) * TILE_SIZE + (x * 2);
+                int red = 0;
+                int green = 0;
+                int blue = 0;
+                int count = 0;
+                for (int i = 0; i < 4; i++) {
+                    int argb = source[index + (i & 1) + (i >> 1) * TILE_SIZE];
+                    if ((argb >>> 24) == 0) continue;
+                    red += (argb >> 16) & 0xFF;
+                    green += (argb >> 8) & 0xFF;
+                    blue += argb & 0xFF;
+                    count++;
+                }
+                destination[(offsetZ + z) * TILE_SIZE + offsetX + x] = count == 0 ? 0 : 0xFF000000
+                        | ((red / count) << 16)
+                        | ((green / count) << 8)
+                        | (blue / count);
+            }
+        }
+    }
+
+    /**
+     * The position of a tile in the pyramid.
+     *
+     * @param level the level of the tile, 0 being a region.
+     * @param x     the x co-ordinate of the tile at the level.
+     * @param z     the z co-ordinate of the tile at the level.
+     */
+    public record TileKey(int level, int x, int z) {
+        /**
+         * Get the tile at the next level which contains this tile.
+         *
+         * @return the parent tile key.
+         */
+        public TileKey getParent() {
+            return new TileKey(level + 1, x >> 1, z >> 1);
+        }
+    }
+
+    /**
+     * A tile which is waiting for its children to be written.
+     */
+    private static class Tile {
+        private final TileKey key;
+        private int[] pixels;
+        private int remaining;
+        private boolean written;
+
+        public Tile(TileKey key, int remaining) {
+            this.key = key;
+            this.remaining = remaining;
+        }
+    }
+}
@@ -37,8 +37,9 @@ public class PreviewWorldWriter implements WorldWriter {
         // Add it to the list
         worldDataList.add(worldData);
 
-        // Return a new column writer
-        return new PreviewColumnWriter(outputFolder, worldData);
+        // Return a new column writer which writes the tiles as regions are flushed
+        PreviewTilePyramid tilePyramid = new PreviewTilePyramid(outputFolder, worldData.dimension, chunkerWorld.getRegions());
+        return new PreviewColumnWriter(outputFolder, worldData, tilePyramid);
     }
 
     @Override
@@ -61,19 +62,13 @@ public class PreviewWorldWriter implements WorldWriter {
 
                 // Write each region
                 writer.writeInt(worldData.regionToPresentChunks.size());
-                for (Map.Entry<RegionCoordPair, Set<ChunkCoordPair>> entry : worldData.regionToPresentChunks.entrySet()) {
+                for (Map.Entry<RegionCoordPair, BitSet> entry : worldData.regionToPresentChunks.entrySet()) {
                     // Write region position
                     writer.writeInt(entry.getKey().regionX());
                     writer.writeInt(entry.getKey().regionZ());
 
-                    // Write a bitset of present chunks
-                    BitSet presentChunks = new BitSet(1024);
-                    for (ChunkCoordPair pos : entry.getValue()) {
-                        presentChunks.set(pos.to10BitIndex(), true);
-                    }
-
-                    // Write the byte array
-                    byte[] bitSet = presentChunks.toByteArray();
+                    // Write the bitset of present chunks as a byte array
+                    byte[] bitSet = entry.getValue().toByteArray();
                     writer.writeBytes(bitSet);
 
                     // Pad to 128 bytes
@@ -89,11 +84,32 @@ public class PreviewWorldWriter implements WorldWriter {
      * World data to record the region the world covers.
      */
     public static class WorldData {
-        public final Map<RegionCoordPair, Set<ChunkCoordPair>> regionToPresentChunks = new ConcurrentHashMap<>();
+        public final Map<RegionCoordPair, BitSet> regionToPresentChunks = new ConcurrentHashMap<>();
         public int minX = Integer.MAX_VALUE;
         public int minZ = Integer.MAX_VALUE;
         public int maxX = Integer.MIN_VALUE;
         public int maxZ = Integer.MIN_VALUE;
         public Dimension dimension;
+
+        /**
+         * Record the present chunks of a region which has been written.
+         *
+         * @param region        the region co-ordinates.
+         * @param presentChunks the present chunks indexed by {@link ChunkCoordPair#to10BitIndex()}.
+         * @param minX          the lowest present chunk X.
+         * @param minZ          the lowest present chunk Z.
+         * @param maxX          the highest present chunk X.
+         * @param maxZ          the highest present chunk Z.
+         */
+        public synchronized void addPresentChunks(RegionCoordPair region, BitSet presentChunks, int minX, int minZ, int maxX, int maxZ) {
+            if (presentChunks.isEmpty()) return; // Only regions with present chunks are recorded
+
+            // Merge with any chunks which were recorded before
+            regionToPresentChunks.computeIfAbsent(region, (ignored) -> new BitSet(1024)).or(presentChunks);
+            this.minX = Math.min(this.minX, minX);
+            this.minZ = Math.min(this.minZ, minZ);
+            this.maxX = Math.max(this.maxX, maxX);
+            this.maxZ = Math.max(this.maxZ, maxZ);
+        }
     }
 }
@@ -0,0 +1,157 @@
+package com.hivemc.chunker.conversion.handlers.lighting;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.VanillaBlockStates;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.Bool;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.Candles;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.LightLevel;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.Pickles;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.RespawnAnchorCharges;
+
+/**
+ * Tables of how much light blocks emit and how much light they block, based on Java Edition. Blocks which aren't
+ * listed block all light if all their faces are solid, otherwise they let all light through.
+ */
+public final class BlockLightProperties {
+    private static final ChunkerVanillaBlockType[] TYPES = ChunkerVanillaBlockType.values();
+    private static final byte[] EMISSION = new byte[TYPES.length];
+    private static final byte[] OPACITY = new byte[TYPES.length];
+
+    static {
+        for (ChunkerVanillaBlockType type : TYPES) {
+            OPACITY[type.ordinal()] = (byte) (type.isAllFacesSolid() ? 15 : 0);
+
+            // Glass (apart from tinted) is solid but lets light through
+            if (type.name().endsWith("GLASS") && type != ChunkerVanillaBlockType.TINTED_GLASS) {
+                OPACITY[type.ordinal()] = 0;
+            }
+
+            // Leaves reduce light slightly
+            if (type.name().endsWith("_LEAVES")) {
+                OPACITY[type.ordinal()] = 1;
+            }
+
+            // Candles emit light based on the number of candles
+            if (type.getStates().contains(VanillaBlockStates.CANDLES)) {
+                EMISSION[type.ordinal()] = 3;
+            }
+        }
+
+        // Blocks which partially block light
+        opacity(1, ChunkerVanillaBlockType.WATER, ChunkerVanillaBlockType.BUBBLE_COLUMN, ChunkerVanillaBlockType.ICE,
+                ChunkerVanillaBlockType.FROSTED_ICE, ChunkerVanillaBlockType.COBWEB, ChunkerVanillaBlockType.SLIME_BLOCK,
+                ChunkerVanillaBlockType.HONEY_BLOCK, ChunkerVanillaBlockType.KELP, ChunkerVanillaBlockType.SEAGRASS);
+        opacity(0, ChunkerVanillaBlockType.AIR, ChunkerVanillaBlockType.BARRIER, ChunkerVanillaBlockType.BEACON,
+                ChunkerVanillaBlockType.SPAWNER);
+
+        // Blocks which emit light
+        emission(15, ChunkerVanillaBlockType.GLOWSTONE, ChunkerVanillaBlockType.LAVA, ChunkerVanillaBlockType.SEA_LANTERN,
+                ChunkerVanillaBlockType.JACK_O_LANTERN, ChunkerVanillaBlockType.LANTERN, ChunkerVanillaBlockType.SHROOMLIGHT,
+                ChunkerVanillaBlockType.BEACON, ChunkerVanillaBlockType.FIRE, ChunkerVanillaBlockType.REDSTONE_LAMP,
+                ChunkerVanillaBlockType.CAMPFIRE, ChunkerVanillaBlockType.OCHRE_FROGLIGHT,
+                ChunkerVanillaBlockType.VERDANT_FROGLIGHT, ChunkerVanillaBlockType.PEARLESCENT_FROGLIGHT,
+                ChunkerVanillaBlockType.END_PORTAL, ChunkerVanillaBlockType.END_GATEWAY, ChunkerVanillaBlockType.CONDUIT,
+                ChunkerVanillaBlockType.LAVA_CAULDRON, ChunkerVanillaBlockType.COPPER_BULB);
+        emission(14, ChunkerVanillaBlockType.TORCH, ChunkerVanillaBlockType.WALL_TORCH, ChunkerVanillaBlockType.END_ROD,
+                ChunkerVanillaBlockType.COPPER_TORCH);
+        emission(13, ChunkerVanillaBlockType.FURNACE, ChunkerVanillaBlockType.BLAST_FURNACE, ChunkerVanillaBlockType.SMOKER);
+        emission(11, ChunkerVanillaBlockType.NETHER_PORTAL);
+        emission(10, ChunkerVanillaBlockType.SOUL_TORCH, ChunkerVanillaBlockType.SOUL_WALL_TORCH,
+                ChunkerVanillaBlockType.SOUL_LANTERN, ChunkerVanillaBlockType.SOUL_FIRE,
+                ChunkerVanillaBlockType.SOUL_CAMPFIRE, ChunkerVanillaBlockType.CRYING_OBSIDIAN);
+        emission(9, ChunkerVanillaBlockType.REDSTONE_ORE, ChunkerVanillaBlockType.DEEPSLATE_REDSTONE_ORE);
+        emission(7, ChunkerVanillaBlockType.REDSTONE_TORCH, ChunkerVanillaBlockType.REDSTONE_WALL_TORCH,
+                ChunkerVanillaBlockType.GLOW_LICHEN, ChunkerVanillaBlockType.ENCHANTING_TABLE,
+                ChunkerVanillaBlockType.ENDER_CHEST);
+        emission(6, ChunkerVanillaBlockType.SCULK_CATALYST);
+        emission(5, ChunkerVanillaBlockType.AMETHYST_CLUSTER);
+        emission(4, ChunkerVanillaBlockType.LARGE_AMETHYST_BUD);
+        emission(3, ChunkerVanillaBlockType.MAGMA_BLOCK);
+        emission(2, ChunkerVanillaBlockType.MEDIUM_AMETHYST_BUD);
+        emission(1, ChunkerVanillaBlockType.SMALL_AMETHYST_BUD, ChunkerVanillaBlockType.BREWING_STAND,
+                ChunkerVanillaBlockType.BROWN_MUSHROOM, ChunkerVanillaBlockType.DRAGON_EGG,
+                ChunkerVanillaBlockType.END_PORTAL_FRAME, ChunkerVanillaBlockType.SCULK_SENSOR,
+                ChunkerVanillaBlockType.CALIBRATED_SCULK_SENSOR);
+    }
+
+    private BlockLightProperties() {
+    }
+
+    private static void opacity(int opacity, ChunkerVanillaBlockType... types) {
+        for (ChunkerVanillaBlockType type : types) {
+            OPACITY[type.ordinal()] = (byte) opacity;
+        }
+    }
+
+    private static void emission(int emission, ChunkerVanillaBlockType... types) {
+        for (ChunkerVanillaBlockType type : types) {
+            EMISSION[type.ordinal()] = (byte) emission;
+        }
+    }
+
+    /**
+     * Get the light level emitted by a block.
+     *
+     * @param identifier the block identifier.
+     * @return the light level from 0 to 15.
+     */
+    public static int getEmission(ChunkerBlockIdentifier identifier) {
+        if (!(identifier.getType() instanceof ChunkerVanillaBlockType type)) return 0; // Custom blocks don't emit light
+
+        // Blocks where the light depends on the state
+        switch (type) {
+            case LIGHT -> {
+                LightLevel level = identifier.getState(VanillaBlockStates.LIGHT_LEVEL);
+                return level == null ? 0 : level.ordinal();
+            }
+            case SEA_PICKLE -> {
+                if (identifier.getState(VanillaBlockStates.WATERLOGGED) != Bool.TRUE) return 0;
+                Pickles pickles = identifier.getState(VanillaBlockStates.PICKLES);
+                return pickles == null ? 6 : (pickles.ordinal() + 2) * 3;
+            }
+            case RESPAWN_ANCHOR -> {
+                RespawnAnchorCharges charges = identifier.getState(VanillaBlockStates.RESPAWN_ANCHOR_CHARGES);
+                return charges == null || charges.ordinal() == 0 ? 0 : charges.ordinal() * 4 - 1;
+            }
+        }
+
+        int emission = EMISSION[type.ordinal()];
+        if (emission == 0) return 0;
+
+        // Blocks which can be turned off
+        if (type.getStates().contains(VanillaBlockStates.LIT) && identifier.getState(VanillaBlockStates.LIT) != Bool.TRUE) {
+            return 0;
+        }
+
+        // Candles emit more light with more candles
+        if (type.getStates().contains(VanillaBlockStates.CANDLES)) {
+            Candles candles = identifier.getState(VanillaBlockStates.CANDLES);
+            return candles == null ? emission : emission * (candles.ordinal() + 1);
+        }
+        return emission;
+    }
+
+    /**
+     * Get how much light is blocked by a block.
+     *
+     * @param identifier the block identifier.
+     * @return the opacity from 0 (lets light through) to 15 (blocks all light).
+     */
+    public static int getOpacity(ChunkerBlockIdentifier identifier) {
+        ChunkerBlockType blockType = identifier.getType();
+        int opacity;
+        if (blockType instanceof ChunkerVanillaBlockType type) {
+            opacity = OPACITY[type.ordinal()];
+        } else {
+            opacity = blockType.isAllFacesSolid() ? 15 : 0;
+        }
+
+        // Waterlogged blocks block light like water
+        if (opacity == 0 && identifier.getState(VanillaBlockStates.WATERLOGGED, false) == Bool.TRUE) {
+            return 1;
+        }
+        return opacity;
+    }
+}
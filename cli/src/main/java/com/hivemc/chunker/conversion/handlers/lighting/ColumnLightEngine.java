@@ -0,0 +1,278 @@
+package com.hivemc.chunker.conversion.handlers.lighting;
+
+import com.hivemc.chunker.conversion.handlers.pretransform.Edge;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerLight;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.Map;
+
+/**
+ * Calculates the sky and block light for a column. Light is propagated inside a window made up of the column and
+ * the 15 blocks of each neighbouring column closest to it, as light can't travel further than that. Columns which
+ * aren't provided (including the diagonals) are treated as solid and dark.
+ */
+public class ColumnLightEngine {
+    /**
+     * The number of blocks of each neighbour which are included in the window.
+     */
+    private static final int MARGIN = 15;
+    /**
+     * The width of the window in the X and Z axis.
+     */
+    private static final int WIDTH = 16 + MARGIN * 2;
+    private static final int LAYER = WIDTH * WIDTH;
+
+    private final ChunkerColumn column;
+    private final ChunkerColumn[] columns = new ChunkerColumn[9];
+    private final boolean skyLight;
+    private int minY;
+    private int height;
+    private byte[] opacity;
+    private byte[] emission;
+    private byte[] light;
+    private IntArrayList[] queues;
+
+    /**
+     * Create a new light engine for a column.
+     *
+     * @param column     the column to calculate light for.
+     * @param neighbours the neighbouring columns which are present.
+     * @param skyLight   whether the dimension has sky light.
+     */
+    public ColumnLightEngine(ChunkerColumn column, Map<Edge, ChunkerColumn> neighbours, boolean skyLight) {
+        this.column = column;
+        this.skyLight = skyLight;
+
+        // Columns are stored in a 3x3 grid around the column
+        columns[4] = column;
+        for (Map.Entry<Edge, ChunkerColumn> entry : neighbours.entrySet()) {
+            columns[(entry.getKey().getZ() + 1) * 3 + entry.getKey().getX() + 1] = entry.getValue();
+        }
+    }
+
+    /**
+     * Check whether a column is missing light which should be calculated.
+     *
+     * @param column   the column to check.
+     * @param skyLight whether the dimension has sky light.
+     * @return true if any chunk is missing light.
+     */
+    public static boolean isMissingLight(ChunkerColumn column, boolean skyLight) {
+        for (ChunkerChunk chunk : column.getChunks().values()) {
+            if (chunk.getBlockLight() == null || (skyLight && chunk.getSkyLight() == null)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Calculate the light and set it on each chunk of the column.
+     */
+    public void apply() {
+        if (column.getChunks().isEmpty()) return;
+
+        // Only the height which can be affected by blocks needs propagating, everything above has full sky light
+        // Taller neighbours are included as they can shade the margin, only sections of the column are emitted
+        int minChunkY = Integer.MAX_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (ChunkerColumn current : columns) {
+            if (current == null) continue;
+            for (ChunkerChunk chunk : current.getChunks().values()) {
+                minChunkY = Math.min(minChunkY, chunk.getY());
+                if (chunk.getPalette() != null && !chunk.isEmpty()) {
+                    maxY = Math.max(maxY, (chunk.getY() << 4) + 15 + MARGIN + 1);
+                }
+            }
+        }
+        minY = minChunkY << 4;
+        height = Math.max(0, maxY - minY + 1);
+
+        // Propagate sky light then block light
+        if (height > 0) {
+            int size = height * LAYER;
+            opacity = new byte[size];
+            emission = new byte[size];
+            light = new byte[size];
+            queues = new IntArrayList[16];
+            for (int i = 0; i < queues.length; i++) {
+                queues[i] = new IntArrayList();
+            }
+            fillOpacity();
+        }
+        ChunkerLight[] sky = skyLight ? calculate(true) : null;
+        ChunkerLight[] block = calculate(false);
+
+        // Set the light on the chunks
+        for (ChunkerChunk chunk : column.getChunks().values()) {
+            int index = chunk.getY() - (minY >> 4);
+            chunk.setBlockLight(block[index]);
+            chunk.setSkyLight(sky == null ? null : sky[index]);
+        }
+        column.setLightPopulated(true);
+
+        // Surfaces can depend on light
+        column.invalidateSurfaces();
+    }
+
+    private void fillOpacity() {
+        for (int windowZ = 0; windowZ < WIDTH; windowZ++) {
+            for (int windowX = 0; windowX < WIDTH; windowX++) {
+                int columnX = Math.floorDiv(windowX - MARGIN, 16);
+                int columnZ = Math.floorDiv(windowZ - MARGIN, 16);
+                ChunkerColumn current = columns[(columnZ + 1) * 3 + columnX + 1];
+
+                // Missing columns block all light
+                if (current == null) {
+                    for (int y = 0; y < height; y++) {
+                        opacity[(y * LAYER) + (windowZ * WIDTH) + windowX] = 15;
+                    }
+                }
+            }
+        }
+
+        // Fill in the blocks from each present column
+        for (int i = 0; i < columns.length; i++) {
+            ChunkerColumn current = columns[i];
+            if (current == null) continue;
+            int offsetX = ((i % 3) - 1) * 16 + MARGIN;
+            int offsetZ = ((i / 3) - 1) * 16 + MARGIN;
+
+            for (ChunkerChunk chunk : current.getChunks().values()) {
+                Palette<ChunkerBlockIdentifier> palette = chunk.getPalette();
+                if (palette == null) continue;
+                int chunkMinY = (chunk.getY() << 4) - minY;
+                if (chunkMinY < 0 || chunkMinY >= height) continue;
+
+                // Look up each key once
+                byte[] keyOpacity = new byte[palette.getKeyCount()];
+                byte[] keyEmission = new byte[palette.getKeyCount()];
+                boolean emits = false;
+                boolean blocks = false;
+                for (int key = 0; key < keyOpacity.length; key++) {
+                    ChunkerBlockIdentifier identifier = palette.getKey(key, ChunkerBlockIdentifier.AIR);
+                    keyOpacity[key] = (byte) BlockLightProperties.getOpacity(identifier);
+                    keyEmission[key] = (byte) BlockLightProperties.getEmission(identifier);
+                    emits |= keyEmission[key] != 0;
+                    blocks |= keyOpacity[key] != 0;
+                }
+                if (!emits && !blocks) continue; // Nothing to record
+
+                for (int y = 0; y < 16 && chunkMinY + y < height; y++) {
+                    for (int z = 0; z < 16; z++) {
+                        int windowZ = offsetZ + z;
+                        if (windowZ < 0 || windowZ >= WIDTH) continue;
+                        for (int x = 0; x < 16; x++) {
+                            int windowX = offsetX + x;
+                            if (windowX < 0 || windowX >= WIDTH) continue;
+
+                            int key = palette.getKeyIndex(x, y, z);
+                            if (key < 0 || key >= keyOpacity.length) continue; // Invalid keys are air
+                            opacity[((chunkMinY + y) * LAYER) + (windowZ * WIDTH) + windowX] = keyOpacity[key];
+
+                            emission[((chunkMinY + y) * LAYER) + (windowZ * WIDTH) + windowX] = keyEmission[key];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private ChunkerLight[] calculate(boolean sky) {
+        int chunkCount = (column.getChunks().lastByteKey() - (minY >> 4)) + 1;
+        ChunkerLight[] output = new ChunkerLight[chunkCount];
+        if (height > 0) {
+            if (sky) {
+                seedSkyLight();
+            } else {
+                seedBlockLight();
+            }
+            propagate();
+        }
+
+        // Turn the center of the window into chunk light
+        for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            int chunkMinY = chunkIndex << 4;
+            if (chunkMinY >= height) {
+                // Above the window there is only sky light
+                output[chunkIndex] = ChunkerLight.uniform(sky ? 15 : 0);
+                continue;
+            }
+
+            byte[] nibbles = new byte[ChunkerLight.NIBBLE_ARRAY_LENGTH];
+            for (int y = 0; y < 16; y++) {
+                int windowY = chunkMinY + y;
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        int value = windowY >= height ? (sky ? 15 : 0) : light[(windowY * LAYER) + ((z + MARGIN) * WIDTH) + x + MARGIN];
+
+                        // Even indexes use the lowest bits
+                        int index = y << 8 | z << 4 | x;
+                        nibbles[index >> 1] |= (byte) (value << ((index & 1) << 2));
+                    }
+                }
+            }
+            output[chunkIndex] = ChunkerLight.fromNibbleArray(nibbles);
+        }
+        return output;
+    }
+
+    private void seedSkyLight() {
+        for (int windowZ = 0; windowZ < WIDTH; windowZ++) {
+            for (int windowX = 0; windowX < WIDTH; windowX++) {
+                // Sky light goes straight down until it is blocked
+                int level = 15;
+                for (int y = height - 1; y >= 0; y--) {
+                    int index = (y * LAYER) + (windowZ * WIDTH) + windowX;
+                    level = Math.max(0, level - opacity[index]);
+                    light[index] = (byte) level;
+                    if (level > 1) {
+                        queues[level].add(index);
+                    }
+                }
+            }
+        }
+    }
+
+    private void seedBlockLight() {
+        for (int index = 0; index < light.length; index++) {
+            light[index] = emission[index];
+            if (emission[index] > 1) {
+                queues[emission[index]].add(index);
+            }
+        }
+    }
+
+    private void propagate() {
+        for (int level = 15; level > 1; level--) {
+            IntArrayList queue = queues[level];
+            for (int i = 0; i < queue.size(); i++) {
+                int index = queue.getInt(i);
+                if (light[index] != level) continue; // Already raised by a brighter source
+
+                int y = index / LAYER;
+                int z = (index / WIDTH) % WIDTH;
+                int x = index % WIDTH;
+                if (x > 0) spread(index - 1, level);
+                if (x < WIDTH - 1) spread(index + 1, level);
+                if (z > 0) spread(index - WIDTH, level);
+                if (z < WIDTH - 1) spread(index + WIDTH, level);
+                if (y > 0) spread(index - LAYER, level);
+                if (y < height - 1) spread(index + LAYER, level);
+            }
+            queue.clear();
+        }
+    }
+
+    private void spread(int index, int level) {
+        int value = level - Math.max(1, opacity[index]);
+        if (value > light[index]) {
+            light[index] = (byte) value;
+            if (value > 1) {
+                queues[value].add(index);
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.hivemc.chunker.conversion.handlers.lighting;
+
+import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
+import com.hivemc.chunker.conversion.handlers.pretransform.Edge;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A column handler which calculates light for columns which are missing it, using the blocks of the neighbouring
+ * columns so that light crosses column borders.
+ * Columns are only held until their own neighbours have arrived and every neighbour which reads them has been lit, so
+ * only a small window of columns is kept rather than connected clusters. Light is calculated outside the lock on the
+ * thread which completed the window, allowing columns to be lit in parallel.
+ */
+public class ColumnLightingConversionHandler implements ColumnConversionHandler {
+    private final ColumnConversionHandler delegate;
+    private final ChunkerWorld world;
+    private final Set<RegionCoordPair> worldRegions;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<ChunkCoordPair, ColumnState> columns = new Object2ObjectOpenHashMap<>();
+    private final Object2IntOpenHashMap<RegionCoordPair> inFlight = new Object2IntOpenHashMap<>();
+    private final Set<RegionCoordPair> flushedRegions = new ObjectOpenHashSet<>();
+    private final Set<RegionCoordPair> forwardedRegions = new ObjectOpenHashSet<>();
+    private boolean complete;
+
+    /**
+     * Create a new column lighting handler.
+     *
+     * @param delegate the delegate to call after the columns have been lit.
+     * @param world    the world being converted, used for the dimension and tracking which regions are present. The
+     *                 regions should only be the ones which will be read and flushed (pruned regions are removed
+     *                 before the handlers are created), otherwise columns bordering them are held until the end.
+     */
+    public ColumnLightingConversionHandler(ColumnConversionHandler delegate, ChunkerWorld world) {
+        this.delegate = delegate;
+        this.world = world;
+
+        // Columns only wait for neighbours in these regions, any other region is never flushed
+        worldRegions = new ObjectOpenHashSet<>(world.getRegions());
+    }
+
+    @Override
+    public void convertColumn(ChunkerColumn column) {
+        boolean skyLight = world.getDimension() == Dimension.OVERWORLD;
+        ColumnState state = new ColumnState(column, skyLight, !ColumnLightEngine.isMissingLight(column, skyLight));
+        Batch batch = new Batch();
+        lock.lock();
+        try {
+            columns.put(column.getPosition(), state);
+            inFlight.addTo(column.getPosition().getRegion(), 1);
+
+            // This column may complete the window of its neighbours
+            collect(column.getPosition(), batch);
+        } finally {
+            lock.unlock();
+        }
+
+        // Light / submit outside the lock
+        process(batch);
+    }
+
+    @Override
+    public void flushRegion(RegionCoordPair regionCoordPair) {
+        Batch batch = new Batch();
+        lock.lock();
+        try {
+            flushedRegions.add(regionCoordPair);
+            collectAll(batch);
+            collectFlush(regionCoordPair, batch);
+        } finally {
+            lock.unlock();
+        }
+
+        // Light / submit outside the lock
+        process(batch);
+    }
+
+    @Override
+    public void flushColumns() {
+        Batch batch = new Batch();
+        lock.lock();
+        try {
+            // Everything has been read, so any column which hasn't arrived doesn't exist
+            complete = true;
+            collectAll(batch);
+        } finally {
+            lock.unlock();
+        }
+
+        // Light / submit the remaining columns before flushing
+        process(batch);
+        delegate.flushColumns();
+    }
+
+    /**
+     * Check whether all the columns of a region have arrived (or the region isn't part of the world).
+     *
+     * @param regionCoordPair the region co-ordinates.
+     * @return true if no more columns will arrive for the region.
+     */
+    protected boolean isRegionComplete(RegionCoordPair regionCoordPair) {
+        return complete || !worldRegions.contains(regionCoordPair) || flushedRegions.contains(regionCoordPair);
+    }
+
+    /**
+     * Check whether a column can be lit, this is when every neighbour has either arrived or can't arrive.
+     * The lock must be held when calling this.
+     *
+     * @param position the position of the column.
+     * @return true if the column can be lit.
+     */
+    protected boolean canLight(ChunkCoordPair position) {
+        for (Edge edge : Edge.ALL_EDGES) {
+            ChunkCoordPair relative = edge.getRelative(position);
+            if (!columns.containsKey(relative) && !isRegionComplete(relative.getRegion())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a lit column can be submitted, this is when every neighbour which may read it has been lit.
+     * The lock must be held when calling this.
+     *
+     * @param position the position of the column.
+     * @return true if the column can be submitted.
+     */
+    protected boolean canSubmit(ChunkCoordPair position) {
+        for (Edge edge : Edge.ALL_EDGES) {
+            ChunkCoordPair relative = edge.getRelative(position);
+            ColumnState neighbour = columns.get(relative);
+            if (neighbour != null ? !neighbour.lit : !isRegionComplete(relative.getRegion())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Collect the work which is possible for a column and its neighbours.
+     * The lock must be held when calling this.
+     *
+     * @param position the position of the column.
+     * @param batch    the batch to add the work to.
+     */
+    protected void collect(ChunkCoordPair position, Batch batch) {
+        collectColumn(position, batch);
+        for (Edge edge : Edge.ALL_EDGES) {
+            collectColumn(edge.getRelative(position), batch);
+        }
+    }
+
+    /**
+     * Collect the work which is possible for every held column.
+     * The lock must be held when calling this.
+     *
+     * @param batch the batch to add the work to.
+     */
+    protected void collectAll(Batch batch) {
+        for (ChunkCoordPair position : new ArrayList<>(columns.keySet())) {
+            collectColumn(position, batch);
+        }
+    }
+
+    private void collectColumn(ChunkCoordPair position, Batch batch) {
+        ColumnState state = columns.get(position);
+        if (state == null || state.lighting) return; // Not present or currently being lit
+
+        if (!state.lit) {
+            if (!canLight(position)) return;
+
+            // Record the neighbours to light with, these stay held until this column is lit
+            Map<Edge, ChunkerColumn> neighbours = new EnumMap<>(Edge.class);
+            for (Edge edge : Edge.ALL_EDGES) {
+                ColumnState neighbour = columns.get(edge.getRelative(position));
+                if (neighbour != null) {
+                    neighbours.put(edge, neighbour.column);
+                }
+            }
+            state.lighting = true;
+            batch.lighting.add(new LightingTask(state, neighbours));
+        } else if (canSubmit(position)) {
+            columns.remove(position);
+            batch.submitting.add(state);
+        }
+    }
+
+    private void collectFlush(RegionCoordPair regionCoordPair, Batch batch) {
+        if (inFlight.getInt(regionCoordPair) == 0 && flushedRegions.contains(regionCoordPair) && forwardedRegions.add(regionCoordPair)) {
+            batch.flushing.add(regionCoordPair);
+        }
+    }
+
+    /**
+     * Light and submit the columns of a batch, this may find more work which is also processed.
+     *
+     * @param batch the batch to process.
+     */
+    protected void process(Batch batch) {
+        while (!batch.isEmpty()) {
+            // Flush regions which have had all their columns submitted
+            if (!batch.flushing.isEmpty()) {
+                delegate.flushRegion(batch.flushing.poll());
+                continue;
+            }
+
+            // Submit columns before lighting more, this reduces the number being held
+            if (!batch.submitting.isEmpty()) {
+                ColumnState state = batch.submitting.poll();
+                delegate.convertColumn(state.column);
+
+                RegionCoordPair regionCoordPair = state.column.getPosition().getRegion();
+                lock.lock();
+                try {
+                    inFlight.addTo(regionCoordPair, -1);
+                    collectFlush(regionCoordPair, batch);
+                } finally {
+                    lock.unlock();
+                }
+                continue;
+            }
+
+            // Calculate the light
+            LightingTask task = batch.lighting.poll();
+            new ColumnLightEngine(task.state.column, task.neighbours, task.state.skyLight).apply();
+            lock.lock();
+            try {
+                task.state.lighting = false;
+                task.state.lit = true;
+
+                // The column and the neighbours it was reading from may now be submitted
+                collect(task.state.column.getPosition(), batch);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * The state of a column which is being held.
+     */
+    protected static class ColumnState {
+        private final ChunkerColumn column;
+        private final boolean skyLight;
+        private boolean lit;
+        private boolean lighting;
+
+        /**
+         * Create a new column state.
+         *
+         * @param column   the column.
+         * @param skyLight whether sky light should be calculated.
+         * @param lit      whether the column already has light.
+         */
+        public ColumnState(ChunkerColumn column, boolean skyLight, boolean lit) {
+            this.column = column;
+            this.skyLight = skyLight;
+            this.lit = lit;
+        }
+    }
+
+    /**
+     * A column which is ready to be lit with the neighbours which were present.
+     *
+     * @param state      the state of the column.
+     * @param neighbours the present neighbours.
+     */
+    protected record LightingTask(ColumnState state, Map<Edge, ChunkerColumn> neighbours) {
+    }
+
+    /**
+     * Work found while holding the lock which is processed after unlocking.
+     */
+    protected static class Batch {
+        private final Deque<LightingTask> lighting = new ArrayDeque<>();
+        private final Deque<ColumnState> submitting = new ArrayDeque<>();
+        private final Deque<RegionCoordPair> flushing = new ArrayDeque<>();
+
+        /**
+         * Whether there is no work in the batch.
+         *
+         * @return true if there's nothing to process.
+         */
+        public boolean isEmpty() {
+            return lighting.isEmpty() && submitting.isEmpty() && flushing.isEmpty();
+        }
+    }
+}
@@ -14,22 +14,26 @@ import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Because of how certain parts of Minecraft work, some chunks may require data from other chunks, for example paintings
  * need to be relocated to the right chunk.
  * Because of this we must ensure that we pre-transform these chunks together then process them, this ensures entities
  * are correctly relocated. This also allows you to do logic that requires neighbouring columns.
+ * The solving state is sharded by region so columns in different regions can be solved concurrently, clusters are
+ * transformed and submitted without holding any lock.
  */
 public class ColumnPreTransformConversionHandler implements ColumnConversionHandler {
+    private static final Comparator<RegionCoordPair> REGION_ORDER = Comparator.comparingInt(RegionCoordPair::regionX)
+            .thenComparingInt(RegionCoordPair::regionZ);
+    private static final Comparator<ChunkCoordPair> CHUNK_ORDER = Comparator.comparingInt(ChunkCoordPair::chunkX)
+            .thenComparingInt(ChunkCoordPair::chunkZ);
+
     private final ColumnConversionHandler delegate;
-    private final Map<RegionCoordPair, Map<ChunkCoordPair, ColumnData>> pending = new Object2ReferenceOpenHashMap<>();
-    private final Set<RegionCoordPair> incompleteRegions = new ObjectOpenHashSet<>();
-    private final Set<ChunkCoordPair> processedColumns = new ObjectOpenHashSet<>();
-    private final List<ColumnData> cachedPendingSolving = new ArrayList<>();
-    private final Stack<ColumnData> cachedSolvingStack = new Stack<>();
-    private final Set<ColumnData> cachedChecking = new ObjectOpenHashSet<>();
-    private final Set<ColumnData> cachedSolved = new ObjectOpenHashSet<>();
+    private final Map<RegionCoordPair, RegionShard> shards = new ConcurrentHashMap<>();
 
     /**
      * Create a new column pre transform conversion handler.
@@ -40,108 +44,218 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
      */
     public ColumnPreTransformConversionHandler(ColumnConversionHandler delegate, ChunkerWorld chunkerWorld) {
         this.delegate = delegate;
-        incompleteRegions.addAll(chunkerWorld.getRegions());
+        for (RegionCoordPair regionCoordPair : chunkerWorld.getRegions()) {
+            shards.put(regionCoordPair, new RegionShard(true));
+        }
+    }
+
+    /**
+     * Get the shard holding the state of a region, regions which aren't part of the world are treated as complete.
+     *
+     * @param regionCoordPair the region co-ordinates.
+     * @return the shard for the region.
+     */
+    protected RegionShard getShard(RegionCoordPair regionCoordPair) {
+        return shards.computeIfAbsent(regionCoordPair, (ignored) -> new RegionShard(false));
+    }
+
+    /**
+     * Lock the shards of a column and its neighbours.
+     * A column and its neighbours span at most three regions, these are locked in a consistent order to avoid
+     * deadlocks between columns on region borders.
+     *
+     * @param position the position of the column.
+     * @return the locked shards, these must be passed to {@link #unlockShards(List)} after.
+     */
+    protected List<RegionShard> lockShards(ChunkCoordPair position) {
+        List<RegionCoordPair> regions = new ArrayList<>(3);
+        regions.add(position.getRegion());
+        for (Edge edge : Edge.ALL_EDGES) {
+            RegionCoordPair relativeRegion = edge.getRelative(position).getRegion();
+            if (!regions.contains(relativeRegion)) {
+                regions.add(relativeRegion);
+            }
+        }
+        regions.sort(REGION_ORDER);
+
+        // Lock each shard
+        List<RegionShard> locked = new ArrayList<>(regions.size());
+        for (RegionCoordPair regionCoordPair : regions) {
+            RegionShard shard = getShard(regionCoordPair);
+            shard.lock.lock();
+            locked.add(shard);
+        }
+        return locked;
     }
 
     /**
-     * Try and solve a column.
+     * Unlock shards which were locked by {@link #lockShards(ChunkCoordPair)}.
      *
-     * @param input  the input column to solve.
-     * @param output the output to write any solved columns.
+     * @param locked the locked shards.
      */
-    protected void trySolve(ColumnData input, Set<ColumnData> output) {
+    protected void unlockShards(List<RegionShard> locked) {
+        for (int i = locked.size() - 1; i >= 0; i--) {
+            locked.get(i).lock.unlock();
+        }
+    }
+
+    /**
+     * Try and solve a column, this doesn't require any locks as it only follows columns which have finished checking
+     * their edges (which don't change after).
+     *
+     * @param input the input column to solve.
+     * @return the cluster of connected columns if every column is ready, otherwise null.
+     */
+    @Nullable
+    protected Set<ColumnData> trySolve(ColumnData input) {
+        Set<ColumnData> checking = new ObjectOpenHashSet<>();
+        Deque<ColumnData> solvingStack = new ArrayDeque<>();
+
         // Add the initial entry to our stack
-        cachedSolvingStack.push(input);
+        checking.add(input);
+        solvingStack.push(input);
 
         // While there are entries to solve loop through the solving stack
-        while (!cachedSolvingStack.isEmpty()) {
-            ColumnData current = cachedSolvingStack.pop();
-
-            // Attempt to solve the current
-            if (!current.getPendingCheckEdges().isEmpty()) {
-                // If the pending checks aren't empty, this isn't solvable
-                cachedChecking.clear();
-                break;
-            } else {
-                cachedChecking.add(current);
-
-                // Check the required columns (these are bidirectional)
-                for (ColumnData value : current.getRequiredColumns().values()) {
-                    if (value == null) continue;
-                    // Add edges to stack if they're not solved
-                    if (cachedChecking.add(value)) {
-                        cachedSolvingStack.push(value);
-                    }
+        while (!solvingStack.isEmpty()) {
+            ColumnData current = solvingStack.pop();
+
+            // If the pending checks aren't complete or another thread is solving it, this isn't solvable
+            if (!current.isChecked() || current.isClaimed()) return null;
+
+            // Check the required columns (these are bidirectional)
+            for (ColumnData value : current.getRequiredColumns().values()) {
+                if (value == null) continue;
+                // Add edges to stack if they're not solved
+                if (checking.add(value)) {
+                    solvingStack.push(value);
                 }
             }
         }
+        return checking;
+    }
 
-        // If there are checked entries, it was a success, add them to the output
-        if (!cachedChecking.isEmpty()) {
-            // Add all the checked entries
-            output.addAll(cachedChecking);
-            cachedChecking.clear();
+    /**
+     * Claim a solved cluster so that only one thread transforms it.
+     * Any thread solving the same cluster finds the same columns, so only the lowest column needs to be claimed
+     * atomically.
+     *
+     * @param cluster the solved cluster.
+     * @return true if the cluster was claimed by this thread.
+     */
+    protected boolean claimCluster(Set<ColumnData> cluster) {
+        ColumnData lowest = null;
+        for (ColumnData columnData : cluster) {
+            if (lowest == null || CHUNK_ORDER.compare(columnData.getPosition(), lowest.getPosition()) < 0) {
+                lowest = columnData;
+            }
         }
+        if (lowest == null || !lowest.claim()) return false;
 
-        // Reset the state for the next solve
-        cachedSolvingStack.clear();
+        // Mark the rest of the cluster as claimed
+        for (ColumnData columnData : cluster) {
+            if (columnData != lowest) {
+                Preconditions.checkState(columnData.claim(), "Column was claimed by another cluster, unable to solve.");
+            }
+        }
+        return true;
     }
 
     /**
-     * Process any entries in the cachedPendingSolve array to see if they can be solved. If they can be solved they
-     * are solved as a cluster.
+     * Remove claimed columns from the pending columns of their region, marking them as in-flight so the region isn't
+     * flushed until they have been submitted.
+     *
+     * @param columns the claimed columns.
      */
-    protected void processPendingSolve() {
-        if (!cachedPendingSolving.isEmpty()) {
-            // Try to solve each pending entry
-            for (ColumnData pendingSolve : cachedPendingSolving) {
-                trySolve(pendingSolve, cachedSolved);
+    protected void removePending(Collection<ColumnData> columns) {
+        for (ColumnData columnData : columns) {
+            RegionShard shard = getShard(columnData.getPosition().getRegion());
+            shard.lock.lock();
+            try {
+                shard.pending.remove(columnData.getPosition());
+                shard.inFlight++;
+            } finally {
+                shard.lock.unlock();
             }
-            cachedPendingSolving.clear();
+        }
+    }
 
-            // Now that we've solved the entries, we can transform them
-            if (!cachedSolved.isEmpty()) {
-                // Transform columns
-                transformCluster(cachedSolved);
-                for (ColumnData value : cachedSolved) {
-                    RegionCoordPair regionCoordPair = value.getPosition().getRegion();
-                    Map<ChunkCoordPair, ColumnData> region = pending.get(regionCoordPair);
-                    region.remove(value.getPosition());
-
-                    // If the region is now empty, we can call the parent flush
-                    if (region.isEmpty() && !incompleteRegions.contains(regionCoordPair) && pending.remove(regionCoordPair) != null) {
-                        delegate.flushRegion(regionCoordPair);
-                    }
-                }
-                cachedSolved.clear();
+    /**
+     * Mark a column as submitted, flushing the region of the column if it has no remaining columns.
+     *
+     * @param columnData the column which was submitted.
+     */
+    protected void completeColumn(ColumnData columnData) {
+        RegionCoordPair regionCoordPair = columnData.getPosition().getRegion();
+        RegionShard shard = getShard(regionCoordPair);
+        boolean flush;
+        shard.lock.lock();
+        try {
+            shard.inFlight--;
+            flush = shard.shouldFlush();
+        } finally {
+            shard.lock.unlock();
+        }
+
+        // If the region is now empty, we can call the parent flush
+        if (flush) {
+            delegate.flushRegion(regionCoordPair);
+        }
+    }
+
+    /**
+     * Process the columns found while holding shard locks, this is done without holding any lock. Columns which can
+     * be submitted are submitted and any pending columns are checked to see if they can be solved as a cluster.
+     *
+     * @param batch the batch of columns to process.
+     */
+    protected void processBatch(SolveBatch batch) {
+        // Columns without any dependencies don't need transforming
+        for (ColumnData columnData : batch.ready) {
+            columnData.submit(delegate);
+            completeColumn(columnData);
+        }
+
+        // Columns which no longer have any dependencies are transformed alone
+        if (!batch.solved.isEmpty()) {
+            transformCluster(batch.solved);
+            for (ColumnData columnData : batch.solved) {
+                completeColumn(columnData);
+            }
+        }
+
+        // Try to solve each pending entry, if they can be solved they are solved as a cluster
+        for (ColumnData pendingSolve : batch.pendingSolving) {
+            Set<ColumnData> cluster = trySolve(pendingSolve);
+            if (cluster == null || !claimCluster(cluster)) continue;
+
+            // Transform columns
+            removePending(cluster);
+            transformCluster(cluster);
+            for (ColumnData columnData : cluster) {
+                completeColumn(columnData);
             }
         }
     }
 
     /**
-     * Check whether an edge can be solved.
+     * Check whether an edge can be solved. The shard of the relative column must be locked.
      *
      * @param position   the current column position.
      * @param edge       the edge direction.
      * @param columnData the column data if present (can be null if the column is air).
+     * @param batch      the batch to add any columns which can be submitted or solved to.
      * @return true if the edge has been checked and should be removed from future checking.
      */
-    protected boolean solveEdge(ChunkCoordPair position, Edge edge, @Nullable ColumnData columnData) {
+    protected boolean solveEdge(ChunkCoordPair position, Edge edge, @Nullable ColumnData columnData, SolveBatch batch) {
         Edge opposite = edge.getOpposite();
         ChunkCoordPair relativePosition = edge.getRelative(position);
-        RegionCoordPair relativePositionRegion = relativePosition.getRegion();
-        Map<ChunkCoordPair, ColumnData> region = pending.get(relativePosition.getRegion());
-        ColumnData relativeData = null;
-
-        // If the region data was found
-        if (region != null) {
-            relativeData = region.get(relativePosition);
-        }
+        RegionShard shard = getShard(relativePosition.getRegion());
+        ColumnData relativeData = shard.pending.get(relativePosition);
 
-        // If either of the lookups failed,
+        // If the lookup failed,
         if (relativeData == null) {
             // Check if the region was waiting to be processed (aka do not remove, waiting needed)
-            return !incompleteRegions.contains(relativePositionRegion);
+            return !shard.incomplete;
         } else {
             // If we have column data, prefill the edges to include ourselves (symmetrically)
             if (columnData != null && columnData.getRequiredColumns().containsKey(edge)) {
@@ -160,18 +274,16 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
 
                 // If the relative has no dependents and was just waiting to check we didn't depend, we can solve it
                 if (relativeData.getRequiredColumns().isEmpty() && relativeData.getPendingCheckEdges().isEmpty()) {
-                    region.remove(relativePosition);
-
                     // The chunk is ready for submitting (no transformation needed)
-                    relativeData.submit(delegate);
-
-                    // If the region is now empty, we can call the parent flush
-                    if (region.isEmpty() && !incompleteRegions.contains(relativePositionRegion) && pending.remove(relativePositionRegion) != null) {
-                        delegate.flushRegion(relativePositionRegion);
+                    if (relativeData.claim()) {
+                        shard.pending.remove(relativePosition);
+                        shard.inFlight++;
+                        batch.ready.add(relativeData);
                     }
                 } else if (relativeData.getPendingCheckEdges().isEmpty()) {
                     // There are no pending edge checks so this might be solvable
-                    cachedPendingSolving.add(relativeData);
+                    relativeData.markChecked();
+                    batch.pendingSolving.add(relativeData);
                 }
             }
         }
@@ -187,30 +299,38 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
      */
     protected void solveColumn(ColumnData columnData) {
         ChunkCoordPair position = columnData.getPosition();
-        synchronized (this) {
+        SolveBatch batch = new SolveBatch();
+        List<RegionShard> locked = lockShards(position);
+        try {
+            RegionShard shard = getShard(position.getRegion());
+
             // Ensure duplicates don't happen
-            Preconditions.checkArgument(processedColumns.add(position), "Duplicate chunk processed, unable to solve.");
+            Preconditions.checkArgument(shard.processedColumns.add(position), "Duplicate chunk processed, unable to solve.");
 
             // First we'll resolve other edges that may have been waiting for this one
-            columnData.getPendingCheckEdges().removeIf(edge -> solveEdge(position, edge, columnData));
+            columnData.getPendingCheckEdges().removeIf(edge -> solveEdge(position, edge, columnData, batch));
 
             // If there are no required edges and nothing left pending checking, we can just be converted
             if (columnData.getRequiredColumns().isEmpty() && columnData.getPendingCheckEdges().isEmpty()) {
-                columnData.submit(delegate);
+                columnData.claim();
+                shard.inFlight++;
+                batch.ready.add(columnData);
             } else {
                 // Push our column
-                Map<ChunkCoordPair, ColumnData> region = pending.computeIfAbsent(position.getRegion(), (ignored) -> new Object2ReferenceOpenHashMap<>());
-                region.put(position, columnData);
+                shard.pending.put(position, columnData);
 
                 // If all the edges were present we can check if it's possible to solve a cluster of connected chunks
                 if (columnData.getPendingCheckEdges().isEmpty()) {
-                    cachedPendingSolving.add(columnData);
+                    columnData.markChecked();
+                    batch.pendingSolving.add(columnData);
                 }
             }
-
-            // Try solving any pending solving
-            processPendingSolve();
+        } finally {
+            unlockShards(locked);
         }
+
+        // Submit / try solving any columns outside the locks
+        processBatch(batch);
     }
 
     @Override
@@ -247,21 +367,16 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
     public void flushRegion(RegionCoordPair regionCoordPair) {
         // When a region is flushed it indicates that any remaining chunks are not present
         // We now should mark that as so
-        synchronized (this) {
+        SolveBatch batch = new SolveBatch();
+        RegionShard shard = getShard(regionCoordPair);
+        boolean flush;
+        shard.lock.lock();
+        try {
             // Mark this region as processed
-            incompleteRegions.remove(regionCoordPair);
-
-            // First mark any chunks inside the region (excluding the border) as done
-            Map<ChunkCoordPair, ColumnData> region = pending.get(regionCoordPair);
-
-            // If there is no pending region, flush the region (this means there were no columns depending on it)
-            if (region == null) {
-                delegate.flushRegion(regionCoordPair);
-                return;
-            }
+            shard.incomplete = false;
 
             // Remove any solve-able columns
-            region.entrySet().removeIf(entry -> {
+            shard.pending.entrySet().removeIf(entry -> {
                 ColumnData columnData = entry.getValue();
                 ChunkCoordPair chunkCoordPair = entry.getKey();
 
@@ -271,68 +386,83 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
 
                 // Can be removed if there is no further requirement from this column
                 if (columnData.getRequiredColumns().isEmpty() && columnData.getPendingCheckEdges().isEmpty()) {
-                    // Add to cache for solving
-                    cachedSolved.add(columnData);
+                    if (!columnData.claim()) return false;
+
+                    // Add to the batch for transforming
+                    shard.inFlight++;
+                    batch.solved.add(columnData);
                     return true;
+                } else if (columnData.getPendingCheckEdges().isEmpty()) {
+                    // The remaining dependencies may now be solvable
+                    columnData.markChecked();
+                    batch.pendingSolving.add(columnData);
                 }
 
                 // Could not be instantly solved
                 return false;
             });
 
-            // Now that we've solved the entries, we can transform them
-            if (!cachedSolved.isEmpty()) {
-                // Transform columns
-                transformCluster(cachedSolved);
-                cachedSolved.clear();
-            }
+            // If there are no pending columns, flush the region (this means there were no columns depending on it)
+            flush = shard.shouldFlush();
+        } finally {
+            shard.lock.unlock();
+        }
 
-            // Mark each corner as empty
-            markAsEmpty(regionCoordPair.getChunk(0, 0), EnumSet.of(Edge.NEGATIVE_X, Edge.NEGATIVE_Z));
-            markAsEmpty(regionCoordPair.getChunk(31, 0), EnumSet.of(Edge.POSITIVE_X, Edge.NEGATIVE_Z));
-            markAsEmpty(regionCoordPair.getChunk(0, 31), EnumSet.of(Edge.NEGATIVE_X, Edge.POSITIVE_Z));
-            markAsEmpty(regionCoordPair.getChunk(31, 31), EnumSet.of(Edge.POSITIVE_X, Edge.POSITIVE_Z));
+        // Mark each corner as empty
+        markAsEmpty(regionCoordPair.getChunk(0, 0), EnumSet.of(Edge.NEGATIVE_X, Edge.NEGATIVE_Z), batch);
+        markAsEmpty(regionCoordPair.getChunk(31, 0), EnumSet.of(Edge.POSITIVE_X, Edge.NEGATIVE_Z), batch);
+        markAsEmpty(regionCoordPair.getChunk(0, 31), EnumSet.of(Edge.NEGATIVE_X, Edge.POSITIVE_Z), batch);
+        markAsEmpty(regionCoordPair.getChunk(31, 31), EnumSet.of(Edge.POSITIVE_X, Edge.POSITIVE_Z), batch);
 
-            // Loop through the top and bottom edges, starting at 1 and 31 to avoid corners
-            for (int x = 1; x < 31; x++) {
-                // Top edge
-                markAsEmpty(regionCoordPair.getChunk(x, 0), EnumSet.of(Edge.NEGATIVE_Z));
+        // Loop through the top and bottom edges, starting at 1 and 31 to avoid corners
+        for (int x = 1; x < 31; x++) {
+            // Top edge
+            markAsEmpty(regionCoordPair.getChunk(x, 0), EnumSet.of(Edge.NEGATIVE_Z), batch);
 
-                // Bottom edge
-                markAsEmpty(regionCoordPair.getChunk(x, 31), EnumSet.of(Edge.POSITIVE_Z));
-            }
+            // Bottom edge
+            markAsEmpty(regionCoordPair.getChunk(x, 31), EnumSet.of(Edge.POSITIVE_Z), batch);
+        }
 
-            // Loop through left and right edges, starting at 1 and 31 to avoid corners
-            for (int z = 1; z < 31; z++) {
-                // Left edge
-                markAsEmpty(regionCoordPair.getChunk(0, z), EnumSet.of(Edge.NEGATIVE_X));
+        // Loop through left and right edges, starting at 1 and 31 to avoid corners
+        for (int z = 1; z < 31; z++) {
+            // Left edge
+            markAsEmpty(regionCoordPair.getChunk(0, z), EnumSet.of(Edge.NEGATIVE_X), batch);
 
-                // Right edge
-                markAsEmpty(regionCoordPair.getChunk(31, z), EnumSet.of(Edge.POSITIVE_X));
-            }
+            // Right edge
+            markAsEmpty(regionCoordPair.getChunk(31, z), EnumSet.of(Edge.POSITIVE_X), batch);
+        }
 
-            // If the region is now empty, we can call the parent flush
-            if (region.isEmpty() && pending.remove(regionCoordPair) != null) {
-                delegate.flushRegion(regionCoordPair);
-            }
+        // Transform / submit anything which was solved outside the locks
+        processBatch(batch);
+
+        // If the region is now empty, we can call the parent flush
+        if (flush) {
+            delegate.flushRegion(regionCoordPair);
         }
     }
 
     /**
-     * Mark a chunk as empty and resolve any edges that can be solved.
+     * Mark a chunk as empty and resolve any edges that can be solved. The region of the chunk must have been marked as
+     * complete, as each edge only locks the shard of the neighbouring region.
      *
      * @param chunkCoordPair the chunk co-ordinate to mark as empty.
      * @param checkedEdges   the edges which need checking to see if they're solvable.
+     * @param batch          the batch to add any columns which can be submitted or solved to.
      */
-    protected void markAsEmpty(ChunkCoordPair chunkCoordPair, EnumSet<Edge> checkedEdges) {
-        // Ensure the chunk wasn't already processed
-        if (processedColumns.contains(chunkCoordPair)) return;
-
-        // First we'll resolve other edges that may have been waiting for this one
-        checkedEdges.forEach(edge -> solveEdge(chunkCoordPair, edge, null));
-
-        // Try solving any pending solving
-        processPendingSolve();
+    protected void markAsEmpty(ChunkCoordPair chunkCoordPair, EnumSet<Edge> checkedEdges, SolveBatch batch) {
+        // Ensure the chunk wasn't already processed (the region is complete, so this no longer changes)
+        if (getShard(chunkCoordPair.getRegion()).processedColumns.contains(chunkCoordPair)) return;
+
+        // Resolve other edges that may have been waiting for this one
+        for (Edge edge : checkedEdges) {
+            RegionShard relativeShard = getShard(edge.getRelative(chunkCoordPair).getRegion());
+            relativeShard.lock.lock();
+            try {
+                solveEdge(chunkCoordPair, edge, null, batch);
+            } finally {
+                relativeShard.lock.unlock();
+            }
+        }
     }
 
     /**
@@ -378,18 +508,80 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
     public void flushColumns() {
         Task.async("Submitting remaining columns", TaskWeight.NORMAL, () -> {
             // This flush should ideally yield no transforms, but if a region has chunks which were actually empty, and we didn't know, they'll flush here
-            synchronized (this) {
-                for (Map.Entry<RegionCoordPair, Map<ChunkCoordPair, ColumnData>> region : pending.entrySet()) {
-                    // Transform columns
-                    transformCluster(region.getValue().values());
+            for (Map.Entry<RegionCoordPair, RegionShard> entry : shards.entrySet()) {
+                RegionShard shard = entry.getValue();
+                List<ColumnData> remaining = new ArrayList<>();
+                boolean flush;
+                shard.lock.lock();
+                try {
+                    for (ColumnData columnData : shard.pending.values()) {
+                        if (columnData.claim()) {
+                            remaining.add(columnData);
+                        }
+                    }
+
+                    // Clear
+                    shard.pending.clear();
+
+                    // Every column has been read, so regions which had columns but weren't flushed are flushed now
+                    shard.incomplete = false;
+                    flush = !shard.processedColumns.isEmpty() && shard.shouldFlush();
+                } finally {
+                    shard.lock.unlock();
                 }
 
-                // Clear
-                pending.clear();
+                // Transform columns
+                if (!remaining.isEmpty()) {
+                    transformCluster(remaining);
+                }
+                if (flush) {
+                    delegate.flushRegion(entry.getKey());
+                }
             }
         }).then("Calling delegate flushColumns", TaskWeight.NORMAL, delegate::flushColumns);
     }
 
+    /**
+     * The columns found while holding shard locks which should be processed after the locks are released.
+     */
+    protected static class SolveBatch {
+        private final List<ColumnData> ready = new ArrayList<>();
+        private final List<ColumnData> solved = new ArrayList<>();
+        private final List<ColumnData> pendingSolving = new ArrayList<>();
+    }
+
+    /**
+     * The solving state of a single region, guarded by the lock of the shard.
+     */
+    protected static class RegionShard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<ChunkCoordPair, ColumnData> pending = new Object2ReferenceOpenHashMap<>();
+        private final Set<ChunkCoordPair> processedColumns = new ObjectOpenHashSet<>();
+        private boolean incomplete;
+        private int inFlight;
+        private boolean flushed;
+
+        /**
+         * Create a new region shard.
+         *
+         * @param incomplete whether the region is still waiting for columns.
+         */
+        public RegionShard(boolean incomplete) {
+            this.incomplete = incomplete;
+        }
+
+        /**
+         * Check whether the region has no remaining columns and should be flushed, this returns true only once.
+         *
+         * @return true if the delegate should be flushed.
+         */
+        private boolean shouldFlush() {
+            if (flushed || incomplete || inFlight > 0 || !pending.isEmpty()) return false;
+            flushed = true;
+            return true;
+        }
+    }
+
     /**
      * Data class for tracking the status of a column.
      */
@@ -398,6 +590,8 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
         private final ChunkerColumn column;
         private final Map<Edge, ColumnData> requiredColumns;
         private final EnumSet<Edge> pendingCheckEdges;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile boolean checked;
         private boolean submitted;
 
         /**
@@ -451,6 +645,41 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
             return pendingCheckEdges;
         }
 
+        /**
+         * Mark that every edge of this column has been checked, after this the neighbours of the column don't change
+         * so it can be read without holding a lock.
+         */
+        public void markChecked() {
+            checked = true;
+        }
+
+        /**
+         * Check whether every edge of this column has been checked.
+         *
+         * @return true if the column has been checked.
+         */
+        public boolean isChecked() {
+            return checked;
+        }
+
+        /**
+         * Claim this column for submission.
+         *
+         * @return true if the column was claimed, false if it was already claimed.
+         */
+        public boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        /**
+         * Check whether this column has been claimed for submission.
+         *
+         * @return true if the column was claimed.
+         */
+        public boolean isClaimed() {
+            return claimed.get();
+        }
+
         /**
          * Submit this column to the conversion handler.
          *
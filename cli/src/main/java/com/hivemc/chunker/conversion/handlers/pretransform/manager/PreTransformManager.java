@@ -8,6 +8,7 @@ import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
 import com.hivemc.chunker.conversion.intermediate.column.entity.Entity;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
@@ -119,16 +120,26 @@ public abstract class PreTransformManager {
             if (!containsConnectableBlock(column, chunk)) continue;
 
             // Loop through each block to process connections
+            Palette<ChunkerBlockIdentifier> palette = null;
+            BlockPreTransformHandler[] keyHandlers = null;
             for (int localY = 0; localY < 16; localY++) {
                 for (int localX = 0; localX < 16; localX++) {
                     for (int localZ = 0; localZ < 16; localZ++) {
-                        // Fetch the identifier
-                        ChunkerBlockIdentifier blockIdentifier = chunk.getPalette().get(localX, localY, localZ, ChunkerBlockIdentifier.AIR);
+                        // Look up the handlers for each key (again if the palette has changed or gained keys)
+                        int keyIndex = chunk.getPalette().getKeyIndex(localX, localY, localZ);
+                        if (palette != chunk.getPalette() || keyIndex >= keyHandlers.length) {
+                            palette = chunk.getPalette();
+                            keyHandlers = getKeyHandlers(palette);
+                        }
 
                         // Check if it's connectable by typeToHandler
-                        BlockPreTransformHandler handler = blockTypeToHandler.get(blockIdentifier.getType());
+                        boolean validKeyIndex = keyIndex >= 0 && keyIndex < keyHandlers.length;
+                        BlockPreTransformHandler handler = validKeyIndex ? keyHandlers[keyIndex] : blockTypeToHandler.get(ChunkerBlockIdentifier.AIR.getType());
                         if (handler == null) continue; // Skip if no handler
 
+                        // Fetch the identifier
+                        ChunkerBlockIdentifier blockIdentifier = validKeyIndex ? palette.getKey(keyIndex, ChunkerBlockIdentifier.AIR) : ChunkerBlockIdentifier.AIR;
+
                         int x = column.getPosition().chunkX() << 4 | localX;
                         int y = chunk.getY() << 4 | localY;
                         int z = column.getPosition().chunkZ() << 4 | localZ;
@@ -178,6 +189,20 @@ public abstract class PreTransformManager {
         }
     }
 
+    /**
+     * Look up the handler for each key of a palette.
+     *
+     * @param palette the palette to use.
+     * @return an array of the handler for each key index, null where a key has no handler.
+     */
+    protected BlockPreTransformHandler[] getKeyHandlers(Palette<ChunkerBlockIdentifier> palette) {
+        BlockPreTransformHandler[] keyHandlers = new BlockPreTransformHandler[palette.getKeyCount()];
+        for (int i = 0; i < keyHandlers.length; i++) {
+            keyHandlers[i] = blockTypeToHandler.get(palette.getKey(i, ChunkerBlockIdentifier.AIR).getType());
+        }
+        return keyHandlers;
+    }
+
     /**
      * Called when an entity needs solving, this method queues the solve if it requires edges or solves it now.
      *
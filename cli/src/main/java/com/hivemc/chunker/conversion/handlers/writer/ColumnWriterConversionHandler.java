@@ -4,14 +4,22 @@ import com.hivemc.chunker.conversion.encoding.base.writer.ColumnWriter;
 import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.scheduling.task.FutureTask;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
- * ColumnConversionHandler which delegates the methods asynchronously to the writer.
+ * ColumnConversionHandler which delegates the methods asynchronously to the writer. Flushing a region waits for the
+ * columns of that region which are still being written, so writers never see a column after its region was flushed.
  */
 public class ColumnWriterConversionHandler implements ColumnConversionHandler {
     protected final ColumnWriter writer;
+    protected final ConcurrentMap<RegionCoordPair, List<Task<Void>>> pendingColumns = new ConcurrentHashMap<>();
 
     /**
      * Create a new column writer conversion handler.
@@ -24,17 +32,42 @@ public class ColumnWriterConversionHandler implements ColumnConversionHandler {
 
     @Override
     public void convertColumn(ChunkerColumn column) {
-        Task.asyncConsume("Writing Column", TaskWeight.NORMAL, writer::writeColumn, column);
+        Task<Void> task = Task.asyncConsume("Writing Column", TaskWeight.NORMAL, writer::writeColumn, column);
+
+        // Record the write so the region flush can wait for it, failures are already reported by the task so the
+        // region is still flushed
+        Task<Void> pending = new FutureTask<>(task.future().exceptionally((ignored) -> null));
+        pendingColumns.compute(column.getPosition().getRegion(), (region, tasks) -> {
+            if (tasks == null) {
+                tasks = new ArrayList<>();
+            }
+            tasks.add(pending);
+            return tasks;
+        });
     }
 
     @Override
     public void flushRegion(RegionCoordPair regionCoordPair) {
-        // Writers don't currently have this behaviour
-        Task.asyncConsume("Flushing Region", TaskWeight.NORMAL, writer::flushRegion, regionCoordPair);
+        List<Task<Void>> pending = pendingColumns.remove(regionCoordPair);
+        if (pending == null) {
+            Task.asyncConsume("Flushing Region", TaskWeight.NORMAL, writer::flushRegion, regionCoordPair);
+            return;
+        }
+
+        // Flush once every column of the region has been written
+        Task.join(pending).then("Flushing Region", TaskWeight.NORMAL, () -> writer.flushRegion(regionCoordPair));
     }
 
     @Override
     public void flushColumns() {
-        Task.async("Flushing Writer Regions", TaskWeight.NORMAL, writer::flushColumns);
+        // Wait for any columns which are still being written (e.g. regions which were never flushed)
+        List<Task<Void>> pending = new ArrayList<>();
+        for (RegionCoordPair region : pendingColumns.keySet()) {
+            List<Task<Void>> tasks = pendingColumns.remove(region);
+            if (tasks != null) {
+                pending.addAll(tasks);
+            }
+        }
+        Task.join(pending).then("Flushing Writer Regions", TaskWeight.NORMAL, writer::flushColumns);
     }
 }
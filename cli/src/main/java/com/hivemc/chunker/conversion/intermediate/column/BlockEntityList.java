@@ -0,0 +1,92 @@
+package com.hivemc.chunker.conversion.intermediate.column;
+
+import com.hivemc.chunker.conversion.intermediate.column.blockentity.BlockEntity;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The block entities of a column, indexed by their local position. When multiple block entities share a position the
+ * first in the list is returned, matching a search of the list.
+ */
+final class BlockEntityList extends IndexedList<BlockEntity> {
+    @Nullable
+    private volatile Int2ObjectOpenHashMap<BlockEntity> index;
+
+    /**
+     * Pack a position into the key used by the index.
+     *
+     * @param x the x co-ordinate (can be a local or global position as a bitmask is applied).
+     * @param y the y co-ordinate of the block.
+     * @param z the z co-ordinate (can be a local or global position as a bitmask is applied).
+     * @return the packed key.
+     */
+    private static int key(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    private static int key(BlockEntity blockEntity) {
+        return key(blockEntity.getX(), blockEntity.getY(), blockEntity.getZ());
+    }
+
+    /**
+     * Find a block entity at a location.
+     *
+     * @param x the x co-ordinate (can be a local or global position as a bitmask is applied).
+     * @param y the y co-ordinate of the block.
+     * @param z the z co-ordinate (can be a local or global position as a bitmask is applied).
+     * @return the block entity if it was found otherwise null.
+     */
+    @Nullable
+    public BlockEntity find(int x, int y, int z) {
+        if (values.isEmpty()) return null;
+
+        // Build the index if it was invalidated
+        Int2ObjectOpenHashMap<BlockEntity> index = this.index;
+        if (index == null) {
+            index = new Int2ObjectOpenHashMap<>(values.size());
+            for (BlockEntity blockEntity : values) {
+                index.putIfAbsent(key(blockEntity), blockEntity);
+            }
+            this.index = index;
+        }
+        return index.get(key(x, y, z));
+    }
+
+    @Override
+    protected void onAppend(BlockEntity element) {
+        Int2ObjectOpenHashMap<BlockEntity> index = this.index;
+        if (index != null) {
+            index.putIfAbsent(key(element), element);
+        }
+    }
+
+    @Override
+    protected void onSet(BlockEntity previous, BlockEntity element) {
+        Int2ObjectOpenHashMap<BlockEntity> index = this.index;
+        if (index == null) return;
+
+        // Replacements at the same position (the common case) keep the same order so can be applied directly
+        int key = key(previous);
+        if (key == key(element)) {
+            if (index.get(key) == previous) {
+                index.put(key, element);
+            }
+        } else {
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onRemove(BlockEntity previous) {
+        // Removing an indexed entry may reveal a later entry at the same position
+        Int2ObjectOpenHashMap<BlockEntity> index = this.index;
+        if (index != null && index.get(key(previous)) == previous) {
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void invalidate() {
+        index = null;
+    }
+}
@@ -9,7 +9,9 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.Chunke
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.WriteablePalette;
 import com.hivemc.chunker.conversion.intermediate.column.entity.Entity;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.ColumnSurface;
 import com.hivemc.chunker.conversion.intermediate.column.heightmap.HeightMap;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.SurfaceType;
 import it.unimi.dsi.fastutil.Pair;
 import it.unimi.dsi.fastutil.bytes.Byte2ObjectAVLTreeMap;
 import it.unimi.dsi.fastutil.bytes.Byte2ObjectMap;
@@ -29,7 +31,7 @@ import java.util.function.Predicate;
 public class ChunkerColumn {
     private final ChunkCoordPair position;
     private final List<Entity> entities = new ArrayList<>(0);
-    private final List<BlockEntity> blockEntities = new ArrayList<>(0);
+    private final BlockEntityList blockEntities = new BlockEntityList();
     private final Byte2ObjectSortedMap<ChunkerChunk> chunks = new Byte2ObjectAVLTreeMap<>();
     private final Set<Edge> requiredPreTransformEdges = EnumSet.noneOf(Edge.class);
     @Nullable
@@ -38,6 +40,8 @@ public class ChunkerColumn {
     private HeightMap heightMap;
     private boolean lightPopulated;
     private Consumer<Map<Edge, ChunkerColumn>> preTransformHandler;
+    @Nullable
+    private volatile ColumnSurface[] surfaces;
 
     /**
      * Create a new column.
@@ -105,7 +109,8 @@ public class ChunkerColumn {
     }
 
     /**
-     * Get the block entities which are inside this column.
+     * Get the block entities which are inside this column. Changes to the list are reflected in
+     * {@link #getBlockEntity(int, int, int)}, block entities which are moved should be replaced in the list.
      *
      * @return a list of the block-entities.
      */
@@ -219,6 +224,34 @@ public class ChunkerColumn {
         return null; // Empty chunk
     }
 
+    /**
+     * Get the surface of this column, calculating it if it hasn't been calculated since the blocks were last changed.
+     *
+     * @param type the type of surface.
+     * @return the surface of the column.
+     */
+    public ColumnSurface getSurface(SurfaceType type) {
+        ColumnSurface[] surfaces = this.surfaces;
+        ColumnSurface surface = surfaces == null ? null : surfaces[type.ordinal()];
+        if (surface == null) {
+            surface = ColumnSurface.create(this, type);
+
+            // Copy the array so that other threads see a complete surface
+            ColumnSurface[] updated = surfaces == null ? new ColumnSurface[SurfaceType.values().length] : surfaces.clone();
+            updated[type.ordinal()] = surface;
+            this.surfaces = updated;
+        }
+        return surface;
+    }
+
+    /**
+     * Clear any calculated surfaces, this should be called when blocks or light are changed without using
+     * {@link #setBlock(int, int, int, ChunkerBlockIdentifier)}.
+     */
+    public void invalidateSurfaces() {
+        surfaces = null;
+    }
+
     /**
      * Get a block at a location, if it is in a sub-chunk that doesn't exist one will be created.
      *
@@ -263,6 +296,7 @@ public class ChunkerColumn {
         WriteablePalette<ChunkerBlockIdentifier> newPalette = chunk.getPalette().asWriteable();
         newPalette.set(x & 15, y & 15, z & 15, identifier);
         chunk.setPalette(newPalette);
+        invalidateSurfaces();
     }
 
     /**
@@ -275,16 +309,6 @@ public class ChunkerColumn {
      */
     @Nullable
     public BlockEntity getBlockEntity(int x, int y, int z) {
-        // Use local co-ordinates
-        x = x & 15;
-        z = z & 15;
-
-        // Search block entities
-        for (BlockEntity blockEntity : blockEntities) {
-            if ((blockEntity.getX() & 15) == x && blockEntity.getY() == y && (blockEntity.getZ() & 15) == z) {
-                return blockEntity;
-            }
-        }
-        return null;
+        return blockEntities.find(x, y, z);
     }
 }
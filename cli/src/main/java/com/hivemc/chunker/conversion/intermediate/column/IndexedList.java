@@ -0,0 +1,115 @@
+package com.hivemc.chunker.conversion.intermediate.column;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * An array backed list which notifies an index of any modifications, allowing lookups to be kept in sync with the
+ * list. Appends and in-place replacements can be applied to the index directly, any other modification invalidates
+ * it so that it is rebuilt the next time it is used.
+ *
+ * @param <T> the type of the elements.
+ */
+abstract class IndexedList<T> extends AbstractList<T> implements RandomAccess {
+    protected final ArrayList<T> values = new ArrayList<>(0);
+
+    @Override
+    public T get(int index) {
+        return values.get(index);
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        T previous = values.set(index, element);
+        if (previous != element) {
+            onSet(previous, element);
+        }
+        return previous;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        values.add(index, element);
+        modCount++;
+
+        // Only appending can be applied to the index without changing the order
+        if (index == values.size() - 1) {
+            onAppend(element);
+        } else {
+            invalidate();
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        T previous = values.remove(index);
+        modCount++;
+        onRemove(previous);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        values.clear();
+        modCount++;
+        invalidate();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        boolean removed = values.removeIf(filter);
+        if (removed) {
+            modCount++;
+            invalidate();
+        }
+        return removed;
+    }
+
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        values.sort(comparator);
+        modCount++;
+        invalidate();
+    }
+
+    /**
+     * Called when an element has been appended to the end of the list.
+     *
+     * @param element the element which was appended.
+     */
+    protected void onAppend(T element) {
+        invalidate();
+    }
+
+    /**
+     * Called when an element in the list was replaced by a different element.
+     *
+     * @param previous the element which was replaced.
+     * @param element  the new element at the same index.
+     */
+    protected void onSet(T previous, T element) {
+        invalidate();
+    }
+
+    /**
+     * Called when an element has been removed from the list.
+     *
+     * @param previous the element which was removed.
+     */
+    protected void onRemove(T previous) {
+        invalidate();
+    }
+
+    /**
+     * Invalidate the index so that it is rebuilt from the list when it is next used.
+     */
+    protected abstract void invalidate();
+}
@@ -11,8 +11,10 @@ import org.jetbrains.annotations.Nullable;
 public class ChunkerChunk {
     private byte y;
     private Palette<ChunkerBlockIdentifier> palette = SingleValuePalette.chunk(ChunkerBlockIdentifier.AIR);
-    private byte[][] @Nullable [] blockLight;
-    private byte[][] @Nullable [] skyLight;
+    @Nullable
+    private ChunkerLight blockLight;
+    @Nullable
+    private ChunkerLight skyLight;
 
     /**
      * Create a new chunk.
@@ -62,36 +64,38 @@ public class ChunkerChunk {
     /**
      * Get the block light for the chunk.
      *
-     * @return a 16x16x16 array or null if not present.
+     * @return the light values or null if not present.
      */
-    public byte[][] @Nullable [] getBlockLight() {
+    @Nullable
+    public ChunkerLight getBlockLight() {
         return blockLight;
     }
 
     /**
      * Set the block light for the chunk.
      *
-     * @param blockLight a 16x16x16 array or null if not present.
+     * @param blockLight the light values or null if not present.
      */
-    public void setBlockLight(byte[][] @Nullable [] blockLight) {
+    public void setBlockLight(@Nullable ChunkerLight blockLight) {
         this.blockLight = blockLight;
     }
 
     /**
      * Get the skylight for the chunk.
      *
-     * @return a 16x16x16 array or null if not present.
+     * @return the light values or null if not present.
      */
-    public byte[][] @Nullable [] getSkyLight() {
+    @Nullable
+    public ChunkerLight getSkyLight() {
         return skyLight;
     }
 
     /**
      * Set the skylight for the chunk.
      *
-     * @param skyLight a 16x16x16 array or null if not present.
+     * @param skyLight the light values or null if not present.
      */
-    public void setSkyLight(byte[][] @Nullable [] skyLight) {
+    public void setSkyLight(@Nullable ChunkerLight skyLight) {
         this.skyLight = skyLight;
     }
 
@@ -0,0 +1,111 @@
+package com.hivemc.chunker.conversion.intermediate.column.chunk;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Immutable light values (0-15) for a chunk (16x16x16), stored as a nibble array in YZX order (the order used by
+ * Java Edition). Chunks with the same light level everywhere (e.g. full skylight or no block light) share a single
+ * instance without an array.
+ */
+public final class ChunkerLight {
+    /**
+     * The number of bytes in a nibble array for a chunk.
+     */
+    public static final int NIBBLE_ARRAY_LENGTH = 2048;
+    private static final ChunkerLight[] UNIFORM = new ChunkerLight[16];
+    private static final byte[][] UNIFORM_NIBBLES = new byte[16][NIBBLE_ARRAY_LENGTH];
+
+    static {
+        for (int i = 0; i < UNIFORM.length; i++) {
+            UNIFORM[i] = new ChunkerLight((byte) i, null);
+            Arrays.fill(UNIFORM_NIBBLES[i], (byte) (i << 4 | i));
+        }
+    }
+
+    private final byte uniformValue;
+    private final byte @Nullable [] nibbles;
+
+    /**
+     * Create new light values.
+     *
+     * @param uniformValue the value used everywhere if nibbles is null.
+     * @param nibbles      the nibble array or null if the light is uniform.
+     */
+    private ChunkerLight(byte uniformValue, byte @Nullable [] nibbles) {
+        this.uniformValue = uniformValue;
+        this.nibbles = nibbles;
+    }
+
+    /**
+     * Get light which has the same value everywhere.
+     *
+     * @param value the light value (0-15).
+     * @return the shared instance for the value.
+     */
+    public static ChunkerLight uniform(int value) {
+        Preconditions.checkArgument(value >= 0 && value < UNIFORM.length, "Invalid light value %s", value);
+        return UNIFORM[value];
+    }
+
+    /**
+     * Create light from a Java Edition nibble array, the array is used directly so it must not be modified afterwards.
+     *
+     * @param nibbles the 2048 byte nibble array in YZX order.
+     * @return the light, using a shared instance if every value is the same.
+     * @throws IllegalArgumentException if the array isn't 2048 bytes.
+     */
+    public static ChunkerLight fromNibbleArray(byte[] nibbles) {
+        Preconditions.checkArgument(nibbles.length == NIBBLE_ARRAY_LENGTH, "Invalid light length %s", nibbles.length);
+
+        // Check if every value is the same
+        byte first = nibbles[0];
+        if (((first >> 4) & 0xF) == (first & 0xF)) {
+            boolean uniform = true;
+            for (int i = 1; i < nibbles.length; i++) {
+                if (nibbles[i] != first) {
+                    uniform = false;
+                    break;
+                }
+            }
+            if (uniform) return UNIFORM[first & 0xF];
+        }
+        return new ChunkerLight((byte) 0, nibbles);
+    }
+
+    /**
+     * Get the light value at a position.
+     *
+     * @param x the local x position.
+     * @param y the local y position.
+     * @param z the local z position.
+     * @return the light value (0-15).
+     */
+    public int get(int x, int y, int z) {
+        if (nibbles == null) return uniformValue;
+
+        // Even indexes use the lowest bits
+        int index = y << 8 | z << 4 | x;
+        return (nibbles[index >> 1] >> ((index & 1) << 2)) & 0xF;
+    }
+
+    /**
+     * Check whether the light has the same value everywhere.
+     *
+     * @return true if the light is uniform.
+     */
+    public boolean isUniform() {
+        return nibbles == null;
+    }
+
+    /**
+     * Get the nibble array for the light in YZX order (used by Java Edition).
+     *
+     * @return the 2048 byte nibble array, this may be shared so it must not be modified.
+     */
+    public byte[] toNibbleArray() {
+        return nibbles != null ? nibbles : UNIFORM_NIBBLES[uniformValue];
+    }
+}
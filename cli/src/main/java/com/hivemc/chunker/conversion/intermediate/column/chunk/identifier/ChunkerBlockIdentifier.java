@@ -1,5 +1,7 @@
 package com.hivemc.chunker.conversion.intermediate.column.chunk.identifier;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerBlockType;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerCustomBlockType;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
@@ -18,14 +20,17 @@ import java.util.Map;
 import java.util.Objects;
 
 /**
- * A block identifier with a set of states.
+ * A block identifier with a set of states. The states should not be modified after creation, as the hash code is
+ * calculated when the identifier is created.
  */
 public class ChunkerBlockIdentifier implements ChunkerItemStackIdentifier {
-    public static final ChunkerBlockIdentifier AIR = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.AIR);
+    private static final Interner<ChunkerBlockIdentifier> INTERNER = Interners.newWeakInterner();
+    public static final ChunkerBlockIdentifier AIR = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.AIR).intern();
     private final ChunkerBlockType type;
     private final Map<BlockState<?>, BlockStateValue> states;
     @Nullable
     private final PreservedIdentifier preservedIdentifier;
+    private final int hashCode;
 
     /**
      * Create a new block identifier with states.
@@ -38,6 +43,7 @@ public class ChunkerBlockIdentifier implements ChunkerItemStackIdentifier {
         this.type = type;
         this.states = states;
         this.preservedIdentifier = preservedIdentifier;
+        hashCode = Objects.hash(type, states, preservedIdentifier);
     }
 
     /**
@@ -108,6 +114,16 @@ public class ChunkerBlockIdentifier implements ChunkerItemStackIdentifier {
         );
     }
 
+    /**
+     * Get the canonical instance of this identifier, identifiers which are equal will return the same instance so
+     * that only one copy is kept in memory and comparisons can use identity.
+     *
+     * @return the canonical instance, which may be this instance.
+     */
+    public ChunkerBlockIdentifier intern() {
+        return INTERNER.intern(this);
+    }
+
     /**
      * Check if a state is present in the ChunkerBlockIdentifier.
      *
@@ -226,12 +242,12 @@ public class ChunkerBlockIdentifier implements ChunkerItemStackIdentifier {
      * @param blockState the block state key.
      * @param value      the value for the block state.
      * @param <T>        the type of the state.
-     * @return a new block identifier with the same states and preservedIdentifier but with the new state set.
+     * @return a canonical block identifier with the same states and preservedIdentifier but with the new state set.
      */
     public <T extends BlockStateValue> ChunkerBlockIdentifier copyWith(BlockState<T> blockState, T value) {
         Map<BlockState<?>, BlockStateValue> statesCopy = new Object2ObjectOpenHashMap<>(states);
         statesCopy.put(blockState, value);
-        return new ChunkerBlockIdentifier(type, statesCopy, preservedIdentifier);
+        return new ChunkerBlockIdentifier(type, statesCopy, preservedIdentifier).intern();
     }
 
     /**
@@ -239,25 +255,26 @@ public class ChunkerBlockIdentifier implements ChunkerItemStackIdentifier {
      *
      * @param blockState the block state key.
      * @param <T>        the type of the state.
-     * @return a new block identifier with the same states and preservedIdentifier but without the state set.
+     * @return a canonical block identifier with the same states and preservedIdentifier but without the state set.
      */
     public <T extends BlockStateValue> ChunkerBlockIdentifier copyWithout(BlockState<T> blockState) {
         if (!states.containsKey(blockState)) return this;
         Map<BlockState<?>, BlockStateValue> statesCopy = new Object2ObjectOpenHashMap<>(states);
         statesCopy.remove(blockState);
-        return new ChunkerBlockIdentifier(type, statesCopy, preservedIdentifier);
+        return new ChunkerBlockIdentifier(type, statesCopy, preservedIdentifier).intern();
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof ChunkerBlockIdentifier that)) return false;
+        if (hashCode != that.hashCode) return false; // Quick check before comparing the states
         return Objects.equals(getType(), that.getType()) && Objects.equals(states, that.states) && Objects.equals(getPreservedIdentifier(), that.getPreservedIdentifier());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getType(), states, getPreservedIdentifier());
+        return hashCode;
     }
 
     @Override
@@ -58,6 +58,11 @@ public class EmptyPalette<T> implements Palette<T> {
         return defaultValue;
     }
 
+    @Override
+    public int getKeyIndex(int x, int y, int z) {
+        return -1;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <U> Palette<U> map(Function<T, U> mappingFunction) {
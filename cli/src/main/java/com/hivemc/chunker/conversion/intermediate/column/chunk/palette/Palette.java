@@ -62,6 +62,16 @@ public interface Palette<T> {
         return get(x, y, z, null);
     }
 
+    /**
+     * Get the index of the key used at a specific location in the palette.
+     *
+     * @param x the first dimension of the palette.
+     * @param y the second dimension of the palette.
+     * @param z the third dimension of the palette.
+     * @return the index of the key, this may be outside the keys held by the palette if the value is invalid.
+     */
+    int getKeyIndex(int x, int y, int z);
+
     /**
      * Map the current palette to a new palette using a mapping function.
      *
@@ -1,8 +1,8 @@
 package com.hivemc.chunker.conversion.intermediate.column.chunk.palette;
 
 import com.google.common.base.Preconditions;
-import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
-import it.unimi.dsi.fastutil.shorts.ShortSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -12,22 +12,34 @@ import java.util.function.Predicate;
 
 /**
  * A palette which uses shorts for indexing the palette keys and storing those keys.
+ * The values are stored in a single flat array in XZY order (y being the fastest changing), which matches the
+ * order used by Bedrock sub-chunks, see {@link #getIndex(int, int, int)}.
  *
  * @param <T> the type held by the palette.
  */
 public class ShortBasedPalette<T> implements WriteablePalette<T> {
     private final List<T> keys;
-    private final short[][][] values;
+    private final short[] values;
+    private final int dimensionBits;
+    private Object2IntMap<T> keyIndexes;
+    private T lastKey;
+    private short lastKeyIndex;
 
     /**
      * Create a short based palette from a pre-indexed list of keys and values.
      *
      * @param keys   the keys.
-     * @param values the values which point to indexes in the keys.
+     * @param values the values which point to indexes in the keys, in the order of {@link #getIndex(int, int, int)}.
+     * @throws IllegalArgumentException if the length of values isn't the cube of a power of two.
      */
-    public ShortBasedPalette(List<T> keys, short[][][] values) {
+    public ShortBasedPalette(List<T> keys, short[] values) {
         this.keys = keys;
         this.values = values;
+
+        // Calculate the bits used for each dimension
+        int bits = Integer.numberOfTrailingZeros(values.length);
+        Preconditions.checkArgument(Integer.bitCount(values.length) == 1 && bits % 3 == 0, "Invalid palette length %s", values.length);
+        dimensionBits = bits / 3;
     }
 
     /**
@@ -37,18 +49,39 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
      * @param dimensionSize the dimension length, e.g. 16 for a chunk, to be used for the data.
      */
     public ShortBasedPalette(int keySizeHint, int dimensionSize) {
-        this(new ArrayList<>(keySizeHint), new short[dimensionSize][dimensionSize][dimensionSize]);
+        this(new ArrayList<>(keySizeHint), new short[dimensionSize * dimensionSize * dimensionSize]);
     }
 
     /**
      * Get the backing value array which is storing the indexes of the keys.
      *
-     * @return the backing short array.
+     * @return the backing short array, in the order of {@link #getIndex(int, int, int)}.
      */
-    public short[][][] getValues() {
+    public short[] getValues() {
         return values;
     }
 
+    /**
+     * Get the dimension length of the palette, e.g. 16 for a chunk.
+     *
+     * @return the dimension length.
+     */
+    public int getDimensionSize() {
+        return 1 << dimensionBits;
+    }
+
+    /**
+     * Get the index into the values array for a position.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @param z the z position.
+     * @return the index of the value.
+     */
+    public int getIndex(int x, int y, int z) {
+        return (x << dimensionBits | z) << dimensionBits | y;
+    }
+
     @Override
     public int getKeyCount() {
         return keys.size();
@@ -62,28 +95,62 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
 
     @Override
     public T get(int x, int y, int z, T defaultValue) {
-        return getKey(values[x][y][z], defaultValue);
+        return getKey(values[getIndex(x, y, z)], defaultValue);
+    }
+
+    @Override
+    public int getKeyIndex(int x, int y, int z) {
+        return values[getIndex(x, y, z)];
     }
 
     @Override
     public short getOrCreateKey(T entry) {
         Preconditions.checkNotNull(entry);
-        short index = (short) keys.indexOf(entry);
+
+        // Writes commonly repeat the same key, so check the last one by identity first
+        if (entry == lastKey) return lastKeyIndex;
+
+        // Lazily index the keys, as most palettes are only read
+        if (keyIndexes == null) {
+            keyIndexes = createKeyIndexes(keys);
+        }
+        short index = (short) keyIndexes.getInt(entry);
         if (index == -1) {
             index = (short) keys.size();
             keys.add(entry);
+            keyIndexes.put(entry, index);
         }
+
+        // Update the last key
+        lastKey = entry;
+        lastKeyIndex = index;
         return index;
     }
 
+    /**
+     * Create a map of key to index for a list of keys, the first index is used if a key is present more than once.
+     *
+     * @param keys the keys to index.
+     * @param <T>  the type of the keys.
+     * @return a map of key to index which returns -1 for missing keys.
+     */
+    private static <T> Object2IntMap<T> createKeyIndexes(List<T> keys) {
+        Object2IntMap<T> keyIndexes = new Object2IntOpenHashMap<>(Math.max(keys.size(), 4));
+        keyIndexes.defaultReturnValue(-1);
+        for (int i = 0; i < keys.size(); i++) {
+            keyIndexes.putIfAbsent(keys.get(i), i);
+        }
+        return keyIndexes;
+    }
+
     @Override
     public void set(int x, int y, int z, T key) {
-        values[x][y][z] = getOrCreateKey(key);
+        values[getIndex(x, y, z)] = getOrCreateKey(key);
     }
 
     @Override
     public void setPaletteIndex(int x, int y, int z, short paletteIndex) {
-        values[x][y][z] = paletteIndex;
+        values[getIndex(x, y, z)] = paletteIndex;
     }
 
     @Override
@@ -110,17 +177,17 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
         }
 
         // Otherwise loop through the keys and identify indexes
-        ShortSet matchedIndexes = null;
-        for (short i = 0; i < size; i++) {
+        boolean[] matchedIndexes = null;
+        for (int i = 0; i < size; i++) {
             T identifier = keys.get(i);
             if (predicate.test(identifier)) {
-                // Create the HashSet
+                // Create the lookup
                 if (matchedIndexes == null) {
-                    matchedIndexes = new ShortOpenHashSet(1);
+                    matchedIndexes = new boolean[size];
                 }
 
                 // Add the index
-                matchedIndexes.add(i);
+                matchedIndexes[i] = true;
             }
         }
 
@@ -129,15 +196,11 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
             return false;
         }
 
-        for (short[][] yz : values) {
-            for (short[] z : yz) {
-                for (short entry : z) {
-                    if (entry < 0 || entry >= size) continue; // Ignore invalid blocks
+        for (short entry : values) {
+            if (entry < 0 || entry >= size) continue; // Ignore invalid blocks
 
-                    // Return if it's a match
-                    if (matchedIndexes.contains(entry)) return true;
-                }
-            }
+            // Return if it's a match
+            if (matchedIndexes[entry]) return true;
         }
 
         // No matches
@@ -165,7 +228,7 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
     @Override
     public Palette<T> compact(T defaultValue) {
         // Quick shortcut for empty palette
-        if (keys.isEmpty()) return EmptyPalette.instance(values.length);
+        if (keys.isEmpty()) return EmptyPalette.instance(getDimensionSize());
 
         // Create a remapping array for old index -> new index for keys
         short[] paletteRemapping = new short[keys.size()];
@@ -174,40 +237,39 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
         // Create a copy of the old keys
         List<T> oldKeys = new ArrayList<>(keys);
         keys.clear();
+        lastKey = null;
+        keyIndexes = createKeyIndexes(keys);
 
         // First collect all the used palette ids
-        for (short[][] yz : values) {
-            for (short[] z : yz) {
-                for (int i = 0; i < z.length; i++) {
-                    short oldKeyIndex = z[i];
-                    boolean validKeyIndex = oldKeyIndex >= 0 && oldKeyIndex < oldKeys.size();
-                    short newKeyIndex = validKeyIndex ? paletteRemapping[oldKeyIndex] : -1;
-
-                    // If the newKeyIndex is -1, we need to check if this is already in our new keys or needs adding
-                    if (newKeyIndex == -1) {
-                        T oldValue = validKeyIndex ? oldKeys.get(oldKeyIndex) : defaultValue;
-                        newKeyIndex = (short) keys.indexOf(oldValue);
-
-                        // If it wasn't in the new keys, create a key for it
-                        if (newKeyIndex == -1) {
-                            newKeyIndex = (short) keys.size();
-                            keys.add(oldValue);
-                        }
-
-                        // Update the mappings with this new old -> new index (if the key is valid)
-                        if (validKeyIndex) {
-                            paletteRemapping[oldKeyIndex] = newKeyIndex;
-                        }
-                    }
-
-                    // Update the value
-                    z[i] = newKeyIndex;
+        for (int i = 0; i < values.length; i++) {
+            short oldKeyIndex = values[i];
+            boolean validKeyIndex = oldKeyIndex >= 0 && oldKeyIndex < oldKeys.size();
+            short newKeyIndex = validKeyIndex ? paletteRemapping[oldKeyIndex] : -1;
+
+            // If the newKeyIndex is -1, we need to check if this is already in our new keys or needs adding
+            if (newKeyIndex == -1) {
+                T oldValue = validKeyIndex ? oldKeys.get(oldKeyIndex) : defaultValue;
+                newKeyIndex = (short) keyIndexes.getInt(oldValue);
+
+                // If it wasn't in the new keys, create a key for it
+                if (newKeyIndex == -1) {
+                    newKeyIndex = (short) keys.size();
+                    keys.add(oldValue);
+                    keyIndexes.put(oldValue, newKeyIndex);
+                }
+
+                // Update the mappings with this new old -> new index (if the key is valid)
+                if (validKeyIndex) {
+                    paletteRemapping[oldKeyIndex] = newKeyIndex;
                 }
             }
+
+            // Update the value
+            values[i] = newKeyIndex;
         }
 
         // Check if there's an easier way to represent this palette
-        if (keys.size() == 1) return new SingleValuePalette<>(values.length, keys.get(0));
+        if (keys.size() == 1) return new SingleValuePalette<>(getDimensionSize(), keys.get(0));
 
         // Otherwise return this
         return this;
@@ -215,14 +277,6 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
 
     @Override
     public ShortBasedPalette<T> copy() {
-        // Loop through and copy each array
-        short[][][] copiedValues = new short[values.length][][];
-        for (int x = 0; x < values.length; x++) {
-            copiedValues[x] = new short[values[x].length][];
-            for (int y = 0; y < values[x].length; y++) {
-                copiedValues[x][y] = values[x][y].clone();
-            }
-        }
-        return new ShortBasedPalette<>(new ArrayList<>(keys), copiedValues);
+        return new ShortBasedPalette<>(new ArrayList<>(keys), values.clone());
     }
 }
@@ -33,6 +33,11 @@ public class SingleValuePalette<T> implements Palette<T> {
         return value;
     }
 
+    @Override
+    public int getKeyIndex(int x, int y, int z) {
+        return 0;
+    }
+
     @Override
     public <U> Palette<U> map(Function<T, U> mappingFunction) {
         return new SingleValuePalette<>(dimensionSize, mappingFunction.apply(value));
@@ -59,7 +64,7 @@ public class SingleValuePalette<T> implements Palette<T> {
         keys.add(value);
 
         // Return a new ShortBasedPalette
-        return new ShortBasedPalette<>(keys, new short[dimensionSize][dimensionSize][dimensionSize]);
+        return new ShortBasedPalette<>(keys, new short[dimensionSize * dimensionSize * dimensionSize]);
     }
 
     @Override
@@ -0,0 +1,140 @@
+package com.hivemc.chunker.conversion.intermediate.column.heightmap;
+
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerLight;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
+import it.unimi.dsi.fastutil.bytes.Byte2ObjectMap;
+import it.unimi.dsi.fastutil.objects.ObjectBidirectionalIterator;
+import it.unimi.dsi.fastutil.objects.ObjectSortedSet;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The highest block at each X / Z position of a column which matches a surface type.
+ */
+public class ColumnSurface {
+    private static final int MISSING = Integer.MIN_VALUE;
+    private final int[] heights = new int[256];
+    private final ChunkerBlockIdentifier[] blocks = new ChunkerBlockIdentifier[256];
+
+    private ColumnSurface() {
+        Arrays.fill(heights, MISSING);
+    }
+
+    /**
+     * Calculate the surface of a column in a single pass from the highest chunk down. The surface type is checked
+     * once for each palette key rather than for each block.
+     *
+     * @param column the column to calculate the surface for.
+     * @param type   the type of surface to calculate.
+     * @return the calculated surface.
+     */
+    public static ColumnSurface create(ChunkerColumn column, SurfaceType type) {
+        ColumnSurface surface = new ColumnSurface();
+        ObjectSortedSet<Byte2ObjectMap.Entry<ChunkerChunk>> chunkSet = column.getChunks().byte2ObjectEntrySet();
+        if (chunkSet.isEmpty()) return surface; // Empty column
+
+        // Invalid key indexes are treated as air
+        SurfaceType.Match airMatch = type.match(ChunkerBlockIdentifier.AIR);
+        int remaining = 256;
+
+        // Start from the top
+        ObjectBidirectionalIterator<Byte2ObjectMap.Entry<ChunkerChunk>> iterator = chunkSet.iterator(chunkSet.last());
+        while (iterator.hasPrevious() && remaining > 0) {
+            ChunkerChunk chunk = iterator.previous().getValue();
+            Palette<ChunkerBlockIdentifier> palette = chunk.getPalette();
+            if (palette == null) continue;
+
+            // Check each key of the palette once
+            SurfaceType.Match[] matches = new SurfaceType.Match[palette.getKeyCount()];
+            boolean possible = airMatch != SurfaceType.Match.NEVER;
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = type.match(palette.getKey(i, ChunkerBlockIdentifier.AIR));
+                possible |= matches[i] != SurfaceType.Match.NEVER;
+            }
+            if (!possible) continue; // Nothing in this chunk can be the surface
+
+            ChunkerLight blockLight = chunk.getBlockLight();
+            ChunkerLight skyLight = chunk.getSkyLight();
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    int index = (z << 4) | x;
+                    if (surface.heights[index] != MISSING) continue; // Already found
+
+                    for (int y = 15; y >= 0; y--) {
+                        int keyIndex = palette.getKeyIndex(x, y, z);
+                        boolean valid = keyIndex >= 0 && keyIndex < matches.length;
+                        SurfaceType.Match match = valid ? matches[keyIndex] : airMatch;
+                        if (match == SurfaceType.Match.NEVER) continue;
+                        if (match == SurfaceType.Match.IF_LIT) {
+                            int light = (blockLight == null ? 0 : blockLight.get(x, y, z)) + (skyLight == null ? 0 : skyLight.get(x, y, z));
+                            if (light == 0) continue;
+                        }
+
+                        // Record this height
+                        surface.heights[index] = (chunk.getY() << 4) | y;
+                        surface.blocks[index] = valid ? palette.getKey(keyIndex) : ChunkerBlockIdentifier.AIR;
+                        remaining--;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return surface;
+    }
+
+    /**
+     * Whether there is a surface block at a position.
+     *
+     * @param x the x co-ordinate (can be a local or global position as a bitmask is applied).
+     * @param z the z co-ordinate (can be a local or global position as a bitmask is applied).
+     * @return true if a block was found.
+     */
+    public boolean isPresent(int x, int z) {
+        return heights[((z & 15) << 4) | (x & 15)] != MISSING;
+    }
+
+    /**
+     * Get the Y of the surface block at a position.
+     *
+     * @param x            the x co-ordinate (can be a local or global position as a bitmask is applied).
+     * @param z            the z co-ordinate (can be a local or global position as a bitmask is applied).
+     * @param defaultValue the value to return if there is no surface block.
+     * @return the Y of the block or the default value.
+     */
+    public int getY(int x, int z, int defaultValue) {
+        int height = heights[((z & 15) << 4) | (x & 15)];
+        return height == MISSING ? defaultValue : height;
+    }
+
+    /**
+     * Get the surface block at a position.
+     *
+     * @param x the x co-ordinate (can be a local or global position as a bitmask is applied).
+     * @param z the z co-ordinate (can be a local or global position as a bitmask is applied).
+     * @return the block or null if there is no surface block.
+     */
+    @Nullable
+    public ChunkerBlockIdentifier getBlock(int x, int z) {
+        return blocks[((z & 15) << 4) | (x & 15)];
+    }
+
+    /**
+     * Create a height map array from the surface, each value is one above the surface block or 0 if there isn't one.
+     *
+     * @return a new array in the dimensions [16][16] with it being [x][z].
+     */
+    public short[][] createHeightMap() {
+        short[][] heightMap = new short[16][16];
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                heightMap[x][z] = (short) (getY(x, z, -1) + 1);
+            }
+        }
+        return heightMap;
+    }
+}
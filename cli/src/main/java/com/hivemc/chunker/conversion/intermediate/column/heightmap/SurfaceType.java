@@ -0,0 +1,56 @@
+package com.hivemc.chunker.conversion.intermediate.column.heightmap;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.VanillaBlockStates;
+
+/**
+ * The different types of surface which can be calculated for a column, each type decides which blocks count as the
+ * surface.
+ */
+public enum SurfaceType {
+    /**
+     * The highest block which has a color, used for previews.
+     */
+    RGB_COLOR {
+        @Override
+        public Match match(ChunkerBlockIdentifier identifier) {
+            return identifier.hasRGBColor() ? Match.ALWAYS : Match.NEVER;
+        }
+    },
+    /**
+     * The highest block which isn't air and has light or is a slab, used for height maps.
+     */
+    LIT_OR_SLAB {
+        @Override
+        public Match match(ChunkerBlockIdentifier identifier) {
+            if (identifier.isAir()) return Match.NEVER;
+            return identifier.getType().getStates().contains(VanillaBlockStates.SLAB_TYPE) ? Match.ALWAYS : Match.IF_LIT;
+        }
+    };
+
+    /**
+     * Check whether a block is part of the surface, this is called once for each key in a palette.
+     *
+     * @param identifier the block identifier.
+     * @return whether the block counts as the surface.
+     */
+    public abstract Match match(ChunkerBlockIdentifier identifier);
+
+    /**
+     * Whether a block counts as the surface.
+     */
+    public enum Match {
+        /**
+         * The block is never the surface.
+         */
+        NEVER,
+        /**
+         * The block is always the surface.
+         */
+        ALWAYS,
+        /**
+         * The block is the surface if there is block or sky light at the position.
+         */
+        IF_LIT
+    }
+}
@@ -0,0 +1,147 @@
+package com.hivemc.chunker.conversion.intermediate.level;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.util.BlockPosition;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.*;
+
+/**
+ * A spatial index of the portals in a dimension, allowing the portals touching a column to be found without checking
+ * every portal in the level.
+ */
+public class ChunkerPortalIndex {
+    /**
+     * The offsets of every block within a distance of 2 (manhattan) of a block.
+     */
+    private static final BlockPosition[] ADJACENT_OFFSETS = createAdjacentOffsets();
+    private final Map<ChunkCoordPair, List<ChunkerPortal>> portalsByColumn = new HashMap<>();
+
+    /**
+     * Create a new index of portals.
+     *
+     * @param portals   the portals to index.
+     * @param dimension the dimension to index, portals in other dimensions are ignored.
+     */
+    public ChunkerPortalIndex(Collection<ChunkerPortal> portals, Dimension dimension) {
+        for (ChunkerPortal portal : portals) {
+            if (portal.getDimension() != dimension) continue;
+
+            // Calculate the other side of the portal horizontally
+            int offsetX = portal.getX() + ((portal.getWidth() - 1) * portal.getXa());
+            int offsetZ = portal.getZ() + ((portal.getWidth() - 1) * portal.getZa());
+
+            // Add the portal to every column it's inside
+            int minChunkX = Math.min(portal.getX(), offsetX) >> 4;
+            int minChunkZ = Math.min(portal.getZ(), offsetZ) >> 4;
+            int maxChunkX = Math.max(portal.getX(), offsetX) >> 4;
+            int maxChunkZ = Math.max(portal.getZ(), offsetZ) >> 4;
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    portalsByColumn.computeIfAbsent(new ChunkCoordPair(chunkX, chunkZ), (ignored) -> new ArrayList<>(1)).add(portal);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the portals which are inside a column.
+     *
+     * @param chunkCoordPair the position of the column.
+     * @return the portals inside the column, in the order they were indexed.
+     */
+    public List<ChunkerPortal> getPortals(ChunkCoordPair chunkCoordPair) {
+        return portalsByColumn.getOrDefault(chunkCoordPair, Collections.emptyList());
+    }
+
+    /**
+     * Whether the index has no portals.
+     *
+     * @return true if there are no portals in the dimension.
+     */
+    public boolean isEmpty() {
+        return portalsByColumn.isEmpty();
+    }
+
+    /**
+     * Group blocks which are adjacent to each other, this is used to turn the blocks of portal POIs into portals.
+     * Blocks within a distance of 2 (manhattan) are grouped, which allows diagonals on two axis, but given portals
+     * need surrounding with obsidian, this is considered fine.
+     *
+     * @param blocks the blocks to group.
+     * @return the groups of blocks, in the order of the first block of each group.
+     */
+    public static List<List<BlockPosition>> groupAdjacentBlocks(List<BlockPosition> blocks) {
+        // Use a union-find over the blocks, looking up neighbours by position
+        int[] parents = new int[blocks.size()];
+        Object2IntOpenHashMap<BlockPosition> indexes = new Object2IntOpenHashMap<>(blocks.size());
+        indexes.defaultReturnValue(-1);
+        for (int i = 0; i < blocks.size(); i++) {
+            BlockPosition block = blocks.get(i);
+            parents[i] = i;
+
+            // Join any neighbours which have been seen, including the same position
+            int existing = indexes.putIfAbsent(block, i);
+            if (existing != -1) {
+                union(parents, existing, i);
+            }
+            for (BlockPosition offset : ADJACENT_OFFSETS) {
+                int neighbour = indexes.getInt(new BlockPosition(block.x() + offset.x(), block.y() + offset.y(), block.z() + offset.z()));
+                if (neighbour != -1) {
+                    union(parents, neighbour, i);
+                }
+            }
+        }
+
+        // Turn the sets into groups
+        List<List<BlockPosition>> groups = new ArrayList<>();
+        Int2ObjectOpenHashMap<List<BlockPosition>> groupsByRoot = new Int2ObjectOpenHashMap<>();
+        for (int i = 0; i < blocks.size(); i++) {
+            List<BlockPosition> group = groupsByRoot.get(find(parents, i));
+            if (group == null) {
+                group = new ArrayList<>(1);
+                groupsByRoot.put(find(parents, i), group);
+                groups.add(group);
+            }
+            group.add(blocks.get(i));
+        }
+        return groups;
+    }
+
+    private static int find(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]]; // Halve the path each step
+            index = parents[index];
+        }
+        return index;
+    }
+
+    private static void union(int[] parents, int first, int second) {
+        int firstRoot = find(parents, first);
+        int secondRoot = find(parents, second);
+
+        // Keep the lowest index as the root
+        if (firstRoot < secondRoot) {
+            parents[secondRoot] = firstRoot;
+        } else if (secondRoot < firstRoot) {
+            parents[firstRoot] = secondRoot;
+        }
+    }
+
+    private static BlockPosition[] createAdjacentOffsets() {
+        List<BlockPosition> offsets = new ArrayList<>();
+        for (int x = -2; x <= 2; x++) {
+            for (int y = -2; y <= 2; y++) {
+                for (int z = -2; z <= 2; z++) {
+                    int distance = Math.abs(x) + Math.abs(y) + Math.abs(z);
+                    if (distance > 0 && distance <= 2) {
+                        offsets.add(new BlockPosition(x, y, z));
+                    }
+                }
+            }
+        }
+        return offsets.toArray(new BlockPosition[0]);
+    }
+}
@@ -0,0 +1,90 @@
+package com.hivemc.chunker.nbt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hivemc.chunker.nbt.io.ByteBufferWriter;
+import com.hivemc.chunker.nbt.io.Writer;
+import com.hivemc.chunker.nbt.tags.Tag;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+
+/**
+ * A cache of the encoded bytes of tags which are written many times, such as the block states in a palette.
+ * Tags are looked up by identity and held weakly, so this is intended for shared instances which aren't modified
+ * after being created (e.g. the output of a cached resolver). The byte order of the writer is used to pick the
+ * encoding, so the same cache can be used for both Java and Bedrock writers.
+ */
+public class EncodedTagCache {
+    /**
+     * The default maximum number of encoded tags held for each byte order.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Cache<Tag<?>, byte[]> bigEndian;
+    private final Cache<Tag<?>, byte[]> littleEndian;
+
+    /**
+     * Create a new cache using the default maximum size.
+     */
+    public EncodedTagCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Create a new cache.
+     *
+     * @param maximumSize the maximum number of encoded tags held for each byte order.
+     */
+    public EncodedTagCache(long maximumSize) {
+        bigEndian = Caffeine.newBuilder().weakKeys().maximumSize(maximumSize).build();
+        littleEndian = Caffeine.newBuilder().weakKeys().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Get the encoded value of a tag (without the type or name), encoding it if it isn't cached.
+     *
+     * @param tag   the tag to encode.
+     * @param order the byte order to encode with.
+     * @return the encoded bytes, these are shared so must not be modified.
+     */
+    public byte[] getEncodedValue(Tag<?> tag, ByteOrder order) {
+        Cache<Tag<?>, byte[]> cache = order == ByteOrder.BIG_ENDIAN ? bigEndian : littleEndian;
+        return cache.get(tag, (key) -> {
+            ByteBufferWriter writer = new ByteBufferWriter(64, order);
+            try {
+                key.encodeValue(writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return writer.toByteArray();
+        });
+    }
+
+    /**
+     * Write the value of a tag (without the type or name), using the cached bytes if present.
+     *
+     * @param writer the writer to write bytes to.
+     * @param tag    the tag which should be written.
+     * @throws IOException an exception if it failed to write to the output.
+     */
+    public void writeValue(Writer writer, Tag<?> tag) throws IOException {
+        writer.writeBytes(getEncodedValue(tag, writer.getByteOrder()));
+    }
+
+    /**
+     * Write a tag with a name, using the cached bytes for the value if present.
+     * This produces the same output as {@link Tag#encodeNamed(Writer, String, Tag)}.
+     *
+     * @param writer the writer to write bytes to.
+     * @param name   the name of the tag to write.
+     * @param tag    the tag which should be written.
+     * @throws IOException an exception if it failed to write to the output.
+     */
+    public void writeNamed(Writer writer, String name, Tag<?> tag) throws IOException {
+        writer.writeByte(tag.getType().getId());
+        writer.writeString(name == null ? "" : name);
+        writeValue(writer, tag);
+    }
+}
@@ -0,0 +1,412 @@
+package com.hivemc.chunker.nbt;
+
+import com.hivemc.chunker.nbt.io.ByteBufferWriter;
+import com.hivemc.chunker.nbt.io.Reader;
+import com.hivemc.chunker.nbt.io.Writer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.*;
+
+/**
+ * Codec for compressed NBT (ZLib / GZip). Compression is done in one pass over in-memory buffers instead of through
+ * chained streams, using an inflater, deflaters and scratch buffers which are reused from a small pool. As these
+ * formats are only used by Java edition, data is encoded / decoded using big endian.
+ */
+public final class NBTCodec {
+    /**
+     * The size scratch buffers start at.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    /**
+     * The largest scratch buffer kept after use, larger buffers are released so an oversized column doesn't hold
+     * memory for the rest of the conversion.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 4 * 1024 * 1024;
+    private static final BlockingQueue<Context> CONTEXTS = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    // GZip header constants
+    private static final int GZIP_MAGIC = 0x8B1F;
+    private static final int GZIP_FLAG_HEADER_CRC = 2;
+    private static final int GZIP_FLAG_EXTRA = 4;
+    private static final int GZIP_FLAG_NAME = 8;
+    private static final int GZIP_FLAG_COMMENT = 16;
+    private static final byte[] GZIP_HEADER = {
+            (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private NBTCodec() {
+    }
+
+    /**
+     * Encode data and compress it using ZLib.
+     *
+     * @param level   the compression level (1-9).
+     * @param encoder the encoder which writes the uncompressed data.
+     * @return the compressed bytes.
+     * @throws IOException if it failed to encode.
+     */
+    public static byte[] encodeZLib(int level, Encoder encoder) throws IOException {
+        Context context = Context.acquire();
+        try {
+            return context.deflate(context.getDeflater(level), context.encode(encoder), false);
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Encode data and compress it using GZip.
+     *
+     * @param encoder the encoder which writes the uncompressed data.
+     * @return the compressed bytes.
+     * @throws IOException if it failed to encode.
+     */
+    public static byte[] encodeGZip(Encoder encoder) throws IOException {
+        Context context = Context.acquire();
+        try {
+            return context.deflate(context.getGZipDeflater(), context.encode(encoder), true);
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Decompress ZLib data and decode it.
+     *
+     * @param input   the compressed bytes.
+     * @param decoder the decoder which reads the uncompressed data.
+     * @param <T>     the type being decoded.
+     * @return the decoded value.
+     * @throws IOException if the data was invalid or failed to decode.
+     */
+    public static <T> T decodeZLib(byte[] input, Decoder<T> decoder) throws IOException {
+        return decodeZLib(ByteBuffer.wrap(input), decoder);
+    }
+
+    /**
+     * Decompress ZLib data and decode it.
+     *
+     * @param input   the compressed buffer, read from the position to the limit (the position is not modified).
+     * @param decoder the decoder which reads the uncompressed data.
+     * @param <T>     the type being decoded.
+     * @return the decoded value.
+     * @throws IOException if the data was invalid or failed to decode.
+     */
+    public static <T> T decodeZLib(ByteBuffer input, Decoder<T> decoder) throws IOException {
+        Context context = Context.acquire();
+        try {
+            int length = context.inflate(context.zlibInflater, input.duplicate());
+            return context.decode(length, decoder);
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Decompress GZip data and decode it.
+     *
+     * @param input   the compressed bytes.
+     * @param decoder the decoder which reads the uncompressed data.
+     * @param <T>     the type being decoded.
+     * @return the decoded value.
+     * @throws IOException if the data was invalid or failed to decode.
+     */
+    public static <T> T decodeGZip(byte[] input, Decoder<T> decoder) throws IOException {
+        return decodeGZip(ByteBuffer.wrap(input), decoder);
+    }
+
+    /**
+     * Decompress GZip data and decode it.
+     *
+     * @param input   the compressed buffer, read from the position to the limit (the position is not modified).
+     * @param decoder the decoder which reads the uncompressed data.
+     * @param <T>     the type being decoded.
+     * @return the decoded value.
+     * @throws IOException if the data was invalid or failed to decode.
+     */
+    public static <T> T decodeGZip(ByteBuffer input, Decoder<T> decoder) throws IOException {
+        Context context = Context.acquire();
+        try {
+            ByteBuffer buffer = input.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            skipGZipHeader(buffer);
+
+            // The body is raw deflate data
+            int length = context.inflate(context.gzipInflater, buffer);
+
+            // Validate the trailer
+            if (buffer.remaining() < 8) throw new EOFException("Unexpected end of GZip input");
+            context.crc.reset();
+            context.crc.update(context.inflated, 0, length);
+            if (buffer.getInt() != (int) context.crc.getValue()) throw new ZipException("Corrupt GZip trailer");
+            if (buffer.getInt() != length) throw new ZipException("Corrupt GZip trailer");
+
+            return context.decode(length, decoder);
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Skip past the GZip header of a buffer.
+     *
+     * @param buffer the little endian buffer positioned at the start of the header.
+     * @throws IOException if the header was invalid.
+     */
+    private static void skipGZipHeader(ByteBuffer buffer) throws IOException {
+        try {
+            if ((buffer.getShort() & 0xFFFF) != GZIP_MAGIC) throw new ZipException("Not in GZip format");
+            if (buffer.get() != Deflater.DEFLATED) throw new ZipException("Unsupported GZip compression method");
+            int flags = buffer.get() & 0xFF;
+
+            // Skip modification time, extra flags and OS
+            buffer.position(buffer.position() + 6);
+
+            // Skip the optional fields
+            if ((flags & GZIP_FLAG_EXTRA) != 0) {
+                int length = buffer.getShort() & 0xFFFF;
+                buffer.position(buffer.position() + length);
+            }
+            if ((flags & GZIP_FLAG_NAME) != 0) {
+                while (buffer.get() != 0) ;
+            }
+            if ((flags & GZIP_FLAG_COMMENT) != 0) {
+                while (buffer.get() != 0) ;
+            }
+            if ((flags & GZIP_FLAG_HEADER_CRC) != 0) {
+                buffer.position(buffer.position() + 2);
+            }
+        } catch (RuntimeException e) {
+            // Buffer underflow / illegal position
+            throw new EOFException("Unexpected end of GZip header");
+        }
+    }
+
+    /**
+     * An encoder which writes uncompressed data.
+     */
+    @FunctionalInterface
+    public interface Encoder {
+        /**
+         * Write the data.
+         *
+         * @param writer the writer to write to.
+         * @throws IOException if it failed to write.
+         */
+        void encode(Writer writer) throws IOException;
+    }
+
+    /**
+     * A decoder which reads uncompressed data.
+     *
+     * @param <T> the type being decoded.
+     */
+    @FunctionalInterface
+    public interface Decoder<T> {
+        /**
+         * Read the data.
+         *
+         * @param reader the reader to read from.
+         * @return the decoded value.
+         * @throws IOException if it failed to read.
+         */
+        T decode(Reader reader) throws IOException;
+    }
+
+    /**
+     * The reusable state for encoding / decoding, only used by one thread at a time.
+     */
+    private static class Context {
+        private final Inflater zlibInflater = new Inflater();
+        private final Inflater gzipInflater = new Inflater(true);
+        private final Deflater[] zlibDeflaters = new Deflater[Deflater.BEST_COMPRESSION + 1];
+        private final CRC32 crc = new CRC32();
+        private ByteBufferWriter uncompressed = Writer.toJavaBufferWriter(INITIAL_BUFFER_SIZE);
+        private Deflater gzipDeflater;
+        private byte[] inflated = new byte[INITIAL_BUFFER_SIZE];
+        private byte[] compressed = new byte[INITIAL_BUFFER_SIZE];
+
+        /**
+         * Acquire a context from the pool, a new context is created if the pool is empty (e.g. a decoder which decodes
+         * nested compressed data).
+         *
+         * @return the context, {@link #release()} must be called after.
+         */
+        public static Context acquire() {
+            Context context = CONTEXTS.poll();
+            return context == null ? new Context() : context;
+        }
+
+        /**
+         * Release the context so it can be used again, resetting the compressors and dropping large buffers. Contexts
+         * which don't fit back in the pool release their native compressors.
+         */
+        public void release() {
+            zlibInflater.reset();
+            gzipInflater.reset();
+            if (uncompressed.size() > MAX_RETAINED_BUFFER_SIZE) {
+                uncompressed = Writer.toJavaBufferWriter(INITIAL_BUFFER_SIZE);
+            } else {
+                uncompressed.reset();
+            }
+            if (inflated.length > MAX_RETAINED_BUFFER_SIZE) {
+                inflated = new byte[INITIAL_BUFFER_SIZE];
+            }
+            if (compressed.length > MAX_RETAINED_BUFFER_SIZE) {
+                compressed = new byte[INITIAL_BUFFER_SIZE];
+            }
+            if (!CONTEXTS.offer(this)) {
+                end();
+            }
+        }
+
+        /**
+         * Release the native resources of the compressors, the context can't be used after this.
+         */
+        private void end() {
+            zlibInflater.end();
+            gzipInflater.end();
+            for (Deflater deflater : zlibDeflaters) {
+                if (deflater != null) {
+                    deflater.end();
+                }
+            }
+            if (gzipDeflater != null) {
+                gzipDeflater.end();
+            }
+        }
+
+        /**
+         * Get the ZLib deflater for a compression level.
+         *
+         * @param level the compression level (1-9).
+         * @return the deflater.
+         */
+        public Deflater getDeflater(int level) {
+            Deflater deflater = zlibDeflaters[level];
+            if (deflater == null) {
+                deflater = new Deflater(level);
+                zlibDeflaters[level] = deflater;
+            }
+            return deflater;
+        }
+
+        /**
+         * Get the deflater used for GZip (raw deflate at the default level, matching GZIPOutputStream).
+         *
+         * @return the deflater.
+         */
+        public Deflater getGZipDeflater() {
+            if (gzipDeflater == null) {
+                gzipDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            }
+            return gzipDeflater;
+        }
+
+        /**
+         * Encode data into the uncompressed scratch buffer.
+         *
+         * @param encoder the encoder to use.
+         * @return a view of the encoded data.
+         * @throws IOException if it failed to encode.
+         */
+        public ByteBuffer encode(Encoder encoder) throws IOException {
+            encoder.encode(uncompressed);
+            return uncompressed.toByteBuffer();
+        }
+
+        /**
+         * Compress data.
+         *
+         * @param deflater the deflater to use.
+         * @param input    the input to compress.
+         * @param gzip     whether GZip headers / trailers should be written.
+         * @return a new array containing the compressed data.
+         */
+        public byte[] deflate(Deflater deflater, ByteBuffer input, boolean gzip) {
+            int length = input.remaining();
+            try {
+                int size = 0;
+                if (gzip) {
+                    System.arraycopy(GZIP_HEADER, 0, compressed, 0, GZIP_HEADER.length);
+                    size = GZIP_HEADER.length;
+                }
+
+                // Compress the input
+                deflater.setInput(input.duplicate());
+                deflater.finish();
+                while (!deflater.finished()) {
+                    if (size == compressed.length) {
+                        compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                    }
+                    size += deflater.deflate(compressed, size, compressed.length - size);
+                }
+
+                // Write the trailer
+                if (gzip) {
+                    crc.reset();
+                    crc.update(input);
+                    if (compressed.length - size < 8) {
+                        compressed = Arrays.copyOf(compressed, size + 8);
+                    }
+                    ByteBuffer trailer = ByteBuffer.wrap(compressed, size, 8).order(ByteOrder.LITTLE_ENDIAN);
+                    trailer.putInt((int) crc.getValue());
+                    trailer.putInt(length);
+                    size += 8;
+                }
+
+                return Arrays.copyOf(compressed, size);
+            } finally {
+                deflater.reset();
+            }
+        }
+
+        /**
+         * Decompress data into the inflated scratch buffer.
+         *
+         * @param inflater the inflater to use.
+         * @param input    the input buffer, the position is advanced past the compressed data.
+         * @return the number of bytes which were decompressed.
+         * @throws IOException if the data was invalid.
+         */
+        public int inflate(Inflater inflater, ByteBuffer input) throws IOException {
+            inflater.setInput(input);
+            int size = 0;
+            try {
+                while (!inflater.finished()) {
+                    if (size == inflated.length) {
+                        inflated = Arrays.copyOf(inflated, inflated.length * 2);
+                    }
+
+                    int read = inflater.inflate(inflated, size, inflated.length - size);
+                    if (read == 0) {
+                        if (inflater.needsDictionary()) throw new ZipException("Compressed data requires a dictionary");
+                        if (inflater.needsInput()) throw new EOFException("Unexpected end of compressed input");
+                    }
+                    size += read;
+                }
+            } catch (DataFormatException e) {
+                throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid compressed data format");
+            }
+            return size;
+        }
+
+        /**
+         * Decode the inflated scratch buffer.
+         *
+         * @param length  the number of bytes which were inflated.
+         * @param decoder the decoder to use.
+         * @param <T>     the type being decoded.
+         * @return the decoded value.
+         * @throws IOException if it failed to decode.
+         */
+        public <T> T decode(int length, Decoder<T> decoder) throws IOException {
+            return decoder.decode(Reader.toJavaReader(ByteBuffer.wrap(inflated, 0, length)));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hivemc.chunker.nbt.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Implements a ByteBuffer based reader which decodes using a specific byte order. Values are read from the position of
+ * the buffer (advancing it), the byte order of the buffer itself is not changed.
+ */
+class ByteBufferReader implements Reader {
+    private final ByteBuffer buffer;
+    private final boolean bigEndian;
+    private final boolean swap;
+
+    protected ByteBufferReader(ByteBuffer buffer, ByteOrder order) {
+        this.buffer = buffer;
+        bigEndian = order == ByteOrder.BIG_ENDIAN;
+        swap = buffer.order() != order;
+    }
+
+    /**
+     * Ensure there are enough bytes remaining in the buffer.
+     *
+     * @param length the number of bytes to be read.
+     * @throws EOFException if there are not enough bytes.
+     */
+    private void ensureRemaining(long length) throws EOFException {
+        if (buffer.remaining() < length) {
+            throw new EOFException("Tried to read " + length + " bytes with only " + buffer.remaining() + " remaining");
+        }
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        ensureRemaining(2);
+        short value = buffer.getShort();
+        return swap ? Short.reverseBytes(value) : value;
+    }
+
+    @Override
+    public void readBytes(byte @NotNull [] array) throws IOException {
+        ensureRemaining(array.length);
+        buffer.get(array);
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        ensureRemaining(1);
+        return buffer.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        ensureRemaining(4);
+        int value = buffer.getInt();
+        return swap ? Integer.reverseBytes(value) : value;
+    }
+
+    @Override
+    public int readUnsignedInt24() throws IOException {
+        ensureRemaining(3);
+        int byte1 = buffer.get() & 0xFF;
+        int byte2 = buffer.get() & 0xFF;
+        int byte3 = buffer.get() & 0xFF;
+        return bigEndian ? byte1 << 16 | byte2 << 8 | byte3 : byte3 << 16 | byte2 << 8 | byte1;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        ensureRemaining(8);
+        long value = buffer.getLong();
+        return swap ? Long.reverseBytes(value) : value;
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    public void readInts(int @NotNull [] array) throws IOException {
+        ensureRemaining((long) array.length << 2);
+
+        // Bulk copy then advance the buffer
+        buffer.asIntBuffer().get(array);
+        buffer.position(buffer.position() + (array.length << 2));
+        if (swap) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = Integer.reverseBytes(array[i]);
+            }
+        }
+    }
+
+    @Override
+    public void readLongs(long @NotNull [] array) throws IOException {
+        ensureRemaining((long) array.length << 3);
+
+        // Bulk copy then advance the buffer
+        buffer.asLongBuffer().get(array);
+        buffer.position(buffer.position() + (array.length << 3));
+        if (swap) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = Long.reverseBytes(array[i]);
+            }
+        }
+    }
+}
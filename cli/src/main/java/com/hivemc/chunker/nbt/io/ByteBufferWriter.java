@@ -0,0 +1,157 @@
+package com.hivemc.chunker.nbt.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Implements a growable ByteBuffer based writer which encodes using a specific byte order.
+ */
+public class ByteBufferWriter implements Writer {
+    private ByteBuffer buffer;
+
+    /**
+     * Create a new writer.
+     *
+     * @param initialCapacity the initial size of the buffer, this grows as needed.
+     * @param order           the byte order to encode with.
+     */
+    public ByteBufferWriter(int initialCapacity, ByteOrder order) {
+        buffer = ByteBuffer.allocate(Math.max(16, initialCapacity)).order(order);
+    }
+
+    /**
+     * Ensure the buffer has enough space for more bytes, growing it if needed.
+     *
+     * @param length the number of bytes about to be written.
+     */
+    private void ensureCapacity(long length) {
+        if (buffer.remaining() >= length) return;
+
+        // Grow the buffer to at least double its size
+        long required = buffer.position() + length;
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, (long) buffer.capacity() << 1));
+        if (capacity < required) throw new OutOfMemoryError("Required buffer too large");
+        ByteBuffer newBuffer = ByteBuffer.allocate(capacity).order(buffer.order());
+        newBuffer.put(buffer.array(), 0, buffer.position());
+        buffer = newBuffer;
+    }
+
+    /**
+     * Get the number of bytes which have been written.
+     *
+     * @return the size in bytes.
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * Copy the written bytes to a new array.
+     *
+     * @return the written bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Get a view of the written bytes, this is only valid until the writer is next written to or reset.
+     *
+     * @return a buffer positioned at the start of the written bytes with the limit at the end.
+     */
+    public ByteBuffer toByteBuffer() {
+        return buffer.duplicate().flip();
+    }
+
+    /**
+     * Discard the written bytes so the writer can be reused.
+     */
+    public void reset() {
+        buffer.clear();
+    }
+
+    @Override
+    public ByteOrder getByteOrder() {
+        return buffer.order();
+    }
+
+    @Override
+    public void writeShort(short value) {
+        ensureCapacity(2);
+        buffer.putShort(value);
+    }
+
+    @Override
+    public void writeBytes(byte[] value) {
+        ensureCapacity(value.length);
+        buffer.put(value);
+    }
+
+    @Override
+    public void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer.put(value);
+    }
+
+    @Override
+    public void writeByte(int value) {
+        writeByte((byte) value);
+    }
+
+    @Override
+    public void writeInt(int value) {
+        ensureCapacity(4);
+        buffer.putInt(value);
+    }
+
+    @Override
+    public void writeUnsignedInt24(int value) {
+        ensureCapacity(3);
+        if (buffer.order() == ByteOrder.BIG_ENDIAN) {
+            buffer.put((byte) (value >> 16));
+            buffer.put((byte) (value >> 8));
+            buffer.put((byte) value);
+        } else {
+            buffer.put((byte) value);
+            buffer.put((byte) (value >> 8));
+            buffer.put((byte) (value >> 16));
+        }
+    }
+
+    @Override
+    public void writeLong(long value) {
+        ensureCapacity(8);
+        buffer.putLong(value);
+    }
+
+    @Override
+    public void writeFloat(float value) {
+        ensureCapacity(4);
+        buffer.putFloat(value);
+    }
+
+    @Override
+    public void writeDouble(double value) {
+        ensureCapacity(8);
+        buffer.putDouble(value);
+    }
+
+    @Override
+    public void writeInts(int[] value) {
+        ensureCapacity((long) value.length << 2);
+
+        // Bulk copy then advance the buffer
+        buffer.asIntBuffer().put(value);
+        buffer.position(buffer.position() + (value.length << 2));
+    }
+
+    @Override
+    public void writeLongs(long[] value) {
+        ensureCapacity((long) value.length << 3);
+
+        // Bulk copy then advance the buffer
+        buffer.asLongBuffer().put(value);
+        buffer.position(buffer.position() + (value.length << 3));
+    }
+}
@@ -2,6 +2,7 @@ package com.hivemc.chunker.nbt.io;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.ByteOrder;
 
 /**
  * Implements a DataOutput based writer which encodes using big endian.
@@ -13,6 +14,11 @@ class DataOutputWriterBE implements Writer {
         this.dataOutput = dataOutput;
     }
 
+    @Override
+    public ByteOrder getByteOrder() {
+        return ByteOrder.BIG_ENDIAN;
+    }
+
     @Override
     public void writeShort(short value) throws IOException {
         dataOutput.writeShort(value);
@@ -2,6 +2,7 @@ package com.hivemc.chunker.nbt.io;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.ByteOrder;
 
 /**
  * Implements a DataOutput based writer which encodes using little endian.
@@ -13,6 +14,11 @@ class DataOutputWriterLE implements Writer {
         this.dataOutput = dataOutput;
     }
 
+    @Override
+    public ByteOrder getByteOrder() {
+        return ByteOrder.LITTLE_ENDIAN;
+    }
+
     @Override
     public void writeShort(short value) throws IOException {
         dataOutput.writeByte((value));
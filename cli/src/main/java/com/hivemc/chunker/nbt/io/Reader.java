@@ -4,6 +4,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -50,6 +52,38 @@ public interface Reader {
         return toLittleEndianReader(dataInput); // Bedrock uses Little Endian
     }
 
+    /**
+     * Create a reader from a ByteBuffer, reading from the position of the buffer (and advancing it).
+     *
+     * @param buffer the buffer to read from, the byte order of the buffer is not modified.
+     * @param order  the byte order to decode with.
+     * @return a reader which wraps the ByteBuffer.
+     */
+    static Reader toReader(ByteBuffer buffer, ByteOrder order) {
+        return new ByteBufferReader(buffer, order);
+    }
+
+    /**
+     * Create a Java edition based reader from a ByteBuffer, reading from the position of the buffer (and advancing it).
+     *
+     * @param buffer the buffer to read from.
+     * @return a reader which wraps the ByteBuffer.
+     */
+    static Reader toJavaReader(ByteBuffer buffer) {
+        return toReader(buffer, ByteOrder.BIG_ENDIAN); // Java uses Big Endian
+    }
+
+    /**
+     * Create a Bedrock edition based reader from a ByteBuffer, reading from the position of the buffer (and advancing
+     * it).
+     *
+     * @param buffer the buffer to read from.
+     * @return a reader which wraps the ByteBuffer.
+     */
+    static Reader toBedrockReader(ByteBuffer buffer) {
+        return toReader(buffer, ByteOrder.LITTLE_ENDIAN); // Bedrock uses Little Endian
+    }
+
     /**
      * Read a short-length based byte[] from the buffer.
      *
@@ -154,4 +188,28 @@ public interface Reader {
      * @throws IOException if the reading fails or there is a decoding error.
      */
     double readDouble() throws IOException;
+
+    /**
+     * Read integers from the buffer to fill an array.
+     *
+     * @param array the output array to write to.
+     * @throws IOException if the reading fails or there is a decoding error.
+     */
+    default void readInts(int @NotNull [] array) throws IOException {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readInt();
+        }
+    }
+
+    /**
+     * Read longs from the buffer to fill an array.
+     *
+     * @param array the output array to write to.
+     * @throws IOException if the reading fails or there is a decoding error.
+     */
+    default void readLongs(long @NotNull [] array) throws IOException {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readLong();
+        }
+    }
 }
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -50,6 +51,33 @@ public interface Writer {
         return toLittleEndianWriter(dataOutput); // Bedrock uses Little Endian
     }
 
+    /**
+     * Create a Java edition based writer which writes to a growable buffer.
+     *
+     * @param initialCapacity the initial size of the buffer.
+     * @return a new writer.
+     */
+    static ByteBufferWriter toJavaBufferWriter(int initialCapacity) {
+        return new ByteBufferWriter(initialCapacity, ByteOrder.BIG_ENDIAN); // Java uses Big Endian
+    }
+
+    /**
+     * Create a Bedrock edition based writer which writes to a growable buffer.
+     *
+     * @param initialCapacity the initial size of the buffer.
+     * @return a new writer.
+     */
+    static ByteBufferWriter toBedrockBufferWriter(int initialCapacity) {
+        return new ByteBufferWriter(initialCapacity, ByteOrder.LITTLE_ENDIAN); // Bedrock uses Little Endian
+    }
+
+    /**
+     * Get the byte order used to encode values.
+     *
+     * @return the byte order.
+     */
+    ByteOrder getByteOrder();
+
     /**
      * Write a short-length based byte array to the buffer.
      *
@@ -143,4 +171,28 @@ public interface Writer {
      * @throws IOException if the writing fails or there is an encoding error.
      */
     void writeDouble(double value) throws IOException;
+
+    /**
+     * Write an array of integers to the buffer (without a length prefix).
+     *
+     * @param value the values to write to the buffer.
+     * @throws IOException if the writing fails or there is an encoding error.
+     */
+    default void writeInts(int[] value) throws IOException {
+        for (int entry : value) {
+            writeInt(entry);
+        }
+    }
+
+    /**
+     * Write an array of longs to the buffer (without a length prefix).
+     *
+     * @param value the values to write to the buffer.
+     * @throws IOException if the writing fails or there is an encoding error.
+     */
+    default void writeLongs(long[] value) throws IOException {
+        for (long entry : value) {
+            writeLong(entry);
+        }
+    }
 }
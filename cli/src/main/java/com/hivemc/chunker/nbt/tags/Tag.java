@@ -1,17 +1,22 @@
 package com.hivemc.chunker.nbt.tags;
 
+import com.hivemc.chunker.nbt.NBTCodec;
 import com.hivemc.chunker.nbt.TagType;
+import com.hivemc.chunker.nbt.io.ByteBufferWriter;
 import com.hivemc.chunker.nbt.io.Reader;
 import com.hivemc.chunker.nbt.io.Writer;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 import com.hivemc.chunker.util.ByteBufferInputStream;
 import net.jpountz.lz4.LZ4BlockInputStream;
 import net.jpountz.lz4.LZ4BlockOutputStream;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.Objects;
 import java.util.function.Supplier;
 import java.util.zip.*;
@@ -22,6 +27,12 @@ import java.util.zip.*;
  * @param <T> the value type which is enclosed by this tag as a boxed type.
  */
 public abstract class Tag<T> {
+    /**
+     * The compressor used for LZ4, this is stateless so is shared between threads.
+     */
+    private static final LZ4Compressor LZ4_COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final int LZ4_BLOCK_SIZE = 1 << 16;
+
     /**
      * Write a Bedrock edition based NBT to bytes.
      *
@@ -30,16 +41,9 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static byte[] writeBedrockNBT(CompoundTag root) throws IOException {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(byteArrayOutputStream);
-                 DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-                // Encode
-                Tag.encodeNamed(Writer.toBedrockWriter(writerStream), "", root);
-            }
-
-            // Return byte array
-            return byteArrayOutputStream.toByteArray();
-        }
+        ByteBufferWriter writer = Writer.toBedrockBufferWriter(1024);
+        Tag.encodeNamed(writer, "", root);
+        return writer.toByteArray();
     }
 
     /**
@@ -87,17 +91,7 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static byte[] writeGZipJavaNBT(CompoundTag root) throws IOException {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream);
-                 BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(gzipOutputStream);
-                 DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-                // Encode
-                Tag.encodeNamed(Writer.toJavaWriter(writerStream), "", root);
-            }
-
-            // Return byte array
-            return byteArrayOutputStream.toByteArray();
-        }
+        return NBTCodec.encodeGZip((writer) -> Tag.encodeNamed(writer, "", root));
     }
 
     /**
@@ -108,14 +102,7 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static void writeGZipJavaNBT(File file, CompoundTag root) throws IOException {
-        try (FileOutputStream fileOutputStream = new FileOutputStream(file);
-             GZIPOutputStream gzipOutputStream = new GZIPOutputStream(fileOutputStream);
-             BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(gzipOutputStream);
-             DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-            // Encode
-            Tag.encodeNamed(Writer.toJavaWriter(writerStream), "", root);
-            writerStream.flush();
-        }
+        Files.write(file.toPath(), writeGZipJavaNBT(root));
     }
 
     /**
@@ -126,15 +113,9 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static byte[] writeUncompressedJavaNBT(CompoundTag root) throws IOException {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(byteArrayOutputStream);
-                 DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-                // Encode
-                Tag.encodeNamed(Writer.toJavaWriter(writerStream), "", root);
-            }
-            // Return byte array
-            return byteArrayOutputStream.toByteArray();
-        }
+        ByteBufferWriter writer = Writer.toJavaBufferWriter(1024);
+        Tag.encodeNamed(writer, "", root);
+        return writer.toByteArray();
     }
 
     /**
@@ -145,17 +126,19 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static byte[] writeZLibJavaNBT(CompoundTag root) throws IOException {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(byteArrayOutputStream, new Deflater(Deflater.BEST_SPEED));
-                 BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(deflaterOutputStream);
-                 DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-                // Encode
-                Tag.encodeNamed(Writer.toJavaWriter(writerStream), "", root);
-            }
+        return writeZLibJavaNBT(root, Deflater.BEST_SPEED);
+    }
 
-            // Return byte array
-            return byteArrayOutputStream.toByteArray();
-        }
+    /**
+     * Write a Java edition based ZLIB NBT byte array using a specific compression level.
+     *
+     * @param root  the root of the tag containing "data" / "Data" depending on version.
+     * @param level the compression level (1-9).
+     * @return the output bytes which have been written to.
+     * @throws IOException if it failed to write the file or compound.
+     */
+    public static byte[] writeZLibJavaNBT(CompoundTag root, int level) throws IOException {
+        return NBTCodec.encodeZLib(level, (writer) -> Tag.encodeNamed(writer, "", root));
     }
 
     /**
@@ -167,7 +150,7 @@ public abstract class Tag<T> {
      */
     public static byte[] writeLZ4JavaNBT(CompoundTag root) throws IOException {
         try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (LZ4BlockOutputStream lz4OutputStream = new LZ4BlockOutputStream(byteArrayOutputStream);
+            try (LZ4BlockOutputStream lz4OutputStream = new LZ4BlockOutputStream(byteArrayOutputStream, LZ4_BLOCK_SIZE, LZ4_COMPRESSOR);
                  BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(lz4OutputStream);
                  DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
                 // Encode
@@ -187,13 +170,7 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static void writeZLibJavaNBT(File file, CompoundTag root) throws IOException {
-        try (FileOutputStream fileOutputStream = new FileOutputStream(file);
-             DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(fileOutputStream, new Deflater(Deflater.BEST_SPEED));
-             BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(deflaterOutputStream);
-             DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-            // Encode
-            Tag.encodeNamed(Writer.toJavaWriter(writerStream), "", root);
-        }
+        Files.write(file.toPath(), writeZLibJavaNBT(root));
     }
 
     /**
@@ -265,33 +242,23 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readBedrockNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream fileInputStream = new ByteArrayInputStream(input);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toBedrockReader(readerStream), CompoundTag.class);
-            if (pair == null) return null;
-
-            // Return the tag if it wasn't null
-            return pair.tag();
-        }
+        return readBedrockNBT(ByteBuffer.wrap(input));
     }
 
     /**
      * Read a Bedrock edition NBT bytes (without any header / size prefix).
      *
-     * @param input the input bytebuffer to read from.
+     * @param input the input bytebuffer to read from, the position is advanced past the tag.
      * @return the parsed CompoundTag or null if there isn't any data to read.
      * @throws IOException if it failed to read the bytes or compound.
      */
     @Nullable
     public static CompoundTag readBedrockNBT(ByteBuffer input) throws IOException {
-        try (ByteBufferInputStream fileInputStream = new ByteBufferInputStream(input);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toBedrockReader(readerStream), CompoundTag.class);
-            if (pair == null) return null;
+        TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toBedrockReader(input), CompoundTag.class);
+        if (pair == null) return null;
 
-            // Return the tag if it wasn't null
-            return pair.tag();
-        }
+        // Return the tag if it wasn't null
+        return pair.tag();
     }
 
     /**
@@ -303,28 +270,19 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readUncompressedJavaNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(input);
-             BufferedInputStream bufferedInputStream = new BufferedInputStream(byteArrayInputStream);
-             DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
-
-            // Check pair isn't null
-            if (pair == null) return null;
-
-            // Grab the value (naming isn't important here)
-            CompoundTag root = pair.tag();
-
-            // Try lowercase data
-            CompoundTag data = root.getCompound("data");
-            if (data != null) return data;
-
-            // Try uppercase data
-            data = root.getCompound("Data");
-            if (data != null) return data;
+        return readUncompressedJavaNBT(ByteBuffer.wrap(input));
+    }
 
-            // Otherwise return root
-            return root;
-        }
+    /**
+     * Read a Java edition based NBT buffer automatically removing the nested "data" tag if present.
+     *
+     * @param input the input bytebuffer to read from.
+     * @return the parsed CompoundTag or null if there isn't any data to read.
+     * @throws IOException if it failed to read the file or compound.
+     */
+    @Nullable
+    public static CompoundTag readUncompressedJavaNBT(ByteBuffer input) throws IOException {
+        return decodeJavaRoot(Reader.toJavaReader(input));
     }
 
     /**
@@ -371,28 +329,24 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readLZ4JavaNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(input);
-             LZ4BlockInputStream lz4InputStream = new LZ4BlockInputStream(byteArrayInputStream);
+        return readLZ4JavaNBT(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Read a Java edition based LZ4 NBT buffer (likely ending with .dat) automatically removing the nested "data" tag if
+     * present.
+     *
+     * @param input the input bytebuffer to read from.
+     * @return the parsed CompoundTag or null if there isn't any data to read.
+     * @throws IOException if it failed to read the file or compound.
+     */
+    @Nullable
+    public static CompoundTag readLZ4JavaNBT(ByteBuffer input) throws IOException {
+        try (ByteBufferInputStream byteBufferInputStream = new ByteBufferInputStream(input);
+             LZ4BlockInputStream lz4InputStream = new LZ4BlockInputStream(byteBufferInputStream);
              BufferedInputStream bufferedInputStream = new BufferedInputStream(lz4InputStream);
              DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
-
-            // Check pair isn't null
-            if (pair == null) return null;
-
-            // Grab the value (naming isn't important here)
-            CompoundTag root = pair.tag();
-
-            // Try lowercase data
-            CompoundTag data = root.getCompound("data");
-            if (data != null) return data;
-
-            // Try uppercase data
-            data = root.getCompound("Data");
-            if (data != null) return data;
-
-            // Otherwise return root
-            return root;
+            return decodeJavaRoot(Reader.toJavaReader(readerStream));
         }
     }
 
@@ -406,29 +360,20 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readGZipJavaNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(input);
-             GZIPInputStream gzipInputStream = new GZIPInputStream(byteArrayInputStream);
-             BufferedInputStream bufferedInputStream = new BufferedInputStream(gzipInputStream);
-             DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
-
-            // Check pair isn't null
-            if (pair == null) return null;
-
-            // Grab the value (naming isn't important here)
-            CompoundTag root = pair.tag();
-
-            // Try lowercase data
-            CompoundTag data = root.getCompound("data");
-            if (data != null) return data;
-
-            // Try uppercase data
-            data = root.getCompound("Data");
-            if (data != null) return data;
+        return NBTCodec.decodeGZip(input, Tag::decodeJavaRoot);
+    }
 
-            // Otherwise return root
-            return root;
-        }
+    /**
+     * Read a Java edition based GZIP NBT buffer (likely ending with .dat) automatically removing the nested "data" tag if
+     * present.
+     *
+     * @param input the input bytebuffer to read from.
+     * @return the parsed CompoundTag or null if there isn't any data to read.
+     * @throws IOException if it failed to read the file or compound.
+     */
+    @Nullable
+    public static CompoundTag readGZipJavaNBT(ByteBuffer input) throws IOException {
+        return NBTCodec.decodeGZip(input, Tag::decodeJavaRoot);
     }
 
     /**
@@ -441,29 +386,7 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readGZipJavaNBT(File file) throws IOException {
-        try (FileInputStream fileInputStream = new FileInputStream(file);
-             GZIPInputStream gzipInputStream = new GZIPInputStream(fileInputStream);
-             BufferedInputStream bufferedInputStream = new BufferedInputStream(gzipInputStream);
-             DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
-
-            // Check pair isn't null
-            if (pair == null) return null;
-
-            // Grab the value (naming isn't important here)
-            CompoundTag root = pair.tag();
-
-            // Try lowercase data
-            CompoundTag data = root.getCompound("data");
-            if (data != null) return data;
-
-            // Try uppercase data
-            data = root.getCompound("Data");
-            if (data != null) return data;
-
-            // Otherwise return root
-            return root;
-        }
+        return readGZipJavaNBT(Files.readAllBytes(file.toPath()));
     }
 
     /**
@@ -506,29 +429,20 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readZLibJavaNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(input);
-             InflaterInputStream inflaterInputStream = new InflaterInputStream(byteArrayInputStream);
-             BufferedInputStream bufferedInputStream = new BufferedInputStream(inflaterInputStream);
-             DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
-
-            // Check pair isn't null
-            if (pair == null) return null;
-
-            // Grab the value (naming isn't important here)
-            CompoundTag root = pair.tag();
-
-            // Try lowercase data
-            CompoundTag data = root.getCompound("data");
-            if (data != null) return data;
-
-            // Try uppercase data
-            data = root.getCompound("Data");
-            if (data != null) return data;
+        return NBTCodec.decodeZLib(input, Tag::decodeJavaRoot);
+    }
 
-            // Otherwise return root
-            return root;
-        }
+    /**
+     * Read a Java edition based ZLIB NBT buffer automatically removing the nested "data" tag if
+     * present.
+     *
+     * @param input the input bytebuffer to read from.
+     * @return the parsed CompoundTag or null if there isn't any data to read.
+     * @throws IOException if it failed to read the file or compound.
+     */
+    @Nullable
+    public static CompoundTag readZLibJavaNBT(ByteBuffer input) throws IOException {
+        return NBTCodec.decodeZLib(input, Tag::decodeJavaRoot);
     }
 
     /**
@@ -541,29 +455,36 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readZLibJavaNBT(File file) throws IOException {
-        try (FileInputStream fileInputStream = new FileInputStream(file);
-             InflaterInputStream inflaterInputStream = new InflaterInputStream(fileInputStream);
-             BufferedInputStream bufferedInputStream = new BufferedInputStream(inflaterInputStream);
-             DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
+        return readZLibJavaNBT(Files.readAllBytes(file.toPath()));
+    }
 
-            // Check pair isn't null
-            if (pair == null) return null;
+    /**
+     * Decode a Java edition root tag automatically removing the nested "data" tag if present.
+     *
+     * @param reader the reader to read from.
+     * @return the parsed CompoundTag or null if there isn't any data to read.
+     * @throws IOException if it failed to read the compound.
+     */
+    @Nullable
+    private static CompoundTag decodeJavaRoot(Reader reader) throws IOException {
+        TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
 
-            // Grab the value (naming isn't important here)
-            CompoundTag root = pair.tag();
+        // Check pair isn't null
+        if (pair == null) return null;
 
-            // Try lowercase data
-            CompoundTag data = root.getCompound("data");
-            if (data != null) return data;
+        // Grab the value (naming isn't important here)
+        CompoundTag root = pair.tag();
 
-            // Try uppercase data
-            data = root.getCompound("Data");
-            if (data != null) return data;
+        // Try lowercase data
+        CompoundTag data = root.getCompound("data");
+        if (data != null) return data;
 
-            // Otherwise return root
-            return root;
-        }
+        // Try uppercase data
+        data = root.getCompound("Data");
+        if (data != null) return data;
+
+        // Otherwise return root
+        return root;
     }
 
     /**
@@ -70,9 +70,7 @@ public class IntArrayTag extends Tag<int[]> {
     public void encodeValue(Writer writer) throws IOException {
         if (value != null) {
             writer.writeInt(value.length);
-            for (int entry : value) {
-                writer.writeInt(entry);
-            }
+            writer.writeInts(value);
         } else {
             writer.writeInt(0);
         }
@@ -86,9 +84,7 @@ public class IntArrayTag extends Tag<int[]> {
 
         // Create the array and read it
         value = new int[length];
-        for (int i = 0; i < length; i++) {
-            value[i] = reader.readInt();
-        }
+        reader.readInts(value);
     }
 
     @Override
@@ -70,9 +70,7 @@ public class LongArrayTag extends Tag<long[]> {
     public void encodeValue(Writer writer) throws IOException {
         if (value != null) {
             writer.writeInt(value.length);
-            for (long entry : value) {
-                writer.writeLong(entry);
-            }
+            writer.writeLongs(value);
         } else {
             writer.writeInt(0);
         }
@@ -86,9 +84,7 @@ public class LongArrayTag extends Tag<long[]> {
 
         // Create the array and read it
         value = new long[length];
-        for (int i = 0; i < length; i++) {
-            value[i] = reader.readLong();
-        }
+        reader.readLongs(value);
     }
 
     @Override
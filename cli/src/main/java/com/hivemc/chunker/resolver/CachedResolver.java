@@ -0,0 +1,207 @@
+package com.hivemc.chunker.resolver;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A resolver which caches the results of another resolver in both directions.
+ * Each direction uses a bounded shared cache with a small per-thread cache in front of it, so that repeated lookups
+ * of the same values (e.g. the palette of each chunk) don't contend on the shared cache.
+ * This should only be used when the inputs and results are not modified after being resolved, if the results of
+ * {@link #from(Object)} can be modified then only {@link #to(Object)} should be cached.
+ *
+ * @param <T> the input/output format.
+ * @param <U> the intermediate format.
+ */
+public class CachedResolver<T, U> implements Resolver<T, U> {
+    /**
+     * The default maximum number of entries held by each shared cache.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+    /**
+     * The number of entries held by each per-thread cache, must be a power of two.
+     */
+    private static final int THREAD_CACHE_SIZE = 256;
+
+    private final LoadingCache<T, Optional<U>> toCache;
+    @Nullable
+    private final LoadingCache<U, Optional<T>> fromCache;
+    @Nullable
+    private final Resolver<T, U> fromResolver;
+    private final ThreadLocal<ThreadCache<T, Optional<U>>> toThreadCache = ThreadLocal.withInitial(ThreadCache::new);
+    private final ThreadLocal<ThreadCache<U, Optional<T>>> fromThreadCache = ThreadLocal.withInitial(ThreadCache::new);
+    private final LongAdder toThreadCacheHits = new LongAdder();
+    private final LongAdder fromThreadCacheHits = new LongAdder();
+
+    /**
+     * Create a new cached resolver.
+     *
+     * @param original    the resolver to cache the results of.
+     * @param maximumSize the maximum number of entries held by each shared cache.
+     */
+    public CachedResolver(Resolver<T, U> original, long maximumSize) {
+        toCache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build(original::to);
+        fromCache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build(original::from);
+        fromResolver = null;
+    }
+
+    /**
+     * Create a new resolver which only caches resolving to the intermediate format, resolving from it is delegated
+     * every time so each caller gets a new result.
+     *
+     * @param toResolver   the resolver to cache the results of {@link #to(Object)} from.
+     * @param fromResolver the resolver to use for {@link #from(Object)}.
+     * @param maximumSize  the maximum number of entries held by the shared cache.
+     */
+    public CachedResolver(Resolver<T, U> toResolver, Resolver<T, U> fromResolver, long maximumSize) {
+        toCache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build(toResolver::to);
+        fromCache = null;
+        this.fromResolver = fromResolver;
+    }
+
+    @Override
+    public Optional<U> to(T input) {
+        ThreadCache<T, Optional<U>> threadCache = toThreadCache.get();
+        Optional<U> output = threadCache.get(input);
+        if (output != null) {
+            toThreadCacheHits.increment();
+            return output;
+        }
+
+        // Use the shared cache and remember the result for this thread
+        output = toCache.get(input);
+        threadCache.put(input, output);
+        return output;
+    }
+
+    @Override
+    public Optional<T> from(U input) {
+        if (fromCache == null) {
+            return fromResolver.from(input);
+        }
+
+        ThreadCache<U, Optional<T>> threadCache = fromThreadCache.get();
+        Optional<T> output = threadCache.get(input);
+        if (output != null) {
+            fromThreadCacheHits.increment();
+            return output;
+        }
+
+        // Use the shared cache and remember the result for this thread
+        output = fromCache.get(input);
+        threadCache.put(input, output);
+        return output;
+    }
+
+    /**
+     * Get the statistics for resolving to the intermediate format.
+     *
+     * @return the statistics so far.
+     */
+    public Statistics getToStatistics() {
+        return Statistics.of(toThreadCacheHits.sum(), toCache.stats(), toCache.estimatedSize());
+    }
+
+    /**
+     * Get the statistics for resolving from the intermediate format.
+     *
+     * @return the statistics so far, empty if this direction isn't cached.
+     */
+    public Statistics getFromStatistics() {
+        if (fromCache == null) {
+            return new Statistics(0, 0, 0, 0, 0);
+        }
+        return Statistics.of(fromThreadCacheHits.sum(), fromCache.stats(), fromCache.estimatedSize());
+    }
+
+    /**
+     * Statistics for one direction of a cached resolver.
+     *
+     * @param threadCacheHits the number of lookups found in the per-thread cache.
+     * @param hits            the number of lookups found in the shared cache.
+     * @param misses          the number of lookups which had to be resolved.
+     * @param evictions       the number of entries evicted from the shared cache.
+     * @param size            the approximate number of entries in the shared cache.
+     */
+    public record Statistics(long threadCacheHits, long hits, long misses, long evictions, long size) {
+        private static Statistics of(long threadCacheHits, CacheStats stats, long size) {
+            return new Statistics(threadCacheHits, stats.hitCount(), stats.missCount(), stats.evictionCount(), size);
+        }
+
+        /**
+         * Combine these statistics with another set of statistics.
+         *
+         * @param other the other statistics.
+         * @return the combined statistics.
+         */
+        public Statistics combine(Statistics other) {
+            return new Statistics(
+                    threadCacheHits + other.threadCacheHits,
+                    hits + other.hits,
+                    misses + other.misses,
+                    evictions + other.evictions,
+                    size + other.size
+            );
+        }
+
+        /**
+         * Get the total number of lookups.
+         *
+         * @return the number of lookups.
+         */
+        public long lookups() {
+            return threadCacheHits + hits + misses;
+        }
+
+        /**
+         * Get the ratio of lookups which didn't have to be resolved.
+         *
+         * @return the hit rate from 0 to 1, 1 if there were no lookups.
+         */
+        public double hitRate() {
+            long lookups = lookups();
+            return lookups == 0 ? 1 : (double) (threadCacheHits + hits) / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d lookups, %.2f%% hit rate (%d thread, %d shared, %d misses, %d evictions, %d entries)",
+                    lookups(), hitRate() * 100D, threadCacheHits, hits, misses, evictions, size);
+        }
+    }
+
+    /**
+     * A small direct-mapped cache used by a single thread, entries with the same slot replace each other.
+     *
+     * @param <K> the key type.
+     * @param <V> the value type.
+     */
+    private static class ThreadCache<K, V> {
+        private final Object[] keys = new Object[THREAD_CACHE_SIZE];
+        private final Object[] values = new Object[THREAD_CACHE_SIZE];
+
+        private static int slot(Object key) {
+            int hash = Objects.hashCode(key);
+            return (hash ^ (hash >>> 16)) & (THREAD_CACHE_SIZE - 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        public V get(K key) {
+            int slot = slot(key);
+            Object existing = keys[slot];
+            return existing != null && (existing == key || existing.equals(key)) ? (V) values[slot] : null;
+        }
+
+        public void put(K key, V value) {
+            int slot = slot(key);
+            keys[slot] = key;
+            values[slot] = value;
+        }
+    }
+}
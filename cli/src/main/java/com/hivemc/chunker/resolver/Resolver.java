@@ -1,8 +1,5 @@
 package com.hivemc.chunker.resolver;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
-
 import java.util.Optional;
 
 /**
@@ -54,24 +51,10 @@ public interface Resolver<T, U> {
      * Create a cached version of this resolver.
      * This is used when the result is an immutable object.
      *
-     * @return a cached version which uses a loading cache.
+     * @return a cached version which uses a bounded loading cache with a per-thread cache in front of it.
      */
-    default Resolver<T, U> cached() {
-        Resolver<T, U> original = this;
-        return new Resolver<>() {
-            private final LoadingCache<T, Optional<U>> toCache = Caffeine.newBuilder().build(original::to);
-            private final LoadingCache<U, Optional<T>> fromCache = Caffeine.newBuilder().build(original::from);
-
-            @Override
-            public Optional<U> to(T input) {
-                return toCache.get(input);
-            }
-
-            @Override
-            public Optional<T> from(U input) {
-                return fromCache.get(input);
-            }
-        };
+    default CachedResolver<T, U> cached() {
+        return new CachedResolver<>(this, CachedResolver.DEFAULT_MAXIMUM_SIZE);
     }
 
     /**
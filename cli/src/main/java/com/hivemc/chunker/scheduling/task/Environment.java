@@ -2,6 +2,7 @@ package com.hivemc.chunker.scheduling.task;
 
 import com.google.common.base.Preconditions;
 import com.hivemc.chunker.scheduling.task.executor.TaskExecutor;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorType;
 import com.hivemc.chunker.util.SneakyThrows;
 import org.jetbrains.annotations.Nullable;
 
@@ -28,8 +29,21 @@ public class Environment extends TrackedTask<Void> implements Closeable {
      * @param signalConsumer   a consumer which can accept signals from tasks.
      */
     public Environment(String name, int threads, Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
+        this(name, threads, TaskExecutorType.PLATFORM, exceptionHandler, signalConsumer);
+    }
+
+    /**
+     * Create an environment and start threads relating to the environment.
+     *
+     * @param name             the name of the environment used for the task.
+     * @param threads          the number of threads to use for execution of tasks.
+     * @param executorType     the type of threads to use for execution of tasks.
+     * @param exceptionHandler the handler to use for exceptions that occur.
+     * @param signalConsumer   a consumer which can accept signals from tasks.
+     */
+    public Environment(String name, int threads, TaskExecutorType executorType, Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
         super(name, TaskWeight.NONE);
-        executor = new TaskExecutor(threads, exceptionHandler, signalConsumer);
+        executor = new TaskExecutor(threads, executorType, exceptionHandler, signalConsumer);
     }
 
     @Override
@@ -5,6 +5,7 @@ import com.hivemc.chunker.scheduling.function.ThrowableFunction;
 import com.hivemc.chunker.scheduling.function.ThrowableRunnable;
 import com.hivemc.chunker.scheduling.function.ThrowableSupplier;
 import com.hivemc.chunker.scheduling.task.executor.TaskExecutor;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorType;
 import com.hivemc.chunker.util.SneakyThrows;
 import org.jetbrains.annotations.Nullable;
 
@@ -321,7 +322,21 @@ public interface Task<O> {
      * @return the new environment which has been started.
      */
     static Environment environment(String name, int workerThreads, @Nullable Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
-        Environment environment = new Environment(name, workerThreads, exceptionHandler, signalConsumer);
+        return environment(name, workerThreads, TaskExecutorType.PLATFORM, exceptionHandler, signalConsumer);
+    }
+
+    /**
+     * Create a new environment for scheduling tasks also setting the executor for the current thread.
+     *
+     * @param name             the name to use for the environment.
+     * @param workerThreads    the number of threads to use.
+     * @param executorType     the type of threads to use.
+     * @param exceptionHandler the exception handler to use if a task produces an exception.
+     * @param signalConsumer   a consumer which can accept signals from tasks.
+     * @return the new environment which has been started.
+     */
+    static Environment environment(String name, int workerThreads, TaskExecutorType executorType, @Nullable Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
+        Environment environment = new Environment(name, workerThreads, executorType, exceptionHandler, signalConsumer);
 
         // Start the environment (this isn't a real task)
         environment.start();
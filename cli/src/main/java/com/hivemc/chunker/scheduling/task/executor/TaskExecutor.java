@@ -4,9 +4,12 @@ import com.google.common.base.Preconditions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Comparator;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -15,15 +18,23 @@ import java.util.function.Supplier;
  * TaskExecutor handles the execution of asynchronous tasks, these are scheduled by priority and then polled by the
  * threads of the executor. ThreadLocals are used to assign the TaskExecutor so after creating a TaskExecutor the
  * {@link #setCurrentThreadExecutor()} method should be called in the relevant thread to ensure tasks are scheduled.
+ * <p>
+ * Each worker has its own set of priority lanes, tasks scheduled from a worker are added to its own lanes and tasks
+ * scheduled from other threads are added to a shared submission queue. Idle workers steal from other workers and park
+ * until new work is scheduled.
  */
 public class TaskExecutor {
     private static final ThreadLocal<TaskExecutor> EXECUTORS = new InheritableThreadLocal<>();
-    private static final Comparator<PriorityRunnable> COMPARATOR = Comparator.comparing(PriorityRunnable::getPriority).reversed();
-    private final PriorityBlockingQueue<PriorityRunnable> tasks = new PriorityBlockingQueue<>(100, COMPARATOR);
-    private final Thread[] pool;
+    private static final ThreadLocal<Worker> WORKERS = new ThreadLocal<>();
+    private static final long PARK_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private final TaskLanes submissions = new TaskLanes();
+    private final AtomicIntegerArray pending = new AtomicIntegerArray(TaskLanes.LANES);
+    private final ConcurrentLinkedQueue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+    private final Worker[] workers;
     private final Consumer<Throwable> exceptionHandler;
     @Nullable
     private final BiConsumer<String, Object> signalConsumer;
+    private volatile boolean running = true;
 
     /**
      * Create a new TaskExecutor to handle new tasks.
@@ -33,14 +44,30 @@ public class TaskExecutor {
      * @param signalConsumer   a consumer which can accept signals from tasks.
      */
     public TaskExecutor(int threads, @Nullable Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
-        pool = new Thread[threads];
-        for (int i = 0; i < pool.length; i++) {
-            pool[i] = new Thread(this::threadLoop, "Task Processor " + i);
-            pool[i].setUncaughtExceptionHandler(this::handleUncaughtException);
-            pool[i].start();
-        }
+        this(threads, TaskExecutorType.PLATFORM, exceptionHandler, signalConsumer);
+    }
+
+    /**
+     * Create a new TaskExecutor to handle new tasks.
+     *
+     * @param threads          the number of threads to use and start.
+     * @param type             the type of threads to use for the workers.
+     * @param exceptionHandler the handler if present to use for exceptions that occur.
+     * @param signalConsumer   a consumer which can accept signals from tasks.
+     */
+    public TaskExecutor(int threads, TaskExecutorType type, @Nullable Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
+        Preconditions.checkArgument(threads > 0, "A TaskExecutor requires at least one thread.");
         this.exceptionHandler = exceptionHandler;
         this.signalConsumer = signalConsumer;
+
+        // Create the workers before starting any, so they're able to steal from each other
+        workers = new Worker[threads];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i, type);
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
     }
 
     /**
@@ -125,8 +152,18 @@ public class TaskExecutor {
         CompletableFuture<T> future = new CompletableFuture<>();
         TaskExecutorSupplier<T> wrapper = new TaskExecutorSupplier<>(priority, supplier, future);
 
-        // Schedule the task
-        tasks.add(wrapper);
+        // Schedule the task on the worker lanes if it's one of our workers, otherwise use the shared submissions
+        int lane = TaskLanes.lane(priority);
+        Worker worker = WORKERS.get();
+        if (worker != null && worker.owner() == this) {
+            worker.lanes.push(lane, wrapper);
+        } else {
+            submissions.push(lane, wrapper);
+        }
+
+        // Mark the lane as having work and wake an idle worker
+        pending.incrementAndGet(lane);
+        signalWork();
 
         // Return the future so it can be used
         return future;
@@ -136,12 +173,16 @@ public class TaskExecutor {
      * Shutdown all the threads in the task executor (interrupt) and clear the queue.
      */
     public void shutdown() {
-        for (Thread thread : pool) {
-            thread.interrupt();
+        running = false;
+        for (Worker worker : workers) {
+            worker.thread.interrupt();
         }
 
         // Clear any tasks
-        tasks.clear();
+        submissions.clear();
+        for (Worker worker : workers) {
+            worker.lanes.clear();
+        }
     }
 
     /**
@@ -162,24 +203,116 @@ public class TaskExecutor {
         }
     }
 
+    /**
+     * Wake a single idle worker if one is parked.
+     */
+    private void signalWork() {
+        Worker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            // Only wake the worker if it hasn't already woken itself
+            if (worker.idle.compareAndSet(true, false)) {
+                LockSupport.unpark(worker.thread);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Find the next task for a worker, checking the highest priority lane with work first. For each lane the worker's
+     * own tasks are used first, then submitted tasks and then tasks stolen from other workers.
+     *
+     * @param worker the worker which is looking for a task.
+     * @return the task to run or null if no tasks were found.
+     */
+    @Nullable
+    private PriorityRunnable findTask(Worker worker) {
+        for (int lane = TaskLanes.LANES - 1; lane >= 0; lane--) {
+            if (pending.get(lane) <= 0) continue;
+
+            // Own tasks, then submissions and then try to steal
+            PriorityRunnable task = worker.lanes.pollLast(lane);
+            if (task == null) {
+                task = submissions.pollFirst(lane);
+            }
+            for (int i = 1; task == null && i < workers.length; i++) {
+                task = workers[(worker.index + i) % workers.length].lanes.pollFirst(lane);
+            }
+
+            // Update the pending count if it was found
+            if (task != null) {
+                pending.decrementAndGet(lane);
+                return task;
+            }
+        }
+        return null;
+    }
+
     /**
      * Used by the workers as the main thread loop.
      * <p>
      * When the thread is interrupted it will no longer poll tasks.
+     *
+     * @param worker the worker which is running the loop.
      */
-    protected void threadLoop() {
+    protected void threadLoop(Worker worker) {
         // Setup thread local
         setCurrentThreadExecutor();
+        WORKERS.set(worker);
 
         // Main loop
-        while (!Thread.currentThread().isInterrupted()) {
-            PriorityRunnable task = tasks.poll();
-            if (task != null) {
-                task.run();
+        try {
+            while (running && !Thread.currentThread().isInterrupted()) {
+                PriorityRunnable task = findTask(worker);
+                if (task != null) {
+                    // Remove ourselves from the idle workers if we found work without being woken
+                    if (worker.idle.compareAndSet(true, false)) {
+                        idleWorkers.remove(worker);
+                    }
+                    task.run();
+                } else if (!worker.idle.get()) {
+                    // Mark as idle then check for tasks once more before parking, so a wake-up can't be missed
+                    worker.idle.set(true);
+                    idleWorkers.offer(worker);
+                } else {
+                    // Park until woken, the timeout is only a safety net
+                    LockSupport.parkNanos(this, PARK_TIMEOUT_NANOS);
+                }
             }
+        } finally {
+            // Clear thread locals
+            WORKERS.remove();
+            clearCurrentThreadExecutor();
         }
+    }
 
-        // Clear thread local
-        clearCurrentThreadExecutor();
+    /**
+     * A worker of the executor, which owns a thread and a set of priority lanes.
+     */
+    protected class Worker {
+        private final int index;
+        private final Thread thread;
+        private final TaskLanes lanes = new TaskLanes();
+        private final AtomicBoolean idle = new AtomicBoolean(false);
+
+        /**
+         * Create a new worker (the thread is not started).
+         *
+         * @param index the index of the worker in the pool.
+         * @param type  the type of thread to create.
+         */
+        private Worker(int index, TaskExecutorType type) {
+            this.index = index;
+            thread = type.newThread(() -> threadLoop(this), "Task Processor " + index);
+            thread.setUncaughtExceptionHandler(TaskExecutor.this::handleUncaughtException);
+        }
+
+        /**
+         * Get the executor which owns this worker.
+         *
+         * @return the executor.
+         */
+        private TaskExecutor owner() {
+            return TaskExecutor.this;
+        }
     }
 }
@@ -0,0 +1,89 @@
+package com.hivemc.chunker.scheduling.task.executor;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * The type of threads which a TaskExecutor uses for its workers.
+ */
+public enum TaskExecutorType {
+    /**
+     * Platform (operating system) threads, best suited for CPU heavy work. One worker per core is recommended.
+     */
+    PLATFORM,
+    /**
+     * Virtual threads, best suited for I/O heavy work as a worker blocked on I/O releases its carrier thread. More
+     * workers than cores can be used. Falls back to platform threads if the runtime doesn't support virtual threads.
+     */
+    VIRTUAL;
+
+    @Nullable
+    private static final MethodHandle OF_VIRTUAL;
+    @Nullable
+    private static final MethodHandle BUILDER_NAME;
+    @Nullable
+    private static final MethodHandle BUILDER_UNSTARTED;
+
+    static {
+        // Virtual threads are only present in Java 21+, so they're looked up reflectively
+        MethodHandle ofVirtual = null;
+        MethodHandle builderName = null;
+        MethodHandle builderUnstarted = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+            builderName = lookup.findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class));
+            builderUnstarted = lookup.findVirtual(builderClass, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+        } catch (ReflectiveOperationException ignored) {
+            // Not supported by this runtime
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_UNSTARTED = builderUnstarted;
+    }
+
+    /**
+     * Whether this type of thread can be created by the current runtime.
+     *
+     * @return true if it's available, false if platform threads will be used instead.
+     */
+    public boolean isAvailable() {
+        return this == PLATFORM || OF_VIRTUAL != null;
+    }
+
+    /**
+     * Get the default number of workers to use for this type.
+     *
+     * @return the number of available processors for platform threads, or a multiple of it for virtual threads.
+     */
+    public int getDefaultWorkers() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return this == VIRTUAL && isAvailable() ? processors * 4 : processors;
+    }
+
+    /**
+     * Create a new unstarted thread of this type.
+     *
+     * @param runnable the runnable for the thread to run.
+     * @param name     the name of the thread.
+     * @return the new thread.
+     */
+    public Thread newThread(Runnable runnable, String name) {
+        if (this == VIRTUAL && isAvailable()) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(), name);
+                return (Thread) BUILDER_UNSTARTED.invoke(builder, runnable);
+            } catch (Throwable t) {
+                throw new IllegalStateException("Failed to create virtual thread", t);
+            }
+        }
+
+        // Use a platform thread
+        return new Thread(runnable, name);
+    }
+}
@@ -0,0 +1,79 @@
+package com.hivemc.chunker.scheduling.task.executor;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * A set of double-ended queues, one for each priority lane. The owner of the lanes pushes and polls from the tail
+ * (so recently created, deeper tasks are completed first) while other workers steal from the head.
+ */
+class TaskLanes {
+    /**
+     * The number of lanes, priorities above this are grouped into the highest lane.
+     */
+    static final int LANES = 32;
+    private final ConcurrentLinkedDeque<PriorityRunnable>[] lanes;
+
+    /**
+     * Create a new set of empty lanes.
+     */
+    @SuppressWarnings("unchecked")
+    TaskLanes() {
+        lanes = new ConcurrentLinkedDeque[LANES];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    /**
+     * Get the lane which a priority belongs to.
+     *
+     * @param priority the priority of the task (higher is sooner).
+     * @return the index of the lane, clamped between 0 and LANES - 1.
+     */
+    static int lane(int priority) {
+        return Math.max(0, Math.min(LANES - 1, priority));
+    }
+
+    /**
+     * Add a task to the tail of a lane.
+     *
+     * @param lane the lane index.
+     * @param task the task to add.
+     */
+    void push(int lane, PriorityRunnable task) {
+        lanes[lane].offerLast(task);
+    }
+
+    /**
+     * Poll the most recently added task from a lane, used by the owner of the lanes.
+     *
+     * @param lane the lane index.
+     * @return the task or null if the lane is empty.
+     */
+    @Nullable
+    PriorityRunnable pollLast(int lane) {
+        return lanes[lane].pollLast();
+    }
+
+    /**
+     * Poll the oldest task from a lane, used when stealing or taking submitted tasks.
+     *
+     * @param lane the lane index.
+     * @return the task or null if the lane is empty.
+     */
+    @Nullable
+    PriorityRunnable pollFirst(int lane) {
+        return lanes[lane].pollFirst();
+    }
+
+    /**
+     * Remove all the tasks from every lane.
+     */
+    void clear() {
+        for (ConcurrentLinkedDeque<PriorityRunnable> lane : lanes) {
+            lane.clear();
+        }
+    }
+}
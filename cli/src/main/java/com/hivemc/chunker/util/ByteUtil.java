@@ -31,26 +31,4 @@ public class ByteUtil {
             return (byte) (((input & 0xF) << 4) | otherValue);
         }
     }
-
-    /**
-     * Convert a 3D array into a 2048-bit nibble array.
-     *
-     * @param input the input 3D array.
-     * @return an output array containing the compacted data with 2048 bytes length.
-     */
-    public static byte[] convertToNibbleArray(byte[][][] input) {
-        byte[] output = new byte[2048];
-        for (int i = 0; i < 4096; i++) {
-            int x = i & 0xF;
-            int z = (i >> 4) & 0xF;
-            int y = (i >> 8) & 0xF;
-            boolean lowestBits = (i & 1) == 0;
-            int nibbleIndex = i >> 1;
-            byte inputValue = input[x][y][z];
-
-            // Update the relevant nibble with the new value
-            output[nibbleIndex] = ByteUtil.updateNibble(output[nibbleIndex], inputValue, lowestBits);
-        }
-        return output;
-    }
 }
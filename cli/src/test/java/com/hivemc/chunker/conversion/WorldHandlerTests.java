@@ -0,0 +1,97 @@
+package com.hivemc.chunker.conversion;
+
+import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
+import com.hivemc.chunker.conversion.handlers.RecordingColumnHandler;
+import com.hivemc.chunker.conversion.handlers.WorldConversionHandler;
+import com.hivemc.chunker.conversion.handlers.lighting.ColumnLightingConversionHandler;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.pruning.PruningConfig;
+import com.hivemc.chunker.pruning.PruningRegion;
+import com.hivemc.chunker.scheduling.task.FutureTask;
+import com.hivemc.chunker.scheduling.task.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure worlds only list the regions which will be read, so handlers don't wait for pruned regions.
+ */
+public class WorldHandlerTests {
+    private static final Set<RegionCoordPair> REGIONS = Set.of(
+            new RegionCoordPair(0, 0),
+            new RegionCoordPair(1, 0),
+            new RegionCoordPair(5, 5)
+    );
+
+    private static ChunkerWorld convertWorld(WorldConverter converter, Dimension dimension) {
+        List<ChunkerWorld> worlds = new ArrayList<>();
+        WorldConverter.WorldHandler handler = new WorldConverter.WorldHandler(converter, new WorldConversionHandler() {
+            @Override
+            public Task<ColumnConversionHandler> convertWorld(ChunkerWorld world) {
+                worlds.add(world);
+                return new FutureTask<>(CompletableFuture.completedFuture(null));
+            }
+
+            @Override
+            public void flushWorld(ChunkerWorld world) {
+                // Not used
+            }
+
+            @Override
+            public void flushWorlds() {
+                // Not used
+            }
+        });
+        handler.convertWorld(new ChunkerWorld(dimension, new HashSet<>(REGIONS)));
+        assertEquals(1, worlds.size());
+        return worlds.get(0);
+    }
+
+    @Test
+    public void testRegionsKeptWithoutPruning() {
+        assertEquals(REGIONS, convertWorld(new WorldConverter(UUID.randomUUID()), Dimension.OVERWORLD).getRegions());
+    }
+
+    @Test
+    public void testPrunedRegionsRemoved() {
+        WorldConverter converter = new WorldConverter(UUID.randomUUID());
+
+        // Only the first two regions overlap the included area
+        converter.setPruningConfigs(Map.of(Dimension.OVERWORLD, new PruningConfig(true, List.of(new PruningRegion(0, 0, 40, 10)))));
+        assertEquals(Set.of(new RegionCoordPair(0, 0), new RegionCoordPair(1, 0)), convertWorld(converter, Dimension.OVERWORLD).getRegions());
+
+        // Other dimensions aren't pruned
+        assertEquals(REGIONS, convertWorld(converter, Dimension.NETHER).getRegions());
+    }
+
+    @Test
+    public void testLightingIgnoresPrunedRegions() {
+        WorldConverter converter = new WorldConverter(UUID.randomUUID());
+        converter.setPruningConfigs(Map.of(Dimension.OVERWORLD, new PruningConfig(true, List.of(new PruningRegion(0, 0, 31, 31)))));
+        RecordingColumnHandler recording = new RecordingColumnHandler();
+        ColumnLightingConversionHandler handler = new ColumnLightingConversionHandler(
+                recording,
+                convertWorld(converter, Dimension.OVERWORLD)
+        );
+
+        // A column on the border of the pruned region
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(31, 5));
+        column.setBlock(0, 64, 0, new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE));
+        handler.convertColumn(column);
+        assertTrue(recording.getSubmitted().isEmpty());
+
+        // The pruned region is never read, so the column is written when its own region is flushed
+        handler.flushRegion(new RegionCoordPair(0, 0));
+        assertEquals(List.of(column.getPosition()), recording.getSubmitted());
+        assertEquals(List.of(new RegionCoordPair(0, 0)), recording.getFlushed());
+    }
+}
@@ -0,0 +1,122 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.reader.BedrockColumnReader;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the single prefix scan of a column finds the same records as looking up each key.
+ */
+public class BedrockColumnReaderTests {
+    private static final List<ChunkCoordPair> COLUMNS = List.of(
+            new ChunkCoordPair(0, 0),
+            new ChunkCoordPair(-1, 0),
+            new ChunkCoordPair(0, -1),
+            new ChunkCoordPair(255, 0),
+            new ChunkCoordPair(-1, -1),
+            new ChunkCoordPair(Integer.MAX_VALUE, Integer.MIN_VALUE)
+    );
+
+    private static byte[] value(Dimension dimension, ChunkCoordPair position, String part) {
+        return (dimension + " " + position + " " + part).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Fill a database with the records of columns in every dimension, so keys of other columns and dimensions share
+     * prefixes with the column being read.
+     *
+     * @return the database.
+     */
+    private static MemoryDB createDatabase() {
+        MemoryDB database = new MemoryDB();
+        for (Dimension dimension : Dimension.values()) {
+            for (ChunkCoordPair position : COLUMNS) {
+                for (LevelDBChunkType type : LevelDBChunkType.values()) {
+                    if (type == LevelDBChunkType.SUB_CHUNK_PREFIX) continue;
+                    database.put(LevelDBKey.key(dimension, position, type), value(dimension, position, type.name()));
+                }
+                for (byte y = -4; y < 20; y++) {
+                    database.put(
+                            LevelDBKey.key(dimension, position, y, LevelDBChunkType.SUB_CHUNK_PREFIX),
+                            value(dimension, position, "sub-chunk " + y)
+                    );
+                }
+            }
+
+            // Some of the keys which aren't part of a column
+            database.put(LevelDBKey.key(dimension, new ChunkCoordPair(0, 0), (byte) 0, (byte) 0x7F), new byte[]{1});
+        }
+        database.put("~local_player".getBytes(StandardCharsets.UTF_8), new byte[]{1});
+        database.put("digp".getBytes(StandardCharsets.UTF_8), new byte[]{1});
+        return database;
+    }
+
+    @Test
+    public void testScanMatchesLookups() {
+        MemoryDB database = createDatabase();
+        for (Dimension dimension : Dimension.values()) {
+            for (ChunkCoordPair position : COLUMNS) {
+                RecordReader reader = new RecordReader(database, dimension, position);
+                reader.readRecords(new ChunkerColumn(position));
+
+                // Each record type should be found, matching a lookup of the key
+                for (LevelDBChunkType type : LevelDBChunkType.values()) {
+                    if (type == LevelDBChunkType.SUB_CHUNK_PREFIX) continue;
+                    assertArrayEquals(database.get(LevelDBKey.key(dimension, position, type)), reader.getRecord(type), dimension + " " + position + " " + type);
+                }
+
+                // Each possible sub-chunk should match a lookup of the key
+                for (byte y = -64; y < 64; y++) {
+                    byte[] expected = database.get(LevelDBKey.key(dimension, position, y, LevelDBChunkType.SUB_CHUNK_PREFIX));
+                    assertArrayEquals(expected, reader.getSubChunk(y), dimension + " " + position + " " + y);
+                }
+                assertEquals(24, reader.getSubChunkCount());
+            }
+        }
+    }
+
+    @Test
+    public void testMissingColumn() {
+        RecordReader reader = new RecordReader(createDatabase(), Dimension.NETHER, new ChunkCoordPair(5, 5));
+        reader.readRecords(new ChunkerColumn(new ChunkCoordPair(5, 5)));
+        assertNull(reader.getRecord(LevelDBChunkType.VERSION));
+        assertEquals(0, reader.getSubChunkCount());
+    }
+
+    /**
+     * A column reader which exposes the records found by the scan.
+     */
+    private static class RecordReader extends BedrockColumnReader {
+        public RecordReader(MemoryDB database, Dimension dimension, ChunkCoordPair position) {
+            super(null, new MockConverter(null), database, dimension, position);
+        }
+
+        @Override
+        public void readRecords(ChunkerColumn column) {
+            super.readRecords(column);
+        }
+
+        @Override
+        public byte[] getRecord(LevelDBChunkType type) {
+            return super.getRecord(type);
+        }
+
+        public byte[] getSubChunk(byte y) {
+            return subChunks.get(y);
+        }
+
+        public int getSubChunkCount() {
+            return subChunks.size();
+        }
+    }
+}
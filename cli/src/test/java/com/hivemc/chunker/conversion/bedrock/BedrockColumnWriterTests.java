@@ -0,0 +1,137 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.writer.BedrockColumnWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.writer.BedrockWorldWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskWeight;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the batch of a column is written once its parts are written and released if the column fails.
+ */
+public class BedrockColumnWriterTests {
+    private static final ChunkCoordPair POSITION = new ChunkCoordPair(3, -7);
+
+    /**
+     * Write a column using an environment, waiting for it to finish.
+     *
+     * @param writer the writer to use.
+     * @return true if the column was written without an exception.
+     */
+    private static boolean writeColumn(TestColumnWriter writer) throws Exception {
+        Environment environment = Task.environment("Test", 2, null, null);
+        try (environment) {
+            Task.asyncConsume("Writing Column", TaskWeight.NORMAL, writer::writeColumn, new ChunkerColumn(POSITION));
+        }
+        try {
+            environment.future().get(30, TimeUnit.SECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testColumnWritten() throws Exception {
+        MemoryDB database = new MemoryDB();
+        TestColumnWriter writer = new TestColumnWriter(database, null);
+        assertTrue(writeColumn(writer));
+
+        // Every part is written to the database in a single batch
+        assertEquals(List.of("write"), database.getOperations());
+        assertNotNull(database.get(LevelDBKey.key(Dimension.OVERWORLD, POSITION, LevelDBChunkType.LEGACY_VERSION)));
+        assertNotNull(database.get(LevelDBKey.key(Dimension.OVERWORLD, POSITION, LevelDBChunkType.DATA_2D)));
+        assertTrue(writer.getWriteBatches().isEmpty());
+    }
+
+    @Test
+    public void testFailedPartReleasesBatch() throws Exception {
+        MemoryDB database = new MemoryDB();
+        TestColumnWriter writer = new TestColumnWriter(database, "part");
+        assertFalse(writeColumn(writer));
+
+        // The keys of the failed column are never written
+        assertEquals(List.of(), database.getOperations());
+        assertTrue(writer.getWriteBatches().isEmpty());
+    }
+
+    @Test
+    public void testFailedPreProcessingReleasesBatch() throws Exception {
+        MemoryDB database = new MemoryDB();
+        TestColumnWriter writer = new TestColumnWriter(database, "pre-processing");
+        assertFalse(writeColumn(writer));
+        assertEquals(List.of(), database.getOperations());
+        assertTrue(writer.getWriteBatches().isEmpty());
+    }
+
+    /**
+     * A column writer which writes a single record for some parts and optionally fails.
+     */
+    private static class TestColumnWriter extends BedrockColumnWriter {
+        private final String failure;
+
+        public TestColumnWriter(MemoryDB database, String failure) {
+            super(
+                    new BedrockWorldWriter(new File("unused"), new MockConverter(null), null, database, null),
+                    new MockConverter(null),
+                    null,
+                    database,
+                    Dimension.OVERWORLD
+            );
+            this.failure = failure;
+        }
+
+        public Map<ChunkCoordPair, ?> getWriteBatches() {
+            return writeBatches;
+        }
+
+        @Override
+        protected void preProcessColumn(ChunkerColumn column) {
+            if ("pre-processing".equals(failure)) {
+                throw new IllegalStateException("Failed to pre-process column");
+            }
+        }
+
+        @Override
+        protected void postProcessColumn(ChunkerColumn chunkerColumn) {
+            // Nothing to post-process
+        }
+
+        @Override
+        protected void writeHeightMapBiomes(ChunkerColumn column) throws Exception {
+            getWriteBatch(column).put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_2D), new byte[]{1});
+        }
+
+        @Override
+        protected void writeEntities(ChunkerColumn column) {
+            // No entities
+        }
+
+        @Override
+        protected void writeBlockEntities(ChunkerColumn column) {
+            // No block entities
+        }
+
+        @Override
+        protected void writeChunks(ChunkerColumn column) {
+            if ("part".equals(failure)) {
+                throw new IllegalStateException("Failed to write chunks");
+            }
+        }
+    }
+}
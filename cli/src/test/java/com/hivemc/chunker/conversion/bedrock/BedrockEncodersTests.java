@@ -107,7 +107,7 @@ public class BedrockEncodersTests {
             lastColumnWriter = columnWriter.getClass();
 
             // Check chunk reader
-            BedrockChunkWriter chunkWriter = columnWriter.createChunkWriter(null);
+            BedrockChunkWriter chunkWriter = columnWriter.createChunkWriter(null, null);
             assertInstanceOf(lastChunkWriter, chunkWriter, "ChunkWriter " + chunkWriter.getClass() + " should extend " + lastChunkWriter);
             lastChunkWriter = chunkWriter.getClass();
 
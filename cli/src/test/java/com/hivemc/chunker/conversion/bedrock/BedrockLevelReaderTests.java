@@ -0,0 +1,129 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.base.Version;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.reader.BedrockLevelReader;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the scan for used regions finds every column while skipping past the rest of each column.
+ */
+public class BedrockLevelReaderTests {
+    private static final List<LevelDBChunkType> COLUMN_TYPES = List.of(
+            LevelDBChunkType.DATA_2D,
+            LevelDBChunkType.DATA_3D,
+            LevelDBChunkType.ENTITY,
+            LevelDBChunkType.BLOCK_ENTITY
+    );
+
+    private static void add(Map<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>> expected, Dimension dimension, ChunkCoordPair position) {
+        expected.computeIfAbsent(dimension, (ignored) -> new HashMap<>())
+                .computeIfAbsent(position.getRegion(), (ignored) -> new HashSet<>())
+                .add(position);
+    }
+
+    /**
+     * Add the keys of a column to the database, some columns only have records which don't count as a column.
+     *
+     * @param database  the database to add to.
+     * @param random    the random used to pick the records.
+     * @param dimension the dimension of the column.
+     * @param position  the position of the column.
+     * @return true if the column has a record which counts as a column.
+     */
+    private static boolean addColumn(MemoryDB database, Random random, Dimension dimension, ChunkCoordPair position) {
+        database.put(LevelDBKey.key(dimension, position, LevelDBChunkType.VERSION), new byte[]{1});
+        if (random.nextInt(5) == 0) return false; // Only the version
+
+        // Some columns are only present through a single record
+        if (random.nextBoolean()) {
+            database.put(LevelDBKey.key(dimension, position, COLUMN_TYPES.get(random.nextInt(COLUMN_TYPES.size()))), new byte[]{1});
+        } else {
+            for (byte y = -4; y < 4; y++) {
+                database.put(LevelDBKey.key(dimension, position, y, LevelDBChunkType.SUB_CHUNK_PREFIX), new byte[]{1});
+            }
+            database.put(LevelDBKey.key(dimension, position, LevelDBChunkType.DATA_2D), new byte[]{1});
+        }
+        return true;
+    }
+
+    @Test
+    public void testScanFindsEveryColumn() throws IOException {
+        MemoryDB database = new MemoryDB();
+        Random random = new Random(0);
+        Map<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>> expected = new EnumMap<>(Dimension.class);
+
+        // Columns in every dimension, many share the same co-ordinates so overworld and dimension keys are adjacent
+        List<ChunkCoordPair> positions = new ArrayList<>(List.of(
+                new ChunkCoordPair(0, 0),
+                new ChunkCoordPair(-1, -1),
+                new ChunkCoordPair(255, 0),
+                new ChunkCoordPair(0, 255),
+                new ChunkCoordPair(Integer.MAX_VALUE, Integer.MIN_VALUE)
+        ));
+        for (int i = 0; i < 200; i++) {
+            positions.add(new ChunkCoordPair(random.nextInt(200) - 100, random.nextInt(200) - 100));
+        }
+        for (ChunkCoordPair position : positions) {
+            for (Dimension dimension : Dimension.values()) {
+                if (random.nextInt(3) == 0) continue;
+                if (addColumn(database, random, dimension, position)) {
+                    add(expected, dimension, position);
+                }
+            }
+        }
+
+        // Keys which aren't part of a column, including some with the same lengths as column keys
+        for (String key : List.of("~local_player", "mobevents", "BiomeData", "scoreboard", "portals", "AutonomousEntities")) {
+            database.put(key.getBytes(StandardCharsets.UTF_8), new byte[]{1});
+        }
+        database.put(LevelDBKey.key("digp".getBytes(StandardCharsets.UTF_8), Dimension.NETHER, new ChunkCoordPair(0, 0)), new byte[]{1});
+
+        assertEquals(expected, new TestLevelReader(database).collectUsedRegions());
+    }
+
+    @Test
+    public void testDimensionOnlyColumns() throws IOException {
+        MemoryDB database = new MemoryDB();
+        ChunkCoordPair position = new ChunkCoordPair(3, -7);
+
+        // The nether and end columns sort before the overworld column at the same position
+        database.put(LevelDBKey.key(Dimension.NETHER, position, LevelDBChunkType.DATA_3D), new byte[]{1});
+        database.put(LevelDBKey.key(Dimension.THE_END, position, LevelDBChunkType.VERSION), new byte[]{1});
+        database.put(LevelDBKey.key(Dimension.THE_END, position, LevelDBChunkType.ENTITY), new byte[]{1});
+        database.put(LevelDBKey.key(Dimension.OVERWORLD, position, LevelDBChunkType.BLOCK_ENTITY), new byte[]{1});
+
+        Map<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>> regions = new TestLevelReader(database).collectUsedRegions();
+        assertEquals(Set.of(Dimension.OVERWORLD, Dimension.NETHER, Dimension.THE_END), regions.keySet());
+        for (Map<RegionCoordPair, Set<ChunkCoordPair>> lookup : regions.values()) {
+            assertEquals(Map.of(position.getRegion(), Set.of(position)), lookup);
+        }
+    }
+
+    /**
+     * A level reader using the in-memory database.
+     */
+    private static class TestLevelReader extends BedrockLevelReader {
+        public TestLevelReader(MemoryDB database) {
+            super(new File("unused"), new Version(1, 21, 0), new MockConverter(null));
+            this.database = database;
+        }
+
+        @Override
+        public EnumMap<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>> collectUsedRegions() throws IOException {
+            return super.collectUsedRegions();
+        }
+    }
+}
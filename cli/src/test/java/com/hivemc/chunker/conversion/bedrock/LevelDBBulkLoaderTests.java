@@ -0,0 +1,260 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.WorldConverter;
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.base.Version;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.writer.BedrockLevelWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBBulkLoader;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBWriteBatch;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutor;
+import org.iq80.leveldb.WriteBatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the bulk loader writes every key in unsigned key order using bounded batches.
+ */
+public class LevelDBBulkLoaderTests {
+    private static byte[] key(int thread, int index) {
+        return ByteBuffer.allocate(8).putInt(thread).putInt(index).array();
+    }
+
+    @Test
+    public void testUnsignedOrder() throws IOException {
+        MemoryDB database = new MemoryDB();
+        LevelDBBulkLoader loader = new LevelDBBulkLoader(database, Long.MAX_VALUE);
+        byte[][] keys = {
+                {(byte) 0xFF},
+                {0x01},
+                {(byte) 0x80, 0x00},
+                {0x7F, (byte) 0xFF},
+                {(byte) 0x80},
+                {0x00}
+        };
+        for (byte[] key : keys) {
+            loader.put(key, new byte[]{1});
+        }
+
+        // Nothing is written until the loader is flushed
+        assertEquals(List.of(), database.getOperations());
+        loader.flush();
+
+        // Bytes above 0x7F are negative when signed, they should still be written last
+        List<byte[]> written = database.getWrittenKeys();
+        assertEquals(keys.length, written.size());
+        for (int i = 1; i < written.size(); i++) {
+            assertTrue(Arrays.compareUnsigned(written.get(i - 1), written.get(i)) < 0, "Keys written out of order");
+        }
+        assertArrayEquals(new byte[]{(byte) 0xFF}, written.get(written.size() - 1));
+    }
+
+    @Test
+    public void testBatchSplit() throws IOException {
+        MemoryDB database = new MemoryDB();
+        LevelDBBulkLoader loader = new LevelDBBulkLoader(database, Long.MAX_VALUE);
+
+        // Each value is 1MB so a batch is written after every 4 keys
+        for (int i = 0; i < 10; i++) {
+            loader.put(key(0, i), new byte[1024 * 1024]);
+        }
+        loader.flush();
+        assertEquals(List.of("write", "write", "write"), database.getOperations());
+        assertEquals(10, database.size());
+
+        // Flushing again has nothing to write
+        loader.flush();
+        assertEquals(3, database.getOperations().size());
+    }
+
+    @Test
+    public void testWrittenWhenFull() throws IOException {
+        MemoryDB database = new MemoryDB();
+        LevelDBBulkLoader loader = new LevelDBBulkLoader(database, 64);
+        for (int i = 0; i < 4; i++) {
+            loader.put(key(0, i), new byte[8]);
+        }
+        assertEquals(List.of("write"), database.getOperations());
+        assertEquals(4, database.size());
+    }
+
+    @Test
+    public void testConcurrentPuts() throws Exception {
+        MemoryDB database = new MemoryDB();
+
+        // A small buffer so the buffer is swapped while other threads are adding keys
+        LevelDBBulkLoader loader = new LevelDBBulkLoader(database, 4096);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            int threadIndex = thread;
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    for (int i = 0; i < 5000; i++) {
+                        loader.put(key(threadIndex, i), key(i, threadIndex));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        loader.flush();
+
+        // Every key should be written exactly once with its value
+        assertEquals(20000, database.size());
+        assertEquals(20000, database.getWrittenKeys().size());
+        for (int thread = 0; thread < 4; thread++) {
+            for (int i = 0; i < 5000; i++) {
+                assertArrayEquals(key(i, thread), database.get(key(thread, i)));
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentFlushOrder() throws Exception {
+        // The first write is held so the later buffers are swapped while it's being written
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        MemoryDB database = new MemoryDB() {
+            @Override
+            public void write(WriteBatch updates) {
+                if (first.getAndSet(false)) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                super.write(updates);
+            }
+        };
+        LevelDBBulkLoader loader = new LevelDBBulkLoader(database, Long.MAX_VALUE);
+
+        // Each flush writes a newer value for the same key
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            loader.put(key(0, 0), key(0, i));
+            Thread thread = new Thread(() -> {
+                try {
+                    loader.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+
+            // Wait for the buffer to be swapped and the flush to be waiting to write
+            while (thread.getState() != Thread.State.BLOCKED && thread.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(thread.isAlive());
+        }
+
+        // The buffers should be written in the order they were swapped
+        assertArrayEquals(key(0, 2), database.get(key(0, 0)));
+    }
+
+    @Test
+    public void testFailedFlushReleasesNext() throws Exception {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        MemoryDB database = new MemoryDB() {
+            @Override
+            public synchronized void write(WriteBatch updates) {
+                if (fail.getAndSet(false)) {
+                    throw new IllegalStateException("Failed to write");
+                }
+                super.write(updates);
+            }
+        };
+        LevelDBBulkLoader loader = new LevelDBBulkLoader(database, Long.MAX_VALUE);
+        loader.put(key(0, 0), new byte[]{1});
+        assertThrows(IllegalStateException.class, loader::flush);
+
+        // The next buffer should still be written
+        loader.put(key(0, 1), new byte[]{2});
+        CompletableFuture.runAsync(() -> {
+            try {
+                loader.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).get(10, TimeUnit.SECONDS);
+        assertArrayEquals(new byte[]{2}, database.get(key(0, 1)));
+    }
+
+    @Test
+    public void testColumnBatchUsesLoader() throws IOException {
+        // Columns pass their keys straight to the loader, so no LevelDB batch should be created
+        MemoryDB database = new MemoryDB() {
+            @Override
+            public WriteBatch createWriteBatch() {
+                throw new AssertionError("Batch created while bulk loading");
+            }
+        };
+        LevelDBBulkLoader loader = new LevelDBBulkLoader(database, Long.MAX_VALUE);
+        try (LevelDBWriteBatch writeBatch = new LevelDBWriteBatch(database, loader, LevelDBWriteBatch.DEFAULT_MAX_SIZE)) {
+            writeBatch.put(key(0, 0), new byte[]{1});
+            writeBatch.write();
+        }
+        assertEquals(List.of(), database.getOperations());
+    }
+
+    @Test
+    public void testFlushedBeforeCompaction() throws Exception {
+        MemoryDB database = new MemoryDB();
+        LevelDBBulkLoader loader = new LevelDBBulkLoader(database, Long.MAX_VALUE);
+        loader.put(key(0, 0), new byte[]{1});
+        TestLevelWriter writer = new TestLevelWriter(database, loader);
+
+        // Record the compaction signals alongside the database operations
+        TaskExecutor executor = new TaskExecutor(1, null, (name, value) -> {
+            if (name.equals(WorldConverter.SIGNAL_COMPACTION)) {
+                database.getOperations().add("signal " + value);
+            }
+        });
+        try {
+            executor.execute(() -> {
+                try {
+                    writer.flushLevel();
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, 0).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        // The sorted keys have to be in the database before it is compacted
+        assertEquals(List.of("write", "signal true", "compact", "signal false"), database.getOperations());
+        assertNotNull(database.get(key(0, 0)));
+    }
+
+    /**
+     * A level writer using the in-memory database.
+     */
+    private static class TestLevelWriter extends BedrockLevelWriter {
+        public TestLevelWriter(MemoryDB database, LevelDBBulkLoader bulkLoader) {
+            super(new File("unused"), new Version(1, 21, 0), new MockConverter(null));
+            this.database = database;
+            this.bulkLoader = bulkLoader;
+        }
+    }
+}
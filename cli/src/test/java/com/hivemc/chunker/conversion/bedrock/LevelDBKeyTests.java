@@ -0,0 +1,60 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure LevelDB key helpers match the unsigned order used by the database.
+ */
+public class LevelDBKeyTests {
+    private static byte[] bytes(int... values) {
+        byte[] output = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            output[i] = (byte) values[i];
+        }
+        return output;
+    }
+
+    @Test
+    public void testPrefixSuccessor() {
+        assertArrayEquals(bytes(1, 2, 4), LevelDBKey.prefixSuccessor(bytes(1, 2, 3, 9, 9), 3));
+        assertArrayEquals(bytes(0x80), LevelDBKey.prefixSuccessor(bytes(0x7F), 1));
+
+        // An empty prefix matches every key
+        assertNull(LevelDBKey.prefixSuccessor(bytes(1, 2), 0));
+    }
+
+    @Test
+    public void testPrefixSuccessorCarries() {
+        // Trailing 0xFF bytes are dropped and the previous byte is incremented
+        assertArrayEquals(bytes(1, 3), LevelDBKey.prefixSuccessor(bytes(1, 2, 0xFF, 0xFF, 5), 4));
+        assertArrayEquals(bytes(0x81), LevelDBKey.prefixSuccessor(bytes(0x80, 0xFF), 2));
+    }
+
+    @Test
+    public void testPrefixSuccessorAllFF() {
+        // There is no key which sorts after every key starting with only 0xFF bytes
+        assertNull(LevelDBKey.prefixSuccessor(bytes(0xFF, 0xFF, 0xFF, 0xFF), 4));
+        assertNull(LevelDBKey.prefixSuccessor(bytes(0xFF, 0xFF, 0x01), 2));
+    }
+
+    @Test
+    public void testPrefixSuccessorSortsAfterPrefix() {
+        byte[] key = bytes(5, 0xFF, 0x7F, 0xFF, 0x00, 0x10);
+        for (int length = 1; length <= key.length; length++) {
+            byte[] successor = LevelDBKey.prefixSuccessor(key, length);
+            assertNotNull(successor);
+
+            // Every key with the prefix sorts before the successor, the successor doesn't start with the prefix
+            byte[] largest = Arrays.copyOf(key, length + 4);
+            Arrays.fill(largest, length, largest.length, (byte) 0xFF);
+            assertTrue(Arrays.compareUnsigned(key, successor) < 0);
+            assertTrue(Arrays.compareUnsigned(largest, successor) < 0);
+            assertFalse(LevelDBKey.startsWith(successor, Arrays.copyOf(key, length)));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBProfile;
+import org.iq80.leveldb.CompressionType;
+import org.iq80.leveldb.Options;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parsing LevelDBProfile.
+ */
+public class LevelDBProfileTests {
+    @Test
+    public void testEmpty() {
+        assertEquals(LevelDBProfile.DEFAULT, LevelDBProfile.parse(""));
+    }
+
+    @Test
+    public void testOptions() {
+        LevelDBProfile profile = LevelDBProfile.parse("writeBuffer=256m, maxOpenFiles=2000,cache=1g,compression=zlib,blockSize=4k");
+        assertEquals(256 * 1024 * 1024, profile.writeBufferSize());
+        assertEquals(Integer.valueOf(2000), profile.maxOpenFiles());
+        assertEquals(Long.valueOf(1024L * 1024 * 1024), profile.cacheSize());
+        assertEquals(CompressionType.ZLIB, profile.compressionType());
+        assertEquals(4 * 1024, profile.blockSize());
+        assertFalse(profile.isBulkLoad());
+    }
+
+    @Test
+    public void testLevelDBDefaults() {
+        // Options which aren't specified are left to LevelDB
+        RecordingOptions options = new RecordingOptions();
+        LevelDBProfile.DEFAULT.apply(options);
+        assertEquals(Set.of("writeBufferSize", "compressionType", "blockSize"), options.changed);
+
+        RecordingOptions specified = new RecordingOptions();
+        LevelDBProfile.parse("maxOpenFiles=2000,cache=64m").apply(specified);
+        assertTrue(specified.changed.containsAll(Set.of("maxOpenFiles", "cacheSize")));
+    }
+
+    @Test
+    public void testBulkLoad() {
+        assertEquals(LevelDBProfile.DEFAULT_BULK_LOAD_SIZE, LevelDBProfile.parse("bulkLoad").bulkLoadSize());
+        assertEquals(64 * 1024 * 1024, LevelDBProfile.parse("bulkLoad=64m").bulkLoadSize());
+        assertTrue(LevelDBProfile.parse("bulkLoad").isBulkLoad());
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> LevelDBProfile.parse("compression=snappy"));
+        assertThrows(IllegalArgumentException.class, () -> LevelDBProfile.parse("compression=lz4"));
+        assertThrows(IllegalArgumentException.class, () -> LevelDBProfile.parse("unknown=1"));
+        assertThrows(IllegalArgumentException.class, () -> LevelDBProfile.parse("cache"));
+        assertThrows(IllegalArgumentException.class, () -> LevelDBProfile.parse("cache=abc"));
+        assertThrows(IllegalArgumentException.class, () -> LevelDBProfile.parse("writeBuffer=8g"));
+        assertThrows(IllegalArgumentException.class, () -> LevelDBProfile.parse("maxOpenFiles=0"));
+    }
+
+    /**
+     * Options which record the names of the options that were changed.
+     */
+    private static class RecordingOptions extends Options {
+        private final Set<String> changed = new HashSet<>();
+
+        @Override
+        public Options writeBufferSize(int writeBufferSize) {
+            changed.add("writeBufferSize");
+            return super.writeBufferSize(writeBufferSize);
+        }
+
+        @Override
+        public Options maxOpenFiles(int maxOpenFiles) {
+            changed.add("maxOpenFiles");
+            return super.maxOpenFiles(maxOpenFiles);
+        }
+
+        @Override
+        public Options cacheSize(long cacheSize) {
+            changed.add("cacheSize");
+            return super.cacheSize(cacheSize);
+        }
+
+        @Override
+        public Options compressionType(CompressionType compressionType) {
+            changed.add("compressionType");
+            return super.compressionType(compressionType);
+        }
+
+        @Override
+        public Options blockSize(int blockSize) {
+            changed.add("blockSize");
+            return super.blockSize(blockSize);
+        }
+    }
+}
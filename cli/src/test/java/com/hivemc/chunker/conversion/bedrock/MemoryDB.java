@@ -0,0 +1,246 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import org.iq80.leveldb.*;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A LevelDB database held in memory for tests. Keys are sorted using unsigned byte order like LevelDB, and every
+ * write is recorded so tests can check the order records were written in.
+ */
+public class MemoryDB implements DB {
+    private final NavigableMap<byte[], byte[]> entries = new TreeMap<>(Arrays::compareUnsigned);
+    private final List<String> operations = new CopyOnWriteArrayList<>();
+    private final List<byte[]> writtenKeys = new CopyOnWriteArrayList<>();
+
+    /**
+     * Get the operations which were performed on the database, e.g. "put", "write" or "compact".
+     *
+     * @return the operations in the order they happened.
+     */
+    public List<String> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Get the keys which were written using batches.
+     *
+     * @return the keys in the order they were written.
+     */
+    public List<byte[]> getWrittenKeys() {
+        return writtenKeys;
+    }
+
+    /**
+     * Get the number of records in the database.
+     *
+     * @return the count of keys.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized byte[] get(byte[] key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public byte[] get(byte[] key, ReadOptions options) {
+        return get(key);
+    }
+
+    @Override
+    public DBIterator iterator() {
+        return new MemoryIterator();
+    }
+
+    @Override
+    public DBIterator iterator(ReadOptions options) {
+        return iterator();
+    }
+
+    @Override
+    public synchronized void put(byte[] key, byte[] value) {
+        operations.add("put");
+        entries.put(key.clone(), value.clone());
+    }
+
+    @Override
+    public synchronized void delete(byte[] key) {
+        operations.add("delete");
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void write(WriteBatch updates) {
+        operations.add("write");
+        ((MemoryWriteBatch) updates).apply(entries, writtenKeys);
+    }
+
+    @Override
+    public WriteBatch createWriteBatch() {
+        return new MemoryWriteBatch();
+    }
+
+    @Override
+    public Snapshot put(byte[] key, byte[] value, WriteOptions options) {
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public Snapshot delete(byte[] key, WriteOptions options) {
+        delete(key);
+        return null;
+    }
+
+    @Override
+    public Snapshot write(WriteBatch updates, WriteOptions options) {
+        write(updates);
+        return null;
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long[] getApproximateSizes(Range... ranges) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getProperty(String name) {
+        return null;
+    }
+
+    @Override
+    public void suspendCompactions() {
+        // Not used
+    }
+
+    @Override
+    public void resumeCompactions() {
+        // Not used
+    }
+
+    @Override
+    public void compactRange(byte[] begin, byte[] end) {
+        operations.add("compact");
+    }
+
+    @Override
+    public void close() {
+        // Nothing to close
+    }
+
+    /**
+     * A write batch which applies the changes in order once written.
+     */
+    private static class MemoryWriteBatch implements WriteBatch {
+        private final List<Map.Entry<byte[], byte[]>> changes = new ArrayList<>();
+
+        @Override
+        public WriteBatch put(byte[] key, byte[] value) {
+            changes.add(new AbstractMap.SimpleImmutableEntry<>(key.clone(), value.clone()));
+            return this;
+        }
+
+        @Override
+        public WriteBatch delete(byte[] key) {
+            changes.add(new AbstractMap.SimpleImmutableEntry<>(key.clone(), null));
+            return this;
+        }
+
+        private void apply(NavigableMap<byte[], byte[]> entries, List<byte[]> writtenKeys) {
+            for (Map.Entry<byte[], byte[]> change : changes) {
+                writtenKeys.add(change.getKey());
+                if (change.getValue() == null) {
+                    entries.remove(change.getKey());
+                } else {
+                    entries.put(change.getKey(), change.getValue());
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            changes.clear();
+        }
+    }
+
+    /**
+     * An iterator over the keys in order, this reads the latest entries rather than a snapshot.
+     */
+    private class MemoryIterator implements DBIterator {
+        private byte[] next;
+
+        public MemoryIterator() {
+            seekToFirst();
+        }
+
+        @Override
+        public void seek(byte[] key) {
+            synchronized (MemoryDB.this) {
+                next = entries.ceilingKey(key);
+            }
+        }
+
+        @Override
+        public void seekToFirst() {
+            synchronized (MemoryDB.this) {
+                next = entries.isEmpty() ? null : entries.firstKey();
+            }
+        }
+
+        @Override
+        public Map.Entry<byte[], byte[]> peekNext() {
+            if (next == null) throw new NoSuchElementException();
+            synchronized (MemoryDB.this) {
+                return new AbstractMap.SimpleImmutableEntry<>(next, entries.get(next));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<byte[], byte[]> next() {
+            Map.Entry<byte[], byte[]> entry = peekNext();
+            synchronized (MemoryDB.this) {
+                next = entries.higherKey(next);
+            }
+            return entry;
+        }
+
+        @Override
+        public boolean hasPrev() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map.Entry<byte[], byte[]> prev() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map.Entry<byte[], byte[]> peekPrev() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void seekToLast() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hivemc.chunker.conversion.bedrock.resolver;
+
+import com.hivemc.chunker.conversion.encoding.bedrock.BedrockDataVersion;
+import com.hivemc.chunker.conversion.encoding.bedrock.BedrockEncoders;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockBlockCompoundTag;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.nbt.io.Writer;
+import com.hivemc.chunker.nbt.tags.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure palette entries are shared within a conversion but written blocks are not.
+ */
+public class BedrockPaletteBlockTests {
+    private static final ChunkerBlockIdentifier STONE = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE);
+
+    private static BedrockResolvers createResolvers() {
+        MockConverter converter = new MockConverter(null);
+        return BedrockEncoders.latest()
+                .writerConstructor()
+                .construct(null, BedrockDataVersion.latest().getVersion(), converter)
+                .buildResolvers(converter)
+                .build();
+    }
+
+    private static byte[] encode(Tag<?> tag, boolean cached, BedrockResolvers resolvers) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
+            Writer writer = Writer.toBedrockWriter(dataOutputStream);
+            if (cached) {
+                resolvers.paletteEntryCache().writeNamed(writer, "", tag);
+            } else {
+                Tag.encodeNamed(writer, "", tag);
+            }
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Test
+    public void testPaletteBlockShared() throws IOException {
+        BedrockResolvers resolvers = createResolvers();
+        BedrockBlockCompoundTag first = resolvers.writePaletteBlock(STONE);
+        assertSame(first, resolvers.writePaletteBlock(STONE));
+        assertEquals(resolvers.writeBlock(STONE), first);
+
+        // The cached encoding should match encoding the tag directly
+        byte[] expected = encode(first.compoundTag(), false, resolvers);
+        assertArrayEquals(expected, encode(first.compoundTag(), true, resolvers));
+        assertArrayEquals(expected, encode(first.compoundTag(), true, resolvers));
+    }
+
+    @Test
+    public void testWrittenBlockNotShared() {
+        // Block entities may modify the written tag, so each call should create a new one
+        BedrockResolvers resolvers = createResolvers();
+        assertNotSame(resolvers.writeBlock(STONE).compoundTag(), resolvers.writeBlock(STONE).compoundTag());
+        assertNotSame(resolvers.writeBlock(STONE).compoundTag(), resolvers.writePaletteBlock(STONE).compoundTag());
+    }
+
+    @Test
+    public void testCacheScopedToConversion() {
+        BedrockResolvers first = createResolvers();
+        BedrockResolvers second = createResolvers();
+        assertNotNull(first.paletteEntryCache());
+        assertNotSame(first.paletteEntryCache(), second.paletteEntryCache());
+        assertNotSame(first.writePaletteBlock(STONE), second.writePaletteBlock(STONE));
+    }
+}
@@ -0,0 +1,96 @@
+package com.hivemc.chunker.conversion.encoding.base.reader;
+
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure heap pressure is detected from the usage after collection and slows down region admission.
+ */
+public class HeapPressureMonitorTests {
+    private static final long MAX = 1000;
+
+    /**
+     * Create a heap pool which reports the provided usage after collection.
+     *
+     * @param usedAfterCollection the bytes used after the last collection.
+     * @return the memory pool.
+     */
+    private static MemoryPoolMXBean createPool(AtomicLong usedAfterCollection) {
+        return (MemoryPoolMXBean) Proxy.newProxyInstance(
+                HeapPressureMonitorTests.class.getClassLoader(),
+                new Class[]{MemoryPoolMXBean.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getType" -> MemoryType.HEAP;
+                    case "isCollectionUsageThresholdSupported" -> true;
+                    case "getUsage" -> new MemoryUsage(0, MAX, MAX, MAX);
+                    case "getCollectionUsage" -> new MemoryUsage(0, usedAfterCollection.get(), MAX, MAX);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    @Test
+    public void testThreshold() {
+        AtomicLong used = new AtomicLong(500);
+        HeapPressureMonitor monitor = new HeapPressureMonitor(0.8, List.of(createPool(used)));
+        assertFalse(monitor.isUnderPressure());
+
+        // Pressure is only reported while the usage after collection is above the threshold
+        used.set(801);
+        assertTrue(monitor.isUnderPressure());
+        used.set(800);
+        assertFalse(monitor.isUnderPressure());
+    }
+
+    @Test
+    public void testThresholdPerMonitor() {
+        AtomicLong used = new AtomicLong(700);
+        MemoryPoolMXBean pool = createPool(used);
+
+        // Monitors on the same pool don't change each other's threshold
+        HeapPressureMonitor low = new HeapPressureMonitor(0.5, List.of(pool));
+        HeapPressureMonitor high = new HeapPressureMonitor(0.9, List.of(pool));
+        assertTrue(low.isUnderPressure());
+        assertFalse(high.isUnderPressure());
+        low.close();
+        assertFalse(low.isUnderPressure());
+        assertFalse(high.isUnderPressure());
+    }
+
+    @Test
+    public void testPressureSlowsAdmission() throws Exception {
+        AtomicLong used = new AtomicLong(900);
+        HeapPressureMonitor monitor = new HeapPressureMonitor(0.8, List.of(createPool(used)));
+        TaskExecutor executor = new TaskExecutor(2, null, null);
+        try {
+            RegionAdmissionController controller = executor.execute(() -> new RegionAdmissionController(4, monitor), 0)
+                    .get(10, TimeUnit.SECONDS);
+
+            // Only a single region is admitted while under pressure
+            CompletableFuture<Void> first = controller.admit().future();
+            CompletableFuture<Void> second = controller.admit().future();
+            first.get(10, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            assertFalse(second.isDone());
+
+            // Once the pressure is gone the full window is used again
+            used.set(100);
+            CompletableFuture<Void> third = controller.admit().future();
+            controller.release();
+            CompletableFuture.allOf(second, third).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
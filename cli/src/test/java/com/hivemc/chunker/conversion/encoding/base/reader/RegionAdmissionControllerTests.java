@@ -0,0 +1,98 @@
+package com.hivemc.chunker.conversion.encoding.base.reader;
+
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure regions are admitted in order and only up to the limit.
+ */
+public class RegionAdmissionControllerTests {
+    private static RegionAdmissionController createController(TaskExecutor executor, int maxInFlight) throws Exception {
+        // The controller uses the executor of the thread creating it
+        return executor.execute(() -> new RegionAdmissionController(maxInFlight, null), 0).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testInFlightLimit() throws Exception {
+        TaskExecutor executor = new TaskExecutor(2, null, null);
+        try {
+            RegionAdmissionController controller = createController(executor, 2);
+            List<CompletableFuture<Void>> admissions = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                admissions.add(controller.admit().future());
+            }
+
+            // Only the first two are admitted until a region is released
+            CompletableFuture.allOf(admissions.get(0), admissions.get(1)).get(10, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            assertFalse(admissions.get(2).isDone());
+            assertFalse(admissions.get(3).isDone());
+
+            controller.release();
+            admissions.get(2).get(10, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            assertFalse(admissions.get(3).isDone());
+
+            controller.release();
+            admissions.get(3).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAdmittedInOrder() throws Exception {
+        TaskExecutor executor = new TaskExecutor(2, null, null);
+        try {
+            RegionAdmissionController controller = createController(executor, 1);
+            List<Integer> order = new ArrayList<>();
+            List<CompletableFuture<Void>> regions = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                int index = i;
+                regions.add(controller.admit().future()
+                        .thenRun(() -> {
+                            synchronized (order) {
+                                order.add(index);
+                            }
+                        })
+                        .whenComplete((ignored, throwable) -> controller.release()));
+            }
+
+            // With a single slot each region is only admitted after the previous was released
+            CompletableFuture.allOf(regions.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            assertEquals(List.of(0, 1, 2, 3, 4), order);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testReleaseAfterFailedRead() throws Exception {
+        TaskExecutor executor = new TaskExecutor(2, null, null);
+        try {
+            RegionAdmissionController controller = createController(executor, 1);
+
+            // A region which fails to read still releases the slot
+            CompletableFuture<Void> failed = controller.admit().future()
+                    .thenRun(() -> {
+                        throw new IllegalStateException("Failed to read region");
+                    })
+                    .whenComplete((ignored, throwable) -> controller.release());
+            CompletableFuture<Void> next = controller.admit().future();
+
+            next.get(10, TimeUnit.SECONDS);
+            assertTrue(failed.isCompletedExceptionally());
+            assertThrows(CompletionException.class, failed::join);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.hivemc.chunker.conversion.handlers;
+
+import com.hivemc.chunker.conversion.handlers.lighting.ColumnLightEngine;
+import com.hivemc.chunker.conversion.handlers.lighting.ColumnLightingConversionHandler;
+import com.hivemc.chunker.conversion.handlers.pretransform.Edge;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure light is calculated for columns missing it and crosses column borders.
+ */
+public class ColumnLightingConversionHandlerTests {
+    private static final ChunkerBlockIdentifier STONE = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE);
+    private static final ChunkerBlockIdentifier TORCH = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.TORCH);
+
+    private static ChunkerColumn createColumn(int x, int z) {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(x, z));
+
+        // Stone floor
+        for (int localX = 0; localX < 16; localX++) {
+            for (int localZ = 0; localZ < 16; localZ++) {
+                column.setBlock(localX, 63, localZ, STONE);
+            }
+        }
+        return column;
+    }
+
+    private static int getBlockLight(ChunkerColumn column, int x, int y, int z) {
+        ChunkerChunk chunk = column.getChunks().get((byte) (y >> 4));
+        return chunk.getBlockLight().get(x, y & 15, z);
+    }
+
+    private static int getSkyLight(ChunkerColumn column, int x, int y, int z) {
+        ChunkerChunk chunk = column.getChunks().get((byte) (y >> 4));
+        return chunk.getSkyLight().get(x, y & 15, z);
+    }
+
+    @Test
+    public void testBlockLightFalloff() {
+        ChunkerColumn column = createColumn(0, 0);
+        column.setBlock(8, 64, 8, TORCH);
+        new ColumnLightEngine(column, Map.of(), false).apply();
+
+        // Light decreases by one for each block away from the torch
+        assertEquals(14, getBlockLight(column, 8, 64, 8));
+        assertEquals(13, getBlockLight(column, 9, 64, 8));
+        assertEquals(10, getBlockLight(column, 8, 65, 11));
+        assertEquals(6, getBlockLight(column, 0, 64, 8));
+
+        // Stone blocks light and there is no sky light outside the overworld
+        assertEquals(0, getBlockLight(column, 8, 63, 8));
+        assertNull(column.getChunks().get((byte) 4).getSkyLight());
+        assertTrue(column.isLightPopulated());
+    }
+
+    @Test
+    public void testSkyLight() {
+        ChunkerColumn column = createColumn(0, 0);
+
+        // A roof over part of the column
+        for (int x = 0; x < 4; x++) {
+            for (int z = 0; z < 4; z++) {
+                column.setBlock(x, 70, z, STONE);
+            }
+        }
+        new ColumnLightEngine(column, Map.of(), true).apply();
+
+        // Open sky is full, under the roof it spreads from the edge
+        assertEquals(15, getSkyLight(column, 8, 64, 8));
+        assertEquals(15, getSkyLight(column, 8, 79, 8));
+        assertEquals(0, getSkyLight(column, 8, 62, 8));
+        assertEquals(14, getSkyLight(column, 3, 64, 3));
+        assertEquals(12, getSkyLight(column, 1, 64, 1));
+        assertEquals(0, getBlockLight(column, 8, 64, 8));
+    }
+
+    @Test
+    public void testTallerNeighbourShades() {
+        ChunkerColumn column = createColumn(0, 0);
+        ChunkerColumn neighbour = createColumn(1, 0);
+
+        // A room spanning both columns, the roof of the neighbour is above the top section of the column
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                column.setBlock(x, 70, z, STONE);
+                neighbour.setBlock(x, 100, z, STONE);
+            }
+        }
+        for (int y = 70; y < 100; y++) {
+            for (int z = 0; z < 16; z++) {
+                neighbour.setBlock(0, y, z, STONE);
+            }
+        }
+        new ColumnLightEngine(column, Map.of(Edge.POSITIVE_X, neighbour), true).apply();
+
+        // No sky light should reach into the room
+        assertEquals(0, getSkyLight(column, 15, 64, 8));
+        assertEquals(0, getSkyLight(column, 8, 69, 8));
+        assertEquals(15, getSkyLight(column, 15, 71, 8));
+
+        // Only the sections of the column are lit
+        assertEquals(4, column.getChunks().lastByteKey());
+    }
+
+    @Test
+    public void testCrossColumnLight() {
+        RecordingColumnHandler recording = new RecordingColumnHandler();
+        RegionCoordPair region = new RegionCoordPair(0, 0);
+        ColumnLightingConversionHandler handler = new ColumnLightingConversionHandler(
+                recording,
+                new ChunkerWorld(Dimension.THE_END, new HashSet<>(List.of(region)))
+        );
+
+        // A torch on the border of two columns
+        ChunkerColumn left = createColumn(0, 0);
+        left.setBlock(15, 64, 8, TORCH);
+        ChunkerColumn right = createColumn(1, 0);
+        right.setBlock(15, 79, 15, STONE);
+        handler.convertColumn(left);
+        handler.convertColumn(right);
+
+        // The columns are held until the rest of their neighbours are known
+        assertTrue(recording.getSubmitted().isEmpty());
+        handler.flushRegion(region);
+        assertEquals(Set.of(left.getPosition(), right.getPosition()), new HashSet<>(recording.getSubmitted()));
+        assertEquals(List.of(region), recording.getFlushed());
+        assertEquals(List.of(), recording.getFailures());
+
+        // Light from the torch should cross into the other column
+        assertEquals(14, getBlockLight(left, 15, 64, 8));
+        assertEquals(13, getBlockLight(right, 0, 64, 8));
+        assertEquals(0, getBlockLight(right, 15, 64, 0));
+        assertEquals(5, getBlockLight(right, 8, 64, 8));
+    }
+
+    @Test
+    public void testExistingLightKept() {
+        RecordingColumnHandler recording = new RecordingColumnHandler();
+        ColumnLightingConversionHandler handler = new ColumnLightingConversionHandler(
+                recording,
+                new ChunkerWorld(Dimension.THE_END, new HashSet<>())
+        );
+
+        // Columns which already have light aren't changed
+        ChunkerColumn lit = createColumn(0, 0);
+        new ColumnLightEngine(lit, Map.of(), false).apply();
+        lit.setBlock(0, 63, 0, TORCH);
+        handler.convertColumn(lit);
+        assertEquals(List.of(lit.getPosition()), recording.getSubmitted());
+        assertEquals(0, getBlockLight(lit, 0, 63, 0));
+
+        // Columns missing light are lit before being submitted
+        ChunkerColumn unlit = createColumn(0, 1);
+        unlit.setBlock(0, 64, 0, TORCH);
+        handler.convertColumn(unlit);
+        assertFalse(ColumnLightEngine.isMissingLight(unlit, false));
+        assertEquals(14, getBlockLight(unlit, 0, 64, 0));
+        handler.flushColumns();
+        assertEquals(List.of(lit.getPosition(), unlit.getPosition()), recording.getSubmitted());
+    }
+}
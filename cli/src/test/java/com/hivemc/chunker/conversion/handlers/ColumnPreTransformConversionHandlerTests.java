@@ -0,0 +1,180 @@
+package com.hivemc.chunker.conversion.handlers;
+
+import com.hivemc.chunker.conversion.handlers.pretransform.ColumnPreTransformConversionHandler;
+import com.hivemc.chunker.conversion.handlers.pretransform.Edge;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the pre-transform handler solves neighbouring columns when columns are submitted concurrently.
+ */
+public class ColumnPreTransformConversionHandlerTests {
+    private static final int REGIONS = 2;
+
+    private static boolean isPresent(int x, int z) {
+        return (x * 7 + z * 13) % 11 != 0;
+    }
+
+    private static Set<Edge> getRequiredEdges(int x, int z) {
+        Set<Edge> edges = EnumSet.noneOf(Edge.class);
+        if ((x + z) % 3 == 0) edges.add(Edge.POSITIVE_X);
+        if (x % 5 == 0) edges.add(Edge.NEGATIVE_Z);
+        if ((x * z) % 7 == 1) edges.add(Edge.NEGATIVE_X);
+        return edges;
+    }
+
+    @Test
+    public void testCrossRegionPair() {
+        RecordingColumnHandler recording = new RecordingColumnHandler();
+        RegionCoordPair first = new RegionCoordPair(0, 0);
+        RegionCoordPair second = new RegionCoordPair(1, 0);
+        ColumnPreTransformConversionHandler handler = new ColumnPreTransformConversionHandler(
+                recording,
+                new ChunkerWorld(Dimension.OVERWORLD, new HashSet<>(List.of(first, second)))
+        );
+
+        // Two columns on the region border which depend on each other
+        Map<ChunkCoordPair, Map<Edge, ChunkerColumn>> transformed = new ConcurrentHashMap<>();
+        ChunkerColumn left = createColumn(31, 0, EnumSet.of(Edge.POSITIVE_X), transformed);
+        ChunkerColumn right = createColumn(32, 0, EnumSet.of(Edge.NEGATIVE_X), transformed);
+        handler.convertColumn(left);
+        assertTrue(recording.getSubmitted().isEmpty());
+        handler.convertColumn(right);
+        assertTrue(recording.getSubmitted().isEmpty());
+
+        // Flushing the regions marks the other neighbours as empty
+        handler.flushRegion(first);
+        handler.flushRegion(second);
+        assertEquals(2, recording.getSubmitted().size());
+        assertSame(right, transformed.get(left.getPosition()).get(Edge.POSITIVE_X));
+        assertSame(left, transformed.get(right.getPosition()).get(Edge.NEGATIVE_X));
+        assertEquals(Set.of(first, second), new HashSet<>(recording.getFlushed()));
+    }
+
+    @Test
+    public void testUnflushedRegion() throws Exception {
+        RecordingColumnHandler recording = new RecordingColumnHandler();
+        RegionCoordPair first = new RegionCoordPair(0, 0);
+        RegionCoordPair second = new RegionCoordPair(1, 0);
+        ColumnPreTransformConversionHandler handler = new ColumnPreTransformConversionHandler(
+                recording,
+                new ChunkerWorld(Dimension.OVERWORLD, new HashSet<>(List.of(first, second)))
+        );
+
+        // A column waiting on a region which is never flushed (e.g. it failed to read)
+        Map<ChunkCoordPair, Map<Edge, ChunkerColumn>> transformed = new ConcurrentHashMap<>();
+        ChunkerColumn column = createColumn(31, 0, EnumSet.of(Edge.POSITIVE_X), transformed);
+        handler.convertColumn(column);
+        handler.flushRegion(first);
+        assertTrue(recording.getSubmitted().isEmpty());
+        assertTrue(recording.getFlushed().isEmpty());
+
+        // Flushing the columns submits it and flushes its region
+        Environment environment = Task.environment("Test", 1, null, null);
+        try (environment) {
+            handler.flushColumns();
+        }
+        environment.future().get(30, TimeUnit.SECONDS);
+        assertEquals(List.of(column.getPosition()), recording.getSubmitted());
+        assertEquals(List.of(first), recording.getFlushed());
+    }
+
+    @Test
+    public void testConcurrentRegions() throws InterruptedException {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            RecordingColumnHandler recording = new RecordingColumnHandler();
+            Set<RegionCoordPair> regions = new HashSet<>();
+            for (int regionX = 0; regionX < REGIONS; regionX++) {
+                for (int regionZ = 0; regionZ < REGIONS; regionZ++) {
+                    regions.add(new RegionCoordPair(regionX, regionZ));
+                }
+            }
+            ColumnPreTransformConversionHandler handler = new ColumnPreTransformConversionHandler(
+                    recording,
+                    new ChunkerWorld(Dimension.OVERWORLD, new HashSet<>(regions))
+            );
+
+            // Each region is read on its own thread in a random order
+            Map<ChunkCoordPair, Map<Edge, ChunkerColumn>> transformed = new ConcurrentHashMap<>();
+            Map<ChunkCoordPair, ChunkerColumn> columns = new ConcurrentHashMap<>();
+            List<Throwable> failures = new CopyOnWriteArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            for (RegionCoordPair region : regions) {
+                List<ChunkerColumn> regionColumns = new ArrayList<>();
+                for (int localX = 0; localX < 32; localX++) {
+                    for (int localZ = 0; localZ < 32; localZ++) {
+                        ChunkCoordPair position = region.getChunk(localX, localZ);
+                        if (!isPresent(position.chunkX(), position.chunkZ())) continue;
+
+                        ChunkerColumn column = createColumn(
+                                position.chunkX(),
+                                position.chunkZ(),
+                                getRequiredEdges(position.chunkX(), position.chunkZ()),
+                                transformed
+                        );
+                        columns.put(position, column);
+                        regionColumns.add(column);
+                    }
+                }
+                Collections.shuffle(regionColumns, new Random(attempt));
+                threads.add(new Thread(() -> {
+                    try {
+                        for (ChunkerColumn column : regionColumns) {
+                            handler.convertColumn(column);
+                        }
+                        handler.flushRegion(region);
+                    } catch (Throwable throwable) {
+                        failures.add(throwable);
+                    }
+                }));
+            }
+            for (Thread thread : threads) thread.start();
+            for (Thread thread : threads) thread.join();
+            assertEquals(List.of(), failures);
+            assertEquals(List.of(), recording.getFailures());
+
+            // Every column should be submitted once and every region flushed once
+            assertEquals(columns.keySet(), new HashSet<>(recording.getSubmitted()));
+            assertEquals(columns.size(), recording.getSubmitted().size());
+            assertEquals(regions, new HashSet<>(recording.getFlushed()));
+            assertEquals(regions.size(), recording.getFlushed().size());
+
+            // Every required neighbour which is present should have been provided
+            for (ChunkerColumn column : columns.values()) {
+                Set<Edge> required = column.getRequiredPreTransformEdges();
+                if (required.stream().noneMatch(edge -> columns.containsKey(edge.getRelative(column.getPosition())))) {
+                    continue; // Columns without any present neighbours may be submitted without transforming
+                }
+
+                Map<Edge, ChunkerColumn> neighbours = transformed.get(column.getPosition());
+                assertNotNull(neighbours, "Column was not transformed " + column.getPosition());
+                for (Edge edge : required) {
+                    assertSame(columns.get(edge.getRelative(column.getPosition())), neighbours.get(edge));
+                }
+            }
+        }
+    }
+
+    private static ChunkerColumn createColumn(int x, int z, Set<Edge> edges, Map<ChunkCoordPair, Map<Edge, ChunkerColumn>> transformed) {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(x, z));
+        if (!edges.isEmpty()) {
+            column.addPreTransformHandler(edges, (neighbours) -> {
+                assertNull(transformed.put(column.getPosition(), new HashMap<>(neighbours)));
+            });
+        }
+        return column;
+    }
+}
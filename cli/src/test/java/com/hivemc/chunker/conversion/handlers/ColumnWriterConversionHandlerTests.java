@@ -0,0 +1,89 @@
+package com.hivemc.chunker.conversion.handlers;
+
+import com.hivemc.chunker.conversion.encoding.base.writer.ColumnWriter;
+import com.hivemc.chunker.conversion.handlers.writer.ColumnWriterConversionHandler;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskWeight;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests to ensure regions are only flushed to the writer after their columns were written.
+ */
+public class ColumnWriterConversionHandlerTests {
+    @Test
+    public void testFlushWaitsForColumns() throws Exception {
+        RegionCoordPair region = new RegionCoordPair(0, 0);
+        RegionCoordPair otherRegion = new RegionCoordPair(1, 0);
+        SlowWriter writer = new SlowWriter();
+        Environment environment = Task.environment("Test", 4, null, null);
+        try (environment) {
+            ColumnWriterConversionHandler handler = new ColumnWriterConversionHandler(writer);
+
+            // The flush is requested straight after the columns, like pre-transform releasing a region
+            for (int i = 0; i < 8; i++) {
+                handler.convertColumn(new ChunkerColumn(new ChunkCoordPair(i, 0)));
+            }
+            handler.flushRegion(region);
+            handler.convertColumn(new ChunkerColumn(new ChunkCoordPair(32, 0)));
+            handler.flushColumns();
+        }
+        environment.future().get(30, TimeUnit.SECONDS);
+
+        assertEquals(List.of(region), writer.flushed);
+        assertEquals(9, writer.written.size());
+        assertEquals(List.of(), writer.failures);
+        assertEquals(1, writer.flushedColumns);
+        assertEquals(Set.of(region, otherRegion), Set.copyOf(writer.written.stream().map(ChunkCoordPair::getRegion).toList()));
+    }
+
+    /**
+     * A writer which finishes writing columns in a child task some time later, recording any flush which happens
+     * before the columns were written.
+     */
+    private static class SlowWriter implements ColumnWriter {
+        private final Set<ChunkCoordPair> written = ConcurrentHashMap.newKeySet();
+        private final List<RegionCoordPair> flushed = new CopyOnWriteArrayList<>();
+        private final List<String> failures = new CopyOnWriteArrayList<>();
+        private volatile int flushedColumns;
+
+        @Override
+        public void writeColumn(ChunkerColumn chunkerColumn) {
+            Task.async("Slow write", TaskWeight.NORMAL, () -> {
+                Thread.sleep(20);
+                if (flushed.contains(chunkerColumn.getPosition().getRegion())) {
+                    failures.add("Column written after region was flushed " + chunkerColumn.getPosition());
+                }
+                written.add(chunkerColumn.getPosition());
+            });
+        }
+
+        @Override
+        public void flushRegion(RegionCoordPair regionCoordPair) {
+            long columns = written.stream().filter(position -> position.getRegion().equals(regionCoordPair)).count();
+            if (columns != 8) {
+                failures.add("Region flushed before its columns were written " + regionCoordPair);
+            }
+            flushed.add(regionCoordPair);
+        }
+
+        @Override
+        public void flushColumns() {
+            if (written.size() != 9) {
+                failures.add("Columns flushed before every column was written");
+            }
+            flushedColumns++;
+        }
+    }
+}
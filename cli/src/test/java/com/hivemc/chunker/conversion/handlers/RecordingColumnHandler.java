@@ -0,0 +1,63 @@
+package com.hivemc.chunker.conversion.handlers;
+
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A handler which records the submitted columns and checks regions are flushed after their columns.
+ */
+public class RecordingColumnHandler implements ColumnConversionHandler {
+    private final List<ChunkCoordPair> submitted = new CopyOnWriteArrayList<>();
+    private final List<RegionCoordPair> flushed = new CopyOnWriteArrayList<>();
+    private final List<String> failures = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void convertColumn(ChunkerColumn column) {
+        RegionCoordPair region = column.getPosition().getRegion();
+        if (flushed.contains(region)) {
+            failures.add("Column submitted after region was flushed " + column.getPosition());
+        }
+        submitted.add(column.getPosition());
+    }
+
+    @Override
+    public void flushRegion(RegionCoordPair regionCoordPair) {
+        flushed.add(regionCoordPair);
+    }
+
+    @Override
+    public void flushColumns() {
+        // Not used
+    }
+
+    /**
+     * Get the positions of the columns submitted, in the order they were submitted.
+     *
+     * @return the list of positions.
+     */
+    public List<ChunkCoordPair> getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * Get the regions which were flushed, in the order they were flushed.
+     *
+     * @return the list of regions.
+     */
+    public List<RegionCoordPair> getFlushed() {
+        return flushed;
+    }
+
+    /**
+     * Get the columns which were submitted after their region was flushed.
+     *
+     * @return the list of failure messages.
+     */
+    public List<String> getFailures() {
+        return failures;
+    }
+}
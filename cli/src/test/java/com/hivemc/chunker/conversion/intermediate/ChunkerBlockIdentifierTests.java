@@ -0,0 +1,41 @@
+package com.hivemc.chunker.conversion.intermediate;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.VanillaBlockStates;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.Bool;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the functionality of ChunkerBlockIdentifier.
+ */
+public class ChunkerBlockIdentifierTests {
+    @Test
+    public void testIntern() {
+        ChunkerBlockIdentifier first = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_FENCE, Map.of(VanillaBlockStates.WATERLOGGED, Bool.TRUE));
+        ChunkerBlockIdentifier second = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_FENCE, new HashMap<>(Map.of(VanillaBlockStates.WATERLOGGED, Bool.TRUE)));
+
+        // Equal identifiers should intern to the same instance
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertSame(first.intern(), second.intern());
+        assertSame(ChunkerBlockIdentifier.AIR, new ChunkerBlockIdentifier(ChunkerVanillaBlockType.AIR).intern());
+    }
+
+    @Test
+    public void testCopy() {
+        ChunkerBlockIdentifier identifier = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_FENCE).intern();
+        ChunkerBlockIdentifier waterlogged = identifier.copyWith(VanillaBlockStates.WATERLOGGED, Bool.TRUE);
+
+        // Copies are canonical
+        assertNotEquals(identifier, waterlogged);
+        assertSame(waterlogged, identifier.copyWith(VanillaBlockStates.WATERLOGGED, Bool.TRUE));
+        assertSame(identifier, waterlogged.copyWithout(VanillaBlockStates.WATERLOGGED));
+    }
+}
@@ -0,0 +1,80 @@
+package com.hivemc.chunker.conversion.intermediate;
+
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.blockentity.BellBlockEntity;
+import com.hivemc.chunker.conversion.intermediate.column.blockentity.BlockEntity;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the block entity lookup of a column stays in sync with the list.
+ */
+public class ChunkerColumnTests {
+    private static BlockEntity createBlockEntity(int x, int y, int z) {
+        BlockEntity blockEntity = new BellBlockEntity();
+        blockEntity.setX(x);
+        blockEntity.setY(y);
+        blockEntity.setZ(z);
+        return blockEntity;
+    }
+
+    @Test
+    public void testGetBlockEntity() {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(2, -1));
+        BlockEntity first = createBlockEntity(33, -64, -15);
+        BlockEntity second = createBlockEntity(34, 100, -16);
+        column.getBlockEntities().add(first);
+        column.getBlockEntities().add(second);
+
+        // Both local and global co-ordinates should work
+        assertSame(first, column.getBlockEntity(1, -64, 1));
+        assertSame(first, column.getBlockEntity(33, -64, -15));
+        assertSame(second, column.getBlockEntity(2, 100, 0));
+        assertNull(column.getBlockEntity(1, 64, 1));
+        assertNull(column.getBlockEntity(2, 100, 1));
+    }
+
+    @Test
+    public void testBlockEntityMutations() {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(0, 0));
+        BlockEntity first = createBlockEntity(1, 2, 3);
+        BlockEntity duplicate = createBlockEntity(1, 2, 3);
+        column.getBlockEntities().add(first);
+        column.getBlockEntities().add(duplicate);
+        assertSame(first, column.getBlockEntity(1, 2, 3));
+
+        // Appending after the index was built should be visible
+        BlockEntity appended = createBlockEntity(4, 5, 6);
+        column.getBlockEntities().add(appended);
+        assertSame(appended, column.getBlockEntity(4, 5, 6));
+
+        // Replacing should update the index
+        BlockEntity replacement = createBlockEntity(1, 2, 3);
+        column.getBlockEntities().set(0, replacement);
+        assertSame(replacement, column.getBlockEntity(1, 2, 3));
+
+        // Removing the first match should reveal the duplicate
+        column.getBlockEntities().remove(replacement);
+        assertSame(duplicate, column.getBlockEntity(1, 2, 3));
+
+        // Replacing with a different position should move it
+        BlockEntity moved = createBlockEntity(7, 8, 9);
+        column.getBlockEntities().set(0, moved);
+        assertNull(column.getBlockEntity(1, 2, 3));
+        assertSame(moved, column.getBlockEntity(7, 8, 9));
+
+        // Inserting at the start should take priority
+        BlockEntity inserted = createBlockEntity(4, 5, 6);
+        column.getBlockEntities().add(0, inserted);
+        assertSame(inserted, column.getBlockEntity(4, 5, 6));
+
+        // Bulk removal should be reflected
+        column.getBlockEntities().removeIf(blockEntity -> blockEntity.getY() == 5);
+        assertNull(column.getBlockEntity(4, 5, 6));
+        assertSame(moved, column.getBlockEntity(7, 8, 9));
+        column.getBlockEntities().clear();
+        assertNull(column.getBlockEntity(7, 8, 9));
+    }
+}
@@ -0,0 +1,47 @@
+package com.hivemc.chunker.conversion.intermediate;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerLight;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the functionality of ChunkerLight.
+ */
+public class ChunkerLightTests {
+    @Test
+    public void testUniform() {
+        byte[] nibbles = new byte[ChunkerLight.NIBBLE_ARRAY_LENGTH];
+        Arrays.fill(nibbles, (byte) 0xFF);
+
+        // Full light should use the shared instance
+        ChunkerLight light = ChunkerLight.fromNibbleArray(nibbles);
+        assertTrue(light.isUniform());
+        assertSame(ChunkerLight.uniform(15), light);
+        assertEquals(15, light.get(3, 7, 11));
+        assertArrayEquals(nibbles, light.toNibbleArray());
+    }
+
+    @Test
+    public void testNibbles() {
+        byte[] nibbles = new byte[ChunkerLight.NIBBLE_ARRAY_LENGTH];
+        Arrays.fill(nibbles, (byte) 0x22);
+
+        // Set x=0 (low bits) and x=1 (high bits) of y=2, z=3
+        nibbles[(2 << 8 | 3 << 4) >> 1] = (byte) 0x5A;
+        ChunkerLight light = ChunkerLight.fromNibbleArray(nibbles);
+        assertFalse(light.isUniform());
+        assertEquals(10, light.get(0, 2, 3));
+        assertEquals(5, light.get(1, 2, 3));
+        assertEquals(2, light.get(2, 2, 3));
+        assertSame(nibbles, light.toNibbleArray());
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> ChunkerLight.fromNibbleArray(new byte[10]));
+        assertThrows(IllegalArgumentException.class, () -> ChunkerLight.uniform(16));
+    }
+}
@@ -0,0 +1,73 @@
+package com.hivemc.chunker.conversion.intermediate;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.level.ChunkerPortal;
+import com.hivemc.chunker.conversion.intermediate.level.ChunkerPortalIndex;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.util.BlockPosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure portal blocks are grouped and portals are found by column.
+ */
+public class ChunkerPortalIndexTests {
+    private static List<BlockPosition> createPortal(int x, int y, int z, int width, int height) {
+        List<BlockPosition> blocks = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                blocks.add(new BlockPosition(x + i, y + j, z));
+            }
+        }
+        return blocks;
+    }
+
+    @Test
+    public void testGroupSeparatePortals() {
+        List<BlockPosition> first = createPortal(0, 64, 0, 2, 3);
+        List<BlockPosition> second = createPortal(100, 70, -50, 3, 3);
+        List<BlockPosition> blocks = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            if (i < first.size()) blocks.add(first.get(i));
+            blocks.add(second.get(i));
+        }
+
+        List<List<BlockPosition>> groups = ChunkerPortalIndex.groupAdjacentBlocks(blocks);
+        assertEquals(2, groups.size());
+        assertEquals(first.size(), groups.get(0).size());
+        assertTrue(groups.get(0).containsAll(first));
+        assertEquals(second.size(), groups.get(1).size());
+        assertTrue(groups.get(1).containsAll(second));
+    }
+
+    @Test
+    public void testGroupMergesBridgedBlocks() {
+        // The last block joins the two earlier groups
+        List<BlockPosition> blocks = List.of(
+                new BlockPosition(0, 64, 0),
+                new BlockPosition(4, 64, 0),
+                new BlockPosition(2, 64, 0)
+        );
+        List<List<BlockPosition>> groups = ChunkerPortalIndex.groupAdjacentBlocks(blocks);
+        assertEquals(List.of(blocks), groups);
+    }
+
+    @Test
+    public void testPortalsByColumn() {
+        ChunkerPortal spanning = new ChunkerPortal(Dimension.OVERWORLD, 14, 64, 3, (byte) 4, (byte) 1, (byte) 0);
+        ChunkerPortal inside = new ChunkerPortal(Dimension.OVERWORLD, -3, 64, -20, (byte) 2, (byte) 0, (byte) 1);
+        ChunkerPortal nether = new ChunkerPortal(Dimension.NETHER, 14, 64, 3, (byte) 2, (byte) 1, (byte) 0);
+        ChunkerPortalIndex index = new ChunkerPortalIndex(List.of(spanning, inside, nether), Dimension.OVERWORLD);
+
+        assertEquals(List.of(spanning), index.getPortals(new ChunkCoordPair(0, 0)));
+        assertEquals(List.of(spanning), index.getPortals(new ChunkCoordPair(1, 0)));
+        assertEquals(List.of(inside), index.getPortals(new ChunkCoordPair(-1, -2)));
+        assertEquals(List.of(), index.getPortals(new ChunkCoordPair(2, 0)));
+        assertFalse(index.isEmpty());
+        assertTrue(new ChunkerPortalIndex(List.of(nether), Dimension.OVERWORLD).isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package com.hivemc.chunker.conversion.intermediate;
+
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerLight;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.ColumnSurface;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.SurfaceType;
+import it.unimi.dsi.fastutil.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the single pass column surface matches checking each position separately.
+ */
+public class ColumnSurfaceTests {
+    private static final ChunkerBlockIdentifier[] BLOCKS = new ChunkerBlockIdentifier[]{
+            ChunkerBlockIdentifier.AIR,
+            new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE),
+            new ChunkerBlockIdentifier(ChunkerVanillaBlockType.GLASS),
+            new ChunkerBlockIdentifier(ChunkerVanillaBlockType.PRISMARINE_SLAB)
+    };
+
+    private static ChunkerColumn createColumn(long seed) {
+        Random random = new Random(seed);
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(0, 0));
+        for (int i = 0; i < 2000; i++) {
+            // Bias blocks towards air so that some positions have no surface
+            ChunkerBlockIdentifier block = random.nextInt(3) == 0 ? BLOCKS[1 + random.nextInt(3)] : ChunkerBlockIdentifier.AIR;
+            column.setBlock(random.nextInt(16), random.nextInt(64) - 16, random.nextInt(16), block);
+        }
+
+        // Only give some chunks light
+        for (ChunkerChunk chunk : column.getChunks().values()) {
+            if (random.nextBoolean()) {
+                byte[] nibbles = new byte[2048];
+                for (int i = 0; i < nibbles.length; i++) {
+                    nibbles[i] = random.nextInt(4) == 0 ? (byte) random.nextInt(256) : 0;
+                }
+                chunk.setSkyLight(ChunkerLight.fromNibbleArray(nibbles));
+            }
+        }
+        return column;
+    }
+
+    private static int getHighestLitOrSlab(ChunkerColumn column, int x, int z) {
+        for (int y = 63; y >= -16; y--) {
+            ChunkerBlockIdentifier block = column.getBlock(x, y, z);
+            if (block.isAir()) continue;
+            if (block.getType() == ChunkerVanillaBlockType.PRISMARINE_SLAB) return y;
+
+            ChunkerLight skyLight = column.getChunks().get((byte) (y >> 4)).getSkyLight();
+            if (skyLight != null && skyLight.get(x, y & 15, z) != 0) return y;
+        }
+        return -1;
+    }
+
+    @Test
+    public void testRGBColorSurface() {
+        for (long seed = 0; seed < 10; seed++) {
+            ChunkerColumn column = createColumn(seed);
+            ColumnSurface surface = ColumnSurface.create(column, SurfaceType.RGB_COLOR);
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    Pair<Integer, ChunkerBlockIdentifier> expected = column.getHighestBlock(x, z, ChunkerBlockIdentifier::hasRGBColor);
+                    if (expected == null) {
+                        assertFalse(surface.isPresent(x, z));
+                        assertNull(surface.getBlock(x, z));
+                    } else {
+                        assertEquals(expected.left(), surface.getY(x, z, Integer.MIN_VALUE));
+                        assertEquals(expected.right(), surface.getBlock(x, z));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLitOrSlabSurface() {
+        for (long seed = 0; seed < 10; seed++) {
+            ChunkerColumn column = createColumn(seed);
+            short[][] heightMap = column.getSurface(SurfaceType.LIT_OR_SLAB).createHeightMap();
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    assertEquals(getHighestLitOrSlab(column, x, z) + 1, heightMap[x][z]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSurfaceInvalidated() {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(0, 0));
+        assertFalse(column.getSurface(SurfaceType.RGB_COLOR).isPresent(0, 0));
+
+        // The cached surface should be reused until the blocks change
+        ColumnSurface surface = column.getSurface(SurfaceType.RGB_COLOR);
+        assertSame(surface, column.getSurface(SurfaceType.RGB_COLOR));
+        column.setBlock(0, 10, 0, BLOCKS[1]);
+        assertEquals(10, column.getSurface(SurfaceType.RGB_COLOR).getY(0, 0, -1));
+    }
+}
@@ -0,0 +1,113 @@
+package com.hivemc.chunker.conversion.intermediate;
+
+import com.hivemc.chunker.conversion.encoding.java.util.PaletteUtil;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.ShortBasedPalette;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.SingleValuePalette;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the functionality of palettes.
+ */
+public class PaletteTests {
+    @Test
+    public void testGetOrCreateKey() {
+        ShortBasedPalette<String> palette = new ShortBasedPalette<>(2, 16);
+        assertEquals(0, palette.getOrCreateKey("a"));
+        assertEquals(1, palette.getOrCreateKey("b"));
+
+        // Equal keys which aren't the same instance should use the same index
+        assertEquals(0, palette.getOrCreateKey(new String("a")));
+        assertEquals(1, palette.getOrCreateKey("b"));
+        assertEquals(2, palette.getKeyCount());
+    }
+
+    @Test
+    public void testGetOrCreateKeyExistingKeys() {
+        List<String> keys = new ArrayList<>(List.of("a", "b", "a"));
+        ShortBasedPalette<String> palette = new ShortBasedPalette<>(keys, new short[4096]);
+
+        // Duplicate keys should resolve to the first index
+        assertEquals(0, palette.getOrCreateKey("a"));
+        assertEquals(1, palette.getOrCreateKey("b"));
+        assertEquals(3, palette.getOrCreateKey("c"));
+    }
+
+    @Test
+    public void testSetAndCompact() {
+        ShortBasedPalette<String> palette = new ShortBasedPalette<>(2, 16);
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    palette.set(x, y, z, y < 8 ? "stone" : "air");
+                }
+            }
+        }
+        palette.set(0, 0, 0, "unused");
+        palette.set(0, 0, 0, "stone");
+
+        // Compacting should remove the unused key and keep the palette usable
+        Palette<String> compacted = palette.compact("air");
+        assertSame(palette, compacted);
+        assertEquals(2, compacted.getKeyCount());
+        assertEquals("stone", compacted.get(0, 0, 0));
+        assertEquals("air", compacted.get(15, 15, 15));
+        assertFalse(compacted.containsKey("unused"));
+
+        // New keys after compaction should be appended
+        palette.set(1, 1, 1, "dirt");
+        assertEquals(2, palette.getOrCreateKey("dirt"));
+        assertEquals("dirt", palette.get(1, 1, 1));
+    }
+
+    @Test
+    public void testCompactSingleValue() {
+        ShortBasedPalette<String> palette = new ShortBasedPalette<>(2, 16);
+        palette.set(0, 0, 0, "stone");
+        palette.set(0, 0, 0, "dirt");
+        palette.set(0, 0, 0, "stone");
+
+        // Every value now points to stone
+        Palette<String> compacted = palette.compact("air");
+        assertInstanceOf(SingleValuePalette.class, compacted);
+        assertEquals("stone", compacted.get(15, 15, 15));
+    }
+
+    @Test
+    public void testIndexOrder() {
+        ShortBasedPalette<String> palette = new ShortBasedPalette<>(2, 16);
+        palette.set(1, 2, 3, "stone");
+
+        // Values are stored in XZY order
+        assertEquals(1 << 8 | 3 << 4 | 2, palette.getIndex(1, 2, 3));
+        assertEquals(0, palette.getValues()[palette.getIndex(1, 2, 3)]);
+        assertEquals(0, palette.getKeyIndex(1, 2, 3));
+        assertEquals(16, palette.getDimensionSize());
+        assertEquals(4, new ShortBasedPalette<>(1, 4).getDimensionSize());
+        assertThrows(IllegalArgumentException.class, () -> new ShortBasedPalette<>(new ArrayList<>(), new short[100]));
+    }
+
+    @Test
+    public void testJavaPaletteValues() {
+        ShortBasedPalette<Integer> palette = new ShortBasedPalette<>(40, 16);
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    palette.set(x, y, z, (x * 7 + y * 3 + z) % 40);
+                }
+            }
+        }
+
+        // Both formats should decode back to the same values
+        int keyCount = palette.getKeyCount();
+        long[] encoded1_13 = PaletteUtil.writePaletteValues1_13(PaletteUtil.MINIMUM_BITS_PER_ENTRY_BLOCKS, 16, keyCount, palette.getValues());
+        long[] encoded1_16 = PaletteUtil.writePaletteValues1_16(PaletteUtil.MINIMUM_BITS_PER_ENTRY_BLOCKS, 16, keyCount, palette.getValues());
+        assertArrayEquals(palette.getValues(), PaletteUtil.readPaletteValues1_13(6, 16, encoded1_13));
+        assertArrayEquals(palette.getValues(), PaletteUtil.readPaletteValues1_16(6, 16, encoded1_16));
+    }
+}
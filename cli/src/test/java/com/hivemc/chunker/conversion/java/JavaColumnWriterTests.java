@@ -0,0 +1,113 @@
+package com.hivemc.chunker.conversion.java;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.base.Converter;
+import com.hivemc.chunker.conversion.encoding.java.JavaDataVersion;
+import com.hivemc.chunker.conversion.encoding.java.JavaEncoders;
+import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.JavaColumnWriter;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.JavaWorldWriter;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskWeight;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure columns are marked with whether their light has been calculated using the tag for the version.
+ */
+public class JavaColumnWriterTests {
+    private static final File OUTPUT = new File("unused");
+    private static final ChunkCoordPair POSITION = new ChunkCoordPair(3, -7);
+
+    /**
+     * Write a column and return the NBT of the column.
+     *
+     * @param version        the version to write.
+     * @param factory        the constructor of the column writer for the version.
+     * @param lightPopulated whether the light of the column has been calculated.
+     * @return the column NBT (inside the Level tag for versions which use it).
+     */
+    private static CompoundTag writeColumn(JavaDataVersion version, ColumnWriterFactory factory, boolean lightPopulated) throws Exception {
+        MockConverter converter = new MockConverter(null);
+        JavaResolvers resolvers = JavaEncoders.getNearestEncoder(version)
+                .writerConstructor()
+                .construct(OUTPUT, version.getVersion(), converter)
+                .buildResolvers(converter)
+                .build();
+
+        // Record the NBT rather than writing it to disk
+        List<CompoundTag> written = new CopyOnWriteArrayList<>();
+        JavaWorldWriter parent = new JavaWorldWriter(OUTPUT, converter, resolvers) {
+            @Override
+            public void writeMCAData(Dimension dimension, ChunkCoordPair chunkCoordPair, CompoundTag chunkData) {
+                written.add(chunkData);
+            }
+
+            @Override
+            public void writePOIData(Dimension dimension, ChunkCoordPair chunkCoordPair, CompoundTag chunkData) {
+                // Not used
+            }
+        };
+        JavaColumnWriter writer = factory.create(parent, converter, resolvers, Dimension.OVERWORLD);
+
+        ChunkerColumn column = new ChunkerColumn(POSITION);
+        column.setLightPopulated(lightPopulated);
+        Environment environment = Task.environment("Test", 2, null, null);
+        try (environment) {
+            Task.asyncConsume("Writing Column", TaskWeight.NORMAL, writer::writeColumn, column);
+        }
+        environment.future().get(30, TimeUnit.SECONDS);
+
+        assertEquals(1, written.size());
+        CompoundTag root = written.get(0);
+        return root.contains("Level") ? root.getCompound("Level") : root;
+    }
+
+    @Test
+    public void testLegacyLightPopulated() throws Exception {
+        CompoundTag lit = writeColumn(JavaDataVersion.V1_13, com.hivemc.chunker.conversion.encoding.java.v1_13.writer.ColumnWriter::new, true);
+        assertEquals((byte) 1, lit.getByte("LightPopulated"));
+        assertFalse(lit.contains("isLightOn"));
+
+        CompoundTag unlit = writeColumn(JavaDataVersion.V1_13, com.hivemc.chunker.conversion.encoding.java.v1_13.writer.ColumnWriter::new, false);
+        assertEquals((byte) 0, unlit.getByte("LightPopulated"));
+        assertFalse(unlit.contains("isLightOn"));
+    }
+
+    @Test
+    public void testLightOn() throws Exception {
+        CompoundTag lit = writeColumn(JavaDataVersion.V1_14, com.hivemc.chunker.conversion.encoding.java.v1_14.writer.ColumnWriter::new, true);
+        assertEquals((byte) 1, lit.getByte("isLightOn"));
+
+        // Columns without light are left for the game to light
+        CompoundTag unlit = writeColumn(JavaDataVersion.V1_14, com.hivemc.chunker.conversion.encoding.java.v1_14.writer.ColumnWriter::new, false);
+        assertFalse(unlit.contains("isLightOn"));
+    }
+
+    @Test
+    public void testLightOnWithoutLevel() throws Exception {
+        // 1.18 writes the column tags at the root
+        CompoundTag lit = writeColumn(JavaDataVersion.V1_18, com.hivemc.chunker.conversion.encoding.java.v1_18.writer.ColumnWriter::new, true);
+        assertFalse(lit.contains("Level"));
+        assertEquals((byte) 1, lit.getByte("isLightOn"));
+    }
+
+    /**
+     * The constructor of a column writer.
+     */
+    @FunctionalInterface
+    private interface ColumnWriterFactory {
+        JavaColumnWriter create(JavaWorldWriter parent, Converter converter, JavaResolvers resolvers, Dimension dimension);
+    }
+}
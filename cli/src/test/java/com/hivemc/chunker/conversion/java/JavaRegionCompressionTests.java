@@ -0,0 +1,76 @@
+package com.hivemc.chunker.conversion.java;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.JavaWorldWriter;
+import com.hivemc.chunker.conversion.encoding.java.base.writer.util.RegionCompression;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests to ensure region compression falls back to zlib for versions which can't read it.
+ */
+public class JavaRegionCompressionTests {
+    private static final File OUTPUT = new File("unused");
+
+    /**
+     * Create a converter which records warnings.
+     *
+     * @param compression the requested compression.
+     * @param warnings    the list to add warnings to.
+     * @return the converter.
+     */
+    private static MockConverter createConverter(String compression, List<String> warnings) {
+        MockConverter converter = new MockConverter(null) {
+            @Override
+            public void logWarning(String message) {
+                warnings.add(message);
+            }
+        };
+        converter.setRegionCompression(RegionCompression.parse(compression));
+        return converter;
+    }
+
+    @Test
+    public void testUncompressedBefore115() {
+        List<String> warnings = new CopyOnWriteArrayList<>();
+        JavaWorldWriter writer = new com.hivemc.chunker.conversion.encoding.java.v1_14.writer.WorldWriter(OUTPUT, createConverter("none", warnings), null);
+
+        // Uncompressed columns can't be read before 1.15, the warning is only logged once
+        assertEquals(RegionCompression.DEFAULT, writer.getRegionCompression());
+        assertEquals(RegionCompression.DEFAULT, writer.getRegionCompression());
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    public void testUncompressedFrom115() {
+        List<String> warnings = new CopyOnWriteArrayList<>();
+        JavaWorldWriter writer = new com.hivemc.chunker.conversion.encoding.java.v1_15.writer.WorldWriter(OUTPUT, createConverter("none", warnings), null);
+        assertEquals(RegionCompression.Type.UNCOMPRESSED, writer.getRegionCompression().type());
+        assertEquals(List.of(), warnings);
+    }
+
+    @Test
+    public void testLZ4() {
+        List<String> warnings = new CopyOnWriteArrayList<>();
+        JavaWorldWriter before = new com.hivemc.chunker.conversion.encoding.java.v1_20_3.writer.WorldWriter(OUTPUT, createConverter("lz4", warnings), null);
+        assertEquals(RegionCompression.DEFAULT, before.getRegionCompression());
+        assertEquals(1, warnings.size());
+
+        JavaWorldWriter after = new com.hivemc.chunker.conversion.encoding.java.v1_20_5.writer.WorldWriter(OUTPUT, createConverter("lz4", warnings), null);
+        assertEquals(RegionCompression.Type.LZ4, after.getRegionCompression().type());
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    public void testZLibLevelKept() {
+        List<String> warnings = new CopyOnWriteArrayList<>();
+        JavaWorldWriter writer = new com.hivemc.chunker.conversion.encoding.java.v1_13.writer.WorldWriter(OUTPUT, createConverter("zlib:9", warnings), null);
+        assertEquals(new RegionCompression(RegionCompression.Type.ZLIB, 9), writer.getRegionCompression());
+        assertEquals(List.of(), warnings);
+    }
+}
@@ -0,0 +1,174 @@
+package com.hivemc.chunker.conversion.java;
+
+import com.hivemc.chunker.conversion.encoding.java.base.writer.util.MCAWriter;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the MCA writer lays out the header and sectors correctly, including appending after a flush.
+ */
+public class MCAWriterTests {
+    private static final RegionCoordPair REGION = new RegionCoordPair(0, 0);
+
+    private static byte[] createData(int length, int seed) {
+        byte[] data = new byte[length];
+        Arrays.fill(data, (byte) seed);
+        return data;
+    }
+
+    private static int getIndex(ChunkCoordPair chunkCoordPair) {
+        return (chunkCoordPair.chunkX() & 31) + ((chunkCoordPair.chunkZ() & 31) << 5);
+    }
+
+    /**
+     * Read a column from the bytes of a region file, checking the header matches the payload.
+     *
+     * @param file           the bytes of the file.
+     * @param chunkCoordPair the column to read.
+     * @return the data of the column.
+     */
+    private static byte[] readColumn(ByteBuffer file, ChunkCoordPair chunkCoordPair) {
+        int location = file.getInt(getIndex(chunkCoordPair) << 2);
+        int sector = location >>> 8;
+        int sectorCount = location & 0xFF;
+        assertTrue(sector >= 2, "Column is inside the header");
+        assertTrue((long) (sector + sectorCount) * MCAWriter.SECTOR_SIZE <= file.capacity(), "Column is outside of the file");
+        assertNotEquals(0, file.getInt(MCAWriter.SECTOR_SIZE + (getIndex(chunkCoordPair) << 2)), "Timestamp is missing");
+
+        int position = sector * MCAWriter.SECTOR_SIZE;
+        int length = file.getInt(position) - 1;
+        assertEquals(2, file.get(position + 4));
+        assertEquals(sectorCount, (length + 5 + MCAWriter.SECTOR_SIZE - 1) / MCAWriter.SECTOR_SIZE);
+
+        byte[] data = new byte[length];
+        file.get(position + 5, data);
+        return data;
+    }
+
+    private static void deleteFolder(File folder) {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    @Test
+    public void testHeaderLayout() throws IOException {
+        File folder = Files.createTempDirectory("mca").toFile();
+        try {
+            File file = new File(folder, "r.0.0.mca");
+            MCAWriter writer = new MCAWriter(file, REGION);
+            ChunkCoordPair first = new ChunkCoordPair(0, 0);
+            ChunkCoordPair second = new ChunkCoordPair(31, 31);
+            assertTrue(writer.writeColumn(second, (byte) 2, createData(100, 1)));
+            assertTrue(writer.writeColumn(first, (byte) 2, createData(5000, 2)));
+            writer.flush();
+
+            // Columns are laid out in index order straight after the header and padded to sectors
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            assertEquals(MCAWriter.HEADER_SIZE + 3 * MCAWriter.SECTOR_SIZE, bytes.capacity());
+            assertEquals((2 << 8) | 2, bytes.getInt(getIndex(first) << 2));
+            assertEquals((4 << 8) | 1, bytes.getInt(getIndex(second) << 2));
+            assertEquals(0, bytes.getInt(getIndex(new ChunkCoordPair(1, 0)) << 2));
+            assertArrayEquals(createData(5000, 2), readColumn(bytes, first));
+            assertArrayEquals(createData(100, 1), readColumn(bytes, second));
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+
+    @Test
+    public void testGatheredFlush() throws IOException {
+        File folder = Files.createTempDirectory("mca").toFile();
+        try {
+            // Every column in a region, each a different size
+            File file = new File(folder, "r.0.0.mca");
+            MCAWriter writer = new MCAWriter(file, REGION);
+            for (int x = 0; x < 32; x++) {
+                for (int z = 0; z < 32; z++) {
+                    assertTrue(writer.writeColumn(new ChunkCoordPair(x, z), (byte) 2, createData(1 + x * 300 + z, x ^ z)));
+                }
+            }
+            writer.flush();
+
+            // The writer no longer accepts columns once flushed
+            assertFalse(writer.writeColumn(new ChunkCoordPair(0, 0), (byte) 2, createData(1, 0)));
+
+            // All the columns should be readable and not overlap
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            int expectedSector = 2;
+            for (int z = 0; z < 32; z++) {
+                for (int x = 0; x < 32; x++) {
+                    ChunkCoordPair chunkCoordPair = new ChunkCoordPair(x, z);
+                    assertEquals(expectedSector, bytes.getInt(getIndex(chunkCoordPair) << 2) >>> 8);
+                    expectedSector += bytes.getInt(getIndex(chunkCoordPair) << 2) & 0xFF;
+                    assertArrayEquals(createData(1 + x * 300 + z, x ^ z), readColumn(bytes, chunkCoordPair));
+                }
+            }
+            assertEquals(expectedSector * MCAWriter.SECTOR_SIZE, bytes.capacity());
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+
+    @Test
+    public void testAppendAfterFlush() throws IOException {
+        File folder = Files.createTempDirectory("mca").toFile();
+        try {
+            File file = new File(folder, "r.0.0.mca");
+            ChunkCoordPair first = new ChunkCoordPair(3, 4);
+            ChunkCoordPair second = new ChunkCoordPair(5, 6);
+            MCAWriter writer = new MCAWriter(file, REGION);
+            assertTrue(writer.writeColumn(first, (byte) 2, createData(200, 1)));
+            writer.flush();
+            long size = file.length();
+
+            // A new writer for the same file appends and keeps the existing columns in the header
+            MCAWriter appended = new MCAWriter(file, REGION);
+            assertTrue(appended.writeColumn(second, (byte) 2, createData(300, 2)));
+            appended.flush();
+
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            assertEquals(size + MCAWriter.SECTOR_SIZE, bytes.capacity());
+            assertEquals(size / MCAWriter.SECTOR_SIZE, bytes.getInt(getIndex(second) << 2) >>> 8);
+            assertArrayEquals(createData(200, 1), readColumn(bytes, first));
+            assertArrayEquals(createData(300, 2), readColumn(bytes, second));
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+
+    @Test
+    public void testOversizedColumn() throws IOException {
+        File folder = Files.createTempDirectory("mca").toFile();
+        try {
+            // Oversized columns are written to an external file with a single sector marker
+            File file = new File(folder, "r.0.0.mca");
+            ChunkCoordPair chunkCoordPair = new ChunkCoordPair(1, 2);
+            byte[] data = createData(MCAWriter.OVERSIZED_THRESHOLD, 3);
+            MCAWriter writer = new MCAWriter(file, REGION);
+            assertTrue(writer.writeColumn(chunkCoordPair, (byte) 2, data));
+            writer.flush();
+
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            assertEquals((2 << 8) | 1, bytes.getInt(getIndex(chunkCoordPair) << 2));
+            assertEquals(1, bytes.getInt(2 * MCAWriter.SECTOR_SIZE));
+            assertEquals((byte) 0x82, bytes.get(2 * MCAWriter.SECTOR_SIZE + 4));
+            assertArrayEquals(data, Files.readAllBytes(new File(folder, "c.1.2.mcc").toPath()));
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.hivemc.chunker.conversion.java;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.java.base.reader.util.MCAReader;
+import com.hivemc.chunker.conversion.encoding.java.base.reader.util.MappedMCAReader;
+import com.hivemc.chunker.conversion.encoding.java.base.reader.util.RandomAccessMCAReader;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.nbt.tags.Tag;
+import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the memory mapped MCA reader reads columns using each compression type.
+ */
+public class MappedMCAReaderTests {
+    private static CompoundTag createColumn(int index) {
+        CompoundTag tag = new CompoundTag();
+        tag.put("xPos", index);
+        return tag;
+    }
+
+    /**
+     * Write a column to a sector of a region file.
+     *
+     * @param buffer          the region file.
+     * @param index           the index of the column in the offset table.
+     * @param sector          the sector the column starts at.
+     * @param compressionType the compression type including the external flag.
+     * @param data            the compressed column, empty for external columns.
+     */
+    private static void writeColumn(ByteBuffer buffer, int index, int sector, int compressionType, byte[] data) {
+        buffer.putInt(index * 4, (sector << 8) | 1);
+        buffer.putInt(sector * 4096, data.length + 1);
+        buffer.put(sector * 4096 + 4, (byte) compressionType);
+        buffer.put(sector * 4096 + 5, data);
+    }
+
+    private static void deleteFolder(File folder) {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    @Test
+    public void testReadColumns() throws Exception {
+        File folder = Files.createTempDirectory("mca").toFile();
+        try {
+            // Column 0 uses zlib, 1 uses LZ4, 2 is uncompressed, 3 is external and 4 points outside the file
+            ByteBuffer buffer = ByteBuffer.allocate(4096 * 6);
+            writeColumn(buffer, 0, 2, 2, Tag.writeZLibJavaNBT(createColumn(0)));
+            writeColumn(buffer, 1, 3, 4, Tag.writeLZ4JavaNBT(createColumn(1)));
+            writeColumn(buffer, 2, 4, 3, Tag.writeUncompressedJavaNBT(createColumn(2)));
+            writeColumn(buffer, 3, 5, 0x82, new byte[0]);
+            buffer.putInt(4 * 4, (100 << 8) | 1);
+            File file = new File(folder, "r.0.0.mca");
+            Files.write(file.toPath(), buffer.array());
+            Files.write(new File(folder, "c.3.0.mcc").toPath(), Tag.writeZLibJavaNBT(createColumn(3)));
+
+            List<CompletableFuture<CompoundTag>> columns = new ArrayList<>();
+            Environment environment = Task.environment("Test", 2, null, null);
+            try (environment; MCAReader reader = MCAReader.open(new MockConverter(null), file)) {
+                assertInstanceOf(MappedMCAReader.class, reader);
+                int[] offsets = reader.readOffsetTable();
+                assertArrayEquals(new int[]{2, 3, 4, 5, 100, 0}, new int[]{offsets[0], offsets[1], offsets[2], offsets[3], offsets[4], offsets[5]});
+
+                for (int i = 0; i < 4; i++) {
+                    columns.add(reader.readColumn(new ChunkCoordPair(i, 0), offsets[i]).future());
+                }
+
+                // Offsets outside the file are rejected rather than read
+                assertThrows(IOException.class, () -> reader.readColumn(new ChunkCoordPair(4, 0), offsets[4]));
+            }
+            environment.future().get(10, TimeUnit.SECONDS);
+
+            for (int i = 0; i < columns.size(); i++) {
+                assertEquals(i, columns.get(i).get(10, TimeUnit.SECONDS).getInt("xPos"));
+            }
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+
+    @Test
+    public void testTooSmall() throws Exception {
+        File folder = Files.createTempDirectory("mca").toFile();
+        try {
+            File file = new File(folder, "r.0.0.mca");
+            Files.write(file.toPath(), new byte[100]);
+            try (MCAReader reader = MCAReader.open(new MockConverter(null), file)) {
+                assertThrows(IOException.class, reader::readOffsetTable);
+            }
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+
+    @Test
+    public void testTooLargeToMap() throws Exception {
+        File folder = Files.createTempDirectory("mca").toFile();
+        try {
+            // Files over 2GB can't be mapped at once, so random access is used instead
+            File file = new File(folder, "r.0.0.mca");
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                randomAccessFile.setLength(Integer.MAX_VALUE + 4096L);
+            }
+            assertThrows(IOException.class, () -> new MappedMCAReader(new MockConverter(null), file));
+            try (MCAReader reader = MCAReader.open(new MockConverter(null), file)) {
+                assertInstanceOf(RandomAccessMCAReader.class, reader);
+                assertArrayEquals(new int[1024], reader.readOffsetTable());
+            }
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+
+    @Test
+    public void testMissingFile() throws Exception {
+        File folder = Files.createTempDirectory("mca").toFile();
+        try {
+            assertThrows(FileNotFoundException.class, () -> new MappedMCAReader(new MockConverter(null), new File(folder, "r.0.0.mca")));
+            assertThrows(FileNotFoundException.class, () -> MCAReader.open(new MockConverter(null), new File(folder, "r.0.0.mca")));
+        } finally {
+            deleteFolder(folder);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.hivemc.chunker.conversion.preview;
+
+import com.hivemc.chunker.conversion.encoding.preview.PNGEncoder;
+import com.hivemc.chunker.conversion.encoding.preview.PreviewColumnWriter;
+import com.hivemc.chunker.conversion.encoding.preview.PreviewTilePyramid;
+import com.hivemc.chunker.conversion.encoding.preview.PreviewWorldWriter;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure preview tiles are encoded correctly and written as regions are flushed.
+ */
+public class PreviewTilePyramidTests {
+    private static final ChunkerBlockIdentifier STONE = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE);
+    private static final int STONE_ARGB = 0xFF000000 | STONE.getRGBColor();
+
+    private static ChunkerColumn createColumn(int x, int z) {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(x, z));
+        for (int localX = 0; localX < 16; localX++) {
+            for (int localZ = 0; localZ < 16; localZ++) {
+                column.setBlock(localX, 0, localZ, STONE);
+            }
+        }
+        return column;
+    }
+
+    private static void deleteFolder(File folder) {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    private static int getPixel(File file, int x, int z) throws IOException {
+        BufferedImage image = ImageIO.read(file);
+        return image.getRGB(x, z);
+    }
+
+    @Test
+    public void testEncoderRoundTrip() throws IOException {
+        File outputFolder = Files.createTempDirectory("preview").toFile();
+        try {
+            Random random = new Random(0);
+            int width = 37;
+            int height = 23;
+            int[] pixels = new int[width * height];
+            for (int i = 0; i < pixels.length; i++) {
+                pixels[i] = random.nextInt(3) == 0 ? 0 : random.nextInt();
+            }
+
+            // Every pixel should be read back the same
+            File file = new File(outputFolder, "test.png");
+            PNGEncoder.write(file, pixels, width, height);
+            BufferedImage image = ImageIO.read(file);
+            assertEquals(width, image.getWidth());
+            assertEquals(height, image.getHeight());
+            int[] read = image.getRGB(0, 0, width, height, null, 0, width);
+            for (int i = 0; i < pixels.length; i++) {
+                // Fully transparent pixels may not keep their color
+                if ((pixels[i] >>> 24) == 0) {
+                    assertEquals(0, read[i] >>> 24);
+                } else {
+                    assertEquals(pixels[i], read[i]);
+                }
+            }
+        } finally {
+            deleteFolder(outputFolder);
+        }
+    }
+
+    @Test
+    public void testTilesWrittenOnFlush() throws IOException {
+        File outputFolder = Files.createTempDirectory("preview").toFile();
+        try {
+            Set<RegionCoordPair> regions = Set.of(
+                    new RegionCoordPair(0, 0),
+                    new RegionCoordPair(1, 0),
+                    new RegionCoordPair(0, 1),
+                    new RegionCoordPair(1, 1)
+            );
+            PreviewWorldWriter.WorldData worldData = new PreviewWorldWriter.WorldData();
+            worldData.dimension = Dimension.OVERWORLD;
+            PreviewColumnWriter writer = new PreviewColumnWriter(
+                    outputFolder,
+                    worldData,
+                    new PreviewTilePyramid(outputFolder, Dimension.OVERWORLD, regions)
+            );
+
+            // Write a column into the first region
+            writer.writeColumn(createColumn(0, 0));
+            writer.flushRegion(new RegionCoordPair(0, 0));
+            File regionFile = PreviewTilePyramid.getTileFile(outputFolder, Dimension.OVERWORLD, 0, 0, 0);
+            assertTrue(regionFile.isFile());
+            assertEquals(STONE_ARGB, getPixel(regionFile, 15, 15));
+            assertEquals(0, getPixel(regionFile, 16, 16) >>> 24);
+
+            // The zoomed out tile is written when every region inside it is flushed
+            File zoomFile = PreviewTilePyramid.getTileFile(outputFolder, Dimension.OVERWORLD, 1, 0, 0);
+            writer.flushRegion(new RegionCoordPair(1, 0));
+            writer.flushRegion(new RegionCoordPair(0, 1));
+            assertFalse(zoomFile.isFile());
+            writer.writeColumn(createColumn(32, 32));
+            writer.flushRegion(new RegionCoordPair(1, 1));
+            assertTrue(zoomFile.isFile());
+            assertEquals(STONE_ARGB, getPixel(zoomFile, 7, 7));
+            assertEquals(STONE_ARGB, getPixel(zoomFile, 256, 256));
+            assertEquals(0, getPixel(zoomFile, 8, 8) >>> 24);
+
+            // Each level above only has a single child so should also be written
+            assertTrue(PreviewTilePyramid.getTileFile(outputFolder, Dimension.OVERWORLD, PreviewTilePyramid.MAX_LEVEL, 0, 0).isFile());
+            assertEquals(2, worldData.regionToPresentChunks.size());
+            assertEquals(0, worldData.minX);
+            assertEquals(32, worldData.maxZ);
+        } finally {
+            deleteFolder(outputFolder);
+        }
+    }
+
+    @Test
+    public void testColumnAfterFlush() throws IOException {
+        File outputFolder = Files.createTempDirectory("preview").toFile();
+        try {
+            RegionCoordPair region = new RegionCoordPair(0, 0);
+            PreviewWorldWriter.WorldData worldData = new PreviewWorldWriter.WorldData();
+            worldData.dimension = Dimension.NETHER;
+            PreviewColumnWriter writer = new PreviewColumnWriter(
+                    outputFolder,
+                    worldData,
+                    new PreviewTilePyramid(outputFolder, Dimension.NETHER, Set.of(region))
+            );
+            writer.writeColumn(createColumn(0, 0));
+            writer.flushRegion(region);
+
+            // Columns are written before their region is flushed, so a later column is rejected
+            assertThrows(IllegalStateException.class, () -> writer.writeColumn(createColumn(31, 31)));
+            writer.flushColumns();
+            File regionFile = PreviewTilePyramid.getTileFile(outputFolder, Dimension.NETHER, 0, 0, 0);
+            assertEquals(STONE_ARGB, getPixel(regionFile, 0, 0));
+            assertEquals(0, getPixel(regionFile, 511, 511) >>> 24);
+            File zoomFile = PreviewTilePyramid.getTileFile(outputFolder, Dimension.NETHER, 1, 0, 0);
+            assertEquals(STONE_ARGB, getPixel(zoomFile, 0, 0));
+            assertEquals(0, getPixel(zoomFile, 255, 255) >>> 24);
+        } finally {
+            deleteFolder(outputFolder);
+        }
+    }
+
+    @Test
+    public void testUnexpectedRegion() throws IOException {
+        File outputFolder = Files.createTempDirectory("preview").toFile();
+        try {
+            RegionCoordPair region = new RegionCoordPair(0, 0);
+            RegionCoordPair unexpected = new RegionCoordPair(1, 0);
+            PreviewWorldWriter.WorldData worldData = new PreviewWorldWriter.WorldData();
+            worldData.dimension = Dimension.OVERWORLD;
+            PreviewColumnWriter writer = new PreviewColumnWriter(
+                    outputFolder,
+                    worldData,
+                    new PreviewTilePyramid(outputFolder, Dimension.OVERWORLD, Set.of(region))
+            );
+
+            // A region which wasn't part of the world shouldn't complete the zoomed out tile
+            File zoomFile = PreviewTilePyramid.getTileFile(outputFolder, Dimension.OVERWORLD, 1, 0, 0);
+            writer.writeColumn(createColumn(32, 0));
+            writer.flushRegion(unexpected);
+            assertFalse(zoomFile.isFile());
+            writer.writeColumn(createColumn(0, 0));
+            writer.flushRegion(region);
+            assertTrue(zoomFile.isFile());
+            assertEquals(STONE_ARGB, getPixel(zoomFile, 0, 0));
+            assertEquals(STONE_ARGB, getPixel(zoomFile, 256, 0));
+
+            // Tiles only made up of unexpected regions are written when flushed
+            File unexpectedZoomFile = PreviewTilePyramid.getTileFile(outputFolder, Dimension.OVERWORLD, 1, 4, 0);
+            writer.writeColumn(createColumn(256, 0));
+            writer.flushRegion(new RegionCoordPair(8, 0));
+            assertFalse(unexpectedZoomFile.isFile());
+            writer.flushColumns();
+            assertEquals(STONE_ARGB, getPixel(unexpectedZoomFile, 0, 0));
+        } finally {
+            deleteFolder(outputFolder);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hivemc.chunker.nbt;
+
+import com.hivemc.chunker.nbt.io.ByteBufferWriter;
+import com.hivemc.chunker.nbt.io.Writer;
+import com.hivemc.chunker.nbt.tags.Tag;
+import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure cached tag encoding matches encoding the tag directly.
+ */
+class EncodedTagCacheTests {
+    private static CompoundTag createTag() {
+        CompoundTag states = new CompoundTag();
+        states.put("facing_direction", 3);
+        states.put("open_bit", (byte) 1);
+
+        CompoundTag tag = new CompoundTag();
+        tag.put("name", "minecraft:wooden_door");
+        tag.put("states", states);
+        tag.put("version", 18100737);
+        return tag;
+    }
+
+    @Test
+    void testBedrockMatchesEncode() throws IOException {
+        EncodedTagCache cache = new EncodedTagCache();
+        CompoundTag tag = createTag();
+
+        ByteBufferWriter expected = Writer.toBedrockBufferWriter(64);
+        Tag.encodeNamed(expected, "", tag);
+
+        // Write twice to ensure the cached bytes are the same
+        for (int i = 0; i < 2; i++) {
+            ByteBufferWriter actual = Writer.toBedrockBufferWriter(64);
+            cache.writeNamed(actual, "", tag);
+            assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        }
+    }
+
+    @Test
+    void testJavaMatchesEncode() throws IOException {
+        EncodedTagCache cache = new EncodedTagCache();
+        CompoundTag tag = createTag();
+
+        ByteBufferWriter expected = Writer.toJavaBufferWriter(64);
+        tag.encodeValue(expected);
+
+        // The same tag should be cached separately for each byte order
+        ByteBufferWriter actual = Writer.toJavaBufferWriter(64);
+        cache.writeValue(actual, tag);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        assertFalse(Arrays.equals(
+                cache.getEncodedValue(tag, ByteOrder.BIG_ENDIAN),
+                cache.getEncodedValue(tag, ByteOrder.LITTLE_ENDIAN)
+        ));
+    }
+
+    @Test
+    void testSharedBytes() {
+        EncodedTagCache cache = new EncodedTagCache();
+        CompoundTag tag = createTag();
+        assertSame(cache.getEncodedValue(tag, ByteOrder.LITTLE_ENDIAN), cache.getEncodedValue(tag, ByteOrder.LITTLE_ENDIAN));
+    }
+}
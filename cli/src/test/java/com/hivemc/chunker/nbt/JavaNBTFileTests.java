@@ -246,6 +246,22 @@ class JavaNBTFileTests {
         assertEquals(nbt, readNBT);
     }
 
+    @Test
+    void testJavaDecodeEncodeBytesZLIBLevels() throws IOException {
+        File input = getTempFileForResource("nbt/java_level.dat");
+        CompoundTag nbt = Tag.readGZipJavaNBT(input);
+
+        // Write each level twice to ensure the pooled deflater is reset between uses
+        for (int level = 1; level <= 9; level++) {
+            byte[] bytes = Tag.writeZLibJavaNBT(nbt, level);
+            assertArrayEquals(bytes, Tag.writeZLibJavaNBT(nbt, level));
+
+            // Read it back
+            CompoundTag readNBT = Tag.readZLibJavaNBT(bytes);
+            assertEquals(nbt, readNBT);
+        }
+    }
+
     @Test
     void testJavaDecodeEncodeBytesLZ4() throws IOException {
         File input = getTempFileForResource("nbt/java_level.dat");
@@ -0,0 +1,160 @@
+package com.hivemc.chunker.nbt;
+
+import com.hivemc.chunker.nbt.io.Reader;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the NBT codec is compatible with the standard ZLib / GZip streams.
+ */
+class NBTCodecTests {
+    private static byte[] randomBytes(int length) {
+        // Use a small alphabet so the data compresses
+        Random random = new Random(length);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) random.nextInt(16);
+        }
+        return bytes;
+    }
+
+    private static byte[] readAll(Reader reader, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        reader.readBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    void testZLibReadableByStream() throws IOException {
+        byte[] input = randomBytes(200_000);
+        byte[] compressed = NBTCodec.encodeZLib(Deflater.BEST_COMPRESSION, (writer) -> writer.writeBytes(input));
+
+        try (InflaterInputStream stream = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(input, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void testZLibDecodeStream() throws IOException {
+        byte[] input = randomBytes(200_000);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (DeflaterOutputStream stream = new DeflaterOutputStream(output)) {
+            stream.write(input);
+        }
+
+        // Decode from both an array and a direct buffer
+        assertArrayEquals(input, NBTCodec.decodeZLib(output.toByteArray(), (data) -> readAll(data, input.length)));
+        ByteBuffer direct = ByteBuffer.allocateDirect(output.size());
+        direct.put(output.toByteArray()).flip();
+        assertArrayEquals(input, NBTCodec.decodeZLib(direct, (data) -> readAll(data, input.length)));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    void testGZipReadableByStream() throws IOException {
+        byte[] input = randomBytes(100_000);
+        byte[] compressed = NBTCodec.encodeGZip((writer) -> writer.writeBytes(input));
+
+        try (GZIPInputStream stream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(input, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void testGZipDecodeStream() throws IOException {
+        byte[] input = randomBytes(100_000);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream stream = new GZIPOutputStream(output)) {
+            stream.write(input);
+        }
+
+        assertArrayEquals(input, NBTCodec.decodeGZip(output.toByteArray(), (data) -> readAll(data, input.length)));
+    }
+
+    @Test
+    void testGZipDecodeOptionalHeaderFields() throws IOException {
+        byte[] input = randomBytes(1000);
+        byte[] deflated = NBTCodec.encodeGZip((writer) -> writer.writeBytes(input));
+
+        // Insert a file name into the header
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(deflated, 0, 3);
+        output.write(8); // Name flag
+        output.write(deflated, 4, 6);
+        output.write("level.dat\0".getBytes());
+        output.write(deflated, 10, deflated.length - 10);
+
+        assertArrayEquals(input, NBTCodec.decodeGZip(output.toByteArray(), (data) -> readAll(data, input.length)));
+    }
+
+    @Test
+    void testCorruptInputThrows() throws IOException {
+        byte[] compressed = NBTCodec.encodeGZip((writer) -> writer.writeBytes(randomBytes(1000)));
+
+        // Truncated data
+        byte[] truncated = new byte[compressed.length / 2];
+        System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+        assertThrows(IOException.class, () -> NBTCodec.decodeGZip(truncated, (data) -> null));
+
+        // Changed trailer
+        compressed[compressed.length - 5]++;
+        assertThrows(ZipException.class, () -> NBTCodec.decodeGZip(compressed, (data) -> null));
+
+        // Not compressed
+        assertThrows(IOException.class, () -> NBTCodec.decodeZLib(randomBytes(100), (data) -> null));
+    }
+
+    @Test
+    void testNestedDecode() throws IOException {
+        byte[] input = randomBytes(1000);
+        byte[] inner = NBTCodec.encodeZLib(Deflater.BEST_SPEED, (writer) -> writer.writeBytes(input));
+        byte[] outer = NBTCodec.encodeZLib(Deflater.BEST_SPEED, (writer) -> {
+            writer.writeInt(inner.length);
+            writer.writeBytes(inner);
+        });
+
+        // Decoding inside a decoder must not reuse the same buffers
+        byte[] result = NBTCodec.decodeZLib(outer, (data) -> {
+            byte[] innerData = readAll(data, data.readInt());
+            return NBTCodec.decodeZLib(innerData, (innerInput) -> readAll(innerInput, input.length));
+        });
+        assertArrayEquals(input, result);
+    }
+
+    @Test
+    void testConcurrentContexts() throws Exception {
+        // More threads than the pool holds, so contexts are discarded and created while others are in use
+        int threads = Runtime.getRuntime().availableProcessors() * 4;
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int thread = 0; thread < threads; thread++) {
+                byte[] input = randomBytes(10_000 + thread);
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        for (int i = 0; i < 20; i++) {
+                            byte[] zlib = NBTCodec.encodeZLib(Deflater.BEST_SPEED, (writer) -> writer.writeBytes(input));
+                            assertArrayEquals(input, NBTCodec.decodeZLib(zlib, (data) -> readAll(data, input.length)));
+                            byte[] gzip = NBTCodec.encodeGZip((writer) -> writer.writeBytes(input));
+                            assertArrayEquals(input, NBTCodec.decodeGZip(gzip, (data) -> readAll(data, input.length)));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        }
+    }
+}
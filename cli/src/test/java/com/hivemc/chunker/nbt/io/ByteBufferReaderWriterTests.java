@@ -0,0 +1,90 @@
+package com.hivemc.chunker.nbt.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the ByteBuffer readers/writers are compatible with the DataInput / DataOutput based ones.
+ */
+public class ByteBufferReaderWriterTests {
+    private static void writeValues(Writer writer) throws IOException {
+        writer.writeByte(-5);
+        writer.writeShort((short) 0x1234);
+        writer.writeUnsignedInt24(0xABCDEF);
+        writer.writeInt(0x12345678);
+        writer.writeLong(0x123456789ABCDEF0L);
+        writer.writeFloat(1.5F);
+        writer.writeDouble(-2.25D);
+        writer.writeString("Hello");
+        writer.writeInts(new int[]{1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE});
+        writer.writeLongs(new long[]{1, -1, Long.MAX_VALUE, Long.MIN_VALUE});
+    }
+
+    private static void assertValues(Reader reader) throws IOException {
+        assertEquals(-5, reader.readByte());
+        assertEquals(0x1234, reader.readShort());
+        assertEquals(0xABCDEF, reader.readUnsignedInt24());
+        assertEquals(0x12345678, reader.readInt());
+        assertEquals(0x123456789ABCDEF0L, reader.readLong());
+        assertEquals(1.5F, reader.readFloat());
+        assertEquals(-2.25D, reader.readDouble());
+        assertEquals("Hello", reader.readString(1024));
+
+        int[] ints = new int[4];
+        reader.readInts(ints);
+        assertArrayEquals(new int[]{1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE}, ints);
+
+        long[] longs = new long[4];
+        reader.readLongs(longs);
+        assertArrayEquals(new long[]{1, -1, Long.MAX_VALUE, Long.MIN_VALUE}, longs);
+    }
+
+    @Test
+    public void testJavaMatchesStream() throws IOException {
+        ByteBufferWriter writer = Writer.toJavaBufferWriter(1);
+        writeValues(writer);
+
+        // The stream based writer should produce the same bytes
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeValues(Writer.toJavaWriter(new DataOutputStream(output)));
+        assertArrayEquals(output.toByteArray(), writer.toByteArray());
+
+        assertValues(Reader.toJavaReader(ByteBuffer.wrap(writer.toByteArray())));
+    }
+
+    @Test
+    public void testBedrockMatchesStream() throws IOException {
+        ByteBufferWriter writer = Writer.toBedrockBufferWriter(1);
+        writeValues(writer);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeValues(Writer.toBedrockWriter(new DataOutputStream(output)));
+        assertArrayEquals(output.toByteArray(), writer.toByteArray());
+
+        assertValues(Reader.toBedrockReader(ByteBuffer.wrap(writer.toByteArray())));
+    }
+
+    @Test
+    public void testBufferOrderUnchanged() throws IOException {
+        ByteBufferWriter writer = Writer.toBedrockBufferWriter(16);
+        writeValues(writer);
+
+        // Reading from a big endian buffer (and a direct buffer) should still decode as little endian
+        ByteBuffer direct = ByteBuffer.allocateDirect(writer.size());
+        direct.put(writer.toByteBuffer()).flip();
+        assertValues(Reader.toBedrockReader(direct));
+        assertEquals(ByteOrder.BIG_ENDIAN, direct.order());
+        assertFalse(direct.hasRemaining());
+    }
+
+    @Test
+    public void testReadPastEnd() {
+        Reader reader = Reader.toJavaReader(ByteBuffer.wrap(new byte[6]));
+        assertThrowsExactly(EOFException.class, () -> reader.readLongs(new long[1]));
+    }
+}
@@ -0,0 +1,98 @@
+package com.hivemc.chunker.resolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure cached resolvers return the same results and record statistics.
+ */
+public class CachedResolverTests {
+    @Test
+    public void testCachedTo() {
+        CachedResolver<Integer, String> resolver = new BasicResolverTests.IntToStringResolver().cached();
+        assertEquals("5", resolver.to(5).orElse(null));
+        assertEquals("5", resolver.to(5).orElse(null));
+
+        // The second lookup should come from the thread cache
+        CachedResolver.Statistics statistics = resolver.getToStatistics();
+        assertEquals(2, statistics.lookups());
+        assertEquals(1, statistics.threadCacheHits());
+        assertEquals(1, statistics.misses());
+        assertEquals(0.5D, statistics.hitRate());
+    }
+
+    @Test
+    public void testCachedFromAbsent() {
+        CachedResolver<Integer, String> resolver = new BasicResolverTests.IntToStringResolver().cached();
+        assertNull(resolver.from("X").orElse(null));
+        assertNull(resolver.from("X").orElse(null));
+        assertEquals(2, resolver.getFromStatistics().lookups());
+        assertEquals(1, resolver.getFromStatistics().misses());
+        assertEquals(0, resolver.getToStatistics().lookups());
+    }
+
+    @Test
+    public void testCachedShared() throws InterruptedException {
+        CachedResolver<Integer, String> resolver = new BasicResolverTests.IntToStringResolver().cached();
+        assertEquals("5", resolver.to(5).orElse(null));
+
+        // Another thread should use the shared cache
+        Thread thread = new Thread(() -> resolver.to(5));
+        thread.start();
+        thread.join();
+        assertEquals(1, resolver.getToStatistics().hits());
+        assertEquals(1, resolver.getToStatistics().misses());
+    }
+
+    @Test
+    public void testCachedCollisions() {
+        CachedResolver<Integer, String> resolver = new BasicResolverTests.IntToStringResolver().cached();
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(String.valueOf(i), resolver.to(i).orElse(null));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(String.valueOf(i), resolver.to(i).orElse(null));
+        }
+        assertEquals(20000, resolver.getToStatistics().lookups());
+        assertEquals(10000, resolver.getToStatistics().misses());
+    }
+
+    @Test
+    public void testCachedToOnly() {
+        AtomicInteger fromCalls = new AtomicInteger();
+        Resolver<Integer, String> resolver = new BasicResolverTests.IntToStringResolver();
+        CachedResolver<Integer, String> cached = new CachedResolver<>(resolver, new Resolver<>() {
+            @Override
+            public Optional<String> to(Integer input) {
+                throw new AssertionError("Only from should be used");
+            }
+
+            @Override
+            public Optional<Integer> from(String input) {
+                fromCalls.incrementAndGet();
+                return resolver.from(input);
+            }
+        }, CachedResolver.DEFAULT_MAXIMUM_SIZE);
+        assertEquals("5", cached.to(5).orElse(null));
+        assertEquals("5", cached.to(5).orElse(null));
+        assertEquals(1, cached.getToStatistics().misses());
+
+        // Resolving from the intermediate format isn't cached
+        assertEquals(Integer.valueOf(5), cached.from("5").orElse(null));
+        assertEquals(Integer.valueOf(5), cached.from("5").orElse(null));
+        assertEquals(2, fromCalls.get());
+        assertEquals(0, cached.getFromStatistics().lookups());
+    }
+
+    @Test
+    public void testCombineStatistics() {
+        CachedResolver.Statistics combined = new CachedResolver.Statistics(1, 2, 3, 4, 5)
+                .combine(new CachedResolver.Statistics(1, 1, 1, 1, 1));
+        assertEquals(new CachedResolver.Statistics(2, 3, 4, 5, 6), combined);
+        assertEquals(9, combined.lookups());
+    }
+}
@@ -0,0 +1,114 @@
+package com.hivemc.chunker.scheduling;
+
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskWeight;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests to ensure the TaskExecutor runs every task including those scheduled from workers.
+ */
+public class TaskExecutorTests {
+    @Test
+    public void testExecuteFromOutsideWorker() throws Exception {
+        TaskExecutor executor = new TaskExecutor(4, null, null);
+        try {
+            assertEquals(5, executor.execute(() -> 5, 0).get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNestedTasksComplete() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        Environment environment = Task.environment("Test", 4, null, null);
+        try (environment) {
+            for (int i = 0; i < 100; i++) {
+                Task.async("Outer", TaskWeight.NORMAL, () -> {
+                    for (int j = 0; j < 100; j++) {
+                        Task.async("Inner", TaskWeight.NORMAL, counter::incrementAndGet);
+                    }
+                });
+            }
+        }
+        environment.future().get(30, TimeUnit.SECONDS);
+        assertEquals(100 * 100, counter.get());
+    }
+
+    @Test
+    public void testHigherPriorityFirst() throws Exception {
+        TaskExecutor executor = new TaskExecutor(1, null, null);
+        try {
+            // Block the only worker while the other tasks are queued
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    return latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }, 0);
+
+            List<Integer> order = new CopyOnWriteArrayList<>();
+            CompletableFuture<?> low = executor.execute(() -> order.add(1), 1);
+            CompletableFuture<?> high = executor.execute(() -> order.add(5), 5);
+            latch.countDown();
+            CompletableFuture.allOf(low, high).get(10, TimeUnit.SECONDS);
+            assertEquals(List.of(5, 1), order);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testIdleWorkersPark() throws Exception {
+        TaskExecutor executor = new TaskExecutor(2, null, null);
+        try {
+            // Run a task on each worker at the same time to find the worker threads
+            CountDownLatch started = new CountDownLatch(2);
+            Set<Thread> workerThreads = ConcurrentHashMap.newKeySet();
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(executor.execute(() -> {
+                    workerThreads.add(Thread.currentThread());
+                    started.countDown();
+                    try {
+                        return started.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        return false;
+                    }
+                }, 0));
+            }
+            for (CompletableFuture<Boolean> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(2, workerThreads.size());
+
+            // Give the workers time to go idle then check they're parked by this executor rather than running
+            Thread.sleep(200);
+            for (Thread thread : workerThreads) {
+                assertEquals(Thread.State.TIMED_WAITING, thread.getState());
+                assertSame(executor, LockSupport.getBlocker(thread));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}